@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Interface for binary data with parts which might be slow to access.
+ *
+ * Data which is not available can be requested to be loaded in background so
+ * that following synchronous access doesn't block.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface AsyncBinaryData {
+
+    /**
+     * Returns true if given range can be read without blocking.
+     *
+     * @param startFrom start position
+     * @param length length of the range
+     * @return true if data is available
+     */
+    boolean isDataAvailable(long startFrom, long length);
+
+    /**
+     * Requests loading of given range in background.
+     *
+     * @param startFrom start position
+     * @param length length of the range
+     * @param loadedCallback callback invoked from background thread when data
+     * was loaded or null
+     * @return future of the load operation
+     */
+    @Nonnull
+    Future<?> requestData(long startFrom, long length, @Nullable Runnable loadedCallback);
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Precomputed digit tables for conversion of byte values to code characters.
+ *
+ * Table for given code type contains digits of all 256 byte values, each
+ * value occupying maxDigitsForByte consecutive characters starting at index
+ * value * maxDigitsForByte.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteCodeTables {
+
+    private static final char[][] UPPER_TABLES = new char[CodeType.values().length][];
+    private static final char[][] LOWER_TABLES = new char[CodeType.values().length][];
+
+    static {
+        for (CodeType codeType : CodeType.values()) {
+            UPPER_TABLES[codeType.ordinal()] = buildTable(codeType, CodeAreaUtils.UPPER_HEX_CODES);
+            LOWER_TABLES[codeType.ordinal()] = buildTable(codeType, CodeAreaUtils.LOWER_HEX_CODES);
+        }
+    }
+
+    private ByteCodeTables() {
+    }
+
+    /**
+     * Returns digit table for given code type and characters case.
+     *
+     * Returned array is shared and must not be modified.
+     *
+     * @param codeType code type
+     * @param charactersCase case type for alphabetical characters
+     * @return table of 256 * maxDigitsForByte characters
+     */
+    @Nonnull
+    public static char[] getTable(CodeType codeType, CodeCharactersCase charactersCase) {
+        return charactersCase == CodeCharactersCase.UPPER ? UPPER_TABLES[codeType.ordinal()] : LOWER_TABLES[codeType.ordinal()];
+    }
+
+    /**
+     * Converts sequence of bytes to code characters without any separators.
+     *
+     * @param data source data
+     * @param offset offset in source data
+     * @param length number of bytes to convert
+     * @param codeType code type
+     * @param charactersCase case type for alphabetical characters
+     * @param target target characters array (output parameter)
+     * @param targetOffset offset position in target array
+     */
+    public static void bytesToCodes(byte[] data, int offset, int length, CodeType codeType, CodeCharactersCase charactersCase, char[] target, int targetOffset) {
+        char[] table = getTable(codeType, charactersCase);
+        int digits = codeType.getMaxDigitsForByte();
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            System.arraycopy(table, (data[i] & 0xff) * digits, target, targetOffset, digits);
+            targetOffset += digits;
+        }
+    }
+
+    @Nonnull
+    private static char[] buildTable(CodeType codeType, char[] codes) {
+        int base = codeType.getBase();
+        int digits = codeType.getMaxDigitsForByte();
+        char[] table = new char[256 * digits];
+        for (int value = 0; value < 256; value++) {
+            int remainder = value;
+            for (int i = digits - 1; i >= 0; i--) {
+                table[value * digits + i] = codes[remainder % base];
+                remainder = remainder / base;
+            }
+        }
+
+        return table;
+    }
+}
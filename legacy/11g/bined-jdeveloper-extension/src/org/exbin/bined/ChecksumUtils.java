@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Utilities for combining checksums of adjacent blocks of data.
+ *
+ * Checksum of concatenation is computed from checksums of both parts and
+ * length of the second part without accessing the data, so that parts can be
+ * processed independently.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ChecksumUtils {
+
+    /**
+     * Reversed polynomial of CRC-32 as used by java.util.zip.CRC32.
+     */
+    public static final int CRC32_POLYNOMIAL = 0xedb88320;
+
+    private static final int ADLER32_BASE = 65521;
+
+    private static final int[] CRC32_POWERS = computePowers(CRC32_POLYNOMIAL);
+    private static final int[] CRC32C_POWERS = computePowers(Crc32c.POLYNOMIAL);
+
+    private ChecksumUtils() {
+    }
+
+    /**
+     * Combines CRC-32 checksums of two adjacent blocks.
+     *
+     * @param crc1 checksum of the first block
+     * @param crc2 checksum of the second block
+     * @param length2 length of the second block
+     * @return checksum of both blocks
+     */
+    public static long combineCrc32(long crc1, long crc2, long length2) {
+        return combineCrc(crc1, crc2, length2, CRC32_POWERS, CRC32_POLYNOMIAL);
+    }
+
+    /**
+     * Combines CRC-32C checksums of two adjacent blocks.
+     *
+     * @param crc1 checksum of the first block
+     * @param crc2 checksum of the second block
+     * @param length2 length of the second block
+     * @return checksum of both blocks
+     */
+    public static long combineCrc32c(long crc1, long crc2, long length2) {
+        return combineCrc(crc1, crc2, length2, CRC32C_POWERS, Crc32c.POLYNOMIAL);
+    }
+
+    /**
+     * Combines Adler-32 checksums of two adjacent blocks.
+     *
+     * @param adler1 checksum of the first block
+     * @param adler2 checksum of the second block
+     * @param length2 length of the second block
+     * @return checksum of both blocks
+     */
+    public static long combineAdler32(long adler1, long adler2, long length2) {
+        long remainder = length2 % ADLER32_BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (remainder * sum1) % ADLER32_BASE;
+        sum1 += (adler2 & 0xffff) + ADLER32_BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + ADLER32_BASE - remainder;
+        if (sum1 >= ADLER32_BASE) {
+            sum1 -= ADLER32_BASE;
+        }
+        if (sum1 >= ADLER32_BASE) {
+            sum1 -= ADLER32_BASE;
+        }
+        if (sum2 >= (ADLER32_BASE << 1)) {
+            sum2 -= (ADLER32_BASE << 1);
+        }
+        if (sum2 >= ADLER32_BASE) {
+            sum2 -= ADLER32_BASE;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    /**
+     * Combines CRC checksums by multiplying the first checksum by x^(8 *
+     * length2) modulo polynomial, with power assembled from precomputed
+     * powers x^(2^n), so the cost grows only with number of bits of length.
+     */
+    private static long combineCrc(long crc1, long crc2, long length2, int[] powers, int polynomial) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+
+        int power = 1 << 31;
+        long length = length2;
+        int index = 3;
+        while (length != 0) {
+            if ((length & 1) != 0) {
+                power = multiplyModulo(powers[index & 31], power, polynomial);
+            }
+            length >>>= 1;
+            index++;
+        }
+
+        return (multiplyModulo(power, (int) crc1, polynomial) ^ (int) crc2) & 0xffffffffL;
+    }
+
+    /**
+     * Multiplies two polynomials in reflected representation modulo given
+     * polynomial.
+     */
+    private static int multiplyModulo(int a, int b, int polynomial) {
+        int mask = 1 << 31;
+        int product = 0;
+        while (true) {
+            if ((a & mask) != 0) {
+                product ^= b;
+                if ((a & (mask - 1)) == 0) {
+                    break;
+                }
+            }
+            mask >>>= 1;
+            b = (b & 1) != 0 ? (b >>> 1) ^ polynomial : b >>> 1;
+        }
+        return product;
+    }
+
+    @Nonnull
+    private static int[] computePowers(int polynomial) {
+        int[] powers = new int[32];
+        int power = 1 << 30;
+        powers[0] = power;
+        for (int n = 1; n < 32; n++) {
+            power = multiplyModulo(power, power, polynomial);
+            powers[n] = power;
+        }
+        return powers;
+    }
+}
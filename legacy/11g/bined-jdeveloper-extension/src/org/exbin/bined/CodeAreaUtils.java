@@ -105,47 +105,9 @@ public class CodeAreaUtils {
      * @param charCase case type for alphabetical characters
      */
     public static void byteToCharsCode(byte dataByte, CodeType codeType, char[] targetData, int targetPosition, CodeCharactersCase charCase) {
-        char[] hexCharacters = charCase == CodeCharactersCase.UPPER ? CodeAreaUtils.UPPER_HEX_CODES : CodeAreaUtils.LOWER_HEX_CODES;
-        switch (codeType) {
-            case BINARY: {
-                int bitMask = 0x80;
-                for (int i = 0; i < 8; i++) {
-                    int codeValue = (dataByte & bitMask) > 0 ? 1 : 0;
-                    targetData[targetPosition + i] = hexCharacters[codeValue];
-                    bitMask = bitMask >> 1;
-                }
-                break;
-            }
-            case DECIMAL: {
-                int value = dataByte & 0xff;
-                int codeValue0 = value / 100;
-                targetData[targetPosition] = hexCharacters[codeValue0];
-                int codeValue1 = (value / 10) % 10;
-                targetData[targetPosition + 1] = hexCharacters[codeValue1];
-                int codeValue2 = value % 10;
-                targetData[targetPosition + 2] = hexCharacters[codeValue2];
-                break;
-            }
-            case OCTAL: {
-                int value = dataByte & 0xff;
-                int codeValue0 = value / 64;
-                targetData[targetPosition] = hexCharacters[codeValue0];
-                int codeValue1 = (value / 8) & 7;
-                targetData[targetPosition + 1] = hexCharacters[codeValue1];
-                int codeValue2 = value % 8;
-                targetData[targetPosition + 2] = hexCharacters[codeValue2];
-                break;
-            }
-            case HEXADECIMAL: {
-                int codeValue0 = (dataByte >> 4) & 0xf;
-                targetData[targetPosition] = hexCharacters[codeValue0];
-                int codeValue1 = dataByte & 0xf;
-                targetData[targetPosition + 1] = hexCharacters[codeValue1];
-                break;
-            }
-            default:
-                throw new IllegalStateException("Unexpected code type: " + codeType.name());
-        }
+        char[] table = ByteCodeTables.getTable(codeType, charCase);
+        int digits = codeType.getMaxDigitsForByte();
+        System.arraycopy(table, (dataByte & 0xff) * digits, targetData, targetPosition, digits);
     }
 
     /**
@@ -259,6 +221,21 @@ public class CodeAreaUtils {
      */
     public static int longToBaseCode(char[] target, int targetOffset, long value, int base, int lengthLimit, boolean fillZeros, CodeCharactersCase characterCase) {
         char[] codes = characterCase == CodeCharactersCase.UPPER ? UPPER_HEX_CODES : LOWER_HEX_CODES;
+        if ((base & (base - 1)) == 0 && value >= 0) {
+            // Power of two bases can use shifting instead of division
+            int shift = Integer.numberOfTrailingZeros(base);
+            int mask = base - 1;
+            for (int i = lengthLimit - 1; i >= 0; i--) {
+                target[targetOffset + i] = codes[(int) (value & mask)];
+                value = value >>> shift;
+                if (!fillZeros && value == 0) {
+                    return i;
+                }
+            }
+
+            return 0;
+        }
+
         for (int i = lengthLimit - 1; i >= 0; i--) {
             target[targetOffset + i] = codes[(int) (value % base)];
             value = value / base;
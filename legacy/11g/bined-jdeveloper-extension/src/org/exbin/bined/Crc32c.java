@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.util.zip.Checksum;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * CRC-32C (Castagnoli) checksum.
+ *
+ * Uses slicing-by-8 tables processing eight bytes per step.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class Crc32c implements Checksum {
+
+    /**
+     * Reversed Castagnoli polynomial.
+     */
+    public static final int POLYNOMIAL = 0x82f63b78;
+
+    private static final int[][] TABLES = new int[8][256];
+
+    static {
+        for (int value = 0; value < 256; value++) {
+            int crc = value;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+            }
+            TABLES[0][value] = crc;
+        }
+        for (int table = 1; table < 8; table++) {
+            for (int value = 0; value < 256; value++) {
+                int crc = TABLES[table - 1][value];
+                TABLES[table][value] = (crc >>> 8) ^ TABLES[0][crc & 0xff];
+            }
+        }
+    }
+
+    private int crc = 0;
+
+    @Override
+    public void update(int value) {
+        int current = ~crc;
+        current = (current >>> 8) ^ TABLES[0][(current ^ value) & 0xff];
+        crc = ~current;
+    }
+
+    @Override
+    public void update(byte[] data, int offset, int length) {
+        int[] table0 = TABLES[0];
+        int[] table1 = TABLES[1];
+        int[] table2 = TABLES[2];
+        int[] table3 = TABLES[3];
+        int[] table4 = TABLES[4];
+        int[] table5 = TABLES[5];
+        int[] table6 = TABLES[6];
+        int[] table7 = TABLES[7];
+        int current = ~crc;
+        int end = offset + length;
+        while (offset + 8 <= end) {
+            current ^= (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8 | (data[offset + 2] & 0xff) << 16 | (data[offset + 3] & 0xff) << 24;
+            current = table7[current & 0xff] ^ table6[(current >>> 8) & 0xff] ^ table5[(current >>> 16) & 0xff] ^ table4[current >>> 24]
+                    ^ table3[data[offset + 4] & 0xff] ^ table2[data[offset + 5] & 0xff] ^ table1[data[offset + 6] & 0xff] ^ table0[data[offset + 7] & 0xff];
+            offset += 8;
+        }
+        while (offset < end) {
+            current = (current >>> 8) ^ table0[(current ^ data[offset]) & 0xff];
+            offset++;
+        }
+        crc = ~current;
+    }
+
+    public void update(byte[] data) {
+        update(data, 0, data.length);
+    }
+
+    @Override
+    public long getValue() {
+        return crc & 0xffffffffL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+/**
+ * Interface for listener of data modification with affected range.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+public interface DataModifiedListener {
+
+    /**
+     * Fires notification each time range of data is modified.
+     *
+     * Modification replaces given count of bytes starting at given position
+     * with other count of bytes, which covers insertion, removal and
+     * overwriting of data.
+     *
+     * @param startPosition start position of modified range
+     * @param removedLength length of range before modification
+     * @param insertedLength length of range after modification
+     */
+    void dataModified(long startPosition, long removedLength, long insertedLength);
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Set of anchors attached to data positions which follow their data when
+ * data are inserted or removed.
+ *
+ * Anchors are stored in randomized balanced search tree ordered by position.
+ * Shift of all positions of subtree is recorded lazily in its root and
+ * propagated only when subtree is visited, so adjustment after insertion or
+ * removal of data costs O(log n) regardless of count of shifted anchors.
+ *
+ * Anchors inside removed data are moved to the position of removal. Anchors
+ * inside overwritten data keep their positions.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ * @param <T> type of value of anchor
+ */
+@ParametersAreNonnullByDefault
+public class PositionAnchors<T> {
+
+    private final Random random = new Random();
+    @Nullable
+    private Anchor<T> root = null;
+    private int size = 0;
+
+    // Result of split operation
+    private Anchor<T> splitLeft;
+    private Anchor<T> splitRight;
+
+    /**
+     * Adds new anchor.
+     *
+     * @param position data position
+     * @param value value of anchor
+     * @return anchor
+     */
+    @Nonnull
+    public Anchor<T> add(long position, T value) {
+        Anchor<T> anchor = new Anchor<T>(this, value, position, random.nextInt());
+        split(root, position);
+        Anchor<T> right = splitRight;
+        root = merge(merge(splitLeft, anchor), right);
+        root.parent = null;
+        size++;
+        return anchor;
+    }
+
+    /**
+     * Removes anchor.
+     *
+     * @param anchor anchor
+     * @return true if anchor was removed from this set
+     */
+    public boolean remove(Anchor<T> anchor) {
+        if (anchor.owner != this) {
+            return false;
+        }
+
+        pushDownPath(anchor);
+        Anchor<T> replacement = merge(anchor.left, anchor.right);
+        Anchor<T> parent = anchor.parent;
+        if (replacement != null) {
+            replacement.parent = parent;
+        }
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == anchor) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+
+        anchor.owner = null;
+        anchor.left = null;
+        anchor.right = null;
+        anchor.parent = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes all anchors.
+     */
+    public void clear() {
+        for (Anchor<T> anchor : getAnchors()) {
+            anchor.owner = null;
+            anchor.left = null;
+            anchor.right = null;
+            anchor.parent = null;
+        }
+        root = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adjusts positions of anchors after data were modified.
+     *
+     * Parameters match {@link DataModifiedListener}.
+     *
+     * @param startPosition start position of modification
+     * @param removedLength length of removed or overwritten data
+     * @param insertedLength length of inserted or overwriting data
+     */
+    public void dataModified(long startPosition, long removedLength, long insertedLength) {
+        if (root == null || removedLength == insertedLength) {
+            return;
+        }
+
+        long overwrittenEnd = startPosition + Math.min(removedLength, insertedLength);
+        long removedEnd = startPosition + removedLength;
+        split(root, overwrittenEnd);
+        Anchor<T> left = splitLeft;
+        split(splitRight, removedEnd);
+        Anchor<T> removed = splitLeft;
+        Anchor<T> right = splitRight;
+        if (removed != null) {
+            applyShift(removed, true, overwrittenEnd);
+        }
+        if (right != null) {
+            applyShift(right, false, insertedLength - removedLength);
+        }
+        root = merge(merge(left, removed), right);
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    /**
+     * Returns all anchors ordered by position.
+     *
+     * @return list of anchors
+     */
+    @Nonnull
+    public List<Anchor<T>> getAnchors() {
+        List<Anchor<T>> anchors = new ArrayList<Anchor<T>>(size);
+        collectAnchors(Long.MIN_VALUE, Long.MAX_VALUE, anchors);
+        return anchors;
+    }
+
+    /**
+     * Collects anchors with position in given range ordered by position.
+     *
+     * @param startPosition start position
+     * @param endPosition end position, not included
+     * @param target target list
+     */
+    public void collectAnchors(long startPosition, long endPosition, List<? super Anchor<T>> target) {
+        collectAnchors(root, startPosition, endPosition, target);
+    }
+
+    /**
+     * Returns the first anchor with position after given position.
+     *
+     * @param position data position
+     * @return anchor or null
+     */
+    @Nullable
+    public Anchor<T> findNext(long position) {
+        Anchor<T> result = null;
+        Anchor<T> node = root;
+        while (node != null) {
+            pushDown(node);
+            if (node.position > position) {
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the last anchor with position before given position.
+     *
+     * @param position data position
+     * @return anchor or null
+     */
+    @Nullable
+    public Anchor<T> findPrevious(long position) {
+        Anchor<T> result = null;
+        Anchor<T> node = root;
+        while (node != null) {
+            pushDown(node);
+            if (node.position < position) {
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private void collectAnchors(@Nullable Anchor<T> node, long startPosition, long endPosition, List<? super Anchor<T>> target) {
+        if (node == null) {
+            return;
+        }
+
+        pushDown(node);
+        if (node.position >= startPosition) {
+            collectAnchors(node.left, startPosition, endPosition, target);
+            if (node.position < endPosition) {
+                target.add(node);
+            }
+        }
+        if (node.position < endPosition) {
+            collectAnchors(node.right, startPosition, endPosition, target);
+        }
+    }
+
+    /**
+     * Splits subtree to anchors before given position and anchors at or after
+     * given position stored in splitLeft and splitRight.
+     */
+    private void split(@Nullable Anchor<T> node, long position) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+
+        pushDown(node);
+        if (node.position < position) {
+            split(node.right, position);
+            node.right = splitLeft;
+            if (splitLeft != null) {
+                splitLeft.parent = node;
+            }
+            node.parent = null;
+            splitLeft = node;
+        } else {
+            split(node.left, position);
+            node.left = splitRight;
+            if (splitRight != null) {
+                splitRight.parent = node;
+            }
+            node.parent = null;
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Merges two subtrees where all anchors of the first subtree are not after
+     * anchors of the second subtree.
+     */
+    @Nullable
+    private Anchor<T> merge(@Nullable Anchor<T> first, @Nullable Anchor<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            pushDown(first);
+            first.right = merge(first.right, second);
+            first.right.parent = first;
+            return first;
+        }
+
+        pushDown(second);
+        second.left = merge(first, second.left);
+        second.left.parent = second;
+        return second;
+    }
+
+    private void pushDownPath(Anchor<T> anchor) {
+        List<Anchor<T>> path = new ArrayList<Anchor<T>>();
+        Anchor<T> node = anchor.parent;
+        while (node != null) {
+            path.add(node);
+            node = node.parent;
+        }
+        for (int index = path.size() - 1; index >= 0; index--) {
+            pushDown(path.get(index));
+        }
+    }
+
+    private static <T> void pushDown(Anchor<T> node) {
+        if (node.shiftPending) {
+            if (node.left != null) {
+                applyShift(node.left, node.shiftAbsolute, node.shiftValue);
+            }
+            if (node.right != null) {
+                applyShift(node.right, node.shiftAbsolute, node.shiftValue);
+            }
+            node.shiftPending = false;
+        }
+    }
+
+    /**
+     * Applies shift to whole subtree, either moving all anchors to given
+     * position or adding given offset.
+     */
+    private static <T> void applyShift(Anchor<T> node, boolean absolute, long value) {
+        if (absolute) {
+            node.position = value;
+            node.shiftAbsolute = true;
+            node.shiftValue = value;
+        } else {
+            node.position += value;
+            if (node.shiftPending) {
+                node.shiftValue += value;
+            } else {
+                node.shiftAbsolute = false;
+                node.shiftValue = value;
+            }
+        }
+        node.shiftPending = true;
+    }
+
+    /**
+     * Anchor attached to data position.
+     *
+     * @param <T> type of value of anchor
+     */
+    @ParametersAreNonnullByDefault
+    public static class Anchor<T> {
+
+        @Nullable
+        private PositionAnchors<T> owner;
+        private final T value;
+        private final int priority;
+        private long position;
+
+        @Nullable
+        private Anchor<T> left;
+        @Nullable
+        private Anchor<T> right;
+        @Nullable
+        private Anchor<T> parent;
+        private boolean shiftPending = false;
+        private boolean shiftAbsolute;
+        private long shiftValue;
+
+        private Anchor(PositionAnchors<T> owner, T value, long position, int priority) {
+            this.owner = owner;
+            this.value = value;
+            this.position = position;
+            this.priority = priority;
+        }
+
+        @Nonnull
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns current position of the anchor.
+         *
+         * @return data position
+         */
+        public long getPosition() {
+            if (owner != null) {
+                owner.pushDownPath(this);
+            }
+            return position;
+        }
+
+        /**
+         * Returns true if anchor was not removed from its set.
+         *
+         * @return true if attached
+         */
+        public boolean isAttached() {
+            return owner != null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Incremental formatter of position codes.
+ *
+ * Keeps digits of the current position so that moving to the following row
+ * updates only trailing digits affected by the addition instead of
+ * converting whole value again.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PositionCodeCounter {
+
+    private char[] codes = CodeAreaUtils.UPPER_HEX_CODES;
+    private int base = 16;
+    private int length = 0;
+    private int[] digits = new int[0];
+    private char[] codeChars = new char[0];
+
+    private long increment = -1;
+    private int[] incrementDigits = new int[0];
+    private int incrementFirstDigit;
+
+    public PositionCodeCounter() {
+    }
+
+    /**
+     * Sets counter to given position.
+     *
+     * @param position position value
+     * @param base numerical base, supported values are 2 to 16
+     * @param length number of digits, higher digits are truncated
+     * @param characterCase case for values greater than 9
+     */
+    public void reset(long position, int base, int length, CodeCharactersCase characterCase) {
+        if (this.length != length) {
+            this.length = length;
+            digits = new int[length];
+            codeChars = new char[length];
+            incrementDigits = new int[length];
+            increment = -1;
+        }
+        if (this.base != base) {
+            this.base = base;
+            increment = -1;
+        }
+        codes = characterCase == CodeCharactersCase.UPPER ? CodeAreaUtils.UPPER_HEX_CODES : CodeAreaUtils.LOWER_HEX_CODES;
+
+        long value = position < 0 ? 0 : position;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = (int) (value % base);
+            digits[i] = digit;
+            codeChars[i] = codes[digit];
+            value = value / base;
+        }
+    }
+
+    /**
+     * Adds given non-negative value to the current position.
+     *
+     * @param value added value
+     */
+    public void add(long value) {
+        if (value != increment) {
+            prepareIncrement(value);
+        }
+
+        int carry = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            if (carry == 0 && i < incrementFirstDigit) {
+                break;
+            }
+
+            int digit = digits[i] + incrementDigits[i] + carry;
+            if (digit >= base) {
+                digit -= base;
+                carry = 1;
+            } else {
+                carry = 0;
+            }
+
+            if (digits[i] != digit) {
+                digits[i] = digit;
+                codeChars[i] = codes[digit];
+            }
+        }
+    }
+
+    /**
+     * Returns characters of the current position.
+     *
+     * Returned array is reused by subsequent calls.
+     *
+     * @return characters of length set by reset
+     */
+    @Nonnull
+    public char[] getCodeChars() {
+        return codeChars;
+    }
+
+    private void prepareIncrement(long value) {
+        increment = value;
+        incrementFirstDigit = length;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = (int) (value % base);
+            incrementDigits[i] = digit;
+            if (digit != 0) {
+                incrementFirstDigit = i;
+            }
+            value = value / base;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+/**
+ * Sorted sequence of non-overlapping ranges of data positions.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+public interface PositionRanges {
+
+    /**
+     * Returns count of ranges.
+     *
+     * @return count of ranges
+     */
+    int getRangesCount();
+
+    /**
+     * Returns start position of range.
+     *
+     * @param index range index
+     * @return start position
+     */
+    long getRangeStart(int index);
+
+    /**
+     * Returns length of range.
+     *
+     * @param index range index
+     * @return length of range
+     */
+    long getRangeLength(int index);
+
+    /**
+     * Returns index of the last range starting at or before given position.
+     *
+     * @param position data position
+     * @return range index or -1 if there is no such range
+     */
+    int findRange(long position);
+}
@@ -32,6 +32,12 @@ public abstract class DataSegment implements DoublyLinkedItem<DataSegment> {
     @Nullable
     private DataSegment next;
 
+    @Nullable
+    private Object crcSource = null;
+    private long crcStartPosition = -1;
+    private long crcLength = -1;
+    private long crc;
+
     public DataSegment() {
     }
 
@@ -57,6 +63,46 @@ public abstract class DataSegment implements DoublyLinkedItem<DataSegment> {
     @Nonnull
     public abstract DataSegment copy();
 
+    /**
+     * Returns cached CRC-32 of initial part of this segment.
+     *
+     * Cached value is valid only when segment still points to the same source
+     * and start position as when the value was stored.
+     *
+     * @param source source of the segment data
+     * @return length of the cached part or -1 if not cached
+     */
+    /* package */ long getCachedCrcLength(@Nullable Object source) {
+        if (crcLength < 0 || crcSource != source || crcStartPosition != getStartPosition() || crcLength > getLength()) {
+            return -1;
+        }
+
+        return crcLength;
+    }
+
+    /* package */ long getCachedCrc() {
+        return crc;
+    }
+
+    /* package */ void setCachedCrc(@Nullable Object source, long length, long crc) {
+        crcSource = source;
+        crcStartPosition = getStartPosition();
+        crcLength = length;
+        this.crc = crc;
+    }
+
+    /**
+     * Drops cached CRC-32 if data at given position or after it were covered.
+     *
+     * @param segmentPosition position relative to segment start
+     */
+    /* package */ void invalidateCachedCrc(long segmentPosition) {
+        if (segmentPosition < crcLength) {
+            crcLength = -1;
+            crcSource = null;
+        }
+    }
+
     @Nullable
     @Override
     public DataSegment getNext() {
@@ -54,13 +54,17 @@ public class DeltaDataPageWindow {
         long pagePosition = pageIndex * PAGE_SIZE;
         RandomAccessFile file = data.getAccessFile();
         try {
-            file.seek(pagePosition);
             byte[] page = dataPages[index].page;
             int offset = 0;
             int toRead = PAGE_SIZE;
             if (pagePosition + PAGE_SIZE > file.length()) {
                 toRead = (int) (file.length() - pagePosition);
             }
+            if (data.copyFromCache(pagePosition, page, 0, toRead)) {
+                return;
+            }
+
+            file.seek(pagePosition);
             while (toRead > 0) {
                 int red = file.read(page, offset, toRead);
                 toRead -= red;
@@ -20,8 +20,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.exbin.bined.AsyncBinaryData;
 import org.exbin.bined.delta.list.DefaultDoublyLinkedList;
 import org.exbin.utils.binary_data.BinaryData;
 import org.exbin.utils.binary_data.EditableBinaryData;
@@ -32,7 +37,7 @@ import org.exbin.utils.binary_data.EditableBinaryData;
  * @version 0.2.0 2018/10/29
  * @author ExBin Project (https://exbin.org)
  */
-public class DeltaDocument implements EditableBinaryData {
+public class DeltaDocument implements EditableBinaryData, AsyncBinaryData {
 
     private final SegmentsRepository repository;
     private FileDataSource fileSource;
@@ -40,6 +45,8 @@ public class DeltaDocument implements EditableBinaryData {
 
     private long dataLength = 0;
     private final DeltaDocumentWindow pointerWindow;
+    @Nullable
+    private EditArena editArena = null;
     private final List<DeltaDocumentChangedListener> changeListeners = new ArrayList<DeltaDocumentChangedListener>();
 
     private static final int BUFFER_SIZE = 4096;
@@ -82,6 +89,49 @@ public class DeltaDocument implements EditableBinaryData {
         return pointerWindow.getSegment(position);
     }
 
+    @Override
+    public boolean isDataAvailable(long startFrom, long length) {
+        return collectUncachedParts(startFrom, length, null);
+    }
+
+    @Nonnull
+    @Override
+    public Future<?> requestData(long startFrom, long length, @Nullable final Runnable loadedCallback) {
+        final List<FileSegment> parts = new ArrayList<FileSegment>();
+        collectUncachedParts(startFrom, length, parts);
+
+        if (parts.isEmpty()) {
+            FutureTask<Object> doneTask = new FutureTask<Object>(new Runnable() {
+                @Override
+                public void run() {
+                    if (loadedCallback != null) {
+                        loadedCallback.run();
+                    }
+                }
+            }, null);
+            doneTask.run();
+            return doneTask;
+        }
+
+        return repository.getLoaderExecutor().submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (FileSegment part : parts) {
+                        part.getSource().loadBlocks(part.getStartPosition(), part.getLength());
+                    }
+                } catch (IOException ex) {
+                    Logger.getLogger(DeltaDocument.class.getName()).log(Level.SEVERE, null, ex);
+                    return;
+                }
+
+                if (loadedCallback != null) {
+                    loadedCallback.run();
+                }
+            }
+        });
+    }
+
     @Override
     public boolean isEmpty() {
         return dataLength == 0;
@@ -204,7 +254,7 @@ public class DeltaDocument implements EditableBinaryData {
 
     @Override
     public void fillData(long startFrom, long length, byte fill) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        pointerWindow.fillData(startFrom, length, fill);
     }
 
     @Override
@@ -259,10 +309,7 @@ public class DeltaDocument implements EditableBinaryData {
 
     @Override
     public void copyToArray(long startFrom, byte[] target, int offset, int length) {
-        // TODO optimalization later
-        for (int i = 0; i < length; i++) {
-            target[offset + i] = getByte(startFrom + i);
-        }
+        pointerWindow.copyToArray(startFrom, target, offset, length);
     }
 
     @Nonnull
@@ -302,6 +349,45 @@ public class DeltaDocument implements EditableBinaryData {
         pointerWindow.reset();
     }
 
+    /**
+     * Walks file segments of given range and checks whether they are cached.
+     *
+     * @param startFrom start position
+     * @param length length of the range
+     * @param parts list to collect uncached parts of file sources into or
+     * null to stop on first uncached part
+     * @return true if whole range is cached
+     */
+    private boolean collectUncachedParts(long startFrom, long length, @Nullable List<FileSegment> parts) {
+        if (length <= 0 || startFrom >= dataLength) {
+            return true;
+        }
+
+        boolean cached = true;
+        long position = pointerWindow.getSegmentPosition(startFrom);
+        DataSegment segment = pointerWindow.getSegment(startFrom);
+        long endPosition = Math.min(startFrom + length, dataLength);
+        while (segment != null && position < endPosition) {
+            if (segment instanceof FileSegment) {
+                FileSegment fileSegment = (FileSegment) segment;
+                long partStart = Math.max(startFrom, position);
+                long partLength = Math.min(endPosition, position + segment.getLength()) - partStart;
+                long sourcePosition = fileSegment.getStartPosition() + partStart - position;
+                if (!fileSegment.getSource().isCached(sourcePosition, partLength)) {
+                    if (parts == null) {
+                        return false;
+                    }
+                    parts.add(new FileSegment(fileSegment.getSource(), sourcePosition, partLength));
+                    cached = false;
+                }
+            }
+            position += segment.getLength();
+            segment = segment.getNext();
+        }
+
+        return cached;
+    }
+
     /* package */ void setDataLength(long dataSize) {
         this.dataLength = dataSize;
     }
@@ -333,6 +419,20 @@ public class DeltaDocument implements EditableBinaryData {
         return repository;
     }
 
+    /**
+     * Returns memory source where new data of this document are appended.
+     *
+     * @return edit arena or null if nothing was edited yet
+     */
+    @Nullable
+    public EditArena getEditArena() {
+        return editArena;
+    }
+
+    /* package */ void setEditArena(@Nullable EditArena editArena) {
+        this.editArena = editArena;
+    }
+
     public void addChangeListener(@Nonnull DeltaDocumentChangedListener listener) {
         changeListeners.add(listener);
     }
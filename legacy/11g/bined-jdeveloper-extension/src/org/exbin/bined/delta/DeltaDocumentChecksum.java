@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.delta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.ChecksumUtils;
+
+/**
+ * Incrementally maintained CRC-32 checksum of delta document.
+ *
+ * Checksum of each segment is cached in the segment itself and checksum of
+ * document is combined from checksums of segments, so after local edit only
+ * affected segments are processed. Checksums of file segments are combined
+ * from cached checksums of aligned blocks of the source file, so splitting of
+ * file segment reads only partial blocks at its edges.
+ *
+ * Full blocks are never read by {@link #getCrc32()}, instead they are
+ * registered as pending and should be computed by
+ * {@link #computePendingBlocks(ProgressListener)} in background thread.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DeltaDocumentChecksum {
+
+    public static final int BLOCK_SIZE = 1048576;
+    private static final int BUFFER_SIZE = 65536;
+
+    @Nonnull
+    private final DeltaDocument document;
+    private final Map<FileDataSource, FileBlocks> fileBlocks = new HashMap<FileDataSource, FileBlocks>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    public DeltaDocumentChecksum(DeltaDocument document) {
+        this.document = document;
+    }
+
+    @Nonnull
+    public DeltaDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Returns CRC-32 checksum of the document.
+     *
+     * Must be called from the thread which modifies the document.
+     *
+     * @return checksum or -1 if pending blocks have to be computed first
+     * @throws IOException on input/output error
+     */
+    public long getCrc32() throws IOException {
+        long crc = 0;
+        boolean complete = true;
+        DataSegment segment = document.getSegments().first();
+        while (segment != null) {
+            long segmentCrc = getSegmentCrc(segment);
+            if (segmentCrc < 0) {
+                complete = false;
+            } else if (complete) {
+                crc = ChecksumUtils.combineCrc32(crc, segmentCrc, segment.getLength());
+            }
+            segment = segment.getNext();
+        }
+
+        return complete ? crc : -1;
+    }
+
+    /**
+     * Returns true if there are blocks registered for computation.
+     *
+     * @return true if there are pending blocks
+     */
+    public synchronized boolean hasPendingBlocks() {
+        for (FileBlocks blocks : fileBlocks.values()) {
+            if (!blocks.pending.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes checksums of all pending blocks.
+     *
+     * Reads source files directly using positional reads, so it can be called
+     * from background thread.
+     *
+     * @param progressListener progress listener or null
+     * @throws IOException on input/output error
+     * @throws InterruptedException if current thread was interrupted
+     */
+    public void computePendingBlocks(@Nullable ProgressListener progressListener) throws IOException, InterruptedException {
+        List<FileBlocks> pendingSources = new ArrayList<FileBlocks>();
+        long totalBlocks = 0;
+        synchronized (this) {
+            for (FileBlocks blocks : fileBlocks.values()) {
+                if (!blocks.pending.isEmpty()) {
+                    pendingSources.add(blocks);
+                    totalBlocks += blocks.pending.cardinality();
+                }
+            }
+        }
+
+        ByteBuffer blockBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+        CRC32 crc = new CRC32();
+        long processedBlocks = 0;
+        for (FileBlocks blocks : pendingSources) {
+            FileChannel channel = blocks.source.getAccessFile().getChannel();
+            int block = -1;
+            while (true) {
+                int generation;
+                long fileLength;
+                synchronized (this) {
+                    block = blocks.pending.nextSetBit(block + 1);
+                    generation = blocks.generation;
+                    fileLength = blocks.fileLength;
+                }
+                if (block < 0) {
+                    break;
+                }
+
+                long blockPosition = (long) block * BLOCK_SIZE;
+                int blockLength = (int) Math.min(BLOCK_SIZE, fileLength - blockPosition);
+                blockBuffer.clear();
+                blockBuffer.limit(blockLength);
+                while (blockBuffer.hasRemaining()) {
+                    if (channel.read(blockBuffer, blockPosition + blockBuffer.position()) < 0) {
+                        throw new IOException("Unexpected end of file");
+                    }
+                }
+                crc.reset();
+                crc.update(blockBuffer.array(), 0, blockLength);
+                synchronized (this) {
+                    if (blocks.generation == generation) {
+                        blocks.crcs[block] = crc.getValue();
+                        blocks.pending.clear(block);
+                    }
+                }
+
+                processedBlocks++;
+                if (progressListener != null) {
+                    progressListener.progress(processedBlocks, totalBlocks);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases listeners registered to file sources.
+     */
+    public synchronized void dispose() {
+        for (FileBlocks blocks : fileBlocks.values()) {
+            blocks.source.removeCacheClearListener(blocks);
+        }
+        fileBlocks.clear();
+    }
+
+    private long getSegmentCrc(DataSegment segment) throws IOException {
+        long length = segment.getLength();
+        if (segment instanceof MemorySegment) {
+            MemoryDataSource source = ((MemorySegment) segment).getSource();
+            long cachedLength = segment.getCachedCrcLength(source);
+            if (cachedLength == length) {
+                return segment.getCachedCrc();
+            }
+
+            long crc = cachedLength >= 0 ? segment.getCachedCrc() : 0;
+            long position = cachedLength >= 0 ? cachedLength : 0;
+            CRC32 tailCrc = new CRC32();
+            while (position < length) {
+                int chunkLength = (int) Math.min(BUFFER_SIZE, length - position);
+                source.copyToArray(segment.getStartPosition() + position, buffer, 0, chunkLength);
+                tailCrc.update(buffer, 0, chunkLength);
+                position += chunkLength;
+            }
+            crc = ChecksumUtils.combineCrc32(crc, tailCrc.getValue(), length - (cachedLength >= 0 ? cachedLength : 0));
+            segment.setCachedCrc(source, length, crc);
+            return crc;
+        } else if (segment instanceof FillSegment) {
+            if (segment.getCachedCrcLength(null) == length) {
+                return segment.getCachedCrc();
+            }
+
+            long crc = computeFillCrc(((FillSegment) segment).getFillValue(), length);
+            segment.setCachedCrc(null, length, crc);
+            return crc;
+        } else if (segment instanceof FileSegment) {
+            FileDataSource source = ((FileSegment) segment).getSource();
+            if (segment.getCachedCrcLength(source) == length) {
+                return segment.getCachedCrc();
+            }
+
+            long crc = computeFileCrc(source, segment.getStartPosition(), length);
+            if (crc >= 0) {
+                segment.setCachedCrc(source, length, crc);
+            }
+            return crc;
+        }
+
+        throw new IllegalStateException("Unexpected segment type " + segment.getClass().getName());
+    }
+
+    private long computeFileCrc(FileDataSource source, long startPosition, long length) throws IOException {
+        FileBlocks blocks = getFileBlocks(source);
+        long crc = 0;
+        boolean complete = true;
+        long position = startPosition;
+        long endPosition = startPosition + length;
+        while (position < endPosition) {
+            int block = (int) (position / BLOCK_SIZE);
+            long blockPosition = (long) block * BLOCK_SIZE;
+            long blockEnd = Math.min(blockPosition + BLOCK_SIZE, blocks.fileLength);
+            long partEnd = Math.min(endPosition, blockEnd);
+            if (position == blockPosition && partEnd == blockEnd) {
+                long blockCrc;
+                synchronized (this) {
+                    blockCrc = blocks.crcs[block];
+                    if (blockCrc < 0) {
+                        blocks.pending.set(block);
+                    }
+                }
+                if (blockCrc < 0) {
+                    complete = false;
+                } else if (complete) {
+                    crc = ChecksumUtils.combineCrc32(crc, blockCrc, partEnd - position);
+                }
+            } else if (complete) {
+                crc = ChecksumUtils.combineCrc32(crc, readFileCrc(source, position, partEnd - position), partEnd - position);
+            }
+            position = partEnd;
+        }
+
+        return complete ? crc : -1;
+    }
+
+    private long readFileCrc(FileDataSource source, long startPosition, long length) throws IOException {
+        FileChannel channel = source.getAccessFile().getChannel();
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        CRC32 crc = new CRC32();
+        long position = startPosition;
+        long endPosition = startPosition + length;
+        while (position < endPosition) {
+            byteBuffer.clear();
+            byteBuffer.limit((int) Math.min(BUFFER_SIZE, endPosition - position));
+            while (byteBuffer.hasRemaining()) {
+                if (channel.read(byteBuffer, position + byteBuffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+            crc.update(buffer, 0, byteBuffer.limit());
+            position += byteBuffer.limit();
+        }
+        return crc.getValue();
+    }
+
+    @Nonnull
+    private synchronized FileBlocks getFileBlocks(FileDataSource source) throws IOException {
+        FileBlocks blocks = fileBlocks.get(source);
+        if (blocks == null) {
+            blocks = new FileBlocks(source);
+            fileBlocks.put(source, blocks);
+            source.addCacheClearListener(blocks);
+        }
+        if (blocks.cleared) {
+            blocks.reset(source.getFileLength());
+        }
+        return blocks;
+    }
+
+    /**
+     * Computes checksum of repeated single byte value by combining checksums
+     * of doubling lengths.
+     */
+    private static long computeFillCrc(byte fillValue, long length) {
+        CRC32 singleCrc = new CRC32();
+        singleCrc.update(fillValue);
+        long crc = 0;
+        long powerCrc = singleCrc.getValue();
+        long powerLength = 1;
+        long remaining = length;
+        while (remaining > 0) {
+            if ((remaining & 1) != 0) {
+                crc = ChecksumUtils.combineCrc32(crc, powerCrc, powerLength);
+            }
+            remaining >>>= 1;
+            if (remaining > 0) {
+                powerCrc = ChecksumUtils.combineCrc32(powerCrc, powerCrc, powerLength);
+                powerLength <<= 1;
+            }
+        }
+        return crc;
+    }
+
+    /**
+     * Cached checksums of blocks of single source file.
+     *
+     * Content of the file might change when document is saved, which is
+     * followed by clearing of the cache of the source, so checksums are
+     * dropped with it.
+     */
+    private class FileBlocks implements FileDataSource.CacheClearListener {
+
+        private final FileDataSource source;
+        private long fileLength;
+        private long[] crcs;
+        private final BitSet pending = new BitSet();
+        private boolean cleared = true;
+        private int generation = 0;
+
+        public FileBlocks(FileDataSource source) {
+            this.source = source;
+        }
+
+        private void reset(long fileLength) {
+            this.fileLength = fileLength;
+            crcs = new long[(int) ((fileLength + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+            Arrays.fill(crcs, -1);
+            cleared = false;
+        }
+
+        @Override
+        public void clearCache() {
+            synchronized (DeltaDocumentChecksum.this) {
+                cleared = true;
+                generation++;
+                pending.clear();
+            }
+        }
+    }
+
+    /**
+     * Listener for progress of computation of pending blocks.
+     */
+    public static interface ProgressListener {
+
+        void progress(long processedBlocks, long totalBlocks);
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.delta;
+
+import java.io.IOException;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.PositionRanges;
+
+/**
+ * Ranges of delta document which differ from its source file.
+ *
+ * Ranges are derived from the sequence of segments. File segments of the
+ * document's own source which keep the original order of the file are
+ * unmodified even if they were shifted by insertion or removal, all other
+ * segments are modified. Modified range is insertion if it replaces no data
+ * of the source file.
+ *
+ * Computation is linear in count of segments unless parts of the source file
+ * were moved or copied, in which case the largest ordered subset of file
+ * segments is found in O(n log n).
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DeltaDocumentModifications implements PositionRanges {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] lengths = new long[INITIAL_CAPACITY];
+    private boolean[] insertions = new boolean[INITIAL_CAPACITY];
+    private int rangesCount = 0;
+    private long modifiedSize = 0;
+    private long removedSize = 0;
+
+    private DeltaDocumentModifications() {
+    }
+
+    /**
+     * Computes modified ranges of the document.
+     *
+     * Must be called from the thread which modifies the document.
+     *
+     * @param document delta document
+     * @return modified ranges
+     * @throws IOException on input/output error
+     */
+    @Nonnull
+    public static DeltaDocumentModifications compute(DeltaDocument document) throws IOException {
+        FileDataSource fileSource = document.getFileSource();
+        int segmentsCount = 0;
+        DataSegment segment = document.getSegments().first();
+        while (segment != null) {
+            segmentsCount++;
+            segment = segment.getNext();
+        }
+
+        // Start positions in source file, -1 for segments of other sources
+        long[] sourceStarts = new long[segmentsCount];
+        long[] segmentLengths = new long[segmentsCount];
+        boolean ordered = true;
+        long sourceEnd = 0;
+        int index = 0;
+        segment = document.getSegments().first();
+        while (segment != null) {
+            segmentLengths[index] = segment.getLength();
+            if (fileSource != null && segment instanceof FileSegment && ((FileSegment) segment).getSource() == fileSource) {
+                sourceStarts[index] = segment.getStartPosition();
+                if (sourceStarts[index] < sourceEnd) {
+                    ordered = false;
+                }
+                sourceEnd = sourceStarts[index] + segmentLengths[index];
+            } else {
+                sourceStarts[index] = -1;
+            }
+            index++;
+            segment = segment.getNext();
+        }
+
+        boolean[] unmodified = ordered ? null : findLongestOrderedChain(sourceStarts, segmentLengths);
+
+        DeltaDocumentModifications modifications = new DeltaDocumentModifications();
+        long sourcePosition = 0;
+        long documentPosition = 0;
+        long modifiedStart = 0;
+        for (index = 0; index < segmentsCount; index++) {
+            if (sourceStarts[index] >= 0 && (unmodified == null || unmodified[index])) {
+                modifications.addRange(modifiedStart, documentPosition - modifiedStart, sourceStarts[index] - sourcePosition);
+                sourcePosition = sourceStarts[index] + segmentLengths[index];
+                modifiedStart = documentPosition + segmentLengths[index];
+            }
+            documentPosition += segmentLengths[index];
+        }
+
+        long sourceLength = fileSource == null ? 0 : fileSource.getFileLength();
+        modifications.addRange(modifiedStart, documentPosition - modifiedStart, Math.max(0, sourceLength - sourcePosition));
+        return modifications;
+    }
+
+    /**
+     * Finds chain of source file segments in increasing order of source
+     * position covering the most bytes.
+     *
+     * Used only when segments were moved or copied within the document, so
+     * that moved data doesn't mark all following data as modified.
+     */
+    @Nonnull
+    private static boolean[] findLongestOrderedChain(long[] sourceStarts, long[] segmentLengths) {
+        int segmentsCount = sourceStarts.length;
+        int fileSegmentsCount = 0;
+        long[] sortedEnds = new long[segmentsCount];
+        for (int index = 0; index < segmentsCount; index++) {
+            if (sourceStarts[index] >= 0) {
+                sortedEnds[fileSegmentsCount++] = sourceStarts[index] + segmentLengths[index];
+            }
+        }
+        Arrays.sort(sortedEnds, 0, fileSegmentsCount);
+
+        // Fenwick tree of maximum chain length ending at or before given end
+        long[] treeValues = new long[fileSegmentsCount + 1];
+        int[] treeSegments = new int[fileSegmentsCount + 1];
+        Arrays.fill(treeSegments, -1);
+        int[] previous = new int[segmentsCount];
+        long bestValue = 0;
+        int bestSegment = -1;
+        for (int index = 0; index < segmentsCount; index++) {
+            if (sourceStarts[index] < 0) {
+                continue;
+            }
+
+            long chainValue = 0;
+            int chainSegment = -1;
+            for (int node = upperBound(sortedEnds, fileSegmentsCount, sourceStarts[index]); node > 0; node -= node & -node) {
+                if (treeValues[node] > chainValue) {
+                    chainValue = treeValues[node];
+                    chainSegment = treeSegments[node];
+                }
+            }
+
+            long value = chainValue + segmentLengths[index];
+            previous[index] = chainSegment;
+            if (value > bestValue) {
+                bestValue = value;
+                bestSegment = index;
+            }
+            long end = sourceStarts[index] + segmentLengths[index];
+            for (int node = upperBound(sortedEnds, fileSegmentsCount, end - 1) + 1; node <= fileSegmentsCount; node += node & -node) {
+                if (value > treeValues[node]) {
+                    treeValues[node] = value;
+                    treeSegments[node] = index;
+                }
+            }
+        }
+
+        boolean[] chain = new boolean[segmentsCount];
+        for (int index = bestSegment; index >= 0; index = previous[index]) {
+            chain[index] = true;
+        }
+        return chain;
+    }
+
+    private static int upperBound(long[] values, int count, long value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void addRange(long start, long length, long replacedLength) {
+        modifiedSize += length;
+        if (replacedLength > length) {
+            removedSize += replacedLength - length;
+        }
+
+        if (length == 0) {
+            return;
+        }
+
+        if (rangesCount == starts.length) {
+            int capacity = rangesCount * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            insertions = Arrays.copyOf(insertions, capacity);
+        }
+        starts[rangesCount] = start;
+        lengths[rangesCount] = length;
+        insertions[rangesCount] = replacedLength == 0;
+        rangesCount++;
+    }
+
+    @Override
+    public int getRangesCount() {
+        return rangesCount;
+    }
+
+    @Override
+    public long getRangeStart(int index) {
+        return starts[index];
+    }
+
+    @Override
+    public long getRangeLength(int index) {
+        return lengths[index];
+    }
+
+    /**
+     * Returns true if range was inserted without replacing any data of the
+     * source file.
+     *
+     * @param index range index
+     * @return true for insertion
+     */
+    public boolean isInsertion(int index) {
+        return insertions[index];
+    }
+
+    @Override
+    public int findRange(long position) {
+        int index = Arrays.binarySearch(starts, 0, rangesCount, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Returns total count of modified and inserted bytes.
+     *
+     * @return count of bytes
+     */
+    public long getModifiedSize() {
+        return modifiedSize;
+    }
+
+    /**
+     * Returns count of bytes of the source file which were removed without
+     * replacement.
+     *
+     * @return count of bytes
+     */
+    public long getRemovedSize() {
+        return removedSize;
+    }
+}
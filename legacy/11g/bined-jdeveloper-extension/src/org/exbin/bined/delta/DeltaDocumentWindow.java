@@ -15,6 +15,7 @@
  */
 package org.exbin.bined.delta;
 
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.exbin.bined.delta.list.DefaultDoublyLinkedList;
@@ -56,6 +57,8 @@ public class DeltaDocumentWindow {
 
         if (pointer.segment instanceof FileSegment) {
             return ((FileSegment) pointer.segment).getByte(pointer.segment.getStartPosition() + (position - pointer.position));
+        } else if (pointer.segment instanceof FillSegment) {
+            return ((FillSegment) pointer.segment).getFillValue();
         } else {
             return ((MemorySegment) pointer.segment).getByte(pointer.segment.getStartPosition() + (position - pointer.position));
         }
@@ -66,22 +69,22 @@ public class DeltaDocumentWindow {
         SegmentsRepository repository = document.getRepository();
         focusSegment(position);
 
-        if (pointer.segment instanceof FileSegment) {
+        if (pointer.segment instanceof FileSegment || pointer.segment instanceof FillSegment) {
             if (pointer.position != position) {
                 splitSegment(position);
                 focusSegment(position);
             }
 
             DataSegment prev = segments.prevTo(pointer.segment);
-            if (prev instanceof MemorySegment) {
+            if (prev instanceof MemorySegment && repository.isAppendable((MemorySegment) prev)) {
                 repository.setMemoryByte((MemorySegment) prev, prev.getLength(), value);
             } else {
-                MemorySegment segment = repository.createMemorySegment(repository.openMemorySource(), 0, 0);
+                MemorySegment segment = repository.createArenaSegment(document);
                 repository.setMemoryByte(segment, 0, value);
                 segments.addBefore(pointer.segment, segment);
             }
             pointer.position++;
-            FileSegment documentSegment = ((FileSegment) pointer.segment);
+            DataSegment documentSegment = pointer.segment;
             if (documentSegment.getLength() == 1) {
                 segments.remove(documentSegment);
                 repository.dropSegment(documentSegment);
@@ -92,8 +95,14 @@ public class DeltaDocumentWindow {
             }
         } else {
             if (pointer.segment == null) {
-                pointer.segment = repository.createMemorySegment(repository.openMemorySource(), 0, 0);
-                segments.add(pointer.segment);
+                DataSegment last = segments.last();
+                if (last instanceof MemorySegment && repository.isAppendable((MemorySegment) last)) {
+                    pointer.segment = last;
+                    pointer.position = getDataSize() - last.getLength();
+                } else {
+                    pointer.segment = repository.createArenaSegment(document);
+                    segments.add(pointer.segment);
+                }
             }
             repository.setMemoryByte((MemorySegment) pointer.segment, position - pointer.position, value);
         }
@@ -109,148 +118,47 @@ public class DeltaDocumentWindow {
             return;
         }
 
-        DefaultDoublyLinkedList<DataSegment> segments = document.getSegments();
-        SegmentsRepository repository = document.getRepository();
-
-        focusSegment(startFrom);
-        long targetLength = document.getDataSize() + length;
-        if (pointer.segment instanceof MemorySegment) {
-            repository.insertUninitializedMemoryData((MemorySegment) pointer.segment, startFrom - pointer.position, length);
-            document.setDataLength(targetLength);
-        } else if (pointer.segment != null && pointer.position == startFrom && pointer.segment.getPrev() instanceof MemorySegment
-                && pointer.segment.getPrev().getStartPosition() + pointer.segment.getPrev().getLength() == ((MemorySegment) pointer.segment.getPrev()).getSource().getDataSize()) {
-            MemorySegment prevSegment = (MemorySegment) pointer.segment.getPrev();
-            prevSegment.getSource().insertUninitialized(prevSegment.getSource().getDataSize(), 1);
-            repository.updateSegmentLength(prevSegment, prevSegment.getLength() + 1);
-            pointer.position++;
-            document.setDataLength(targetLength);
-        } else if (pointer.segment == null && segments.last() instanceof MemorySegment
-                && segments.last().getStartPosition() + segments.last().getLength() == ((MemorySegment) segments.last()).getSource().getDataSize()) {
-            MemorySegment prevSegment = (MemorySegment) segments.last();
-            prevSegment.getSource().insertUninitialized(prevSegment.getSource().getDataSize(), 1);
-            repository.updateSegmentLength(prevSegment, prevSegment.getLength() + 1);
-            pointer.position++;
-            document.setDataLength(targetLength);
-        } else {
-            if (startFrom > pointer.position) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemorySegment insertedSegment = repository.createMemorySegment();
-            repository.insertUninitializedMemoryData(insertedSegment, 0, length);
-            if (pointer.segment == null) {
-                segments.add(insertedSegment);
-            } else {
-                segments.addBefore(pointer.segment, insertedSegment);
-            }
-            pointer.segment = insertedSegment;
-            document.setDataLength(targetLength);
-            tryMergeArea(startFrom, length);
-        }
-        document.notifyChangeListeners(this);
+        insertFill(startFrom, length, (byte) 0);
     }
 
     public void insert(long startFrom, long length) {
-        DefaultDoublyLinkedList<DataSegment> segments = document.getSegments();
-        SegmentsRepository repository = document.getRepository();
         if (length == 0) {
             return;
         }
 
-        focusSegment(startFrom);
-        long targetLength = document.getDataSize() + length;
-        if (pointer.segment instanceof MemorySegment) {
-            repository.insertMemoryData((MemorySegment) pointer.segment, startFrom - pointer.position, length);
-            document.setDataLength(targetLength);
-        } else if (pointer.segment != null && pointer.position == startFrom && pointer.segment.getPrev() instanceof MemorySegment
-                && pointer.segment.getPrev().getStartPosition() + pointer.segment.getPrev().getLength() == ((MemorySegment) pointer.segment.getPrev()).getSource().getDataSize()) {
-            MemorySegment prevSegment = (MemorySegment) pointer.segment.getPrev();
-            prevSegment.getSource().insert(prevSegment.getSource().getDataSize(), 1);
-            repository.updateSegmentLength(prevSegment, prevSegment.getLength() + 1);
-            pointer.position++;
-            document.setDataLength(targetLength);
-        } else if (pointer.segment == null && segments.last() instanceof MemorySegment
-                && segments.last().getStartPosition() + segments.last().getLength() == ((MemorySegment) segments.last()).getSource().getDataSize()) {
-            MemorySegment prevSegment = (MemorySegment) segments.last();
-            prevSegment.getSource().insert(prevSegment.getSource().getDataSize(), 1);
-            repository.updateSegmentLength(prevSegment, prevSegment.getLength() + 1);
-            pointer.position++;
-            document.setDataLength(targetLength);
-        } else {
-            if (startFrom > pointer.position) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemorySegment insertedSegment = repository.createMemorySegment();
-            repository.insertMemoryData(insertedSegment, 0, length);
-            if (pointer.segment == null) {
-                segments.add(insertedSegment);
-            } else {
-                segments.addBefore(pointer.segment, insertedSegment);
-            }
-            pointer.segment = insertedSegment;
-            document.setDataLength(targetLength);
-            tryMergeArea(startFrom, length);
-        }
-        document.notifyChangeListeners(this);
+        insertFill(startFrom, length, (byte) 0);
     }
 
-    public void insert(long startFrom, @Nonnull byte[] insertedData) {
-        DefaultDoublyLinkedList<DataSegment> segments = document.getSegments();
-        SegmentsRepository repository = document.getRepository();
-        if (insertedData.length == 0) {
+    /**
+     * Replaces given area with repeated byte value.
+     *
+     * @param startFrom start position
+     * @param length length of the area
+     * @param fill fill value
+     */
+    public void fillData(long startFrom, long length, byte fill) {
+        if (length == 0) {
             return;
         }
 
-        focusSegment(startFrom);
-        long targetLength = document.getDataSize() + insertedData.length;
-        if (pointer.segment instanceof MemorySegment) {
-            repository.insertMemoryData((MemorySegment) pointer.segment, startFrom - pointer.position, insertedData);
-            document.setDataLength(targetLength);
-        } else {
-            if (startFrom > pointer.position) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemorySegment insertedSegment = repository.createMemorySegment();
-            repository.insertMemoryData(insertedSegment, 0, insertedData);
-            if (pointer.segment == null) {
-                segments.add(insertedSegment);
-            } else {
-                segments.addBefore(pointer.segment, insertedSegment);
-            }
-            pointer.segment = insertedSegment;
-            document.setDataLength(targetLength);
-            tryMergeArea(startFrom, insertedData.length);
-        }
-        document.notifyChangeListeners(this);
+        remove(startFrom, length);
+        insertFill(startFrom, length, fill);
+    }
+
+    public void insert(long startFrom, @Nonnull byte[] insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.length);
     }
 
     public void insert(long startFrom, @Nonnull byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
-        DefaultDoublyLinkedList<DataSegment> segments = document.getSegments();
-        SegmentsRepository repository = document.getRepository();
+        if (insertedDataLength == 0) {
+            return;
+        }
 
-        focusSegment(startFrom);
         long targetLength = document.getDataSize() + insertedDataLength;
-        if (pointer.segment instanceof MemorySegment) {
-            repository.insertMemoryData((MemorySegment) pointer.segment, startFrom - pointer.position, insertedData);
-            document.setDataLength(targetLength);
-        } else {
-            if (startFrom > pointer.position) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemorySegment insertedSegment = repository.createMemorySegment();
-            repository.insertMemoryData(insertedSegment, 0, insertedData);
-            if (pointer.segment == null) {
-                segments.add(insertedSegment);
-            } else {
-                segments.addBefore(pointer.segment, insertedSegment);
-            }
-            pointer.segment = insertedSegment;
-            document.setDataLength(targetLength);
-            tryMergeArea(startFrom, insertedData.length);
-        }
+        MemorySegment insertedSegment = insertArenaSegment(startFrom);
+        document.getRepository().insertMemoryData(insertedSegment, 0, insertedData, insertedDataOffset, insertedDataLength);
+        document.setDataLength(targetLength);
+        tryMergeArea(startFrom, insertedDataLength);
         document.notifyChangeListeners(this);
     }
 
@@ -290,22 +198,9 @@ public class DeltaDocumentWindow {
             pointer.segment = first;
             document.setDataLength(targetLength);
             tryMergeArea(startFrom, insertedData.getDataSize());
-        } else if (pointer.segment instanceof MemorySegment) {
-            repository.insertMemoryData((MemorySegment) pointer.segment, startFrom - pointer.position, insertedData);
-            document.setDataLength(targetLength);
         } else {
-            if (pointer.position < startFrom) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemorySegment insertedSegment = repository.createMemorySegment();
+            MemorySegment insertedSegment = insertArenaSegment(startFrom);
             repository.insertMemoryData(insertedSegment, 0, insertedData);
-            if (pointer.segment == null) {
-                segments.add(insertedSegment);
-            } else {
-                segments.addBefore(pointer.segment, insertedSegment);
-            }
-            pointer.segment = insertedSegment;
             document.setDataLength(targetLength);
             tryMergeArea(startFrom, insertedData.getDataSize());
         }
@@ -341,36 +236,21 @@ public class DeltaDocumentWindow {
             } else {
                 segments.addBefore(pointer.segment, segment);
             }
-            DataSegment next = segment.getNext();
             while (length > 0) {
                 DataSegment nextSegment = insertedDocument.getPartCopy(position, length);
                 position += nextSegment.getLength();
                 length -= nextSegment.getLength();
                 segments.addAfter(segment, nextSegment);
                 segment = nextSegment;
-                next = next.getNext();
             }
             pointer.segment = first;
             document.setDataLength(targetLength);
-            tryMergeArea(startFrom, insertedData.getDataSize());
-        } else if (pointer.segment instanceof MemorySegment) {
-            repository.insertMemoryData((MemorySegment) pointer.segment, startFrom - pointer.position, insertedData, insertedDataOffset, insertedDataLength);
-            document.setDataLength(targetLength);
+            tryMergeArea(startFrom, insertedDataLength);
         } else {
-            if (pointer.position < startFrom) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemorySegment insertedSegment = repository.createMemorySegment();
+            MemorySegment insertedSegment = insertArenaSegment(startFrom);
             repository.insertMemoryData(insertedSegment, 0, insertedData, insertedDataOffset, insertedDataLength);
-            if (pointer.segment == null) {
-                segments.add(insertedSegment);
-            } else {
-                segments.addBefore(pointer.segment, insertedSegment);
-            }
-            pointer.segment = insertedSegment;
             document.setDataLength(targetLength);
-            tryMergeArea(startFrom, insertedData.getDataSize());
+            tryMergeArea(startFrom, insertedDataLength);
         }
         document.notifyChangeListeners(this);
     }
@@ -478,12 +358,8 @@ public class DeltaDocumentWindow {
 
             if (offset == 0 && copyLength == segmentLength) {
                 copy.getSegments().add(repository.copySegment(segment));
-            } else if (segment instanceof MemorySegment) {
-                MemorySegment memorySegment = (MemorySegment) segment;
-                copy.getSegments().add(repository.createMemorySegment(memorySegment.getSource(), memorySegment.getStartPosition() + offset, copyLength));
             } else {
-                FileSegment fileSegment = (FileSegment) segment;
-                copy.getSegments().add(repository.createFileSegment(fileSegment.getSource(), fileSegment.getStartPosition() + offset, copyLength));
+                copy.getSegments().add(repository.copySegment(segment, offset, copyLength));
             }
             length -= copyLength;
             offset = 0;
@@ -497,7 +373,36 @@ public class DeltaDocumentWindow {
     }
 
     public void copyToArray(long startFrom, @Nonnull byte[] target, int offset, int length) {
-        document.copyToArray(startFrom, target, offset, length);
+        if (length == 0) {
+            return;
+        }
+
+        focusSegment(startFrom);
+        DataSegment segment = pointer.segment;
+        long segmentOffset = startFrom - pointer.position;
+        while (length > 0) {
+            if (segment == null) {
+                throw new OutOfBoundsException("Copied area is out of bounds");
+            }
+
+            int copyLength = segment.getLength() - segmentOffset < length ? (int) (segment.getLength() - segmentOffset) : length;
+            if (segment instanceof MemorySegment) {
+                ((MemorySegment) segment).getSource().copyToArray(segment.getStartPosition() + segmentOffset, target, offset, copyLength);
+            } else if (segment instanceof FillSegment) {
+                Arrays.fill(target, offset, offset + copyLength, ((FillSegment) segment).getFillValue());
+            } else {
+                FileSegment fileSegment = (FileSegment) segment;
+                long sourcePosition = fileSegment.getStartPosition() + segmentOffset;
+                for (int i = 0; i < copyLength; i++) {
+                    target[offset + i] = fileSegment.getByte(sourcePosition + i);
+                }
+            }
+
+            offset += copyLength;
+            length -= copyLength;
+            segmentOffset = 0;
+            segment = segment.getNext();
+        }
     }
 
     /**
@@ -523,6 +428,11 @@ public class DeltaDocumentWindow {
             MemorySegment newSegment = repository.createMemorySegment(memorySegment.getSource(), memorySegment.getStartPosition() + firstPartSize, memorySegment.getLength() - firstPartSize);
             repository.updateSegmentLength(memorySegment, firstPartSize);
             segments.addAfter(pointer.segment, newSegment);
+        } else if (pointer.segment instanceof FillSegment) {
+            FillSegment fillSegment = (FillSegment) pointer.segment;
+            FillSegment newSegment = repository.createFillSegment(fillSegment.getFillValue(), fillSegment.getLength() - firstPartSize);
+            repository.updateSegmentLength(fillSegment, firstPartSize);
+            segments.addAfter(fillSegment, newSegment);
         } else {
             FileSegment fileSegment = (FileSegment) pointer.segment;
             FileSegment newSegment = repository.createFileSegment(fileSegment.getSource(), fileSegment.getStartPosition() + firstPartSize, fileSegment.getLength() - firstPartSize);
@@ -537,6 +447,17 @@ public class DeltaDocumentWindow {
         return pointer.segment;
     }
 
+    /**
+     * Returns start position of the segment containing given position.
+     *
+     * @param position position
+     * @return start position of the segment
+     */
+    public long getSegmentPosition(long position) {
+        focusSegment(position);
+        return pointer.position;
+    }
+
     /**
      * Returns segment starting from given position or copy of part of the
      * segment starting from given position up to the end of length.
@@ -561,6 +482,60 @@ public class DeltaDocumentWindow {
         return repository.copySegment(pointer.segment, offset, partLength);
     }
 
+    /**
+     * Inserts segment of repeated byte value at given position.
+     *
+     * @param startFrom insertion position
+     * @param length length
+     * @param fill fill value
+     */
+    private void insertFill(long startFrom, long length, byte fill) {
+        DefaultDoublyLinkedList<DataSegment> segments = document.getSegments();
+        long targetLength = document.getDataSize() + length;
+        focusSegment(startFrom);
+        if (startFrom > pointer.position) {
+            splitSegment(startFrom);
+            focusSegment(startFrom);
+        }
+
+        FillSegment insertedSegment = document.getRepository().createFillSegment(fill, length);
+        if (pointer.segment == null) {
+            segments.add(insertedSegment);
+        } else {
+            segments.addBefore(pointer.segment, insertedSegment);
+        }
+        pointer.segment = insertedSegment;
+        document.setDataLength(targetLength);
+        tryMergeArea(startFrom, length);
+        document.notifyChangeListeners(this);
+    }
+
+    /**
+     * Inserts empty segment at the end of the document edit arena at given
+     * position and focuses it.
+     *
+     * @param startFrom insertion position
+     * @return inserted segment
+     */
+    @Nonnull
+    private MemorySegment insertArenaSegment(long startFrom) {
+        DefaultDoublyLinkedList<DataSegment> segments = document.getSegments();
+        focusSegment(startFrom);
+        if (startFrom > pointer.position) {
+            splitSegment(startFrom);
+            focusSegment(startFrom);
+        }
+
+        MemorySegment insertedSegment = document.getRepository().createArenaSegment(document);
+        if (pointer.segment == null) {
+            segments.add(insertedSegment);
+        } else {
+            segments.addBefore(pointer.segment, insertedSegment);
+        }
+        pointer.segment = insertedSegment;
+        return insertedSegment;
+    }
+
     /**
      * Focuses segment starting at or before given position and ending after it.
      *
@@ -652,8 +627,7 @@ public class DeltaDocumentWindow {
 
         if (segment instanceof FileSegment && nextSegment instanceof FileSegment) {
             if (((FileSegment) segment).getStartPosition() + segment.getLength() == ((FileSegment) nextSegment).getStartPosition()) {
-                repository.updateSegmentLength(segment, segment.getLength() + nextSegment.getLength());
-                repository.dropSegment(nextSegment);
+                repository.joinSegments(segment, nextSegment);
                 segments.remove(nextSegment);
                 return true;
             }
@@ -666,8 +640,7 @@ public class DeltaDocumentWindow {
             MemorySegment nextMemorySegment = (MemorySegment) nextSegment;
             if (memorySegment.getSource() == nextMemorySegment.getSource()) {
                 if (memorySegment.getStartPosition() + segment.getLength() == nextMemorySegment.getStartPosition()) {
-                    repository.updateSegmentLength(memorySegment, segment.getLength() + nextSegment.getLength());
-                    repository.dropSegment(nextSegment);
+                    repository.joinSegments(memorySegment, nextMemorySegment);
                     segments.remove(nextSegment);
                     return true;
                 }
@@ -675,6 +648,14 @@ public class DeltaDocumentWindow {
             // TODO join two single memory segments?
         }
 
+        if (segment instanceof FillSegment && nextSegment instanceof FillSegment) {
+            if (((FillSegment) segment).getFillValue() == ((FillSegment) nextSegment).getFillValue()) {
+                repository.updateSegmentLength(segment, segment.getLength() + nextSegment.getLength());
+                segments.remove(nextSegment);
+                return true;
+            }
+        }
+
         return false;
     }
 
@@ -0,0 +1,454 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.delta;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.OutOfBoundsException;
+import org.exbin.utils.binary_data.PagedData;
+
+/**
+ * Append-only memory data source shared by all edits of the document.
+ *
+ * New data are always appended at the end, segments are views into it.
+ * Pages are reference counted by the segments pointing to them and pages no
+ * longer referenced are released.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class EditArena extends MemoryDataSource {
+
+    public static final int PAGE_SIZE = 65536;
+    private static final int BUFFER_SIZE = 4096;
+
+    private final List<byte[]> pages = new ArrayList<byte[]>();
+    private int[] pageReferences = new int[16];
+    private long dataSize = 0;
+    private long releasedSize = 0;
+    private long droppedSize = 0;
+
+    public EditArena() {
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return dataSize == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    @Override
+    public void setDataSize(long size) {
+        if (size > dataSize) {
+            appendSpace(size - dataSize);
+        } else if (size < dataSize) {
+            int lastPage = (int) ((size + PAGE_SIZE - 1) / PAGE_SIZE);
+            for (int pageIndex = pages.size() - 1; pageIndex >= lastPage; pageIndex--) {
+                if (pages.remove(pageIndex) == null) {
+                    releasedSize -= PAGE_SIZE;
+                }
+            }
+            int lastPageSize = (int) (size % PAGE_SIZE);
+            if (lastPageSize > 0 && pages.get(lastPage - 1) != null) {
+                Arrays.fill(pages.get(lastPage - 1), lastPageSize, PAGE_SIZE, (byte) 0);
+            }
+            dataSize = size;
+        }
+    }
+
+    @Override
+    public byte getByte(long position) {
+        checkRange(position, 1);
+        byte[] page = pages.get((int) (position / PAGE_SIZE));
+        return page == null ? 0 : page[(int) (position % PAGE_SIZE)];
+    }
+
+    @Override
+    public void setByte(long position, byte value) {
+        checkRange(position, 1);
+        getWritablePage((int) (position / PAGE_SIZE))[(int) (position % PAGE_SIZE)] = value;
+    }
+
+    @Override
+    public void insertUninitialized(long startFrom, long length) {
+        checkAppend(startFrom);
+        appendSpace(length);
+    }
+
+    @Override
+    public void insert(long startFrom, long length) {
+        checkAppend(startFrom);
+        appendSpace(length);
+    }
+
+    @Override
+    public void insert(long startFrom, byte[] insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.length);
+    }
+
+    @Override
+    public void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
+        checkAppend(startFrom);
+        appendSpace(insertedDataLength);
+        replace(startFrom, insertedData, insertedDataOffset, insertedDataLength);
+    }
+
+    @Override
+    public void insert(long startFrom, BinaryData insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.getDataSize());
+    }
+
+    @Override
+    public void insert(long startFrom, BinaryData insertedData, long insertedDataOffset, long insertedDataLength) {
+        checkAppend(startFrom);
+        appendSpace(insertedDataLength);
+        replace(startFrom, insertedData, insertedDataOffset, insertedDataLength);
+    }
+
+    @Override
+    public long insert(long startFrom, InputStream inputStream, long length) throws IOException {
+        checkAppend(startFrom);
+        long processed = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (length < 0 || processed < length) {
+            int toRead = length < 0 || length - processed > BUFFER_SIZE ? BUFFER_SIZE : (int) (length - processed);
+            int read = inputStream.read(buffer, 0, toRead);
+            if (read == -1) {
+                break;
+            }
+            insert(startFrom + processed, buffer, 0, read);
+            processed += read;
+        }
+
+        return processed;
+    }
+
+    @Override
+    public void remove(long startFrom, long length) {
+        checkRange(startFrom, length);
+        if (startFrom + length != dataSize) {
+            throw new UnsupportedOperationException("Edit arena supports only removal from the end");
+        }
+        setDataSize(startFrom);
+    }
+
+    @Override
+    public void replace(long targetPosition, BinaryData replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.getDataSize());
+    }
+
+    @Override
+    public void replace(long targetPosition, BinaryData replacingData, long startFrom, long length) {
+        checkRange(targetPosition, length);
+        while (length > 0) {
+            byte[] page = getWritablePage((int) (targetPosition / PAGE_SIZE));
+            int pageOffset = (int) (targetPosition % PAGE_SIZE);
+            int blockLength = length > PAGE_SIZE - pageOffset ? PAGE_SIZE - pageOffset : (int) length;
+            replacingData.copyToArray(startFrom, page, pageOffset, blockLength);
+            targetPosition += blockLength;
+            startFrom += blockLength;
+            length -= blockLength;
+        }
+    }
+
+    @Override
+    public void replace(long targetPosition, byte[] replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.length);
+    }
+
+    @Override
+    public void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
+        checkRange(targetPosition, length);
+        while (length > 0) {
+            byte[] page = getWritablePage((int) (targetPosition / PAGE_SIZE));
+            int pageOffset = (int) (targetPosition % PAGE_SIZE);
+            int blockLength = Math.min(PAGE_SIZE - pageOffset, length);
+            System.arraycopy(replacingData, replacingDataOffset, page, pageOffset, blockLength);
+            targetPosition += blockLength;
+            replacingDataOffset += blockLength;
+            length -= blockLength;
+        }
+    }
+
+    @Override
+    public void fillData(long startFrom, long length) {
+        fillData(startFrom, length, (byte) 0);
+    }
+
+    @Override
+    public void fillData(long startFrom, long length, byte fill) {
+        checkRange(startFrom, length);
+        while (length > 0) {
+            byte[] page = getWritablePage((int) (startFrom / PAGE_SIZE));
+            int pageOffset = (int) (startFrom % PAGE_SIZE);
+            int blockLength = length > PAGE_SIZE - pageOffset ? PAGE_SIZE - pageOffset : (int) length;
+            Arrays.fill(page, pageOffset, pageOffset + blockLength, fill);
+            startFrom += blockLength;
+            length -= blockLength;
+        }
+    }
+
+    @Override
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        checkRange(startFrom, length);
+        while (length > 0) {
+            byte[] page = pages.get((int) (startFrom / PAGE_SIZE));
+            int pageOffset = (int) (startFrom % PAGE_SIZE);
+            int blockLength = Math.min(PAGE_SIZE - pageOffset, length);
+            if (page == null) {
+                Arrays.fill(target, offset, offset + blockLength, (byte) 0);
+            } else {
+                System.arraycopy(page, pageOffset, target, offset, blockLength);
+            }
+            startFrom += blockLength;
+            offset += blockLength;
+            length -= blockLength;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy() {
+        return copy(0, dataSize);
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy(long startFrom, long length) {
+        checkRange(startFrom, length);
+        PagedData copy = new PagedData();
+        copy.insertUninitialized(0, length);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = 0;
+        while (position < length) {
+            int blockLength = length - position > BUFFER_SIZE ? BUFFER_SIZE : (int) (length - position);
+            copyToArray(startFrom + position, buffer, 0, blockLength);
+            copy.replace(position, buffer, 0, blockLength);
+            position += blockLength;
+        }
+        return copy;
+    }
+
+    @Override
+    public void clear() {
+        pages.clear();
+        pageReferences = new int[16];
+        dataSize = 0;
+        releasedSize = 0;
+        droppedSize = 0;
+    }
+
+    @Override
+    public void loadFromStream(InputStream inputStream) throws IOException {
+        clear();
+        insert(0, inputStream, -1);
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = 0;
+        while (position < dataSize) {
+            int blockLength = dataSize - position > BUFFER_SIZE ? BUFFER_SIZE : (int) (dataSize - position);
+            copyToArray(position, buffer, 0, blockLength);
+            outputStream.write(buffer, 0, blockLength);
+            position += blockLength;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public OutputStream getDataOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int value) throws IOException {
+                appendSpace(1);
+                setByte(dataSize - 1, (byte) value);
+            }
+
+            @Override
+            public void write(byte[] data, int offset, int length) throws IOException {
+                insert(dataSize, data, offset, length);
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getDataInputStream() {
+        return new InputStream() {
+            private long position = 0;
+
+            @Override
+            public int read() throws IOException {
+                return position < dataSize ? getByte(position++) & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] target, int offset, int length) throws IOException {
+                if (position >= dataSize) {
+                    return -1;
+                }
+                int blockLength = dataSize - position > length ? length : (int) (dataSize - position);
+                copyToArray(position, target, offset, blockLength);
+                position += blockLength;
+                return blockLength;
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    /**
+     * Adds references from segment area to pages covering it.
+     *
+     * Pages which are not referenced anymore are released, except for the
+     * last page which is still being appended to.
+     *
+     * @param startPosition start position of the area
+     * @param length length of the area
+     * @param change change of references count
+     */
+    /* package */ void updateReferences(long startPosition, long length, int change) {
+        updatePageReferences(startPosition, length, change);
+        if (change < 0 && length > 0) {
+            droppedSize += length;
+        }
+    }
+
+    /**
+     * Moves references of segment from original area to new area.
+     *
+     * Only part of the original area not covered by the new area is counted
+     * as dropped, so segment growing in place doesn't count its data again.
+     *
+     * @param originalPosition original start position of the area
+     * @param originalLength original length of the area
+     * @param startPosition new start position of the area
+     * @param length new length of the area
+     */
+    /* package */ void moveReferences(long originalPosition, long originalLength, long startPosition, long length) {
+        // New references are added first so that shared pages are not released
+        updatePageReferences(startPosition, length, 1);
+        updatePageReferences(originalPosition, originalLength, -1);
+        long overlap = Math.min(originalPosition + originalLength, startPosition + length) - Math.max(originalPosition, startPosition);
+        droppedSize += originalLength - Math.max(0, overlap);
+    }
+
+    /**
+     * Joins references of segment with references of directly following
+     * segment.
+     *
+     * Data of both areas stay referenced, so nothing is counted as dropped.
+     *
+     * @param startPosition start position of the area
+     * @param length length of the area
+     * @param nextLength length of the following area
+     */
+    /* package */ void joinReferences(long startPosition, long length, long nextLength) {
+        updatePageReferences(startPosition, length + nextLength, 1);
+        updatePageReferences(startPosition, length, -1);
+        updatePageReferences(startPosition + length, nextLength, -1);
+    }
+
+    private void updatePageReferences(long startPosition, long length, int change) {
+        if (length <= 0) {
+            return;
+        }
+
+        int firstPage = (int) (startPosition / PAGE_SIZE);
+        int lastPage = (int) ((startPosition + length - 1) / PAGE_SIZE);
+        if (lastPage >= pageReferences.length) {
+            pageReferences = Arrays.copyOf(pageReferences, Math.max(lastPage + 1, pageReferences.length * 2));
+        }
+        int appendedPage = (int) (dataSize / PAGE_SIZE);
+        for (int pageIndex = firstPage; pageIndex <= lastPage; pageIndex++) {
+            pageReferences[pageIndex] += change;
+            if (pageReferences[pageIndex] == 0 && pageIndex < appendedPage && pageIndex < pages.size() - 1 && pages.get(pageIndex) != null) {
+                pages.set(pageIndex, null);
+                releasedSize += PAGE_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Returns size of memory allocated for pages which were not released.
+     *
+     * @return allocated size in bytes
+     */
+    public long getAllocatedSize() {
+        return dataSize - releasedSize;
+    }
+
+    /**
+     * Returns amount of data dereferenced since last reset of the counter.
+     *
+     * @return dropped size in bytes
+     */
+    public long getDroppedSize() {
+        return droppedSize;
+    }
+
+    /* package */ void resetDroppedSize() {
+        droppedSize = 0;
+    }
+
+    private void appendSpace(long length) {
+        long targetSize = dataSize + length;
+        while (pages.size() * (long) PAGE_SIZE < targetSize) {
+            pages.add(new byte[PAGE_SIZE]);
+        }
+        dataSize = targetSize;
+    }
+
+    @Nonnull
+    private byte[] getWritablePage(int pageIndex) {
+        byte[] page = pages.get(pageIndex);
+        if (page == null) {
+            page = new byte[PAGE_SIZE];
+            pages.set(pageIndex, page);
+            releasedSize -= PAGE_SIZE;
+        }
+        return page;
+    }
+
+    private void checkAppend(long startFrom) {
+        if (startFrom != dataSize) {
+            throw new UnsupportedOperationException("Edit arena supports only appending");
+        }
+    }
+
+    private void checkRange(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > dataSize) {
+            throw new OutOfBoundsException("Position out of range");
+        }
+    }
+}
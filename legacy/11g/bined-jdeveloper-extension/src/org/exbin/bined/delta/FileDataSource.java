@@ -19,8 +19,12 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
@@ -33,6 +37,12 @@ import javax.annotation.Nonnull;
  */
 public class FileDataSource {
 
+    /**
+     * Size of the block of the background loaded data cache.
+     */
+    public static final int CACHE_BLOCK_SIZE = 65536;
+    private static final int CACHE_BLOCKS_LIMIT = 64;
+
     @Nonnull
     private final File file;
     @Nonnull
@@ -43,6 +53,14 @@ public class FileDataSource {
 
     private final List<CacheClearListener> listeners = new ArrayList<CacheClearListener>();
 
+    private final Map<Long, byte[]> cachedBlocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > CACHE_BLOCKS_LIMIT;
+        }
+    };
+    private long cacheGeneration = 0;
+
     public FileDataSource(@Nonnull File sourceFile, @Nonnull EditationMode editationMode) throws FileNotFoundException, IOException {
         file = sourceFile;
         accessFile = new RandomAccessFile(sourceFile, editationMode.getFileAccessMode());
@@ -79,10 +97,105 @@ public class FileDataSource {
         return window.getByte(position);
     }
 
+    /**
+     * Returns true if all blocks of given range are loaded in cache.
+     *
+     * @param position start position
+     * @param length length of the range
+     * @return true if cached
+     */
+    public synchronized boolean isCached(long position, long length) {
+        if (length <= 0) {
+            return true;
+        }
+
+        long lastBlock = (position + length - 1) / CACHE_BLOCK_SIZE;
+        for (long block = position / CACHE_BLOCK_SIZE; block <= lastBlock; block++) {
+            if (!cachedBlocks.containsKey(block)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Loads all blocks of given range into cache.
+     *
+     * Uses positional reads so it can be called from background thread
+     * without interfering with the file pointer.
+     *
+     * @param position start position
+     * @param length length of the range
+     * @throws IOException on input/output error
+     */
+    public void loadBlocks(long position, long length) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+
+        FileChannel channel = getAccessFile().getChannel();
+        long fileLength = channel.size();
+        long lastBlock = (position + length - 1) / CACHE_BLOCK_SIZE;
+        for (long block = position / CACHE_BLOCK_SIZE; block <= lastBlock; block++) {
+            long generation;
+            synchronized (this) {
+                if (cachedBlocks.containsKey(block)) {
+                    continue;
+                }
+                generation = cacheGeneration;
+            }
+
+            long blockPosition = block * CACHE_BLOCK_SIZE;
+            if (blockPosition >= fileLength) {
+                break;
+            }
+            int blockLength = (int) Math.min(CACHE_BLOCK_SIZE, fileLength - blockPosition);
+            ByteBuffer buffer = ByteBuffer.allocate(blockLength);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, blockPosition + buffer.position()) < 0) {
+                    break;
+                }
+            }
+
+            synchronized (this) {
+                if (generation == cacheGeneration) {
+                    cachedBlocks.put(block, buffer.array());
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies data from cache if available.
+     *
+     * Range must not cross cache block boundary.
+     *
+     * @param position start position
+     * @param target target array
+     * @param offset offset in target array
+     * @param length length of copied data
+     * @return true if data was copied
+     */
+    /* package */ synchronized boolean copyFromCache(long position, byte[] target, int offset, int length) {
+        byte[] block = cachedBlocks.get(position / CACHE_BLOCK_SIZE);
+        int blockOffset = (int) (position % CACHE_BLOCK_SIZE);
+        if (block == null || blockOffset + length > block.length) {
+            return false;
+        }
+
+        System.arraycopy(block, blockOffset, target, offset, length);
+        return true;
+    }
+
     /**
      * Clears cache windows.
      */
     public void clearCache() {
+        synchronized (this) {
+            cachedBlocks.clear();
+            cacheGeneration++;
+        }
         for (CacheClearListener listener : listeners) {
             listener.clearCache();
         }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.delta;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Data segment of repeated single byte value without any storage.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+public class FillSegment extends DataSegment {
+
+    private final byte fillValue;
+    private long length;
+
+    public FillSegment(byte fillValue, long length) {
+        this.fillValue = fillValue;
+        this.length = length;
+    }
+
+    @Override
+    public long getStartPosition() {
+        return 0;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    public void setLength(long length) {
+        this.length = length;
+    }
+
+    public byte getFillValue() {
+        return fillValue;
+    }
+
+    public byte getByte(long position) {
+        return fillValue;
+    }
+
+    @Nonnull
+    @Override
+    public DataSegment copy() {
+        return new FillSegment(fillValue, length);
+    }
+}
@@ -0,0 +1,627 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.delta;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Persistent index of 4-byte sequences occurring in blocks of file.
+ *
+ * Index is stored in sidecar file next to indexed file and it is valid only
+ * while size and modification time of indexed file match. Each 4-byte sequence
+ * is hashed into one of 2^16 buckets. Blocks are grouped into stripes of 4096
+ * blocks and for each stripe and bucket there is bitmap of blocks containing
+ * sequence starting in them. Empty bitmaps and bitmaps of all blocks are
+ * stored as single marker, so size of index never exceeds one eighth of the
+ * file size plus table of bucket offsets per stripe, and only single stripe
+ * is held in memory while index is built.
+ *
+ * Index allows to skip blocks which cannot contain match of pattern with
+ * known bytes, it doesn't provide match positions itself. For high-entropy
+ * data most bitmaps are dense and only patterns with many known sequences
+ * restrict the search.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class NGramIndex {
+
+    public static final String INDEX_FILE_SUFFIX = ".bined-index";
+    public static final int DEFAULT_BLOCK_SIZE = 65536;
+
+    private static final int MAGIC = 0x42474958;
+    private static final int VERSION = 2;
+    private static final int GRAM_LENGTH = 4;
+    private static final int BUCKET_BITS = 16;
+    private static final int BUCKETS_COUNT = 1 << BUCKET_BITS;
+    private static final int STRIPE_BLOCKS = 4096;
+    private static final int HEADER_SIZE = 40;
+    private static final int QUERY_GRAMS_LIMIT = 16;
+    /**
+     * Size of offsets table at the start of each stripe.
+     */
+    private static final int STRIPE_TABLE_SIZE = (BUCKETS_COUNT + 1) * 4;
+
+    private final File file;
+    private final long fileSize;
+    private final long fileLastModified;
+    private final int blockSize;
+    private final long blocksCount;
+    private final long[] stripePositions;
+    private final RandomAccessFile indexAccessFile;
+
+    private NGramIndex(File file, long fileSize, long fileLastModified, int blockSize, long blocksCount, long[] stripePositions, RandomAccessFile indexAccessFile) {
+        this.file = file;
+        this.fileSize = fileSize;
+        this.fileLastModified = fileLastModified;
+        this.blockSize = blockSize;
+        this.blocksCount = blocksCount;
+        this.stripePositions = stripePositions;
+        this.indexAccessFile = indexAccessFile;
+    }
+
+    @Nonnull
+    public static File getIndexFile(File file) {
+        return new File(file.getPath() + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * Loads index of given file if exists and matches current file state.
+     *
+     * @param file indexed file
+     * @return index or null if there is no valid index
+     */
+    @Nullable
+    public static NGramIndex load(File file) {
+        File indexFile = getIndexFile(file);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+
+        try {
+            RandomAccessFile input = new RandomAccessFile(indexFile, "r");
+            boolean valid = false;
+            try {
+                if (input.length() < HEADER_SIZE + 8 || input.readInt() != MAGIC || input.readInt() != VERSION) {
+                    return null;
+                }
+                long fileSize = input.readLong();
+                long fileLastModified = input.readLong();
+                int blockSize = input.readInt();
+                long blocksCount = input.readLong();
+                if (fileSize != file.length() || fileLastModified != file.lastModified() || input.readInt() != STRIPE_BLOCKS) {
+                    return null;
+                }
+
+                int stripesCount = (int) ((blocksCount + STRIPE_BLOCKS - 1) / STRIPE_BLOCKS);
+                input.seek(input.length() - 8);
+                input.seek(input.readLong());
+                long[] stripePositions = new long[stripesCount];
+                for (int i = 0; i < stripesCount; i++) {
+                    stripePositions[i] = input.readLong();
+                }
+                valid = true;
+                return new NGramIndex(file, fileSize, fileLastModified, blockSize, blocksCount, stripePositions, input);
+            } finally {
+                if (!valid) {
+                    input.close();
+                }
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(NGramIndex.class.getName()).log(Level.SEVERE, null, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Builds index of given file and stores it in sidecar file.
+     *
+     * Blocks are read by calling thread and processed in parallel by low
+     * priority threads. Reading is throttled to given throughput.
+     *
+     * @param file indexed file
+     * @param blockSize size of indexed block
+     * @param threadsCount number of processing threads
+     * @param throughputLimit maximum number of bytes read per second or 0 for
+     * unlimited
+     * @throws IOException if reading or writing failed or file changed during
+     * indexing
+     * @throws InterruptedException if indexing was interrupted
+     */
+    public static void build(File file, final int blockSize, int threadsCount, long throughputLimit) throws IOException, InterruptedException {
+        long fileSize = file.length();
+        long fileLastModified = file.lastModified();
+        long blocksCount = (fileSize + blockSize - 1) / blockSize;
+
+        File indexFile = getIndexFile(file);
+        File tempFile = new File(indexFile.getPath() + ".tmp");
+        RandomAccessFile source = new RandomAccessFile(file, "r");
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Search index builder");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        IndexWriter writer = null;
+        boolean written = false;
+        try {
+            writer = new IndexWriter(tempFile, (int) Math.min(STRIPE_BLOCKS, blocksCount));
+            writer.writeHeader(fileSize, fileLastModified, blockSize, blocksCount);
+            FileChannel channel = source.getChannel();
+            List<Future<int[]>> futures = new ArrayList<Future<int[]>>();
+            long startTime = System.nanoTime();
+            long block = 0;
+            while (block < blocksCount) {
+                futures.clear();
+                long firstBlock = block;
+                for (int i = 0; i < threadsCount && block < blocksCount; i++) {
+                    long position = block * blockSize;
+                    int length = (int) Math.min(blockSize + GRAM_LENGTH - 1, fileSize - position);
+                    final ByteBuffer buffer = ByteBuffer.allocate(length);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer, position + buffer.position()) < 0) {
+                            throw new IOException("Unexpected end of file");
+                        }
+                    }
+                    futures.add(executor.submit(new Callable<int[]>() {
+                        @Override
+                        public int[] call() throws Exception {
+                            return collectBuckets(buffer.array(), buffer.limit());
+                        }
+                    }));
+                    block++;
+                }
+
+                for (int i = 0; i < futures.size(); i++) {
+                    long indexedBlock = firstBlock + i;
+                    try {
+                        writer.addBlock((int) (indexedBlock % STRIPE_BLOCKS), futures.get(i).get());
+                    } catch (ExecutionException ex) {
+                        throw new IOException(ex.getCause());
+                    }
+                    if ((indexedBlock + 1) % STRIPE_BLOCKS == 0 || indexedBlock + 1 == blocksCount) {
+                        writer.writeStripe((int) (indexedBlock % STRIPE_BLOCKS) + 1);
+                    }
+                }
+
+                if (throughputLimit > 0) {
+                    long expectedTime = block * blockSize * 1000 / throughputLimit;
+                    long elapsedTime = (System.nanoTime() - startTime) / 1000000;
+                    if (expectedTime > elapsedTime) {
+                        Thread.sleep(expectedTime - elapsedTime);
+                    }
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            writer.writeTrailer();
+            written = true;
+        } finally {
+            executor.shutdownNow();
+            source.close();
+            if (writer != null) {
+                writer.close();
+            }
+            if (!written) {
+                tempFile.delete();
+            }
+        }
+
+        if (file.length() != fileSize || file.lastModified() != fileLastModified) {
+            tempFile.delete();
+            throw new IOException("File was modified during indexing");
+        }
+
+        if (indexFile.exists() && !indexFile.delete()) {
+            throw new IOException("Unable to replace index file " + indexFile.getPath());
+        }
+        if (!tempFile.renameTo(indexFile)) {
+            throw new IOException("Unable to create index file " + indexFile.getPath());
+        }
+    }
+
+    @Nonnull
+    public File getFile() {
+        return file;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns true if indexed file was not modified since the index was built.
+     *
+     * @return true if valid
+     */
+    public boolean isValid() {
+        return file.length() == fileSize && file.lastModified() == fileLastModified;
+    }
+
+    public void close() {
+        try {
+            indexAccessFile.close();
+        } catch (IOException ex) {
+            Logger.getLogger(NGramIndex.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Returns blocks in which match of given pattern might start.
+     *
+     * Only positions where all four consecutive bytes are fully known are
+     * used.
+     *
+     * @param values pattern values
+     * @param masks pattern bit masks or null if all bits are significant
+     * @return candidate blocks or null if index cannot restrict search
+     * @throws IOException if reading of index failed
+     */
+    @Nullable
+    public BitSet findCandidateBlocks(byte[] values, @Nullable byte[] masks) throws IOException {
+        if (values.length < GRAM_LENGTH || values.length > blockSize) {
+            return null;
+        }
+
+        BitSet usedBuckets = new BitSet();
+        int[] buckets = new int[QUERY_GRAMS_LIMIT];
+        int bucketsCount = 0;
+        for (int i = 0; i <= values.length - GRAM_LENGTH && bucketsCount < QUERY_GRAMS_LIMIT; i++) {
+            if (masks != null && !isFullyMasked(masks, i)) {
+                continue;
+            }
+
+            int gram = ((values[i] & 0xff) << 24) | ((values[i + 1] & 0xff) << 16) | ((values[i + 2] & 0xff) << 8) | (values[i + 3] & 0xff);
+            int bucket = bucket(gram);
+            if (!usedBuckets.get(bucket)) {
+                usedBuckets.set(bucket);
+                buckets[bucketsCount++] = bucket;
+            }
+        }
+        if (bucketsCount == 0) {
+            return null;
+        }
+
+        BitSet result = new BitSet();
+        for (int stripe = 0; stripe < stripePositions.length; stripe++) {
+            long firstBlock = (long) stripe * STRIPE_BLOCKS;
+            int stripeBlocks = (int) Math.min(STRIPE_BLOCKS, blocksCount - firstBlock);
+            byte[] candidates = null;
+            for (int i = 0; i < bucketsCount; i++) {
+                byte[] bitmap = readBitmap(stripe, buckets[i], stripeBlocks);
+                if (bitmap == null) {
+                    continue;
+                }
+
+                // Match starting in block might have this sequence starting in following block
+                for (int j = 0; j < bitmap.length; j++) {
+                    int next = j + 1 < bitmap.length ? bitmap[j + 1] & 1 : 0;
+                    bitmap[j] = (byte) (bitmap[j] | ((bitmap[j] & 0xff) >>> 1) | (next << 7));
+                }
+                if (candidates == null) {
+                    candidates = bitmap;
+                } else {
+                    for (int j = 0; j < bitmap.length; j++) {
+                        candidates[j] &= bitmap[j];
+                    }
+                }
+            }
+
+            for (int j = 0; j < stripeBlocks; j++) {
+                if (candidates == null || (candidates[j >> 3] & (1 << (j & 7))) != 0) {
+                    result.set((int) (firstBlock + j));
+                }
+            }
+            // Sequence of match might start in the first block of following stripe
+            if (stripe + 1 < stripePositions.length) {
+                result.set((int) (firstBlock + stripeBlocks - 1));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns ranges of document positions where match of given pattern
+     * might start.
+     *
+     * Index is used only for parts of document backed by unmodified indexed
+     * file, other parts including boundaries of segments are always included.
+     *
+     * @param document document
+     * @param values pattern values
+     * @param masks pattern bit masks or null if all bits are significant
+     * @param fromPosition starting position
+     * @return sorted ranges or null if index cannot restrict search
+     * @throws IOException if reading of index failed
+     */
+    @Nullable
+    public List<Range> findCandidateRanges(DeltaDocument document, byte[] values, @Nullable byte[] masks, long fromPosition) throws IOException {
+        FileDataSource fileSource = document.getFileSource();
+        if (fileSource == null || !fileSource.getFile().equals(file) || !isValid()) {
+            return null;
+        }
+
+        BitSet candidateBlocks = findCandidateBlocks(values, masks);
+        if (candidateBlocks == null) {
+            return null;
+        }
+
+        int patternLength = values.length;
+        List<Range> ranges = new ArrayList<Range>();
+        long segmentPosition = 0;
+        for (DataSegment segment : document.getSegments()) {
+            long segmentLength = segment.getLength();
+            long segmentEnd = segmentPosition + segmentLength;
+            if (segment instanceof FileSegment && ((FileSegment) segment).getSource() == fileSource) {
+                long sourceStart = segment.getStartPosition();
+                long lastSourceStart = sourceStart + segmentLength - patternLength;
+                long shift = segmentPosition - sourceStart;
+                if (lastSourceStart >= sourceStart) {
+                    int block = candidateBlocks.nextSetBit((int) (sourceStart / blockSize));
+                    while (block >= 0 && (long) block * blockSize <= lastSourceStart) {
+                        long start = Math.max((long) block * blockSize, sourceStart);
+                        long end = Math.min((long) (block + 1) * blockSize, lastSourceStart + 1);
+                        addRange(ranges, start + shift, end + shift, fromPosition);
+                        block = candidateBlocks.nextSetBit(block + 1);
+                    }
+                }
+                // Matches crossing end of segment
+                addRange(ranges, Math.max(segmentPosition, segmentEnd - patternLength + 1), segmentEnd, fromPosition);
+            } else {
+                addRange(ranges, segmentPosition, segmentEnd, fromPosition);
+            }
+            segmentPosition = segmentEnd;
+        }
+
+        return ranges;
+    }
+
+    private static void addRange(List<Range> ranges, long start, long end, long fromPosition) {
+        start = Math.max(start, fromPosition);
+        if (start >= end) {
+            return;
+        }
+
+        if (!ranges.isEmpty()) {
+            Range last = ranges.get(ranges.size() - 1);
+            if (start <= last.end) {
+                last.end = Math.max(last.end, end);
+                return;
+            }
+        }
+        ranges.add(new Range(start, end));
+    }
+
+    /**
+     * Reads bitmap of blocks of stripe containing sequence of given bucket.
+     *
+     * @return bitmap or null if sequence is present in all blocks of stripe
+     */
+    @Nullable
+    private synchronized byte[] readBitmap(int stripe, int bucket, int stripeBlocks) throws IOException {
+        long stripePosition = stripePositions[stripe];
+        indexAccessFile.seek(stripePosition + bucket * 4L);
+        int start = indexAccessFile.readInt();
+        int length = indexAccessFile.readInt() - start;
+        int bitmapLength = (stripeBlocks + 7) / 8;
+        byte[] bitmap = new byte[bitmapLength];
+        if (length == 0) {
+            return bitmap;
+        }
+        if (length != bitmapLength) {
+            return null;
+        }
+
+        indexAccessFile.seek(stripePosition + STRIPE_TABLE_SIZE + start);
+        indexAccessFile.readFully(bitmap);
+        return bitmap;
+    }
+
+    private static boolean isFullyMasked(byte[] masks, int offset) {
+        for (int i = 0; i < GRAM_LENGTH; i++) {
+            if (masks[offset + i] != (byte) 0xff) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int bucket(int gram) {
+        return (gram * 0x9e3779b1) >>> (32 - BUCKET_BITS);
+    }
+
+    /**
+     * Returns sorted distinct buckets of sequences starting in block.
+     */
+    @Nonnull
+    private static int[] collectBuckets(byte[] data, int length) {
+        BitSet buckets = new BitSet(BUCKETS_COUNT);
+        int gram = 0;
+        for (int i = 0; i < length; i++) {
+            gram = (gram << 8) | (data[i] & 0xff);
+            if (i >= GRAM_LENGTH - 1) {
+                buckets.set(bucket(gram));
+            }
+        }
+
+        int[] result = new int[buckets.cardinality()];
+        int index = 0;
+        for (int bucket = buckets.nextSetBit(0); bucket >= 0; bucket = buckets.nextSetBit(bucket + 1)) {
+            result[index++] = bucket;
+        }
+
+        return result;
+    }
+
+    /**
+     * Range of positions.
+     */
+    public static class Range {
+
+        private final long start;
+        private long end;
+
+        public Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * Writer of index file collecting bitmaps of single stripe in memory.
+     *
+     * Bitmap of bucket is stored as empty if no block contains its sequence,
+     * as single byte marker if all blocks contain it, otherwise in full.
+     */
+    private static class IndexWriter {
+
+        private final DataOutputStream output;
+        private final int bitmapLength;
+        private final byte[] bitmaps;
+        private final List<Long> stripePositions = new ArrayList<Long>();
+        private long position = 0;
+
+        public IndexWriter(File indexFile, int stripeBlocks) throws IOException {
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)));
+            bitmapLength = (stripeBlocks + 7) / 8;
+            bitmaps = new byte[BUCKETS_COUNT * bitmapLength];
+        }
+
+        public void writeHeader(long fileSize, long fileLastModified, int blockSize, long blocksCount) throws IOException {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(fileSize);
+            output.writeLong(fileLastModified);
+            output.writeInt(blockSize);
+            output.writeLong(blocksCount);
+            output.writeInt(STRIPE_BLOCKS);
+            position += HEADER_SIZE;
+        }
+
+        public void addBlock(int stripeBlock, int[] buckets) {
+            int byteOffset = stripeBlock >> 3;
+            byte bit = (byte) (1 << (stripeBlock & 7));
+            for (int bucket : buckets) {
+                bitmaps[bucket * bitmapLength + byteOffset] |= bit;
+            }
+        }
+
+        /**
+         * Writes bitmaps of collected stripe and clears them.
+         *
+         * @param stripeBlocks count of blocks of stripe
+         */
+        public void writeStripe(int stripeBlocks) throws IOException {
+            int stripeBitmapLength = (stripeBlocks + 7) / 8;
+            int[] lengths = new int[BUCKETS_COUNT];
+            for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) {
+                int offset = bucket * bitmapLength;
+                if (isEmpty(offset, stripeBitmapLength)) {
+                    lengths[bucket] = 0;
+                } else if (stripeBitmapLength > 1 && isFull(offset, stripeBlocks)) {
+                    lengths[bucket] = 1;
+                } else {
+                    lengths[bucket] = stripeBitmapLength;
+                }
+            }
+
+            stripePositions.add(position);
+            int offset = 0;
+            output.writeInt(offset);
+            for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) {
+                offset += lengths[bucket];
+                output.writeInt(offset);
+            }
+            for (int bucket = 0; bucket < BUCKETS_COUNT; bucket++) {
+                if (lengths[bucket] == 1 && stripeBitmapLength > 1) {
+                    output.writeByte(0xff);
+                } else if (lengths[bucket] > 0) {
+                    output.write(bitmaps, bucket * bitmapLength, lengths[bucket]);
+                }
+            }
+            position += STRIPE_TABLE_SIZE + offset;
+            Arrays.fill(bitmaps, (byte) 0);
+        }
+
+        public void writeTrailer() throws IOException {
+            long trailerPosition = position;
+            for (Long stripePosition : stripePositions) {
+                output.writeLong(stripePosition);
+            }
+            output.writeLong(trailerPosition);
+        }
+
+        public void close() throws IOException {
+            output.close();
+        }
+
+        private boolean isEmpty(int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                if (bitmaps[offset + i] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isFull(int offset, int stripeBlocks) {
+            for (int i = 0; i < stripeBlocks >> 3; i++) {
+                if (bitmaps[offset + i] != (byte) 0xff) {
+                    return false;
+                }
+            }
+            int remainder = stripeBlocks & 7;
+            return remainder == 0 || (bitmaps[offset + (stripeBlocks >> 3)] & ((1 << remainder) - 1)) == (1 << remainder) - 1;
+        }
+    }
+}
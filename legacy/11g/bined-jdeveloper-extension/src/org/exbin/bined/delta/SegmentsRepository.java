@@ -19,10 +19,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
@@ -50,10 +55,42 @@ public class SegmentsRepository {
      * Limit for save processing in bytes.
      */
     private static final int PROCESSING_LIMIT = 4096;
+    /**
+     * Size of the buffer for writing fill segments.
+     */
+    private static final int FILL_BUFFER_SIZE = 65536;
+    /**
+     * Amount of data dropped from edit arena before compaction is considered.
+     */
+    private static final int EDIT_ARENA_COMPACTION_LIMIT = 1048576;
+
+    @Nullable
+    private ExecutorService loaderExecutor = null;
 
     public SegmentsRepository() {
     }
 
+    /**
+     * Returns executor for background loading of file data.
+     *
+     * @return single thread executor
+     */
+    @Nonnull
+    public synchronized ExecutorService getLoaderExecutor() {
+        if (loaderExecutor == null) {
+            loaderExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "Delta data loader");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return loaderExecutor;
+    }
+
     @Nonnull
     public FileDataSource openFileSource(@Nonnull File sourceFile) throws IOException {
         FileDataSource fileSource = new FileDataSource(sourceFile);
@@ -81,10 +118,178 @@ public class SegmentsRepository {
     }
 
     public void closeMemorySource(@Nonnull MemoryDataSource memorySource) {
-        // TODO
+        memorySources.remove(memorySource);
         memorySource.clear();
     }
 
+    /**
+     * Opens new append-only edit arena.
+     *
+     * @return edit arena
+     */
+    @Nonnull
+    public EditArena openEditArena() {
+        EditArena editArena = new EditArena();
+        memorySources.put(editArena, new DataSegmentsMap(editArena));
+        return editArena;
+    }
+
+    /**
+     * Creates empty memory segment at the end of the edit arena of given
+     * document.
+     *
+     * Arena is created on first use and compacted when too much of its data is
+     * not referenced anymore.
+     *
+     * @param document delta document
+     * @return memory segment
+     */
+    @Nonnull
+    public MemorySegment createArenaSegment(@Nonnull DeltaDocument document) {
+        EditArena editArena = document.getEditArena();
+        if (editArena == null) {
+            editArena = openEditArena();
+            document.setEditArena(editArena);
+        } else if (editArena.getDroppedSize() > EDIT_ARENA_COMPACTION_LIMIT) {
+            editArena.resetDroppedSize();
+            long liveSize = getLiveSize(memorySources.get(editArena));
+            if (editArena.getAllocatedSize() - liveSize > liveSize) {
+                editArena = compactEditArena(editArena);
+            }
+        }
+
+        return createMemorySegment(editArena, editArena.getDataSize(), 0);
+    }
+
+    /**
+     * Returns true if data can be appended to the end of given memory segment
+     * without affecting other segments.
+     *
+     * @param memorySegment memory segment
+     * @return true if segment ends at the end of its source
+     */
+    public boolean isAppendable(@Nonnull MemorySegment memorySegment) {
+        return memorySegment.getStartPosition() + memorySegment.getLength() == memorySegment.getSource().getDataSize();
+    }
+
+    /**
+     * Copies all referenced data of the edit arena to new arena and moves all
+     * segments to it.
+     *
+     * @param editArena edit arena
+     * @return new edit arena
+     */
+    @Nonnull
+    public EditArena compactEditArena(@Nonnull EditArena editArena) {
+        DataSegmentsMap segmentsMap = memorySources.get(editArena);
+        EditArena compactedArena = openEditArena();
+        List<MemorySegment> movedSegments = new ArrayList<MemorySegment>();
+        List<Long> movedPositions = new ArrayList<Long>();
+
+        long intervalStart = 0;
+        long intervalEnd = -1;
+        long compactedStart = 0;
+        SegmentRecord record = segmentsMap.records.first();
+        while (record != null) {
+            MemorySegment segment = (MemorySegment) record.dataSegment;
+            long segmentStart = segment.getStartPosition();
+            long segmentEnd = segmentStart + segment.getLength();
+            if (segmentStart > intervalEnd) {
+                if (intervalEnd > intervalStart) {
+                    compactedArena.insert(compactedArena.getDataSize(), editArena, intervalStart, intervalEnd - intervalStart);
+                }
+                intervalStart = segmentStart;
+                intervalEnd = segmentEnd;
+                compactedStart = compactedArena.getDataSize();
+            } else if (segmentEnd > intervalEnd) {
+                intervalEnd = segmentEnd;
+            }
+
+            movedSegments.add(segment);
+            movedPositions.add(compactedStart + segmentStart - intervalStart);
+            record = record.next;
+        }
+        if (intervalEnd > intervalStart) {
+            compactedArena.insert(compactedArena.getDataSize(), editArena, intervalStart, intervalEnd - intervalStart);
+        }
+
+        memorySources.remove(editArena);
+        DataSegmentsMap compactedMap = memorySources.get(compactedArena);
+        for (int i = 0; i < movedSegments.size(); i++) {
+            MemorySegment segment = movedSegments.get(i);
+            long crcLength = segment.getCachedCrcLength(editArena);
+            segment.setSource(compactedArena);
+            segment.setStartPosition(movedPositions.get(i));
+            if (crcLength >= 0) {
+                segment.setCachedCrc(compactedArena, crcLength, segment.getCachedCrc());
+            }
+            compactedMap.add(segment);
+        }
+        for (DeltaDocument document : documents) {
+            if (document.getEditArena() == editArena) {
+                document.setEditArena(compactedArena);
+            }
+        }
+        editArena.clear();
+
+        return compactedArena;
+    }
+
+    /**
+     * Returns size of data referenced by segments in all edit arenas.
+     *
+     * @return live size in bytes
+     */
+    public long getEditArenasLiveSize() {
+        long liveSize = 0;
+        for (Map.Entry<MemoryDataSource, DataSegmentsMap> entry : memorySources.entrySet()) {
+            if (entry.getKey() instanceof EditArena) {
+                liveSize += getLiveSize(entry.getValue());
+            }
+        }
+        return liveSize;
+    }
+
+    /**
+     * Returns size of allocated data not referenced by any segment in all
+     * edit arenas.
+     *
+     * @return garbage size in bytes
+     */
+    public long getEditArenasGarbageSize() {
+        long garbageSize = 0;
+        for (Map.Entry<MemoryDataSource, DataSegmentsMap> entry : memorySources.entrySet()) {
+            if (entry.getKey() instanceof EditArena) {
+                garbageSize += ((EditArena) entry.getKey()).getAllocatedSize() - getLiveSize(entry.getValue());
+            }
+        }
+        return garbageSize;
+    }
+
+    private long getLiveSize(@Nonnull DataSegmentsMap segmentsMap) {
+        long liveSize = 0;
+        long coveredEnd = 0;
+        SegmentRecord record = segmentsMap.records.first();
+        while (record != null) {
+            long recordEnd = record.getStartPosition() + record.getLength();
+            if (recordEnd > coveredEnd) {
+                liveSize += recordEnd - Math.max(record.getStartPosition(), coveredEnd);
+                coveredEnd = recordEnd;
+            }
+            record = record.next;
+        }
+        return liveSize;
+    }
+
+    private boolean isUsedEditArena(@Nonnull MemoryDataSource memorySource) {
+        for (DeltaDocument document : documents) {
+            if (document.getEditArena() == memorySource) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Creates empty delta document.
      *
@@ -372,9 +577,8 @@ public class SegmentsRepository {
             throw new IllegalArgumentException("Segment is not valid for preloading");
         }
 
-        MemorySegment preloadedSegment = createMemorySegment();
-        preloadedSegment.setLength(sectionLength);
-        preloadedSegment.getSource().insert(0, savedDocument, segmentDocumentPosition + sectionStart, sectionLength);
+        MemorySegment preloadedSegment = createArenaSegment(savedDocument);
+        insertMemoryData(preloadedSegment, 0, savedDocument, segmentDocumentPosition + sectionStart, sectionLength);
         savedDocument.replaceSegment(segmentDocumentPosition + sectionStart, preloadedSegment);
         saveMap.put(preloadedSegment, segmentDocumentPosition + sectionStart);
         DataSegment afterSegment = savedDocument.getSegment(segmentDocumentPosition + sectionStart + sectionLength);
@@ -405,6 +609,16 @@ public class SegmentsRepository {
                     sectionPosition += length;
                     sectionLength -= length;
                 }
+            } else if (segment instanceof FillSegment) {
+                accessFile.seek(targetPosition);
+                long sectionLength = segmentLimit;
+                byte[] buffer = new byte[sectionLength < FILL_BUFFER_SIZE ? (int) sectionLength : FILL_BUFFER_SIZE];
+                Arrays.fill(buffer, ((FillSegment) segment).getFillValue());
+                while (sectionLength > 0) {
+                    int length = sectionLength < buffer.length ? (int) sectionLength : buffer.length;
+                    accessFile.write(buffer, 0, length);
+                    sectionLength -= length;
+                }
             } else {
                 FileSegment fileSegment = (FileSegment) segment;
                 FileDataSource source = fileSegment.getSource();
@@ -533,9 +747,8 @@ public class SegmentsRepository {
     }
 
     private void preloadDocumentSection(@Nonnull DeltaDocument document, long documentPosition, long sectionLength) {
-        MemorySegment preloadedSegment = createMemorySegment();
-        preloadedSegment.setLength(sectionLength);
-        preloadedSegment.getSource().insert(0, document, documentPosition, sectionLength);
+        MemorySegment preloadedSegment = createArenaSegment(document);
+        insertMemoryData(preloadedSegment, 0, document, documentPosition, sectionLength);
         document.replaceSegment(documentPosition, preloadedSegment);
     }
 
@@ -585,11 +798,25 @@ public class SegmentsRepository {
         return memorySegment;
     }
 
+    /**
+     * Creates new segment of repeated byte value.
+     *
+     * @param fillValue fill value
+     * @param length length
+     * @return fill segment
+     */
+    @Nonnull
+    public FillSegment createFillSegment(byte fillValue, long length) {
+        return new FillSegment(fillValue, length);
+    }
+
     @Nonnull
     public void updateSegment(@Nonnull DataSegment segment, long position, long length) {
         if (segment instanceof MemorySegment) {
             DataSegmentsMap segmentsMap = memorySources.get(((MemorySegment) segment).getSource());
             segmentsMap.updateSegment(segment, position, length);
+        } else if (segment instanceof FillSegment) {
+            ((FillSegment) segment).setLength(length);
         } else {
             DataSegmentsMap segmentsMap = fileSources.get(((FileSegment) segment).getSource());
             segmentsMap.updateSegment(segment, position, length);
@@ -600,15 +827,42 @@ public class SegmentsRepository {
         if (segment instanceof MemorySegment) {
             DataSegmentsMap segmentsMap = memorySources.get(((MemorySegment) segment).getSource());
             segmentsMap.updateSegmentLength(segment, length);
+        } else if (segment instanceof FillSegment) {
+            ((FillSegment) segment).setLength(length);
         } else {
             DataSegmentsMap segmentsMap = fileSources.get(((FileSegment) segment).getSource());
             segmentsMap.updateSegmentLength(segment, length);
         }
     }
 
+    /**
+     * Joins segment with directly following segment of the same source.
+     *
+     * Following segment is removed from the repository and its data are
+     * taken over by the joined segment.
+     *
+     * @param segment segment
+     * @param nextSegment directly following segment
+     */
+    public void joinSegments(@Nonnull DataSegment segment, @Nonnull DataSegment nextSegment) {
+        if (segment instanceof MemorySegment) {
+            DataSegmentsMap segmentsMap = memorySources.get(((MemorySegment) segment).getSource());
+            segmentsMap.join(segment, nextSegment);
+        } else if (segment instanceof FillSegment) {
+            ((FillSegment) segment).setLength(segment.getLength() + nextSegment.getLength());
+        } else {
+            DataSegmentsMap segmentsMap = fileSources.get(((FileSegment) segment).getSource());
+            segmentsMap.join(segment, nextSegment);
+        }
+    }
+
     public void dropMemorySegment(@Nonnull MemorySegment memorySegment) {
-        DataSegmentsMap segmentsMap = memorySources.get(memorySegment.getSource());
+        MemoryDataSource memorySource = memorySegment.getSource();
+        DataSegmentsMap segmentsMap = memorySources.get(memorySource);
         segmentsMap.remove(memorySegment);
+        if (segmentsMap.isEmpty() && !isUsedEditArena(memorySource)) {
+            closeMemorySource(memorySource);
+        }
     }
 
     public void dropSegment(@Nonnull DataSegment segment) {
@@ -625,6 +879,15 @@ public class SegmentsRepository {
         }
         document.clear();
         documents.remove(document);
+
+        EditArena editArena = document.getEditArena();
+        if (editArena != null) {
+            document.setEditArena(null);
+            DataSegmentsMap segmentsMap = memorySources.get(editArena);
+            if (segmentsMap != null && segmentsMap.isEmpty() && !isUsedEditArena(editArena)) {
+                closeMemorySource(editArena);
+            }
+        }
     }
 
     /**
@@ -648,6 +911,7 @@ public class SegmentsRepository {
                 memorySource.setDataSize(sourcePosition + 1);
             }
         }
+        memorySegment.invalidateCachedCrc(segmentPosition);
         memorySource.setByte(memorySegment.getStartPosition() + segmentPosition, value);
     }
 
@@ -657,6 +921,7 @@ public class SegmentsRepository {
         detachMemoryArea(memorySegment, segmentPosition, 0);
 
         long sourcePosition = memorySegment.getStartPosition() + segmentPosition;
+        memorySegment.invalidateCachedCrc(segmentPosition);
         shiftSegments(memorySegment, sourcePosition, insertedData.getDataSize());
         memorySource.insert(sourcePosition, insertedData);
         segmentsMap.updateSegmentLength(memorySegment, memorySegment.getLength() + insertedData.getDataSize());
@@ -668,6 +933,7 @@ public class SegmentsRepository {
         detachMemoryArea(memorySegment, segmentPosition, 0);
 
         long sourcePosition = memorySegment.getStartPosition() + segmentPosition;
+        memorySegment.invalidateCachedCrc(segmentPosition);
         shiftSegments(memorySegment, sourcePosition, insertedDataLength);
         memorySource.insert(sourcePosition, insertedData, insertedDataOffset, insertedDataLength);
         segmentsMap.updateSegmentLength(memorySegment, memorySegment.getLength() + insertedDataLength);
@@ -679,6 +945,7 @@ public class SegmentsRepository {
         detachMemoryArea(memorySegment, segmentPosition, 0);
 
         long sourcePosition = memorySegment.getStartPosition() + segmentPosition;
+        memorySegment.invalidateCachedCrc(segmentPosition);
         shiftSegments(memorySegment, sourcePosition, insertedData.length);
         memorySource.insert(sourcePosition, insertedData);
         segmentsMap.updateSegmentLength(memorySegment, memorySegment.getLength() + insertedData.length);
@@ -690,6 +957,7 @@ public class SegmentsRepository {
         detachMemoryArea(memorySegment, segmentPosition, 0);
 
         long sourcePosition = memorySegment.getStartPosition() + segmentPosition;
+        memorySegment.invalidateCachedCrc(segmentPosition);
         shiftSegments(memorySegment, sourcePosition, insertedDataLength);
         memorySource.insert(sourcePosition, insertedData, insertedDataOffset, insertedDataLength);
         segmentsMap.updateSegmentLength(memorySegment, memorySegment.getLength() + insertedDataLength);
@@ -701,6 +969,7 @@ public class SegmentsRepository {
         detachMemoryArea(memorySegment, segmentPosition, 0);
 
         long sourcePosition = memorySegment.getStartPosition() + segmentPosition;
+        memorySegment.invalidateCachedCrc(segmentPosition);
         shiftSegments(memorySegment, sourcePosition, length);
         memorySource.insert(sourcePosition, length);
         segmentsMap.updateSegmentLength(memorySegment, memorySegment.getLength() + length);
@@ -712,6 +981,7 @@ public class SegmentsRepository {
         detachMemoryArea(memorySegment, segmentPosition, 0);
 
         long sourcePosition = memorySegment.getStartPosition() + segmentPosition;
+        memorySegment.invalidateCachedCrc(segmentPosition);
         shiftSegments(memorySegment, sourcePosition, length);
         memorySource.insertUninitialized(sourcePosition, length);
         segmentsMap.updateSegmentLength(memorySegment, memorySegment.getLength() + length);
@@ -751,6 +1021,18 @@ public class SegmentsRepository {
 
     public void detachSegment(@Nonnull MemorySegment memorySegment) {
         MemoryDataSource source = memorySegment.getSource();
+        if (source instanceof EditArena) {
+            // Move data to the end of the arena
+            long detachedPosition = source.getDataSize();
+            long crcLength = memorySegment.getCachedCrcLength(source);
+            source.insert(detachedPosition, source, memorySegment.getStartPosition(), memorySegment.getLength());
+            memorySources.get(source).updateSegment(memorySegment, detachedPosition, memorySegment.getLength());
+            if (crcLength >= 0) {
+                memorySegment.setCachedCrc(source, crcLength, memorySegment.getCachedCrc());
+            }
+            return;
+        }
+
         MemoryDataSource newMemorySource = openMemorySource();
         newMemorySource.insert(0, source.copy(memorySegment.getStartPosition(), memorySegment.getLength()));
         DataSegmentsMap segmentsMap = memorySources.get(source);
@@ -772,6 +1054,9 @@ public class SegmentsRepository {
      */
     private void shiftSegments(@Nonnull MemorySegment memorySegment, long position, long shift) {
         MemoryDataSource source = memorySegment.getSource();
+        if (source instanceof EditArena && position < source.getDataSize()) {
+            throw new IllegalStateException("Edit arena supports only appending");
+        }
         DataSegmentsMap segmentsMap = memorySources.get(source);
         SegmentRecord record = segmentsMap.focusFirstOverlay(position, source.getDataSize() - position);
         while (record != null) {
@@ -796,6 +1081,8 @@ public class SegmentsRepository {
         if (segment instanceof MemorySegment) {
             MemorySegment memorySegment = (MemorySegment) segment;
             return createMemorySegment(memorySegment.getSource(), memorySegment.getStartPosition(), memorySegment.getLength());
+        } else if (segment instanceof FillSegment) {
+            return createFillSegment(((FillSegment) segment).getFillValue(), segment.getLength());
         } else {
             FileSegment fileSegment = (FileSegment) segment;
             return createFileSegment(fileSegment.getSource(), fileSegment.getStartPosition(), fileSegment.getLength());
@@ -815,6 +1102,8 @@ public class SegmentsRepository {
         if (segment instanceof MemorySegment) {
             MemorySegment memorySegment = (MemorySegment) segment;
             return createMemorySegment(memorySegment.getSource(), memorySegment.getStartPosition() + offset, length);
+        } else if (segment instanceof FillSegment) {
+            return createFillSegment(((FillSegment) segment).getFillValue(), length);
         } else {
             FileSegment fileSegment = (FileSegment) segment;
             return createFileSegment(fileSegment.getSource(), fileSegment.getStartPosition() + offset, length);
@@ -853,15 +1142,28 @@ public class SegmentsRepository {
         private final DefaultDoublyLinkedList<SegmentRecord> records = new DefaultDoublyLinkedList<SegmentRecord>();
         @Nullable
         private SegmentRecord pointerRecord = null;
+        @Nonnull
+        private final Map<DataSegment, SegmentRecord> segmentRecords = new IdentityHashMap<DataSegment, SegmentRecord>();
+        @Nullable
+        private final EditArena editArena;
 
         public DataSegmentsMap() {
+            editArena = null;
+        }
+
+        public DataSegmentsMap(@Nonnull EditArena editArena) {
+            this.editArena = editArena;
         }
 
         private void add(@Nonnull DataSegment segment) {
             focusSegment(segment.getStartPosition(), segment.getLength());
             SegmentRecord record = new SegmentRecord();
             record.dataSegment = segment;
+            segmentRecords.put(segment, record);
             addRecord(record);
+            if (editArena != null) {
+                editArena.updateReferences(segment.getStartPosition(), segment.getLength(), 1);
+            }
         }
 
         /**
@@ -899,8 +1201,12 @@ public class SegmentsRepository {
         private void remove(@Nonnull DataSegment segment) {
             SegmentRecord record = findRecord(segment);
 
-            if (record.dataSegment == segment) {
+            if (record != null) {
+                segmentRecords.remove(segment);
                 removeRecord(record);
+                if (editArena != null) {
+                    editArena.updateReferences(segment.getStartPosition(), segment.getLength(), -1);
+                }
             } else {
                 throw new IllegalStateException("Segment requested for removal was not found");
             }
@@ -938,6 +1244,10 @@ public class SegmentsRepository {
             }
         }
 
+        private boolean isEmpty() {
+            return records.first() == null;
+        }
+
         private boolean hasMoreSegments() {
             return records.first() != null && records.first() != records.last();
         }
@@ -945,7 +1255,9 @@ public class SegmentsRepository {
         private void updateSegment(@Nonnull DataSegment segment, long position, long length) {
             // TODO optimalization - update only affected records without removing current record
             SegmentRecord record = findRecord(segment);
-            if (record.dataSegment == segment) {
+            if (record != null) {
+                long originalPosition = segment.getStartPosition();
+                long originalLength = segment.getLength();
                 removeRecord(record);
                 if (segment instanceof MemorySegment) {
                     ((MemorySegment) segment).setStartPosition(position);
@@ -956,6 +1268,9 @@ public class SegmentsRepository {
                 }
                 focusSegment(segment.getStartPosition(), segment.getLength());
                 addRecord(record);
+                if (editArena != null) {
+                    editArena.moveReferences(originalPosition, originalLength, position, length);
+                }
             } else {
                 throw new IllegalStateException("Segment requested for update was not found");
             }
@@ -964,7 +1279,8 @@ public class SegmentsRepository {
         private void updateSegmentLength(@Nonnull DataSegment segment, long length) {
             // TODO optimalization - update only affected records without removing current record
             SegmentRecord record = findRecord(segment);
-            if (record.dataSegment == segment) {
+            if (record != null) {
+                long originalLength = segment.getLength();
                 removeRecord(record);
                 if (segment instanceof MemorySegment) {
                     ((MemorySegment) segment).setLength(length);
@@ -973,26 +1289,51 @@ public class SegmentsRepository {
                 }
                 focusSegment(segment.getStartPosition(), segment.getLength());
                 addRecord(record);
+                if (editArena != null) {
+                    editArena.moveReferences(segment.getStartPosition(), originalLength, segment.getStartPosition(), length);
+                }
             } else {
                 throw new IllegalStateException("Segment requested for update was not found");
             }
         }
 
-        @Nullable
-        private SegmentRecord findRecord(@Nonnull DataSegment segment) {
-            focusSegment(segment.getStartPosition(), segment.getLength());
-            SegmentRecord record = pointerRecord;
-            if (record == null) {
-                return null;
-            }
-
-            while (record != null && record.dataSegment != segment
-                    && record.getStartPosition() == segment.getStartPosition()
-                    && record.getLength() == segment.getLength()) {
-                record = records.prevTo(record);
+        private void join(@Nonnull DataSegment segment, @Nonnull DataSegment nextSegment) {
+            SegmentRecord record = findRecord(segment);
+            SegmentRecord nextRecord = findRecord(nextSegment);
+            if (record != null && nextRecord != null) {
+                long originalLength = segment.getLength();
+                long nextLength = nextSegment.getLength();
+                segmentRecords.remove(nextSegment);
+                removeRecord(nextRecord);
+                removeRecord(record);
+                if (segment instanceof MemorySegment) {
+                    ((MemorySegment) segment).setLength(originalLength + nextLength);
+                } else {
+                    ((FileSegment) segment).setLength(originalLength + nextLength);
+                }
+                focusSegment(segment.getStartPosition(), segment.getLength());
+                addRecord(record);
+                if (editArena != null) {
+                    editArena.joinReferences(segment.getStartPosition(), originalLength, nextLength);
+                }
+            } else {
+                throw new IllegalStateException("Segment requested for join was not found");
             }
+        }
 
-            return record;
+        /**
+         * Returns record of given segment.
+         *
+         * Records are looked up by identity as there might be many segments
+         * with the same start position and length, for example when the same
+         * data are referenced from many places of the document.
+         *
+         * @param segment data segment
+         * @return segment record or null if segment is not registered
+         */
+        @Nullable
+        private SegmentRecord findRecord(@Nonnull DataSegment segment) {
+            return segmentRecords.get(segment);
         }
 
         /**
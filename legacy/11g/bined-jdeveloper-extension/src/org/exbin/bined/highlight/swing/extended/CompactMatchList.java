@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing.extended;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.highlight.swing.extended.ExtendedHighlightCodeAreaPainter.SearchMatch;
+
+/**
+ * Compact list of search matches ordered by position.
+ *
+ * Matches are stored in blocks of fixed count with position of the first
+ * match of each block and variable-length encoded distances to previous match
+ * for the rest, so dense matches occupy about single byte each. Length is
+ * stored once when all matches have the same length. Matches can be only
+ * appended in ascending order of positions and returned match objects are
+ * detached copies. Removal of match re-encodes matches from its block to the
+ * end of the list.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CompactMatchList extends AbstractList<SearchMatch> implements RandomAccess {
+
+    private static final int BLOCK_SHIFT = 7;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int VARIABLE_LENGTH = -1;
+
+    private final long matchLength;
+    private int size = 0;
+    private long lastPosition = -1;
+    private long maxMatchLength = 0;
+
+    private long[] blockPositions = new long[16];
+    private int[] blockOffsets = new int[16];
+    private byte[] encodedData = new byte[256];
+    private int encodedLength = 0;
+
+    private int cachedBlock = -1;
+    private final long[] cachedPositions = new long[BLOCK_SIZE];
+    private final long[] cachedLengths;
+
+    /**
+     * Creates list of matches of variable length.
+     */
+    public CompactMatchList() {
+        matchLength = VARIABLE_LENGTH;
+        cachedLengths = new long[BLOCK_SIZE];
+    }
+
+    /**
+     * Creates list of matches of given fixed length.
+     *
+     * @param matchLength length of all matches
+     */
+    public CompactMatchList(long matchLength) {
+        if (matchLength <= 0) {
+            throw new IllegalArgumentException("Match length must be positive");
+        }
+        this.matchLength = matchLength;
+        maxMatchLength = matchLength;
+        cachedLengths = null;
+    }
+
+    /**
+     * Creates empty list of the same kind as given list.
+     *
+     * @param list source list
+     * @return new empty list
+     */
+    @Nonnull
+    public static CompactMatchList createEmptyCopy(CompactMatchList list) {
+        return list.isVariableLength() ? new CompactMatchList() : new CompactMatchList(list.matchLength);
+    }
+
+    public boolean isVariableLength() {
+        return matchLength == VARIABLE_LENGTH;
+    }
+
+    public long getMaxMatchLength() {
+        return maxMatchLength;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Nonnull
+    @Override
+    public SearchMatch get(int index) {
+        checkIndex(index);
+        decodeBlock(index >> BLOCK_SHIFT);
+        int blockIndex = index & (BLOCK_SIZE - 1);
+        return new SearchMatch(cachedPositions[blockIndex], cachedLengths == null ? matchLength : cachedLengths[blockIndex]);
+    }
+
+    /**
+     * Returns position of match at given index.
+     *
+     * @param index match index
+     * @return match position
+     */
+    public long getPosition(int index) {
+        checkIndex(index);
+        decodeBlock(index >> BLOCK_SHIFT);
+        return cachedPositions[index & (BLOCK_SIZE - 1)];
+    }
+
+    @Override
+    public boolean add(SearchMatch match) {
+        addMatch(match.getPosition(), match.getLength());
+        return true;
+    }
+
+    /**
+     * Appends match.
+     *
+     * @param position match position, must be greater than position of last
+     * match
+     * @param length match length
+     */
+    public void addMatch(long position, long length) {
+        if (position <= lastPosition) {
+            throw new IllegalArgumentException("Matches must be added in ascending order");
+        }
+        if (matchLength != VARIABLE_LENGTH && length != matchLength) {
+            throw new IllegalArgumentException("Unexpected match length " + length);
+        }
+
+        int block = size >> BLOCK_SHIFT;
+        if ((size & (BLOCK_SIZE - 1)) == 0) {
+            if (block == blockPositions.length) {
+                blockPositions = Arrays.copyOf(blockPositions, block * 2);
+                blockOffsets = Arrays.copyOf(blockOffsets, block * 2);
+            }
+            blockPositions[block] = position;
+            blockOffsets[block] = encodedLength;
+        } else {
+            writeVarLong(position - lastPosition);
+        }
+        if (matchLength == VARIABLE_LENGTH) {
+            writeVarLong(length);
+            if (length > maxMatchLength) {
+                maxMatchLength = length;
+            }
+        }
+
+        if (block == cachedBlock) {
+            cachedBlock = -1;
+        }
+        lastPosition = position;
+        size++;
+        modCount++;
+    }
+
+    @Nonnull
+    @Override
+    public SearchMatch remove(int index) {
+        SearchMatch removedMatch = get(index);
+        int firstIndex = (index >> BLOCK_SHIFT) << BLOCK_SHIFT;
+        int tailCount = size - firstIndex;
+        long[] positions = new long[tailCount];
+        long[] lengths = new long[tailCount];
+        for (int i = 0; i < tailCount; i++) {
+            SearchMatch match = get(firstIndex + i);
+            positions[i] = match.getPosition();
+            lengths[i] = match.getLength();
+        }
+
+        // Truncate list to the start of block of removed match and append the rest again
+        long previousPosition = firstIndex > 0 ? getPosition(firstIndex - 1) : -1;
+        encodedLength = blockOffsets[firstIndex >> BLOCK_SHIFT];
+        size = firstIndex;
+        lastPosition = previousPosition;
+        cachedBlock = -1;
+        for (int i = 0; i < tailCount; i++) {
+            if (firstIndex + i != index) {
+                addMatch(positions[i], lengths[i]);
+            }
+        }
+        modCount++;
+        return removedMatch;
+    }
+
+    /**
+     * Returns index of the first match starting at or after given position.
+     *
+     * @param position data position
+     * @return match index or size of the list if there is no such match
+     */
+    public int findIndex(long position) {
+        int blocksCount = (size + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+        if (blocksCount == 0 || position > lastPosition) {
+            return size;
+        }
+
+        int low = 0;
+        int high = blocksCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blockPositions[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        decodeBlock(low);
+        int index = low << BLOCK_SHIFT;
+        int blockCount = Math.min(BLOCK_SIZE, size - index);
+        for (int i = 0; i < blockCount; i++) {
+            if (cachedPositions[i] >= position) {
+                return index + i;
+            }
+        }
+        return index + blockCount;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        lastPosition = -1;
+        encodedLength = 0;
+        cachedBlock = -1;
+        if (matchLength == VARIABLE_LENGTH) {
+            maxMatchLength = 0;
+        }
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void decodeBlock(int block) {
+        if (block == cachedBlock) {
+            return;
+        }
+
+        int count = Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+        int offset = blockOffsets[block];
+        long position = blockPositions[block];
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                long delta = 0;
+                int shift = 0;
+                byte value;
+                do {
+                    value = encodedData[offset++];
+                    delta |= (long) (value & 0x7f) << shift;
+                    shift += 7;
+                } while (value < 0);
+                position += delta;
+            }
+            cachedPositions[i] = position;
+
+            if (cachedLengths != null) {
+                long length = 0;
+                int shift = 0;
+                byte value;
+                do {
+                    value = encodedData[offset++];
+                    length |= (long) (value & 0x7f) << shift;
+                    shift += 7;
+                } while (value < 0);
+                cachedLengths[i] = length;
+            }
+        }
+        cachedBlock = block;
+    }
+
+    private void writeVarLong(long value) {
+        if (encodedLength + 10 > encodedData.length) {
+            encodedData = Arrays.copyOf(encodedData, encodedData.length * 2);
+        }
+        while ((value & ~0x7fL) != 0) {
+            encodedData[encodedLength++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        encodedData[encodedLength++] = (byte) value;
+    }
+}
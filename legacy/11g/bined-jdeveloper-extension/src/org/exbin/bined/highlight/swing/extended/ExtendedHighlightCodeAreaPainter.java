@@ -18,6 +18,7 @@ package org.exbin.bined.highlight.swing.extended;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -41,24 +42,38 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
     /**
      * Matches must be ordered by position.
      */
-    private final List<SearchMatch> matches = new ArrayList<SearchMatch>();
+    private List<SearchMatch> matches = new ArrayList<SearchMatch>();
+    private long maxMatchLength = 0;
     private int currentMatchIndex = -1;
     private int matchIndex = 0;
-    private long matchPosition = -1;
+    private long matchRowPosition = -1;
 
     private Color foundMatchesColor;
     private Color currentMatchColor;
+    private Color mismatchColor;
+    private final List<Color> patternMatchColors = new ArrayList<Color>();
+
+    /**
+     * Marked ranges must be ordered by position and must not overlap.
+     */
+    private List<SearchMatch> markedRanges = new ArrayList<SearchMatch>();
+    private int markedRangeIndex = 0;
+    private long markedRangeRowPosition = -1;
+    private long markedRangeLastPosition = -1;
+    private final List<Color> markColors = new ArrayList<Color>();
 
     public ExtendedHighlightCodeAreaPainter(CodeAreaCore codeArea) {
         super(codeArea);
 
         foundMatchesColor = new Color(180, 255, 180);
         currentMatchColor = new Color(255, 210, 180);
+        mismatchColor = new Color(255, 160, 160);
     }
 
     @Override
     public void paintMainArea(@Nonnull Graphics g) {
-        matchIndex = 0;
+        matchRowPosition = -1;
+        markedRangeRowPosition = -1;
         super.paintMainArea(g);
     }
 
@@ -69,39 +84,16 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
             long dataPosition = rowDataPosition + byteOnRow;
             if (currentMatchIndex >= 0) {
                 SearchMatch currentMatch = matches.get(currentMatchIndex);
-                if (dataPosition >= currentMatch.position && dataPosition < currentMatch.position + currentMatch.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((currentMatch.position + currentMatch.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
+                if (isMatchAt(currentMatch, rowDataPosition, dataPosition, charOnRow, section)) {
                     Color activeMatchColor = getColorsProfile().getColor(CodeAreaMatchColorType.ACTIVE_MATCH_COLOR);
                     return activeMatchColor != null ? activeMatchColor : super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
                 }
             }
 
-            if (matchPosition < rowDataPosition) {
-                matchIndex = 0;
-            }
-            int lineMatchIndex = matchIndex;
-            while (lineMatchIndex < matches.size()) {
-                SearchMatch match = matches.get(lineMatchIndex);
-                if (dataPosition >= match.position && dataPosition < match.position + match.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((match.position + match.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    if (byteOnRow == 0) {
-                        matchIndex = lineMatchIndex;
-                        matchPosition = match.position;
-                    }
-
-                    Color matchesColor = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_COLOR);
-                    return matchesColor != null ? matchesColor : super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
-                }
-
-                if (match.position > dataPosition) {
-                    break;
-                }
-
-                if (byteOnRow == 0) {
-                    matchIndex = lineMatchIndex;
-                    matchPosition = match.position;
-                }
-                lineMatchIndex++;
+            SearchMatch match = findMatchAt(rowDataPosition, dataPosition, charOnRow, section);
+            if (match != null) {
+                Color matchesColor = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_COLOR);
+                return matchesColor != null ? matchesColor : super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
             }
         }
 
@@ -115,59 +107,176 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
             long dataPosition = rowDataPosition + byteOnRow;
             if (currentMatchIndex >= 0) {
                 SearchMatch currentMatch = matches.get(currentMatchIndex);
-                if (dataPosition >= currentMatch.position && dataPosition < currentMatch.position + currentMatch.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((currentMatch.position + currentMatch.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
+                if (isMatchAt(currentMatch, rowDataPosition, dataPosition, charOnRow, section)) {
+                    if (currentMatch.isMismatch(dataPosition)) {
+                        return mismatchColor;
+                    }
+
                     Color activeMatchBackground = getColorsProfile().getColor(CodeAreaMatchColorType.ACTIVE_MATCH_BACKGROUND);
                     return activeMatchBackground != null ? activeMatchBackground : currentMatchColor;
                 }
             }
 
-            if (matchPosition < rowDataPosition) {
-                matchIndex = 0;
-            }
-            int lineMatchIndex = matchIndex;
-            while (lineMatchIndex < matches.size()) {
-                SearchMatch match = matches.get(lineMatchIndex);
-                if (dataPosition >= match.position && dataPosition < match.position + match.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((match.position + match.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    if (byteOnRow == 0) {
-                        matchIndex = lineMatchIndex;
-                        matchPosition = match.position;
-                    }
-
-                    Color matchesBackground = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_BACKGROUND);
-                    return matchesBackground != null ? matchesBackground : foundMatchesColor;
+            SearchMatch match = findMatchAt(rowDataPosition, dataPosition, charOnRow, section);
+            if (match != null) {
+                if (match.isMismatch(dataPosition)) {
+                    return mismatchColor;
                 }
 
-                if (match.position > dataPosition) {
-                    break;
+                if (match.patternIndex >= 0) {
+                    return getPatternMatchBackgroundColor(match.patternIndex);
                 }
 
-                if (byteOnRow == 0) {
-                    matchIndex = lineMatchIndex;
-                    matchPosition = match.position;
-                }
-                lineMatchIndex++;
+                Color matchesBackground = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_BACKGROUND);
+                return matchesBackground != null ? matchesBackground : foundMatchesColor;
+            }
+        }
+
+        if (!markedRanges.isEmpty() && charOnRow < getCharactersPerRow() - 1) {
+            SearchMatch markedRange = findMarkedRangeAt(rowDataPosition, rowDataPosition + byteOnRow, charOnRow, section);
+            if (markedRange != null) {
+                return getMarkColor(markedRange.patternIndex);
             }
         }
 
         return super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
     }
 
+    /**
+     * Returns match covering given position.
+     *
+     * Index of the first match which can reach the row is looked up once per
+     * row, so painting cost doesn't depend on total count of matches.
+     */
+    @Nullable
+    private SearchMatch findMatchAt(long rowDataPosition, long dataPosition, int charOnRow, CodeAreaSection section) {
+        if (rowDataPosition != matchRowPosition) {
+            matchIndex = findMatchIndex(Math.max(0, rowDataPosition - maxMatchLength + 1));
+            matchRowPosition = rowDataPosition;
+        }
+
+        int lineMatchIndex = matchIndex;
+        while (lineMatchIndex < matches.size()) {
+            SearchMatch match = matches.get(lineMatchIndex);
+            if (isMatchAt(match, rowDataPosition, dataPosition, charOnRow, section)) {
+                return match;
+            }
+
+            if (match.position > dataPosition) {
+                break;
+            }
+            lineMatchIndex++;
+        }
+
+        return null;
+    }
+
+    private boolean isMatchAt(SearchMatch match, long rowDataPosition, long dataPosition, int charOnRow, CodeAreaSection section) {
+        return dataPosition >= match.position && dataPosition < match.position + match.length
+                && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((match.position + match.length) - rowDataPosition) * getCharactersPerRow() - 1);
+    }
+
+    /**
+     * Returns marked range covering given position.
+     *
+     * Ranges don't overlap, so lookup continues from range found for previous
+     * position unless position moved back as for preview section of the row.
+     */
+    @Nullable
+    private SearchMatch findMarkedRangeAt(long rowDataPosition, long dataPosition, int charOnRow, CodeAreaSection section) {
+        if (rowDataPosition != markedRangeRowPosition || dataPosition < markedRangeLastPosition) {
+            markedRangeIndex = Math.max(0, findMarkedRangeIndex(rowDataPosition) - 1);
+            markedRangeRowPosition = rowDataPosition;
+        }
+        markedRangeLastPosition = dataPosition;
+
+        while (markedRangeIndex < markedRanges.size()) {
+            SearchMatch markedRange = markedRanges.get(markedRangeIndex);
+            if (markedRange.position > dataPosition) {
+                break;
+            }
+            if (isMatchAt(markedRange, rowDataPosition, dataPosition, charOnRow, section)) {
+                return markedRange;
+            }
+            if (markedRange.position + markedRange.length > dataPosition) {
+                break;
+            }
+            markedRangeIndex++;
+        }
+
+        return null;
+    }
+
+    private int findMarkedRangeIndex(long position) {
+        int low = 0;
+        int high = markedRanges.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (markedRanges.get(middle).position < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns index of the first match starting at or after given position.
+     *
+     * @param position data position
+     * @return match index or count of matches if there is no such match
+     */
+    public int findMatchIndex(long position) {
+        if (matches instanceof CompactMatchList) {
+            return ((CompactMatchList) matches).findIndex(position);
+        }
+
+        int low = 0;
+        int high = matches.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (matches.get(middle).position < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     @Nonnull
     public List<SearchMatch> getMatches() {
         return matches;
     }
 
+    /**
+     * Sets matches ordered by position.
+     *
+     * Compact match list is used directly, other lists are copied.
+     *
+     * @param matches matches
+     */
     public void setMatches(List<SearchMatch> matches) {
-        this.matches.clear();
-        this.matches.addAll(matches);
+        if (matches instanceof CompactMatchList) {
+            this.matches = matches;
+            maxMatchLength = ((CompactMatchList) matches).getMaxMatchLength();
+        } else {
+            this.matches = new ArrayList<SearchMatch>(matches);
+            maxMatchLength = 0;
+            for (SearchMatch match : matches) {
+                maxMatchLength = Math.max(maxMatchLength, match.length);
+            }
+        }
         currentMatchIndex = -1;
+        matchRowPosition = -1;
     }
 
     public void clearMatches() {
-        this.matches.clear();
+        this.matches = new ArrayList<SearchMatch>();
+        maxMatchLength = 0;
         currentMatchIndex = -1;
+        matchRowPosition = -1;
     }
 
     @Nullable
@@ -205,13 +314,93 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
         this.currentMatchColor = currentMatchBackgroundColor;
     }
 
+    @Nonnull
+    public Color getMismatchBackgroundColor() {
+        return mismatchColor;
+    }
+
+    public void setMismatchBackgroundColor(Color mismatchBackgroundColor) {
+        this.mismatchColor = mismatchBackgroundColor;
+    }
+
+    /**
+     * Returns background color for matches of given pattern.
+     *
+     * Colors which were not set are generated by spreading hue.
+     *
+     * @param patternIndex index of pattern
+     * @return background color
+     */
+    @Nonnull
+    public Color getPatternMatchBackgroundColor(int patternIndex) {
+        while (patternMatchColors.size() <= patternIndex) {
+            float hue = (patternMatchColors.size() * 0.618034f) % 1f;
+            patternMatchColors.add(Color.getHSBColor(hue, 0.3f, 1f));
+        }
+
+        return patternMatchColors.get(patternIndex);
+    }
+
+    public void setPatternMatchBackgroundColors(List<Color> patternMatchColors) {
+        this.patternMatchColors.clear();
+        this.patternMatchColors.addAll(patternMatchColors);
+    }
+
+    @Nonnull
+    public List<SearchMatch> getMarkedRanges() {
+        return markedRanges;
+    }
+
+    /**
+     * Sets marked ranges painted with color of mark given by pattern index of
+     * the range.
+     *
+     * @param markedRanges ranges ordered by position, not overlapping
+     */
+    public void setMarkedRanges(List<SearchMatch> markedRanges) {
+        this.markedRanges = new ArrayList<SearchMatch>(markedRanges);
+        markedRangeRowPosition = -1;
+    }
+
+    public void clearMarkedRanges() {
+        markedRanges = new ArrayList<SearchMatch>();
+        markedRangeRowPosition = -1;
+    }
+
+    /**
+     * Returns background color of marked ranges of given mark.
+     *
+     * @param markIndex index of mark
+     * @return background color
+     */
+    @Nonnull
+    public Color getMarkColor(int markIndex) {
+        if (markIndex >= 0 && markIndex < markColors.size()) {
+            return markColors.get(markIndex);
+        }
+
+        return foundMatchesColor;
+    }
+
+    public void setMarkColors(List<Color> markColors) {
+        this.markColors.clear();
+        this.markColors.addAll(markColors);
+    }
+
     /**
      * Simple POJO class for search match.
+     *
+     * Match of multi-pattern search carries index of matched pattern, which is
+     * -1 for other matches. Match of approximate search carries sorted
+     * offsets of bytes differing from the pattern relative to match position.
      */
     public static class SearchMatch {
 
         private long position;
         private long length;
+        private int patternIndex = -1;
+        @Nullable
+        private int[] mismatches;
 
         public SearchMatch() {
         }
@@ -221,6 +410,12 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
             this.length = length;
         }
 
+        public SearchMatch(long position, long length, int patternIndex) {
+            this.position = position;
+            this.length = length;
+            this.patternIndex = patternIndex;
+        }
+
         public long getPosition() {
             return position;
         }
@@ -236,5 +431,26 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
         public void setLength(long length) {
             this.length = length;
         }
+
+        public int getPatternIndex() {
+            return patternIndex;
+        }
+
+        public void setPatternIndex(int patternIndex) {
+            this.patternIndex = patternIndex;
+        }
+
+        @Nullable
+        public int[] getMismatches() {
+            return mismatches;
+        }
+
+        public void setMismatches(@Nullable int[] mismatches) {
+            this.mismatches = mismatches;
+        }
+
+        private boolean isMismatch(long dataPosition) {
+            return mismatches != null && Arrays.binarySearch(mismatches, (int) (dataPosition - position)) >= 0;
+        }
     }
 }
@@ -41,6 +41,8 @@ import org.exbin.bined.operation.swing.CodeAreaUndoHandler;
 import org.exbin.bined.operation.undo.BinaryDataUndoUpdateListener;
 import org.exbin.framework.bined.BinaryStatusApi;
 import org.exbin.framework.bined.panel.BinaryStatusPanel;
+import org.exbin.framework.bined.panel.BitmapViewPanel;
+import org.exbin.framework.bined.panel.StructureViewPanel;
 import org.exbin.framework.editor.text.TextEncodingStatusApi;
 import org.exbin.framework.gui.utils.WindowUtils;
 import org.exbin.framework.gui.utils.handler.OptionsControlHandler;
@@ -59,10 +61,13 @@ import java.io.*;
 import java.nio.charset.Charset;
 
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.exbin.bined.capability.CharsetCapable;
 import org.exbin.bined.extended.layout.ExtendedCodeAreaLayoutProfile;
@@ -80,6 +85,8 @@ import org.exbin.framework.bined.options.CodeAreaThemeOptions;
 import org.exbin.framework.bined.options.EditorOptions;
 import org.exbin.framework.bined.options.StatusOptions;
 import org.exbin.framework.bined.options.impl.CodeAreaOptionsImpl;
+import org.exbin.framework.bined.panel.OverviewMinimap;
+import org.exbin.framework.bined.panel.StatisticsPanel;
 import org.exbin.framework.bined.panel.ValuesPanel;
 import org.exbin.framework.bined.preferences.BinaryEditorPreferences;
 import org.exbin.framework.editor.text.EncodingsHandler;
@@ -104,11 +111,13 @@ public class BinEdFileEditor extends Editor {
     public static final String ACTION_CLIPBOARD_COPY = "copy-to-clipboard";
     public static final String ACTION_CLIPBOARD_PASTE = "paste-from-clipboard";
     private static final FileHandlingMode DEFAULT_FILE_HANDLING_MODE = FileHandlingMode.DELTA;
+    private static final int BOOKMARKS_MENU_LIMIT = 20;
 
     private BinaryEditorPreferences preferences;
     private JPanel editorPanel;
     private JPanel headerPanel;
     private static SegmentsRepository segmentsRepository = null;
+    private static final List<BinEdFileEditor> openedEditors = new ArrayList<BinEdFileEditor>();
     private final ExtCodeArea codeArea;
     private final CodeAreaUndoHandler undoHandler;
     private final PropertyChangeSupport propertyChangeSupport;
@@ -128,7 +137,28 @@ public class BinEdFileEditor extends Editor {
     private JScrollPane valuesPanelScrollPane = null;
     private ValuesPanel valuesPanel = null;
     private boolean valuesPanelVisible = false;
+    private JPanel sidePanel = null;
+    private StatisticsPanel statisticsPanel = null;
+    private boolean statisticsPanelVisible = false;
+    private JPanel codeAreaWrapperPanel;
+    private OverviewMinimap overviewMinimap = null;
+    private boolean overviewMinimapVisible = false;
+    private BitmapViewPanel bitmapViewPanel = null;
+    private boolean bitmapViewVisible = false;
+    private StructureViewPanel structureViewPanel = null;
+    private boolean structureViewVisible = false;
     private final SearchAction searchAction;
+    private final SignatureScanAction signatureScanAction;
+    private final HashAction hashAction;
+    private final TransformAction transformAction;
+    private final ExportAction exportAction;
+    private final ImportAction importAction;
+    private final CompareAction compareAction;
+    private CompareSession compareSession = null;
+    private JComponent comparePanel = null;
+    private final ChecksumStatusHandler checksumStatusHandler;
+    private final ModificationsHandler modificationsHandler;
+    private final BookmarksHandler bookmarksHandler;
 
     private boolean opened = false;
     private boolean modified = false;
@@ -190,7 +220,9 @@ public class BinEdFileEditor extends Editor {
 
         initialLoadFromPreferences();
 
-        codeAreaPanel.add(codeArea, BorderLayout.CENTER);
+        codeAreaWrapperPanel = new JPanel(new BorderLayout());
+        codeAreaWrapperPanel.add(codeArea, BorderLayout.CENTER);
+        codeAreaPanel.add(codeAreaWrapperPanel, BorderLayout.CENTER);
         editorPanel.add(statusPanel, BorderLayout.SOUTH);
         goToRowAction = new GoToPositionAction(codeArea);
         showHeaderAction = new AbstractAction() {
@@ -240,6 +272,8 @@ public class BinEdFileEditor extends Editor {
             public void undoCommandPositionChanged() {
                 codeArea.repaint();
                 toolbarPanel.updateUndoState();
+                checksumStatusHandler.dataChanged();
+                modificationsHandler.dataChanged();
                 updateCurrentDocumentSize();
                 updateModified();
             }
@@ -247,17 +281,30 @@ public class BinEdFileEditor extends Editor {
             @Override
             public void undoCommandAdded(final BinaryDataCommand command) {
                 toolbarPanel.updateUndoState();
+                checksumStatusHandler.dataChanged();
+                modificationsHandler.dataChanged();
                 updateCurrentDocumentSize();
                 updateModified();
             }
         });
         toolbarPanel.updateUndoState();
 
-        searchAction = new SearchAction(codeArea, codeAreaPanel);
+        searchAction = new SearchAction(codeArea, codeAreaPanel, undoHandler);
+        signatureScanAction = new SignatureScanAction(codeArea, searchAction);
+        hashAction = new HashAction(codeArea, statusPanel);
+        transformAction = new TransformAction(codeArea, undoHandler);
+        exportAction = new ExportAction(codeArea, statusPanel);
+        importAction = new ImportAction(codeArea, undoHandler, statusPanel);
+        compareAction = new CompareAction(this, statusPanel);
+        checksumStatusHandler = new ChecksumStatusHandler(codeArea, statusPanel);
+        modificationsHandler = new ModificationsHandler(codeArea, statusPanel);
+        bookmarksHandler = new BookmarksHandler(codeArea, preferences.getBookmarksPreferences());
         codeArea.addDataChangedListener(new DataChangedListener() {
                 @Override
                 public void dataChanged() {
                     searchAction.codeAreaDataChanged();
+                    checksumStatusHandler.dataChanged();
+                    modificationsHandler.dataChanged();
                     updateCurrentDocumentSize();
                 }
             });
@@ -505,6 +552,9 @@ public class BinEdFileEditor extends Editor {
 
     @Override
     public void open() {
+        if (!openedEditors.contains(this)) {
+            openedEditors.add(this);
+        }
         // TODO
         final Context context = getContext();
         Node contextNode = context.getNode();
@@ -619,6 +669,8 @@ public class BinEdFileEditor extends Editor {
         documentOriginalSize = codeArea.getDataSize();
         updateCurrentDocumentSize();
         updateCurrentMemoryMode();
+        modificationsHandler.dataChanged();
+        bookmarksHandler.openFile(file);
     }
 
     public void saveFile(String fileName) throws IOException {
@@ -639,6 +691,8 @@ public class BinEdFileEditor extends Editor {
         documentOriginalSize = codeArea.getDataSize();
         updateCurrentDocumentSize();
         updateCurrentMemoryMode();
+        modificationsHandler.dataChanged();
+        bookmarksHandler.storeBookmarks();
     }
 
     private void updateCurrentDocumentSize() {
@@ -697,11 +751,19 @@ public class BinEdFileEditor extends Editor {
     }
 
     public void componentClosed() {
+        openedEditors.remove(this);
         closeData();
     }
 
     private void closeData() {
+        closeCompareSession();
         BinaryData data = codeArea.getContentData();
+        checksumStatusHandler.releaseDocument();
+        modificationsHandler.releaseDocument();
+        if (!modified) {
+            bookmarksHandler.storeBookmarks();
+        }
+        bookmarksHandler.releaseDocument();
         codeArea.setContentData(new ByteArrayData());
         if (data instanceof DeltaDocument) {
             FileDataSource fileSource = ((DeltaDocument) data).getFileSource();
@@ -835,6 +897,27 @@ public class BinEdFileEditor extends Editor {
                 JMenuItem goToMenuItem = createGoToMenuItem();
                 result.add(goToMenuItem);
 
+                final JMenuItem nextChangeMenuItem = new JMenuItem("Next Change");
+                nextChangeMenuItem.setEnabled(modificationsHandler.hasChanges());
+                nextChangeMenuItem.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        modificationsHandler.nextChange();
+                    }
+                });
+                result.add(nextChangeMenuItem);
+
+                final JMenuItem previousChangeMenuItem = new JMenuItem("Previous Change");
+                previousChangeMenuItem.setEnabled(modificationsHandler.hasChanges());
+                previousChangeMenuItem.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        modificationsHandler.previousChange();
+                    }
+                });
+                result.add(previousChangeMenuItem);
+                result.add(createBookmarksMenu());
+
                 final JMenuItem findMenuItem = new JMenuItem("Find...");
                 findMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F, ActionUtils.getMetaMask()));
                 findMenuItem.addActionListener(new ActionListener() {
@@ -857,6 +940,52 @@ public class BinEdFileEditor extends Editor {
                     }
                 });
                 result.add(replaceMenuItem);
+
+                final JMenuItem transformMenuItem = new JMenuItem("Transform Selection...");
+                transformMenuItem.setEnabled(codeArea.hasSelection() && codeArea.isEditable());
+                transformMenuItem.addActionListener(transformAction);
+                result.add(transformMenuItem);
+
+                final JMenuItem scanSignaturesMenuItem = new JMenuItem("Scan Signatures...");
+                scanSignaturesMenuItem.addActionListener(signatureScanAction);
+                result.add(scanSignaturesMenuItem);
+
+                final JMenuItem buildSearchIndexMenuItem = new JMenuItem("Build Search Index");
+                buildSearchIndexMenuItem.setEnabled(searchAction.canBuildSearchIndex());
+                buildSearchIndexMenuItem.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        searchAction.buildSearchIndex();
+                    }
+                });
+                result.add(buildSearchIndexMenuItem);
+
+                final JMenuItem computeHashesMenuItem = new JMenuItem("Compute Hashes...");
+                computeHashesMenuItem.addActionListener(hashAction);
+                result.add(computeHashesMenuItem);
+
+                final JMenuItem exportMenuItem = new JMenuItem("Export...");
+                exportMenuItem.addActionListener(exportAction);
+                result.add(exportMenuItem);
+
+                final JMenuItem importMenuItem = new JMenuItem("Import...");
+                importMenuItem.setEnabled(codeArea.isEditable());
+                importMenuItem.addActionListener(importAction);
+                result.add(importMenuItem);
+
+                final JMenuItem compareMenuItem = new JMenuItem("Compare With...");
+                compareMenuItem.addActionListener(compareAction);
+                result.add(compareMenuItem);
+                if (compareSession != null) {
+                    final JMenuItem closeCompareMenuItem = new JMenuItem("Close Comparison");
+                    closeCompareMenuItem.addActionListener(new ActionListener() {
+                        @Override
+                        public void actionPerformed(ActionEvent e) {
+                            closeCompareSession();
+                        }
+                    });
+                    result.add(closeCompareMenuItem);
+                }
             }
         }
 
@@ -874,6 +1003,76 @@ public class BinEdFileEditor extends Editor {
                 showMenu.add(showHeader);
                 JMenuItem showRowPosition = createShowRowPositionMenuItem();
                 showMenu.add(showRowPosition);
+                final JCheckBoxMenuItem showChecksum = new JCheckBoxMenuItem("Document CRC-32");
+                showChecksum.setSelected(checksumStatusHandler.isEnabled());
+                showChecksum.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        checksumStatusHandler.setEnabled(showChecksum.isSelected());
+                    }
+                });
+                showMenu.add(showChecksum);
+                final JCheckBoxMenuItem showModifications = new JCheckBoxMenuItem("Modified Data");
+                showModifications.setSelected(modificationsHandler.isHighlightEnabled());
+                showModifications.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        modificationsHandler.setHighlightEnabled(showModifications.isSelected());
+                    }
+                });
+                showMenu.add(showModifications);
+                final JCheckBoxMenuItem showStatistics = new JCheckBoxMenuItem("Statistics Panel");
+                showStatistics.setSelected(statisticsPanelVisible);
+                showStatistics.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        if (showStatistics.isSelected()) {
+                            showStatisticsPanel();
+                        } else {
+                            hideStatisticsPanel();
+                        }
+                    }
+                });
+                showMenu.add(showStatistics);
+                final JCheckBoxMenuItem showOverview = new JCheckBoxMenuItem("Overview Minimap");
+                showOverview.setSelected(overviewMinimapVisible);
+                showOverview.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        if (showOverview.isSelected()) {
+                            showOverviewMinimap();
+                        } else {
+                            hideOverviewMinimap();
+                        }
+                    }
+                });
+                showMenu.add(showOverview);
+                final JCheckBoxMenuItem showBitmapView = new JCheckBoxMenuItem("Bitmap View");
+                showBitmapView.setSelected(bitmapViewVisible);
+                showBitmapView.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        if (showBitmapView.isSelected()) {
+                            showBitmapView();
+                        } else {
+                            hideBitmapView();
+                        }
+                    }
+                });
+                showMenu.add(showBitmapView);
+                final JCheckBoxMenuItem showStructureView = new JCheckBoxMenuItem("Structure View");
+                showStructureView.setSelected(structureViewVisible);
+                showStructureView.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        if (showStructureView.isSelected()) {
+                            showStructureView();
+                        } else {
+                            hideStructureView();
+                        }
+                    }
+                });
+                showMenu.add(showStructureView);
                 result.add(showMenu);
             }
         }
@@ -949,6 +1148,80 @@ public class BinEdFileEditor extends Editor {
         return result;
     }
 
+    @Nonnull
+    private JMenu createBookmarksMenu() {
+        JMenu bookmarksMenu = new JMenu("Bookmarks");
+        final PositionAnchors.Anchor<String> caretBookmark = bookmarksHandler.getBookmarkAtCaret();
+        if (caretBookmark == null) {
+            JMenuItem addBookmarkMenuItem = new JMenuItem("Add Bookmark...");
+            addBookmarkMenuItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    bookmarksHandler.addBookmark();
+                }
+            });
+            bookmarksMenu.add(addBookmarkMenuItem);
+        } else {
+            JMenuItem removeBookmarkMenuItem = new JMenuItem("Remove Bookmark " + caretBookmark.getValue());
+            removeBookmarkMenuItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    bookmarksHandler.removeBookmark(caretBookmark);
+                }
+            });
+            bookmarksMenu.add(removeBookmarkMenuItem);
+        }
+
+        JMenuItem nextBookmarkMenuItem = new JMenuItem("Next Bookmark");
+        nextBookmarkMenuItem.setEnabled(bookmarksHandler.hasBookmarks());
+        nextBookmarkMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                bookmarksHandler.nextBookmark();
+            }
+        });
+        bookmarksMenu.add(nextBookmarkMenuItem);
+        JMenuItem previousBookmarkMenuItem = new JMenuItem("Previous Bookmark");
+        previousBookmarkMenuItem.setEnabled(bookmarksHandler.hasBookmarks());
+        previousBookmarkMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                bookmarksHandler.previousBookmark();
+            }
+        });
+        bookmarksMenu.add(previousBookmarkMenuItem);
+
+        List<PositionAnchors.Anchor<String>> bookmarks = bookmarksHandler.getBookmarks();
+        if (!bookmarks.isEmpty()) {
+            bookmarksMenu.addSeparator();
+            int count = 0;
+            for (final PositionAnchors.Anchor<String> bookmark : bookmarks) {
+                if (count++ == BOOKMARKS_MENU_LIMIT) {
+                    break;
+                }
+                JMenuItem bookmarkMenuItem = new JMenuItem(bookmark.getValue() + " (" + Long.toHexString(bookmark.getPosition()).toUpperCase() + "h)");
+                bookmarkMenuItem.addActionListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        bookmarksHandler.goToBookmark(bookmark);
+                    }
+                });
+                bookmarksMenu.add(bookmarkMenuItem);
+            }
+            bookmarksMenu.addSeparator();
+            JMenuItem clearBookmarksMenuItem = new JMenuItem("Clear Bookmarks");
+            clearBookmarksMenuItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    bookmarksHandler.clearBookmarks();
+                }
+            });
+            bookmarksMenu.add(clearBookmarksMenuItem);
+        }
+
+        return bookmarksMenu;
+    }
+
     @Nonnull
     private JMenuItem createGoToMenuItem() {
         final JMenuItem goToMenuItem = new JMenuItem("Go To...");
@@ -1075,11 +1348,10 @@ public class BinEdFileEditor extends Editor {
                 valuesPanelScrollPane = new JScrollPane(valuesPanel);
                 valuesPanelScrollPane.setBorder(null);
             }
-            codeAreaPanel.add(valuesPanelScrollPane, BorderLayout.EAST);
+            getSidePanel().add(valuesPanelScrollPane, BorderLayout.CENTER);
+            updateSidePanel();
             valuesPanel.enableUpdate();
             valuesPanel.updateValues();
-            codeAreaPanel.revalidate();
-            editorPanel.revalidate();
         }
     }
 
@@ -1087,10 +1359,163 @@ public class BinEdFileEditor extends Editor {
         if (valuesPanelVisible) {
             valuesPanelVisible = false;
             valuesPanel.disableUpdate();
-            codeAreaPanel.remove(valuesPanelScrollPane);
-            codeAreaPanel.revalidate();
-            editorPanel.revalidate();
+            sidePanel.remove(valuesPanelScrollPane);
+            updateSidePanel();
+        }
+    }
+
+    public void showStatisticsPanel() {
+        if (!statisticsPanelVisible) {
+            statisticsPanelVisible = true;
+            if (statisticsPanel == null) {
+                statisticsPanel = new StatisticsPanel();
+                statisticsPanel.setCodeArea(codeArea);
+            }
+            getSidePanel().add(statisticsPanel, BorderLayout.SOUTH);
+            updateSidePanel();
+            statisticsPanel.enableUpdate();
+        }
+    }
+
+    public void hideStatisticsPanel() {
+        if (statisticsPanelVisible) {
+            statisticsPanelVisible = false;
+            statisticsPanel.disableUpdate();
+            sidePanel.remove(statisticsPanel);
+            updateSidePanel();
+        }
+    }
+
+    public void showOverviewMinimap() {
+        if (!overviewMinimapVisible) {
+            overviewMinimapVisible = true;
+            if (overviewMinimap == null) {
+                overviewMinimap = new OverviewMinimap();
+                overviewMinimap.setCodeArea(codeArea);
+            }
+            codeAreaWrapperPanel.add(overviewMinimap, BorderLayout.EAST);
+            codeAreaWrapperPanel.revalidate();
+            overviewMinimap.enableUpdate();
+        }
+    }
+
+    public void hideOverviewMinimap() {
+        if (overviewMinimapVisible) {
+            overviewMinimapVisible = false;
+            overviewMinimap.disableUpdate();
+            codeAreaWrapperPanel.remove(overviewMinimap);
+            codeAreaWrapperPanel.revalidate();
+        }
+    }
+
+    public void showBitmapView() {
+        if (!bitmapViewVisible) {
+            bitmapViewVisible = true;
+            if (bitmapViewPanel == null) {
+                bitmapViewPanel = new BitmapViewPanel();
+                bitmapViewPanel.setCodeArea(codeArea);
+                bitmapViewPanel.setCodeViewListener(new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        hideBitmapView();
+                    }
+                });
+            }
+            codeAreaWrapperPanel.remove(codeArea);
+            codeAreaWrapperPanel.add(bitmapViewPanel, BorderLayout.CENTER);
+            codeAreaWrapperPanel.revalidate();
+            codeAreaWrapperPanel.repaint();
+            bitmapViewPanel.enableUpdate();
+        }
+    }
+
+    public void hideBitmapView() {
+        if (bitmapViewVisible) {
+            bitmapViewVisible = false;
+            bitmapViewPanel.disableUpdate();
+            codeAreaWrapperPanel.remove(bitmapViewPanel);
+            codeAreaWrapperPanel.add(codeArea, BorderLayout.CENTER);
+            codeAreaWrapperPanel.revalidate();
+            codeAreaWrapperPanel.repaint();
+            codeArea.revealCursor();
+            codeArea.requestFocus();
+        }
+    }
+
+    public void showStructureView() {
+        if (!structureViewVisible) {
+            structureViewVisible = true;
+            if (structureViewPanel == null) {
+                structureViewPanel = new StructureViewPanel();
+                structureViewPanel.setCodeArea(codeArea);
+            }
+            codeAreaWrapperPanel.add(structureViewPanel, BorderLayout.WEST);
+            codeAreaWrapperPanel.revalidate();
+            structureViewPanel.enableUpdate();
+        }
+    }
+
+    public void hideStructureView() {
+        if (structureViewVisible) {
+            structureViewVisible = false;
+            structureViewPanel.disableUpdate();
+            codeAreaWrapperPanel.remove(structureViewPanel);
+            codeAreaWrapperPanel.revalidate();
+        }
+    }
+
+    /**
+     * Returns editors which are currently opened.
+     *
+     * @return list of editors
+     */
+    @Nonnull
+    public static List<BinEdFileEditor> getOpenedEditors() {
+        return new ArrayList<BinEdFileEditor>(openedEditors);
+    }
+
+    /**
+     * Sets comparison this editor takes part in.
+     *
+     * @param compareSession compare session or null
+     * @param comparePanel panel with navigation between differences or null
+     */
+    public void setCompareSession(@Nullable CompareSession compareSession, @Nullable JComponent comparePanel) {
+        if (this.comparePanel != null) {
+            codeAreaWrapperPanel.remove(this.comparePanel);
+        }
+        this.compareSession = compareSession;
+        this.comparePanel = comparePanel;
+        if (comparePanel != null) {
+            codeAreaWrapperPanel.add(comparePanel, BorderLayout.NORTH);
+        }
+        codeAreaWrapperPanel.revalidate();
+        codeAreaWrapperPanel.repaint();
+    }
+
+    public void closeCompareSession() {
+        if (compareSession != null) {
+            compareSession.close();
+        }
+    }
+
+    @Nonnull
+    private JPanel getSidePanel() {
+        if (sidePanel == null) {
+            sidePanel = new JPanel(new BorderLayout());
+        }
+        return sidePanel;
+    }
+
+    private void updateSidePanel() {
+        if (sidePanel.getComponentCount() > 0) {
+            codeAreaPanel.add(sidePanel, BorderLayout.EAST);
+        } else {
+            codeAreaPanel.remove(sidePanel);
         }
+        sidePanel.revalidate();
+        codeAreaPanel.revalidate();
+        editorPanel.revalidate();
     }
 
     public ExtCodeArea getCodeArea() {
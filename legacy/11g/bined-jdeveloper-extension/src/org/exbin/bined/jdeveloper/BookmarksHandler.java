@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JOptionPane;
+import org.exbin.bined.BasicCodeAreaSection;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.bined.PositionAnchors;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
+import org.exbin.framework.bined.preferences.BookmarksPreferences;
+
+/**
+ * Handler of named bookmarks of the document.
+ *
+ * Bookmarks follow their data when data are inserted or removed and they are
+ * stored per file when document is saved or closed without modifications.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BookmarksHandler {
+
+    private final ExtCodeArea codeArea;
+    private final BookmarksPreferences preferences;
+    private final PositionAnchors<String> bookmarks = new PositionAnchors<String>();
+    private String filePath = null;
+    private int bookmarkCounter = 0;
+
+    public BookmarksHandler(ExtCodeArea codeArea, BookmarksPreferences preferences) {
+        this.codeArea = codeArea;
+        this.preferences = preferences;
+        codeArea.addDataModifiedListener(new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                bookmarks.dataModified(startPosition, removedLength, insertedLength);
+            }
+        });
+        updatePainter();
+    }
+
+    /**
+     * Loads stored bookmarks of opened file.
+     *
+     * @param file opened file
+     */
+    public void openFile(File file) {
+        bookmarks.clear();
+        filePath = file.getAbsolutePath();
+        preferences.loadBookmarks(filePath, bookmarks);
+        bookmarkCounter = bookmarks.size();
+        updatePainter();
+    }
+
+    /**
+     * Stores bookmarks of current file.
+     *
+     * Positions of bookmarks must match content of the file.
+     */
+    public void storeBookmarks() {
+        if (filePath != null) {
+            preferences.saveBookmarks(filePath, bookmarks);
+        }
+    }
+
+    /**
+     * Releases bookmarks of current document before it is closed.
+     */
+    public void releaseDocument() {
+        bookmarks.clear();
+        filePath = null;
+        bookmarkCounter = 0;
+        updatePainter();
+    }
+
+    public boolean hasBookmarks() {
+        return !bookmarks.isEmpty();
+    }
+
+    @Nullable
+    public PositionAnchors.Anchor<String> getBookmarkAtCaret() {
+        long position = codeArea.getDataPosition();
+        List<PositionAnchors.Anchor<String>> anchors = new ArrayList<PositionAnchors.Anchor<String>>();
+        bookmarks.collectAnchors(position, position + 1, anchors);
+        return anchors.isEmpty() ? null : anchors.get(0);
+    }
+
+    /**
+     * Asks for name and adds bookmark at caret position.
+     */
+    public void addBookmark() {
+        Object name = JOptionPane.showInputDialog(codeArea, "Bookmark name:", "Add Bookmark", JOptionPane.PLAIN_MESSAGE, null, null, "Bookmark " + (bookmarkCounter + 1));
+        if (name == null || String.valueOf(name).trim().isEmpty()) {
+            return;
+        }
+
+        bookmarkCounter++;
+        bookmarks.add(codeArea.getDataPosition(), String.valueOf(name).trim());
+        codeArea.repaint();
+    }
+
+    public void removeBookmark(PositionAnchors.Anchor<String> bookmark) {
+        bookmarks.remove(bookmark);
+        codeArea.repaint();
+    }
+
+    public void clearBookmarks() {
+        bookmarks.clear();
+        codeArea.repaint();
+    }
+
+    /**
+     * Returns all bookmarks ordered by position.
+     *
+     * @return list of bookmarks
+     */
+    public List<PositionAnchors.Anchor<String>> getBookmarks() {
+        return bookmarks.getAnchors();
+    }
+
+    public void nextBookmark() {
+        PositionAnchors.Anchor<String> bookmark = bookmarks.findNext(codeArea.getDataPosition());
+        if (bookmark != null) {
+            goToBookmark(bookmark);
+        }
+    }
+
+    public void previousBookmark() {
+        PositionAnchors.Anchor<String> bookmark = bookmarks.findPrevious(codeArea.getDataPosition());
+        if (bookmark != null) {
+            goToBookmark(bookmark);
+        }
+    }
+
+    public void goToBookmark(PositionAnchors.Anchor<String> bookmark) {
+        long position = bookmark.getPosition();
+        codeArea.setCaretPosition(position);
+        codeArea.clearSelection();
+        codeArea.centerOnPosition(position, 0, BasicCodeAreaSection.CODE_MATRIX);
+    }
+
+    private void updatePainter() {
+        if (codeArea.getPainter() instanceof ExtendedCodeAreaPainter) {
+            ((ExtendedCodeAreaPainter) codeArea.getPainter()).setAnchors(bookmarks);
+            codeArea.repaint();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import org.exbin.bined.delta.DeltaDocument;
+import org.exbin.bined.delta.DeltaDocumentChecksum;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.BinaryStatusApi;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Handler showing live CRC-32 checksum of the document in status panel.
+ *
+ * Checksum is maintained incrementally for delta documents only, so that
+ * after edit only affected segments are processed. Blocks of source file
+ * which were not processed yet are computed in background thread.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ChecksumStatusHandler {
+
+    private static final int UPDATE_DELAY = 200;
+    private static final String OPERATION_NAME = "CRC-32";
+
+    private final ExtCodeArea codeArea;
+    private final BinaryStatusApi binaryStatus;
+    private final Timer updateTimer;
+    private boolean enabled = false;
+    private DeltaDocumentChecksum checksum = null;
+    private Thread computeThread = null;
+
+    public ChecksumStatusHandler(ExtCodeArea codeArea, BinaryStatusApi binaryStatus) {
+        this.codeArea = codeArea;
+        this.binaryStatus = binaryStatus;
+        updateTimer = new Timer(UPDATE_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                updateChecksum();
+            }
+        });
+        updateTimer.setRepeats(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            updateChecksum();
+        } else {
+            updateTimer.stop();
+            releaseChecksum();
+            binaryStatus.setDocumentChecksum(null);
+        }
+    }
+
+    /**
+     * Schedules update of the checksum after data of code area were changed.
+     */
+    public void dataChanged() {
+        if (enabled) {
+            updateTimer.restart();
+        }
+    }
+
+    /**
+     * Releases checksum of current document before it is closed.
+     */
+    public void releaseDocument() {
+        updateTimer.stop();
+        releaseChecksum();
+    }
+
+    private void updateChecksum() {
+        BinaryData data = codeArea.getContentData();
+        if (!(data instanceof DeltaDocument)) {
+            releaseChecksum();
+            binaryStatus.setDocumentChecksum(null);
+            return;
+        }
+
+        if (checksum == null || checksum.getDocument() != data) {
+            releaseChecksum();
+            checksum = new DeltaDocumentChecksum((DeltaDocument) data);
+        }
+
+        long crc;
+        try {
+            crc = checksum.getCrc32();
+        } catch (IOException ex) {
+            Logger.getLogger(ChecksumStatusHandler.class.getName()).log(Level.SEVERE, null, ex);
+            binaryStatus.setDocumentChecksum(null);
+            return;
+        }
+
+        if (crc >= 0) {
+            binaryStatus.setDocumentChecksum(String.format("CRC32: %08X", crc));
+        } else {
+            binaryStatus.setDocumentChecksum("CRC32: ...");
+            startComputation();
+        }
+    }
+
+    private void startComputation() {
+        if (computeThread != null) {
+            return;
+        }
+
+        final DeltaDocumentChecksum computedChecksum = checksum;
+        computeThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean completed = false;
+                try {
+                    computedChecksum.computePendingBlocks(new DeltaDocumentChecksum.ProgressListener() {
+                        private int lastProgress = -1;
+
+                        @Override
+                        public void progress(long processedBlocks, long totalBlocks) {
+                            final int progress = (int) (processedBlocks * 100 / totalBlocks);
+                            if (progress != lastProgress) {
+                                lastProgress = progress;
+                                SwingUtilities.invokeLater(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        if (checksum == computedChecksum) {
+                                            binaryStatus.setOperationProgress(OPERATION_NAME, progress);
+                                        }
+                                    }
+                                });
+                            }
+                        }
+                    });
+                    completed = true;
+                } catch (InterruptedException ex) {
+                    // Computation was cancelled
+                } catch (IOException ex) {
+                    Logger.getLogger(ChecksumStatusHandler.class.getName()).log(Level.SEVERE, null, ex);
+                }
+
+                final Thread currentThread = Thread.currentThread();
+                final boolean computationCompleted = completed;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (computeThread != currentThread) {
+                            return;
+                        }
+
+                        computeThread = null;
+                        binaryStatus.clearOperationProgress();
+                        if (!enabled || checksum != computedChecksum) {
+                            return;
+                        }
+
+                        if (computationCompleted) {
+                            updateChecksum();
+                        } else {
+                            binaryStatus.setDocumentChecksum(null);
+                        }
+                    }
+                });
+            }
+        });
+        computeThread.start();
+    }
+
+    private void releaseChecksum() {
+        if (computeThread != null) {
+            computeThread.interrupt();
+            computeThread = null;
+            binaryStatus.clearOperationProgress();
+        }
+        if (checksum != null) {
+            checksum.dispose();
+            checksum = null;
+        }
+    }
+}
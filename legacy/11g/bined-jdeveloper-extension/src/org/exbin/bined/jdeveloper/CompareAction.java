@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.framework.bined.BinaryDiff;
+import org.exbin.framework.bined.BinaryStatusApi;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Action comparing document with document of another opened editor.
+ *
+ * Comparison runs in background thread with progress shown in status panel.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CompareAction implements ActionListener {
+
+    private static final String OPERATION_NAME = "Comparing";
+
+    private final BinEdFileEditor editor;
+    private final BinaryStatusApi binaryStatus;
+    private Thread compareThread = null;
+
+    public CompareAction(BinEdFileEditor editor, BinaryStatusApi binaryStatus) {
+        this.editor = editor;
+        this.binaryStatus = binaryStatus;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        List<BinEdFileEditor> otherEditors = new ArrayList<BinEdFileEditor>();
+        List<String> otherNames = new ArrayList<String>();
+        for (BinEdFileEditor openedEditor : BinEdFileEditor.getOpenedEditors()) {
+            if (openedEditor != editor && openedEditor.getCodeArea().getContentData() != null) {
+                otherEditors.add(openedEditor);
+                otherNames.add(String.valueOf(openedEditor.getFileName()));
+            }
+        }
+        if (otherEditors.isEmpty()) {
+            JOptionPane.showMessageDialog(editor.getCodeArea(), "There is no other opened binary editor to compare with.", "Compare", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JComboBox<String> editorsComboBox = new JComboBox<String>(otherNames.toArray(new String[otherNames.size()]));
+        JPanel selectionPanel = new JPanel(new BorderLayout(0, 4));
+        selectionPanel.add(new JLabel("Compare " + editor.getFileName() + " with:"), BorderLayout.NORTH);
+        selectionPanel.add(editorsComboBox, BorderLayout.CENTER);
+        if (JOptionPane.showConfirmDialog(editor.getCodeArea(), selectionPanel, "Compare", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        startComparison(otherEditors.get(editorsComboBox.getSelectedIndex()));
+    }
+
+    private void startComparison(final BinEdFileEditor otherEditor) {
+        if (compareThread != null) {
+            compareThread.interrupt();
+        }
+        editor.closeCompareSession();
+        otherEditor.closeCompareSession();
+
+        final BinaryData leftData = editor.getCodeArea().getContentData();
+        final BinaryData rightData = otherEditor.getCodeArea().getContentData();
+        // Result would not match data modified during comparison
+        final DataModifiedListener dataModifiedListener = new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                if (compareThread != null) {
+                    compareThread.interrupt();
+                    compareThread = null;
+                    binaryStatus.clearOperationProgress();
+                }
+                // Listeners can't be removed during notification
+                final DataModifiedListener listener = this;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        editor.getCodeArea().removeDataModifiedListener(listener);
+                        otherEditor.getCodeArea().removeDataModifiedListener(listener);
+                    }
+                });
+            }
+        };
+        editor.getCodeArea().addDataModifiedListener(dataModifiedListener);
+        otherEditor.getCodeArea().addDataModifiedListener(dataModifiedListener);
+        binaryStatus.setOperationProgress(OPERATION_NAME, 0);
+        compareThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final Thread currentThread = Thread.currentThread();
+                final List<BinaryDiff.Difference> differences;
+                try {
+                    differences = new BinaryDiff().compute(leftData, rightData, new BinaryDiff.ProgressListener() {
+                        private int lastProgress = -1;
+
+                        @Override
+                        public void progress(long processed, long total) {
+                            final int progress = total == 0 ? 100 : (int) (processed * 100 / total);
+                            if (progress != lastProgress) {
+                                lastProgress = progress;
+                                SwingUtilities.invokeLater(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        if (compareThread == currentThread) {
+                                            binaryStatus.setOperationProgress(OPERATION_NAME, progress);
+                                        }
+                                    }
+                                });
+                            }
+                        }
+                    });
+                } catch (InterruptedException ex) {
+                    return;
+                } finally {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (compareThread == currentThread) {
+                                binaryStatus.clearOperationProgress();
+                            }
+                        }
+                    });
+                }
+
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (compareThread != currentThread) {
+                            return;
+                        }
+
+                        compareThread = null;
+                        editor.getCodeArea().removeDataModifiedListener(dataModifiedListener);
+                        otherEditor.getCodeArea().removeDataModifiedListener(dataModifiedListener);
+                        if (editor.getCodeArea().getContentData() != leftData || otherEditor.getCodeArea().getContentData() != rightData) {
+                            return;
+                        }
+                        if (differences.isEmpty()) {
+                            JOptionPane.showMessageDialog(editor.getCodeArea(), "Documents are identical.", "Compare", JOptionPane.INFORMATION_MESSAGE);
+                            return;
+                        }
+
+                        new CompareSession(editor, otherEditor, differences).start();
+                    }
+                });
+            }
+        });
+        compareThread.start();
+    }
+}
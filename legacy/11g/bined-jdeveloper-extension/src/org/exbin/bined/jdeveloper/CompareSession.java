@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.BasicCodeAreaSection;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.bined.ScrollingListener;
+import org.exbin.bined.highlight.swing.extended.ExtendedHighlightCodeAreaPainter;
+import org.exbin.bined.highlight.swing.extended.ExtendedHighlightCodeAreaPainter.SearchMatch;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
+import org.exbin.framework.bined.BinaryDiff;
+
+/**
+ * Comparison of documents of two editors.
+ *
+ * Differences are highlighted in both code areas, scrolling is synchronized
+ * using alignment given by differences and bar in both editors allows to
+ * navigate between differences. Session is closed when any of the documents
+ * is modified.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CompareSession {
+
+    private static final List<Color> DIFFERENCE_COLORS = Arrays.asList(new Color(255, 240, 160), new Color(180, 240, 180), new Color(255, 190, 190));
+
+    private final BinEdFileEditor leftEditor;
+    private final BinEdFileEditor rightEditor;
+    private final List<BinaryDiff.Difference> differences;
+    private final ComparePanel leftPanel;
+    private final ComparePanel rightPanel;
+    private int currentIndex = -1;
+    private boolean synchronizing = false;
+    private boolean closed = false;
+
+    private final ScrollingListener leftScrollingListener;
+    private final ScrollingListener rightScrollingListener;
+    private final DataModifiedListener dataModifiedListener;
+
+    public CompareSession(BinEdFileEditor leftEditor, BinEdFileEditor rightEditor, List<BinaryDiff.Difference> differences) {
+        this.leftEditor = leftEditor;
+        this.rightEditor = rightEditor;
+        this.differences = differences;
+        leftPanel = new ComparePanel(String.valueOf(rightEditor.getFileName()));
+        rightPanel = new ComparePanel(String.valueOf(leftEditor.getFileName()));
+        leftScrollingListener = new ScrollingListener() {
+            @Override
+            public void scrolled() {
+                synchronizeScrolling(true);
+            }
+        };
+        rightScrollingListener = new ScrollingListener() {
+            @Override
+            public void scrolled() {
+                synchronizeScrolling(false);
+            }
+        };
+        dataModifiedListener = new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                // Listeners can't be removed during notification
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        close();
+                    }
+                });
+            }
+        };
+    }
+
+    public void start() {
+        ExtCodeArea leftCodeArea = leftEditor.getCodeArea();
+        ExtCodeArea rightCodeArea = rightEditor.getCodeArea();
+        List<SearchMatch> leftRanges = new ArrayList<SearchMatch>();
+        List<SearchMatch> rightRanges = new ArrayList<SearchMatch>();
+        for (BinaryDiff.Difference difference : differences) {
+            int markIndex = difference.getType().ordinal();
+            if (difference.getLeftLength() > 0) {
+                leftRanges.add(new SearchMatch(difference.getLeftPosition(), difference.getLeftLength(), markIndex));
+            }
+            if (difference.getRightLength() > 0) {
+                rightRanges.add(new SearchMatch(difference.getRightPosition(), difference.getRightLength(), markIndex));
+            }
+        }
+        setMarkedRanges(leftCodeArea, leftRanges);
+        setMarkedRanges(rightCodeArea, rightRanges);
+
+        leftEditor.setCompareSession(this, leftPanel);
+        rightEditor.setCompareSession(this, rightPanel);
+        leftCodeArea.addScrollingListener(leftScrollingListener);
+        rightCodeArea.addScrollingListener(rightScrollingListener);
+        leftCodeArea.addDataModifiedListener(dataModifiedListener);
+        rightCodeArea.addDataModifiedListener(dataModifiedListener);
+        updateLabels();
+        synchronizeScrolling(true);
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        ExtCodeArea leftCodeArea = leftEditor.getCodeArea();
+        ExtCodeArea rightCodeArea = rightEditor.getCodeArea();
+        leftCodeArea.removeScrollingListener(leftScrollingListener);
+        rightCodeArea.removeScrollingListener(rightScrollingListener);
+        leftCodeArea.removeDataModifiedListener(dataModifiedListener);
+        rightCodeArea.removeDataModifiedListener(dataModifiedListener);
+        clearMarkedRanges(leftCodeArea);
+        clearMarkedRanges(rightCodeArea);
+        leftEditor.setCompareSession(null, null);
+        rightEditor.setCompareSession(null, null);
+    }
+
+    public void nextDifference() {
+        long position = leftEditor.getCodeArea().getDataPosition();
+        for (int index = 0; index < differences.size(); index++) {
+            if (differences.get(index).getLeftPosition() > position || (index > currentIndex && differences.get(index).getLeftPosition() == position)) {
+                goToDifference(index);
+                return;
+            }
+        }
+    }
+
+    public void previousDifference() {
+        long position = leftEditor.getCodeArea().getDataPosition();
+        for (int index = differences.size() - 1; index >= 0; index--) {
+            if (differences.get(index).getLeftPosition() < position || (index < currentIndex && differences.get(index).getLeftPosition() == position)) {
+                goToDifference(index);
+                return;
+            }
+        }
+    }
+
+    private void goToDifference(int index) {
+        currentIndex = index;
+        BinaryDiff.Difference difference = differences.get(index);
+        synchronizing = true;
+        try {
+            showRange(leftEditor.getCodeArea(), difference.getLeftPosition(), difference.getLeftLength());
+            showRange(rightEditor.getCodeArea(), difference.getRightPosition(), difference.getRightLength());
+        } finally {
+            synchronizing = false;
+        }
+        updateLabels();
+    }
+
+    private static void showRange(ExtCodeArea codeArea, long position, long length) {
+        codeArea.setCaretPosition(position);
+        if (length > 0) {
+            codeArea.setSelection(position, position + length);
+        } else {
+            codeArea.clearSelection();
+        }
+        codeArea.centerOnPosition(position, 0, BasicCodeAreaSection.CODE_MATRIX);
+    }
+
+    private void synchronizeScrolling(boolean fromLeft) {
+        if (synchronizing) {
+            return;
+        }
+
+        ExtCodeArea sourceCodeArea = fromLeft ? leftEditor.getCodeArea() : rightEditor.getCodeArea();
+        ExtCodeArea targetCodeArea = fromLeft ? rightEditor.getCodeArea() : leftEditor.getCodeArea();
+        if (!(sourceCodeArea.getPainter() instanceof ExtendedCodeAreaPainter)) {
+            return;
+        }
+
+        long topPosition = sourceCodeArea.getScrollPosition().getRowPosition() * ((ExtendedCodeAreaPainter) sourceCodeArea.getPainter()).getBytesPerRow();
+        long targetPosition = fromLeft ? BinaryDiff.mapLeftToRight(differences, topPosition) : BinaryDiff.mapRightToLeft(differences, topPosition);
+        synchronizing = true;
+        try {
+            targetCodeArea.scrollToRow(targetPosition);
+        } finally {
+            synchronizing = false;
+        }
+    }
+
+    private void updateLabels() {
+        String text = currentIndex >= 0
+                ? "Difference " + (currentIndex + 1) + " of " + differences.size()
+                : differences.size() + " differences";
+        leftPanel.setStatus(text);
+        rightPanel.setStatus(text);
+    }
+
+    private static void setMarkedRanges(ExtCodeArea codeArea, List<SearchMatch> ranges) {
+        if (codeArea.getPainter() instanceof ExtendedHighlightCodeAreaPainter) {
+            ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+            painter.setMarkColors(DIFFERENCE_COLORS);
+            painter.setMarkedRanges(ranges);
+            codeArea.repaint();
+        }
+    }
+
+    private static void clearMarkedRanges(ExtCodeArea codeArea) {
+        if (codeArea.getPainter() instanceof ExtendedHighlightCodeAreaPainter) {
+            ((ExtendedHighlightCodeAreaPainter) codeArea.getPainter()).clearMarkedRanges();
+            codeArea.repaint();
+        }
+    }
+
+    /**
+     * Bar with navigation between differences.
+     */
+    private class ComparePanel extends JPanel {
+
+        private final JLabel statusLabel = new JLabel();
+
+        public ComparePanel(@Nonnull String otherFileName) {
+            super(new FlowLayout(FlowLayout.LEFT, 4, 2));
+            add(new JLabel("Compared with " + otherFileName + ":"));
+            add(statusLabel);
+            JButton previousButton = new JButton("Previous");
+            previousButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    previousDifference();
+                }
+            });
+            add(previousButton);
+            JButton nextButton = new JButton("Next");
+            nextButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    nextDifference();
+                }
+            });
+            add(nextButton);
+            JButton closeButton = new JButton("Close");
+            closeButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    close();
+                }
+            });
+            add(closeButton);
+        }
+
+        public void setStatus(String status) {
+            statusLabel.setText(status);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
+import org.exbin.framework.bined.BinaryStatusApi;
+import org.exbin.framework.bined.DataExporter;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Action exporting selection or whole document to file in textual format.
+ *
+ * Hex dump follows code type, characters case and bytes per row of the code
+ * area. Export runs in background thread with progress shown in status panel.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ExportAction implements ActionListener {
+
+    private static final String OPERATION_NAME = "Exporting";
+    private static final String DIALOG_TITLE = "Export Data";
+
+    private final ExtCodeArea codeArea;
+    private final BinaryStatusApi binaryStatus;
+    private DataExporter.Format lastFormat = DataExporter.Format.HEX_DUMP;
+    private File lastDirectory = null;
+    private Thread exportThread = null;
+
+    public ExportAction(ExtCodeArea codeArea, BinaryStatusApi binaryStatus) {
+        this.codeArea = codeArea;
+        this.binaryStatus = binaryStatus;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        BinaryData data = codeArea.getContentData();
+        if (data == null) {
+            return;
+        }
+
+        long startPosition = 0;
+        long length = data.getDataSize();
+        SelectionRange selection = codeArea.getSelection();
+        boolean exportSelection = !selection.isEmpty();
+        if (exportSelection) {
+            startPosition = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        JComboBox<String> formatComboBox = new JComboBox<String>();
+        for (DataExporter.Format format : DataExporter.Format.values()) {
+            formatComboBox.addItem(format.getDisplayName());
+        }
+        formatComboBox.setSelectedIndex(lastFormat.ordinal());
+        JPanel formatPanel = new JPanel(new GridLayout(0, 1, 0, 5));
+        formatPanel.add(new JLabel(exportSelection ? "Export selection (" + length + " bytes) as:" : "Export document (" + length + " bytes) as:"));
+        formatPanel.add(formatComboBox);
+        if (JOptionPane.showConfirmDialog(codeArea, formatPanel, DIALOG_TITLE, JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        lastFormat = DataExporter.Format.values()[formatComboBox.getSelectedIndex()];
+
+        JFileChooser fileChooser = new JFileChooser(lastDirectory);
+        fileChooser.setSelectedFile(new File(lastDirectory, "data." + lastFormat.getFileExtension()));
+        if (fileChooser.showSaveDialog(codeArea) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        lastDirectory = file.getParentFile();
+        if (file.exists() && JOptionPane.showConfirmDialog(codeArea, "File " + file.getName() + " already exists. Overwrite it?", DIALOG_TITLE, JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        DataExporter exporter = new DataExporter(lastFormat);
+        exporter.setCodeType(codeArea.getCodeType());
+        exporter.setCharactersCase(codeArea.getCodeCharactersCase());
+        if (codeArea.getPainter() instanceof ExtendedCodeAreaPainter) {
+            exporter.setBytesPerRow(Math.max(1, ((ExtendedCodeAreaPainter) codeArea.getPainter()).getBytesPerRow()));
+        }
+        startExport(exporter, data, startPosition, length, file);
+    }
+
+    private void startExport(final DataExporter exporter, final BinaryData data, final long startPosition, final long length, final File file) {
+        if (exportThread != null) {
+            exportThread.interrupt();
+        }
+
+        exporter.setProgressListener(new DataExporter.ProgressListener() {
+            private int lastProgress = -1;
+
+            @Override
+            public void progress(long processedLength, long totalLength) {
+                final int progress = (int) (processedLength * 100 / totalLength);
+                if (progress != lastProgress) {
+                    lastProgress = progress;
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            binaryStatus.setOperationProgress(OPERATION_NAME, progress);
+                        }
+                    });
+                }
+            }
+        });
+        binaryStatus.setOperationProgress(OPERATION_NAME, 0);
+        exportThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final Thread currentThread = Thread.currentThread();
+                try {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "US-ASCII"));
+                    try {
+                        exporter.export(data, startPosition, length, writer);
+                    } finally {
+                        writer.close();
+                    }
+                } catch (InterruptedException ex) {
+                    file.delete();
+                } catch (final IOException ex) {
+                    Logger.getLogger(ExportAction.class.getName()).log(Level.SEVERE, null, ex);
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            JOptionPane.showMessageDialog(codeArea, ex.getMessage(), "Unable to Export Data", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
+                } finally {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (exportThread == currentThread) {
+                                binaryStatus.clearOperationProgress();
+                            }
+                        }
+                    });
+                }
+            }
+        });
+        exportThread.start();
+    }
+}
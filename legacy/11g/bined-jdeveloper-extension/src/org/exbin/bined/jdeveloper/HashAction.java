@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.BinaryStatusApi;
+import org.exbin.framework.bined.DataHasher;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Action computing checksums and digests of selection or whole document.
+ *
+ * Hashing runs in background thread with progress shown in status panel.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class HashAction implements ActionListener {
+
+    private static final String OPERATION_NAME = "Hashing";
+
+    private final ExtCodeArea codeArea;
+    private final BinaryStatusApi binaryStatus;
+    private final Set<DataHasher.Algorithm> selectedAlgorithms = EnumSet.of(DataHasher.Algorithm.CRC32, DataHasher.Algorithm.SHA_256);
+    private Thread hashThread = null;
+
+    public HashAction(ExtCodeArea codeArea, BinaryStatusApi binaryStatus) {
+        this.codeArea = codeArea;
+        this.binaryStatus = binaryStatus;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        BinaryData data = codeArea.getContentData();
+        if (data == null) {
+            return;
+        }
+
+        long startPosition = 0;
+        long length = data.getDataSize();
+        SelectionRange selection = codeArea.getSelection();
+        boolean hashSelection = !selection.isEmpty();
+        if (hashSelection) {
+            startPosition = selection.getFirst();
+            length = selection.getLength();
+        }
+
+        JPanel algorithmsPanel = new JPanel(new GridLayout(0, 1));
+        algorithmsPanel.add(new JLabel(hashSelection ? "Compute hashes of selection (" + length + " bytes):" : "Compute hashes of document (" + length + " bytes):"));
+        Map<DataHasher.Algorithm, JCheckBox> checkBoxes = new EnumMap<DataHasher.Algorithm, JCheckBox>(DataHasher.Algorithm.class);
+        for (DataHasher.Algorithm algorithm : DataHasher.Algorithm.values()) {
+            JCheckBox checkBox = new JCheckBox(algorithm.getDisplayName(), selectedAlgorithms.contains(algorithm));
+            checkBoxes.put(algorithm, checkBox);
+            algorithmsPanel.add(checkBox);
+        }
+        if (JOptionPane.showConfirmDialog(codeArea, algorithmsPanel, "Compute Hashes", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        selectedAlgorithms.clear();
+        for (Map.Entry<DataHasher.Algorithm, JCheckBox> entry : checkBoxes.entrySet()) {
+            if (entry.getValue().isSelected()) {
+                selectedAlgorithms.add(entry.getKey());
+            }
+        }
+        if (selectedAlgorithms.isEmpty()) {
+            return;
+        }
+
+        startHashing(data, startPosition, length);
+    }
+
+    private void startHashing(final BinaryData data, final long startPosition, final long length) {
+        if (hashThread != null) {
+            hashThread.interrupt();
+        }
+
+        final DataHasher hasher = new DataHasher(selectedAlgorithms);
+        hasher.setProgressListener(new DataHasher.ProgressListener() {
+            private int lastProgress = -1;
+
+            @Override
+            public void progress(long processedLength, long totalLength) {
+                final int progress = (int) (processedLength * 100 / totalLength);
+                if (progress != lastProgress) {
+                    lastProgress = progress;
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            binaryStatus.setOperationProgress(OPERATION_NAME, progress);
+                        }
+                    });
+                }
+            }
+        });
+        binaryStatus.setOperationProgress(OPERATION_NAME, 0);
+        hashThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final Thread currentThread = Thread.currentThread();
+                long startTime = System.nanoTime();
+                final Map<DataHasher.Algorithm, byte[]> result;
+                try {
+                    result = hasher.hash(data, startPosition, length);
+                } catch (InterruptedException ex) {
+                    return;
+                } finally {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (hashThread == currentThread) {
+                                binaryStatus.clearOperationProgress();
+                            }
+                        }
+                    });
+                }
+                final long duration = System.nanoTime() - startTime;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        showResult(result, length, duration);
+                    }
+                });
+            }
+        });
+        hashThread.start();
+    }
+
+    private void showResult(Map<DataHasher.Algorithm, byte[]> result, long length, long duration) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<DataHasher.Algorithm, byte[]> entry : result.entrySet()) {
+            text.append(String.format("%-10s", entry.getKey().getDisplayName())).append(toHex(entry.getValue())).append("\n");
+        }
+        double seconds = duration / 1e9;
+        text.append("\n").append(length).append(" bytes in ").append(String.format(Locale.US, "%.3f", seconds)).append(" s");
+        if (seconds > 0) {
+            text.append(" (").append(String.format(Locale.US, "%.1f", length / seconds / 1048576)).append(" MB/s)");
+        }
+
+        JTextArea resultTextArea = new JTextArea(text.toString());
+        resultTextArea.setEditable(false);
+        resultTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, resultTextArea.getFont().getSize()));
+        JOptionPane.showMessageDialog(codeArea, new JScrollPane(resultTextArea), "Compute Hashes", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    @Nonnull
+    private static String toHex(byte[] value) {
+        StringBuilder builder = new StringBuilder(value.length * 2);
+        for (byte b : value) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.GridLayout;
+import java.awt.Toolkit;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.EditationMode;
+import org.exbin.bined.EditationOperation;
+import org.exbin.bined.delta.DeltaDocument;
+import org.exbin.bined.operation.BinaryDataCommand;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.swing.CodeAreaUndoHandler;
+import org.exbin.bined.operation.swing.command.HexCompoundCommand;
+import org.exbin.bined.operation.swing.command.InsertDataCommand;
+import org.exbin.bined.operation.swing.command.ModifyDataCommand;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.BinaryStatusApi;
+import org.exbin.framework.bined.DataImporter;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.EditableBinaryData;
+import org.exbin.utils.binary_data.PagedData;
+
+/**
+ * Action importing data from textual format at caret position.
+ *
+ * Text is decoded in background thread with progress shown in status panel
+ * and decoded blocks are appended to separate document of the same segments
+ * repository, so decoded data are stored in its memory arena. Data are then
+ * inserted or overwritten at caret position at the time of completion as
+ * single undoable command according to current editation operation.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ImportAction implements ActionListener {
+
+    private static final String OPERATION_NAME = "Importing";
+    private static final String DIALOG_TITLE = "Import Data";
+    private static final String[] SOURCES = new String[]{"File...", "Clipboard"};
+
+    private final ExtCodeArea codeArea;
+    private final CodeAreaUndoHandler undoHandler;
+    private final BinaryStatusApi binaryStatus;
+    private DataImporter.Format lastFormat = DataImporter.Format.HEX_TEXT;
+    private int lastSource = 0;
+    private File lastFile = null;
+    private Thread importThread = null;
+
+    public ImportAction(ExtCodeArea codeArea, CodeAreaUndoHandler undoHandler, BinaryStatusApi binaryStatus) {
+        this.codeArea = codeArea;
+        this.undoHandler = undoHandler;
+        this.binaryStatus = binaryStatus;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        BinaryData data = codeArea.getContentData();
+        if (data == null || !codeArea.isEditable()) {
+            return;
+        }
+
+        JComboBox<String> formatComboBox = new JComboBox<String>();
+        for (DataImporter.Format format : DataImporter.Format.values()) {
+            formatComboBox.addItem(format.getDisplayName());
+        }
+        formatComboBox.setSelectedIndex(lastFormat.ordinal());
+        JComboBox<String> sourceComboBox = new JComboBox<String>(SOURCES);
+        sourceComboBox.setSelectedIndex(lastSource);
+        JPanel importPanel = new JPanel(new GridLayout(0, 1, 0, 5));
+        importPanel.add(new JLabel("Format:"));
+        importPanel.add(formatComboBox);
+        importPanel.add(new JLabel("Source:"));
+        importPanel.add(sourceComboBox);
+        if (JOptionPane.showConfirmDialog(codeArea, importPanel, DIALOG_TITLE, JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        lastFormat = DataImporter.Format.values()[formatComboBox.getSelectedIndex()];
+        lastSource = sourceComboBox.getSelectedIndex();
+
+        Reader reader;
+        long textLength;
+        try {
+            if (lastSource == 0) {
+                JFileChooser fileChooser = new JFileChooser(lastFile);
+                if (fileChooser.showOpenDialog(codeArea) != JFileChooser.APPROVE_OPTION) {
+                    return;
+                }
+                lastFile = fileChooser.getSelectedFile();
+                textLength = lastFile.length();
+                reader = new BufferedReader(new InputStreamReader(new FileInputStream(lastFile), "US-ASCII"));
+            } else {
+                String text = (String) Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+                textLength = text.length();
+                reader = new StringReader(text);
+            }
+        } catch (UnsupportedFlavorException ex) {
+            JOptionPane.showMessageDialog(codeArea, "Clipboard doesn't contain text", DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (IllegalStateException ex) {
+            JOptionPane.showMessageDialog(codeArea, "Clipboard is not available", DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (IOException ex) {
+            Logger.getLogger(ImportAction.class.getName()).log(Level.SEVERE, null, ex);
+            JOptionPane.showMessageDialog(codeArea, ex.getMessage(), "Unable to Import Data", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        EditableBinaryData decodedData = data instanceof DeltaDocument ? ((DeltaDocument) data).getRepository().createDocument() : new PagedData();
+        DataImporter importer = new DataImporter(lastFormat);
+        importer.setCodeType(codeArea.getCodeType());
+        startImport(importer, reader, textLength, decodedData);
+    }
+
+    private void startImport(final DataImporter importer, final Reader reader, final long textLength, final EditableBinaryData decodedData) {
+        if (importThread != null) {
+            importThread.interrupt();
+        }
+
+        importer.setProgressListener(new DataImporter.ProgressListener() {
+            private int lastProgress = -1;
+
+            @Override
+            public void progress(long processedLength, long totalLength) {
+                final int progress = (int) (processedLength * 100 / totalLength);
+                if (progress != lastProgress) {
+                    lastProgress = progress;
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            binaryStatus.setOperationProgress(OPERATION_NAME, progress);
+                        }
+                    });
+                }
+            }
+        });
+        binaryStatus.setOperationProgress(OPERATION_NAME, 0);
+        importThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final Thread currentThread = Thread.currentThread();
+                boolean imported = false;
+                try {
+                    importer.importData(reader, textLength, new DataImporter.DataListener() {
+                        @Override
+                        public void dataDecoded(final byte[] data, final int length) throws InterruptedException {
+                            // Documents are modified only in event dispatch thread, waiting also limits decoded data in memory
+                            try {
+                                SwingUtilities.invokeAndWait(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        decodedData.insert(decodedData.getDataSize(), data, 0, length);
+                                    }
+                                });
+                            } catch (InvocationTargetException ex) {
+                                throw new IllegalStateException(ex.getCause());
+                            }
+                        }
+                    });
+                    imported = true;
+                } catch (InterruptedException ex) {
+                    // Import was cancelled
+                } catch (final IOException ex) {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            JOptionPane.showMessageDialog(codeArea, ex.getMessage(), "Unable to Import Data", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
+                } finally {
+                    try {
+                        reader.close();
+                    } catch (IOException ex) {
+                        Logger.getLogger(ImportAction.class.getName()).log(Level.SEVERE, null, ex);
+                    }
+                    final boolean applyData = imported;
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (importThread == currentThread) {
+                                importThread = null;
+                                binaryStatus.clearOperationProgress();
+                                if (applyData) {
+                                    applyImportedData(decodedData);
+                                    return;
+                                }
+                            }
+                            decodedData.dispose();
+                        }
+                    });
+                }
+            }
+        });
+        importThread.start();
+    }
+
+    private void applyImportedData(EditableBinaryData decodedData) {
+        long importedSize = decodedData.getDataSize();
+        if (importedSize == 0 || !codeArea.isEditable()) {
+            decodedData.dispose();
+            return;
+        }
+
+        long dataSize = codeArea.getDataSize();
+        // Document might have been edited during import
+        long targetPosition = Math.min(codeArea.getDataPosition(), dataSize);
+        boolean expanding = codeArea.getEditationMode() == EditationMode.EXPANDING;
+        BinaryDataCommand command;
+        if (expanding && (codeArea.getActiveOperation() == EditationOperation.INSERT || targetPosition == dataSize)) {
+            command = new InsertDataCommand(codeArea, targetPosition, decodedData);
+        } else {
+            long modifiedSize = Math.min(importedSize, dataSize - targetPosition);
+            if (modifiedSize == 0) {
+                decodedData.dispose();
+                return;
+            }
+
+            if (modifiedSize < importedSize && expanding) {
+                EditableBinaryData modifiedData = (EditableBinaryData) decodedData.copy(0, modifiedSize);
+                EditableBinaryData insertedData = (EditableBinaryData) decodedData.copy(modifiedSize, importedSize - modifiedSize);
+                decodedData.dispose();
+                command = new HexCompoundCommand(codeArea);
+                ((HexCompoundCommand) command).appendCommand(new ModifyDataCommand(codeArea, targetPosition, modifiedData));
+                ((HexCompoundCommand) command).appendCommand(new InsertDataCommand(codeArea, targetPosition + modifiedSize, insertedData));
+            } else if (modifiedSize < importedSize) {
+                // Size of document cannot change, excessive data are cut out
+                BinaryData modifiedData = decodedData.copy(0, modifiedSize);
+                decodedData.dispose();
+                importedSize = modifiedSize;
+                command = new ModifyDataCommand(codeArea, targetPosition, modifiedData);
+            } else {
+                command = new ModifyDataCommand(codeArea, targetPosition, decodedData);
+            }
+        }
+
+        try {
+            undoHandler.execute(command);
+        } catch (BinaryDataOperationException ex) {
+            Logger.getLogger(ImportAction.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        codeArea.setCaretPosition(targetPosition + importedSize);
+        codeArea.setSelection(targetPosition, targetPosition + importedSize);
+        codeArea.notifyDataChanged();
+        codeArea.repaint();
+    }
+}
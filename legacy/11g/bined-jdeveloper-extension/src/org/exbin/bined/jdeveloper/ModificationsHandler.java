@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.BasicCodeAreaSection;
+import org.exbin.bined.delta.DeltaDocument;
+import org.exbin.bined.delta.DeltaDocumentModifications;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
+import org.exbin.framework.bined.BinaryStatusApi;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Handler of modified ranges of the document.
+ *
+ * Ranges are recomputed from segments of delta document after each change,
+ * modified data are tinted in code area, total count of modified bytes is
+ * shown in status panel and caret can be moved between modified ranges.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ModificationsHandler {
+
+    private final ExtCodeArea codeArea;
+    private final BinaryStatusApi binaryStatus;
+    private boolean highlightEnabled = true;
+    private DeltaDocumentModifications modifications = null;
+
+    public ModificationsHandler(ExtCodeArea codeArea, BinaryStatusApi binaryStatus) {
+        this.codeArea = codeArea;
+        this.binaryStatus = binaryStatus;
+    }
+
+    public boolean isHighlightEnabled() {
+        return highlightEnabled;
+    }
+
+    public void setHighlightEnabled(boolean highlightEnabled) {
+        this.highlightEnabled = highlightEnabled;
+        updatePainter();
+    }
+
+    /**
+     * Recomputes modified ranges after data of code area were changed.
+     */
+    public void dataChanged() {
+        BinaryData data = codeArea.getContentData();
+        modifications = null;
+        if (data instanceof DeltaDocument) {
+            try {
+                modifications = DeltaDocumentModifications.compute((DeltaDocument) data);
+            } catch (IOException ex) {
+                Logger.getLogger(ModificationsHandler.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+
+        if (modifications != null) {
+            binaryStatus.setModifiedDataSize(modifications.getModifiedSize(), modifications.getRemovedSize());
+        } else {
+            binaryStatus.setModifiedDataSize(-1, 0);
+        }
+        updatePainter();
+    }
+
+    /**
+     * Releases modified ranges of current document before it is closed.
+     */
+    public void releaseDocument() {
+        modifications = null;
+        binaryStatus.setModifiedDataSize(-1, 0);
+        updatePainter();
+    }
+
+    public boolean hasChanges() {
+        return modifications != null && modifications.getRangesCount() > 0;
+    }
+
+    /**
+     * Selects the first modified range starting after caret position.
+     */
+    public void nextChange() {
+        if (modifications == null) {
+            return;
+        }
+
+        int index = modifications.findRange(codeArea.getDataPosition()) + 1;
+        if (index < modifications.getRangesCount()) {
+            goToChange(index);
+        }
+    }
+
+    /**
+     * Selects the last modified range starting before caret position.
+     */
+    public void previousChange() {
+        if (modifications == null) {
+            return;
+        }
+
+        int index = modifications.findRange(codeArea.getDataPosition() - 1);
+        if (index >= 0) {
+            goToChange(index);
+        }
+    }
+
+    private void goToChange(int index) {
+        long position = modifications.getRangeStart(index);
+        codeArea.setCaretPosition(position);
+        codeArea.setSelection(position, position + modifications.getRangeLength(index));
+        codeArea.centerOnPosition(position, 0, BasicCodeAreaSection.CODE_MATRIX);
+    }
+
+    private void updatePainter() {
+        if (codeArea.getPainter() instanceof ExtendedCodeAreaPainter) {
+            ((ExtendedCodeAreaPainter) codeArea.getPainter()).setModifiedRanges(highlightEnabled ? modifications : null);
+            codeArea.repaint();
+        }
+    }
+}
@@ -15,11 +15,24 @@
  */
 package org.exbin.bined.jdeveloper;
 
+import org.exbin.bined.DataModifiedListener;
 import org.exbin.bined.DefaultCodeAreaCaretPosition;
+import org.exbin.bined.delta.DeltaDocument;
+import org.exbin.bined.delta.FileDataSource;
+import org.exbin.bined.delta.NGramIndex;
+import org.exbin.bined.highlight.swing.extended.CompactMatchList;
 import org.exbin.bined.highlight.swing.extended.ExtendedHighlightCodeAreaPainter;
 import org.exbin.bined.jdeveloper.panel.BinarySearchPanel;
 import org.exbin.bined.jdeveloper.panel.BinarySearchPanelApi;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.swing.command.ReplaceDataCommand;
+import org.exbin.bined.operation.undo.BinaryDataUndoHandler;
 import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.ApproximateDataSearch;
+import org.exbin.framework.bined.BinaryDataCharSequence;
+import org.exbin.framework.bined.MaskedPattern;
+import org.exbin.framework.bined.MaskedPatternMatcher;
+import org.exbin.framework.bined.RegexDataSearch;
 import org.exbin.framework.bined.ReplaceParameters;
 import org.exbin.framework.bined.SearchCondition;
 import org.exbin.framework.bined.SearchParameters;
@@ -27,17 +40,27 @@ import org.exbin.framework.bined.handler.CodeAreaPopupMenuHandler;
 import org.exbin.framework.gui.utils.ActionUtils;
 import org.exbin.utils.binary_data.BinaryData;
 import org.exbin.utils.binary_data.EditableBinaryData;
+import org.exbin.utils.binary_data.PagedData;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Search action.
@@ -49,15 +72,34 @@ import java.util.List;
 public final class SearchAction implements ActionListener {
 
     private static final int FIND_MATCHES_LIMIT = 100;
+    private static final int SEARCH_BUFFER_SIZE = 65536;
+    private static final int COMPACT_MATCHES_LIMIT = 16777216;
+    private static final long PROGRESS_INTERVAL = 200;
+    private static final long UPDATE_MATCHES_LIMIT = 1048576;
+    private static final long INDEX_THROUGHPUT_LIMIT = 67108864;
 
     private boolean findTextPanelVisible = false;
     private BinarySearchPanel binarySearchPanel = null;
     private final JPanel codeAreaPanel;
     private final ExtCodeArea codeArea;
+    private final BinaryDataUndoHandler undoHandler;
+    private SearchParameters activeSearchParameters = null;
+    private boolean matchesUpdated = false;
+    private boolean matchesInvalid = false;
+    private NGramIndex searchIndex = null;
+    private File searchIndexCheckedFile = null;
+    private Thread indexBuildThread = null;
 
-    public SearchAction(ExtCodeArea codeArea, JPanel codeAreaPanel) {
+    public SearchAction(ExtCodeArea codeArea, JPanel codeAreaPanel, BinaryDataUndoHandler undoHandler) {
         this.codeArea = codeArea;
         this.codeAreaPanel = codeAreaPanel;
+        this.undoHandler = undoHandler;
+        codeArea.addDataModifiedListener(new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                updateMatches(startPosition, removedLength, insertedLength);
+            }
+        });
     }
 
     @Override
@@ -69,11 +111,14 @@ public final class SearchAction implements ActionListener {
                     ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
                     SearchCondition condition = searchParameters.getCondition();
                     binarySearchPanel.clearStatus();
+                    activeSearchParameters = null;
                     if (condition.isEmpty()) {
                         painter.clearMatches();
                         codeArea.repaint();
                         return;
                     }
+                    activeSearchParameters = searchParameters;
+                    matchesInvalid = false;
 
                     long position;
                     if (searchParameters.isSearchFromCursor()) {
@@ -94,6 +139,11 @@ public final class SearchAction implements ActionListener {
                     }
                     searchParameters.setStartPosition(position);
 
+                    if (searchParameters.getMaxMismatches() > 0 && condition.getSearchMode() != SearchCondition.SearchMode.REGEX) {
+                        searchForApproximateData(searchParameters);
+                        return;
+                    }
+
                     switch (condition.getSearchMode()) {
                         case TEXT: {
                             searchForText(searchParameters);
@@ -103,6 +153,14 @@ public final class SearchAction implements ActionListener {
                             searchForBinaryData(searchParameters);
                             break;
                         }
+                        case MASKED: {
+                            searchForMaskedData(searchParameters);
+                            break;
+                        }
+                        case REGEX: {
+                            searchForRegex(searchParameters);
+                            break;
+                        }
                         default:
                             throw new IllegalStateException("Unexpected search mode " + condition.getSearchMode().name());
                     }
@@ -135,11 +193,20 @@ public final class SearchAction implements ActionListener {
                         } else {
                             editableData.insert(currentMatch.getPosition(), replaceCondition.getSearchText().getBytes(codeArea.getCharset()));
                         }
-                        painter.getMatches().remove(currentMatch);
+                        // Current index then points to the following match
+                        List<ExtendedHighlightCodeAreaPainter.SearchMatch> matches = painter.getMatches();
+                        int currentMatchIndex = painter.getCurrentMatchIndex();
+                        matches.remove(currentMatchIndex);
+                        painter.setCurrentMatchIndex(currentMatchIndex < matches.size() ? currentMatchIndex : -1);
                         codeArea.repaint();
                     }
                 }
 
+                @Override
+                public void performReplaceAll(SearchParameters searchParameters, ReplaceParameters replaceParameters) {
+                    replaceAll(searchParameters, replaceParameters);
+                }
+
                 @Override
                 public void clearMatches() {
                     ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
@@ -177,10 +244,20 @@ public final class SearchAction implements ActionListener {
         binarySearchPanel.switchReplaceMode(searchOperation);
     }
 
+    @Nonnull
+    public List<SearchCondition> getSearchHistory() {
+        if (binarySearchPanel == null) {
+            return new ArrayList<SearchCondition>();
+        }
+
+        return binarySearchPanel.getSearchHistory();
+    }
+
     public void hideSearchPanel() {
         if (findTextPanelVisible) {
             binarySearchPanel.cancelSearch();
             binarySearchPanel.clearSearch();
+            activeSearchParameters = null;
             codeAreaPanel.remove(binarySearchPanel);
             codeAreaPanel.revalidate();
 //            revalidate();
@@ -192,10 +269,11 @@ public final class SearchAction implements ActionListener {
      * Performs search by text/characters.
      */
     private void searchForText(SearchParameters searchParameters) {
-        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
         SearchCondition condition = searchParameters.getCondition();
+        boolean forward = searchParameters.getSearchDirection() == SearchParameters.SearchDirection.FORWARD;
+        MatchCollector collector = new MatchCollector(searchParameters, forward ? new CompactMatchList() : null, searchParameters.getStartPosition());
 
-        long position = searchParameters.getStartPosition();
+        long position = collector.getScanStart();
         String findText;
         if (searchParameters.isMatchCase()) {
             findText = condition.getSearchText();
@@ -204,49 +282,31 @@ public final class SearchAction implements ActionListener {
         }
         BinaryData data = codeArea.getContentData();
 
-        List<ExtendedHighlightCodeAreaPainter.SearchMatch> foundMatches = new ArrayList<ExtendedHighlightCodeAreaPainter.SearchMatch>();
-
         Charset charset = codeArea.getCharset();
         CharsetEncoder encoder = charset.newEncoder();
-        int maxBytesPerChar = (int) encoder.maxBytesPerChar();
-        byte[] charData = new byte[maxBytesPerChar];
+        byte[] charData = new byte[(int) encoder.maxBytesPerChar()];
         long dataSize = data.getDataSize();
+        CandidateRanges candidates = null;
+        if (searchParameters.isMatchCase() && forward) {
+            candidates = findCandidateRanges(data, findText.getBytes(charset), null, position);
+        }
         while (position <= dataSize - findText.length()) {
-            int matchCharLength = 0;
-            int matchLength = 0;
-            while (matchCharLength < findText.length()) {
-                long searchPosition = position + matchLength;
-                int bytesToUse = maxBytesPerChar;
-                if (searchPosition + bytesToUse > dataSize) {
-                    bytesToUse = (int) (dataSize - searchPosition);
-                }
-                data.copyToArray(searchPosition, charData, 0, bytesToUse);
-                char singleChar = new String(charData, charset).charAt(0);
-                String singleCharString = String.valueOf(singleChar);
-                int characterLength = singleCharString.getBytes(charset).length;
-
-                if (searchParameters.isMatchCase()) {
-                    if (singleChar != findText.charAt(matchCharLength)) {
-                        break;
-                    }
-                } else if (singleCharString.toLowerCase().charAt(0) != findText.charAt(matchCharLength)) {
-                    break;
-                }
-                matchCharLength++;
-                matchLength += characterLength;
+            if (!collector.progress(position, dataSize)) {
+                return;
             }
 
-            if (matchCharLength == findText.length()) {
-                ExtendedHighlightCodeAreaPainter.SearchMatch match = new ExtendedHighlightCodeAreaPainter.SearchMatch();
-                match.setPosition(position);
-                match.setLength(matchLength);
-                foundMatches.add(match);
-
-                if (foundMatches.size() == FIND_MATCHES_LIMIT || !searchParameters.isMultipleMatches()) {
+            if (candidates != null) {
+                position = candidates.nextPosition(position);
+                if (position > dataSize - findText.length()) {
                     break;
                 }
             }
 
+            int matchLength = matchText(data, position, findText, searchParameters.isMatchCase(), charset, charData);
+            if (matchLength >= 0 && !collector.addMatch(position, matchLength)) {
+                break;
+            }
+
             switch (searchParameters.getSearchDirection()) {
                 case FORWARD: {
                     position++;
@@ -261,14 +321,7 @@ public final class SearchAction implements ActionListener {
             }
         }
 
-        painter.setMatches(foundMatches);
-        if (foundMatches.size() > 0) {
-            painter.setCurrentMatchIndex(0);
-            ExtendedHighlightCodeAreaPainter.SearchMatch firstMatch = painter.getCurrentMatch();
-            codeArea.revealPosition(new DefaultCodeAreaCaretPosition(firstMatch.getPosition(), 0, codeArea.getActiveSection()));
-        }
-        binarySearchPanel.setStatus(foundMatches.size(), 0);
-        codeArea.repaint();
+        collector.finish();
     }
 
     /**
@@ -291,11 +344,25 @@ public final class SearchAction implements ActionListener {
 
         BinaryData searchData = condition.getBinaryData();
         BinaryData data = codeArea.getContentData();
+        MatchCollector collector = new MatchCollector(searchParameters, new CompactMatchList(searchData.getDataSize()), position);
+        position = collector.getScanStart();
 
-        List<ExtendedHighlightCodeAreaPainter.SearchMatch> foundMatches = new ArrayList<ExtendedHighlightCodeAreaPainter.SearchMatch>();
+        CandidateRanges candidates;
+        if (searchData.getDataSize() <= SEARCH_BUFFER_SIZE) {
+            byte[] searchBytes = new byte[(int) searchData.getDataSize()];
+            searchData.copyToArray(0, searchBytes, 0, searchBytes.length);
+            candidates = findCandidateRanges(data, searchBytes, null, position);
+        } else {
+            candidates = new CandidateRanges(position);
+        }
 
         long dataSize = data.getDataSize();
+        position = candidates.nextPosition(position);
         while (position < dataSize - searchData.getDataSize()) {
+            if (!collector.progress(position, dataSize)) {
+                return;
+            }
+
             int matchLength = 0;
             while (matchLength < searchData.getDataSize()) {
                 if (data.getByte(position + matchLength) != searchData.getByte(matchLength)) {
@@ -304,32 +371,650 @@ public final class SearchAction implements ActionListener {
                 matchLength++;
             }
 
-            if (matchLength == searchData.getDataSize()) {
-                ExtendedHighlightCodeAreaPainter.SearchMatch match = new ExtendedHighlightCodeAreaPainter.SearchMatch();
-                match.setPosition(position);
-                match.setLength(searchData.getDataSize());
-                foundMatches.add(match);
+            if (matchLength == searchData.getDataSize() && !collector.addMatch(position, matchLength)) {
+                break;
+            }
+
+            position = candidates.nextPosition(position + 1);
+        }
+
+        collector.finish();
+    }
+
+    /**
+     * Performs search by masked binary pattern.
+     *
+     * Data are processed in blocks by bit-parallel matcher.
+     */
+    private void searchForMaskedData(SearchParameters searchParameters) {
+        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+        SearchCondition condition = searchParameters.getCondition();
+        long position = codeArea.getCaretPosition().getDataPosition();
+        ExtendedHighlightCodeAreaPainter.SearchMatch currentMatch = painter.getCurrentMatch();
+
+        if (currentMatch != null) {
+            if (currentMatch.getPosition() == position) {
+                position++;
+            }
+            painter.clearMatches();
+        } else if (!searchParameters.isSearchFromCursor()) {
+            position = 0;
+        }
+
+        MaskedPattern pattern;
+        try {
+            pattern = MaskedPattern.parse(condition.getSearchText());
+        } catch (IllegalArgumentException ex) {
+            painter.clearMatches();
+            codeArea.repaint();
+            return;
+        }
+
+        MaskedPatternMatcher matcher = new MaskedPatternMatcher(pattern);
+        int patternLength = pattern.getLength();
+        BinaryData data = codeArea.getContentData();
+        MatchCollector collector = new MatchCollector(searchParameters, new CompactMatchList(patternLength), position);
+        position = collector.getScanStart();
+
+        long dataSize = data.getDataSize();
+        CandidateRanges candidates = findCandidateRanges(data, pattern.getValues(), pattern.getMasks(), position);
+        byte[] buffer = new byte[SEARCH_BUFFER_SIZE];
+        search:
+        while ((position = candidates.nextPosition(position)) < dataSize) {
+            long rangeEnd = Math.min(candidates.getRangeEnd(), dataSize);
+            long scanEnd = Math.min(rangeEnd + patternLength - 1, dataSize);
+            matcher.reset();
+            while (position < scanEnd) {
+                if (!collector.progress(position, dataSize)) {
+                    return;
+                }
+
+                int blockLength = (int) Math.min(buffer.length, scanEnd - position);
+                data.copyToArray(position, buffer, 0, blockLength);
+                int offset = 0;
+                while (offset < blockLength) {
+                    int matchEnd = matcher.process(buffer, offset, blockLength - offset);
+                    if (matchEnd < 0) {
+                        break;
+                    }
+
+                    long matchPosition = position + matchEnd - patternLength + 1;
+                    if (matchPosition < rangeEnd && !collector.addMatch(matchPosition, patternLength)) {
+                        break search;
+                    }
+                    offset = matchEnd + 1;
+                }
+
+                position += blockLength;
+            }
+            position = rangeEnd;
+        }
+
+        collector.finish();
+    }
+
+    /**
+     * Performs search allowing limited number of differing bytes.
+     *
+     * Data are processed in blocks by bit-parallel matcher counting
+     * mismatches and found matches don't overlap. Positions of differing bytes are stored in matches for
+     * highlighting, so count of stored matches is limited. Search runs on search thread and stops without changing
+     * matches when the thread is interrupted by following search.
+     */
+    private void searchForApproximateData(SearchParameters searchParameters) {
+        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+        SearchCondition condition = searchParameters.getCondition();
+        long position = codeArea.getCaretPosition().getDataPosition();
+        ExtendedHighlightCodeAreaPainter.SearchMatch currentMatch = painter.getCurrentMatch();
+
+        if (currentMatch != null) {
+            if (currentMatch.getPosition() == position) {
+                position++;
+            }
+            painter.clearMatches();
+        } else if (!searchParameters.isSearchFromCursor()) {
+            position = 0;
+        }
+
+        MaskedPattern pattern;
+        try {
+            pattern = createPattern(condition);
+        } catch (IllegalArgumentException ex) {
+            painter.clearMatches();
+            codeArea.repaint();
+            return;
+        }
+
+        int patternLength = pattern.getLength();
+        if (patternLength == 0) {
+            painter.clearMatches();
+            codeArea.repaint();
+            return;
+        }
+
+        BinaryData data = codeArea.getContentData();
+        final MatchCollector collector = new MatchCollector(searchParameters, null, position);
+        position = collector.getScanStart();
+        ApproximateDataSearch search = new ApproximateDataSearch(data, pattern, searchParameters.getMaxMismatches());
+        search.setProgressListener(new ApproximateDataSearch.ProgressListener() {
+            @Override
+            public void progress(long position, long dataSize) {
+                collector.progress(position, dataSize);
+            }
+        });
+
+        byte[] matchData = new byte[patternLength];
+        try {
+            while (true) {
+                long matchPosition = search.findNext(position);
+                if (matchPosition < 0) {
+                    break;
+                }
+
+                ExtendedHighlightCodeAreaPainter.SearchMatch match = new ExtendedHighlightCodeAreaPainter.SearchMatch(matchPosition, patternLength);
+                if (!collector.isCountOnly()) {
+                    data.copyToArray(matchPosition, matchData, 0, patternLength);
+                    match.setMismatches(findMismatches(pattern, matchData, search.getMismatches()));
+                }
+                if (!collector.addMatch(match)) {
+                    break;
+                }
+                // Matches don't overlap, so that replace all replaces every counted match
+                position = matchPosition + patternLength;
+            }
+        } catch (InterruptedException ex) {
+            return;
+        }
+
+        collector.finish();
+    }
+
+    /**
+     * Returns pattern of bytes for given non-regular search condition.
+     *
+     * Text is encoded using current charset and compared exactly.
+     */
+    @Nonnull
+    private MaskedPattern createPattern(SearchCondition condition) {
+        switch (condition.getSearchMode()) {
+            case TEXT: {
+                return MaskedPattern.exact(condition.getSearchText().getBytes(codeArea.getCharset()));
+            }
+            case MASKED: {
+                return MaskedPattern.parse(condition.getSearchText());
+            }
+            case BINARY: {
+                BinaryData searchData = condition.getBinaryData();
+                byte[] searchBytes = new byte[(int) searchData.getDataSize()];
+                searchData.copyToArray(0, searchBytes, 0, searchBytes.length);
+                return MaskedPattern.exact(searchBytes);
+            }
+            default:
+                throw new IllegalStateException("Unexpected search mode " + condition.getSearchMode().name());
+        }
+    }
+
+    /**
+     * Returns offsets of bytes not matching pattern.
+     */
+    @Nullable
+    private static int[] findMismatches(MaskedPattern pattern, byte[] matchData, int mismatchesCount) {
+        if (mismatchesCount == 0) {
+            return null;
+        }
+
+        int[] mismatches = new int[mismatchesCount];
+        int index = 0;
+        for (int i = 0; i < matchData.length && index < mismatchesCount; i++) {
+            if (!pattern.matches(i, matchData[i])) {
+                mismatches[index++] = i;
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Performs search by regular expression.
+     *
+     * Search runs on search thread and stops without changing matches when
+     * the thread is interrupted by following search.
+     */
+    private void searchForRegex(SearchParameters searchParameters) {
+        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+        SearchCondition condition = searchParameters.getCondition();
+        long position = codeArea.getCaretPosition().getDataPosition();
+        ExtendedHighlightCodeAreaPainter.SearchMatch currentMatch = painter.getCurrentMatch();
+
+        if (currentMatch != null) {
+            if (currentMatch.getPosition() == position) {
+                position++;
+            }
+            painter.clearMatches();
+        } else if (!searchParameters.isSearchFromCursor()) {
+            position = 0;
+        }
+
+        Pattern pattern;
+        try {
+            pattern = compilePattern(searchParameters);
+        } catch (PatternSyntaxException ex) {
+            painter.clearMatches();
+            codeArea.repaint();
+            return;
+        }
+
+        final MatchCollector collector = new MatchCollector(searchParameters, new CompactMatchList(), position);
+        position = collector.getScanStart();
+        RegexDataSearch search = new RegexDataSearch(codeArea.getContentData(), pattern, BinaryDataCharSequence.createCharTable(codeArea.getCharset()));
+        search.setProgressListener(new RegexDataSearch.ProgressListener() {
+            @Override
+            public void progress(long position, long dataSize) {
+                collector.progress(position, dataSize);
+            }
+        });
+
+        try {
+            while (true) {
+                long matchPosition = search.findNext(position);
+                if (matchPosition < 0) {
+                    break;
+                }
+
+                if (!collector.addMatch(matchPosition, search.getMatchLength())) {
+                    break;
+                }
+                position = matchPosition + search.getMatchLength();
+            }
+        } catch (InterruptedException ex) {
+            return;
+        }
+
+        collector.finish();
+    }
+
+    /**
+     * Returns ranges where match of given pattern can start.
+     *
+     * Uses persistent search index of document file if available, otherwise
+     * all positions are included.
+     */
+    @Nonnull
+    private CandidateRanges findCandidateRanges(BinaryData data, byte[] values, @Nullable byte[] masks, long fromPosition) {
+        NGramIndex index = getSearchIndex(data);
+        if (index != null) {
+            try {
+                List<NGramIndex.Range> ranges = index.findCandidateRanges((DeltaDocument) data, values, masks, fromPosition);
+                if (ranges != null) {
+                    return new CandidateRanges(ranges);
+                }
+            } catch (IOException ex) {
+                Logger.getLogger(SearchAction.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+
+        return new CandidateRanges(fromPosition);
+    }
+
+    @Nullable
+    private synchronized NGramIndex getSearchIndex(BinaryData data) {
+        if (!(data instanceof DeltaDocument)) {
+            return null;
+        }
+        FileDataSource fileSource = ((DeltaDocument) data).getFileSource();
+        if (fileSource == null) {
+            return null;
+        }
+
+        File file = fileSource.getFile();
+        if (!file.equals(searchIndexCheckedFile)) {
+            if (searchIndex != null) {
+                searchIndex.close();
+            }
+            searchIndexCheckedFile = file;
+            searchIndex = NGramIndex.load(file);
+        }
+        if (searchIndex != null && !searchIndex.isValid()) {
+            searchIndex.close();
+            searchIndex = null;
+        }
+
+        return searchIndex;
+    }
+
+    /**
+     * Returns true if search index can be built for current document.
+     *
+     * @return true if document is backed by file
+     */
+    public boolean canBuildSearchIndex() {
+        BinaryData data = codeArea.getContentData();
+        return data instanceof DeltaDocument && ((DeltaDocument) data).getFileSource() != null;
+    }
+
+    /**
+     * Starts building of persistent search index for file of current document
+     * in background.
+     */
+    public void buildSearchIndex() {
+        if (!canBuildSearchIndex() || (indexBuildThread != null && indexBuildThread.isAlive())) {
+            return;
+        }
+
+        final File file = ((DeltaDocument) codeArea.getContentData()).getFileSource().getFile();
+        indexBuildThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    NGramIndex.build(file, NGramIndex.DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors(), INDEX_THROUGHPUT_LIMIT);
+                    synchronized (SearchAction.this) {
+                        // Force reload on next search
+                        searchIndexCheckedFile = null;
+                    }
+                } catch (final IOException ex) {
+                    Logger.getLogger(SearchAction.class.getName()).log(Level.SEVERE, null, ex);
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            JOptionPane.showMessageDialog(codeArea, ex.getMessage(), "Unable to Build Search Index", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
+                } catch (InterruptedException ex) {
+                    // cancelled
+                }
+            }
+        }, "Search index builder");
+        indexBuildThread.setDaemon(true);
+        indexBuildThread.setPriority(Thread.MIN_PRIORITY);
+        indexBuildThread.start();
+    }
+
+    @Nonnull
+    private static Pattern compilePattern(SearchParameters searchParameters) {
+        int flags = searchParameters.isMatchCase() ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        return Pattern.compile(searchParameters.getCondition().getSearchText(), flags);
+    }
+
+    /**
+     * Matches text at given position character by character.
+     *
+     * @param data data
+     * @param position position
+     * @param findText searched text, lower case if case is ignored
+     * @param matchCase true if case should match
+     * @param charset charset
+     * @param charData buffer for single character data
+     * @return length of the match in bytes or -1 if text doesn't match
+     */
+    private static int matchText(BinaryData data, long position, String findText, boolean matchCase, Charset charset, byte[] charData) {
+        long dataSize = data.getDataSize();
+        int matchCharLength = 0;
+        int matchLength = 0;
+        while (matchCharLength < findText.length()) {
+            long searchPosition = position + matchLength;
+            int bytesToUse = charData.length;
+            if (searchPosition + bytesToUse > dataSize) {
+                bytesToUse = (int) (dataSize - searchPosition);
+            }
+            data.copyToArray(searchPosition, charData, 0, bytesToUse);
+            char singleChar = new String(charData, charset).charAt(0);
+            String singleCharString = String.valueOf(singleChar);
+            int characterLength = singleCharString.getBytes(charset).length;
 
-                if (foundMatches.size() == FIND_MATCHES_LIMIT || !searchParameters.isMultipleMatches()) {
+            if (matchCase) {
+                if (singleChar != findText.charAt(matchCharLength)) {
                     break;
                 }
+            } else if (singleCharString.toLowerCase().charAt(0) != findText.charAt(matchCharLength)) {
+                break;
+            }
+            matchCharLength++;
+            matchLength += characterLength;
+        }
+
+        return matchCharLength == findText.length() ? matchLength : -1;
+    }
+
+    /**
+     * Replaces all matches of the search condition in single pass.
+     *
+     * Result is assembled from unchanged parts of the current data and from
+     * single shared copy of the replacing data. For delta document this means
+     * only segments referencing existing data are created. Result is then
+     * applied as single undoable command with one repaint at the end.
+     */
+    private void replaceAll(SearchParameters searchParameters, ReplaceParameters replaceParameters) {
+        SearchCondition condition = searchParameters.getCondition();
+        SearchCondition replaceCondition = replaceParameters.getCondition();
+        BinaryData data = codeArea.getContentData();
+        if (condition.isEmpty() || !(data instanceof EditableBinaryData) || !isValidCondition(condition)) {
+            return;
+        }
+
+        Charset charset = codeArea.getCharset();
+        byte[] replaceBytes;
+        if (replaceCondition.getSearchMode() == SearchCondition.SearchMode.BINARY) {
+            BinaryData replaceData = replaceCondition.getBinaryData();
+            replaceBytes = new byte[(int) replaceData.getDataSize()];
+            replaceData.copyToArray(0, replaceBytes, 0, replaceBytes.length);
+        } else {
+            replaceBytes = replaceCondition.getSearchText().getBytes(charset);
+        }
+
+        EditableBinaryData resultData;
+        EditableBinaryData replacingData;
+        if (data instanceof DeltaDocument) {
+            resultData = ((DeltaDocument) data).getRepository().createDocument();
+            replacingData = ((DeltaDocument) data).getRepository().createDocument();
+        } else {
+            resultData = new PagedData();
+            replacingData = new PagedData();
+        }
+        replacingData.insert(0, replaceBytes);
+
+        DataMatcher matcher = createMatcher(searchParameters, data);
+        long dataSize = data.getDataSize();
+        long position = 0;
+        long unchangedStart = 0;
+        long replacedCount = 0;
+        while (position < dataSize) {
+            int matchLength = matcher.matchAt(position);
+            if (matchLength > 0) {
+                if (position > unchangedStart) {
+                    resultData.insert(resultData.getDataSize(), data, unchangedStart, position - unchangedStart);
+                }
+                resultData.insert(resultData.getDataSize(), replacingData);
+                replacedCount++;
+                position += matchLength;
+                unchangedStart = position;
+            } else {
+                position++;
             }
+        }
+        replacingData.dispose();
 
-            position++;
+        if (replacedCount == 0) {
+            resultData.dispose();
+            return;
+        }
+        if (unchangedStart < dataSize) {
+            resultData.insert(resultData.getDataSize(), data, unchangedStart, dataSize - unchangedStart);
         }
 
-        painter.setMatches(foundMatches);
-        if (foundMatches.size() > 0) {
-            painter.setCurrentMatchIndex(0);
-            ExtendedHighlightCodeAreaPainter.SearchMatch firstMatch = painter.getCurrentMatch();
-            codeArea.revealPosition(new DefaultCodeAreaCaretPosition(firstMatch.getPosition(), 0, codeArea.getActiveSection()));
+        try {
+            undoHandler.execute(new ReplaceDataCommand(codeArea, resultData));
+        } catch (BinaryDataOperationException ex) {
+            Logger.getLogger(SearchAction.class.getName()).log(Level.SEVERE, null, ex);
         }
-        binarySearchPanel.setStatus(foundMatches.size(), 0);
+        codeArea.notifyDataChanged();
         codeArea.repaint();
     }
 
+    @Nonnull
+    private DataMatcher createMatcher(SearchParameters searchParameters, BinaryData data) {
+        SearchCondition condition = searchParameters.getCondition();
+        Charset charset = codeArea.getCharset();
+        if (searchParameters.getMaxMismatches() > 0 && condition.getSearchMode() != SearchCondition.SearchMode.REGEX) {
+            return new ApproximateMatcher(new ApproximateDataSearch(data, createPattern(condition), searchParameters.getMaxMismatches()));
+        } else if (condition.getSearchMode() == SearchCondition.SearchMode.TEXT && !searchParameters.isMatchCase()) {
+            return new TextMatcher(data, condition.getSearchText().toLowerCase(), charset);
+        } else if (condition.getSearchMode() == SearchCondition.SearchMode.TEXT) {
+            return new BytesMatcher(data, condition.getSearchText().getBytes(charset), null);
+        } else if (condition.getSearchMode() == SearchCondition.SearchMode.MASKED) {
+            MaskedPattern pattern = MaskedPattern.parse(condition.getSearchText());
+            return new BytesMatcher(data, pattern.getValues(), pattern.getMasks());
+        } else if (condition.getSearchMode() == SearchCondition.SearchMode.REGEX) {
+            return new RegexMatcher(new RegexDataSearch(data, compilePattern(searchParameters), BinaryDataCharSequence.createCharTable(charset)));
+        }
+
+        BinaryData searchData = condition.getBinaryData();
+        byte[] searchBytes = new byte[(int) searchData.getDataSize()];
+        searchData.copyToArray(0, searchBytes, 0, searchBytes.length);
+        return new BytesMatcher(data, searchBytes, null);
+    }
+
+    private static boolean isValidCondition(SearchCondition condition) {
+        if (condition.getSearchMode() == SearchCondition.SearchMode.MASKED) {
+            try {
+                MaskedPattern.parse(condition.getSearchText());
+            } catch (IllegalArgumentException ex) {
+                return false;
+            }
+        } else if (condition.getSearchMode() == SearchCondition.SearchMode.REGEX) {
+            try {
+                Pattern.compile(condition.getSearchText());
+            } catch (PatternSyntaxException ex) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns maximum length of the match of given search condition in bytes.
+     */
+    private long getMaxMatchLength(SearchCondition condition) {
+        if (condition.getSearchMode() == SearchCondition.SearchMode.TEXT) {
+            return condition.getSearchText().length() * (long) codeArea.getCharset().newEncoder().maxBytesPerChar();
+        } else if (condition.getSearchMode() == SearchCondition.SearchMode.MASKED) {
+            return MaskedPattern.parse(condition.getSearchText()).getLength();
+        }
+
+        return condition.getBinaryData().getDataSize();
+    }
+
+    /**
+     * Updates found matches after modification of given range of data.
+     *
+     * Matches overlapping modified range are dropped, matches after it are
+     * shifted and only the modified range extended by the maximum match length
+     * is searched again. Matches are kept sorted by position, so matches
+     * outside of the modified range are located by binary search and copied
+     * to new list of the same kind.
+     */
+    private void updateMatches(long startPosition, long removedLength, long insertedLength) {
+        SearchParameters searchParameters = activeSearchParameters;
+        if (searchParameters == null || matchesInvalid) {
+            return;
+        }
+
+        SearchCondition condition = searchParameters.getCondition();
+        if (condition.isEmpty() || !isValidCondition(condition)) {
+            matchesInvalid = true;
+            return;
+        }
+
+        // Length of regular expression match is not bounded, approximate
+        // matches carry positions of mismatches and counted matches are not
+        // stored at all
+        if (condition.getSearchMode() == SearchCondition.SearchMode.REGEX || searchParameters.getMaxMismatches() > 0 || searchParameters.isCountOnly()) {
+            matchesInvalid = true;
+            return;
+        }
+
+        long maxMatchLength = getMaxMatchLength(condition);
+        if (!searchParameters.isMultipleMatches()
+                || searchParameters.getSearchDirection() != SearchParameters.SearchDirection.FORWARD
+                || insertedLength + maxMatchLength > UPDATE_MATCHES_LIMIT) {
+            matchesInvalid = true;
+            return;
+        }
+
+        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+        List<ExtendedHighlightCodeAreaPainter.SearchMatch> matches = painter.getMatches();
+        ExtendedHighlightCodeAreaPainter.SearchMatch currentMatch = painter.getCurrentMatch();
+        long removedEnd = startPosition + removedLength;
+        long shift = insertedLength - removedLength;
+        long windowStart = Math.max(0, startPosition - maxMatchLength + 1);
+        long windowEnd = startPosition + insertedLength;
+
+        List<ExtendedHighlightCodeAreaPainter.SearchMatch> updatedMatches;
+        int matchesLimit;
+        if (matches instanceof CompactMatchList) {
+            updatedMatches = CompactMatchList.createEmptyCopy((CompactMatchList) matches);
+            matchesLimit = COMPACT_MATCHES_LIMIT;
+        } else {
+            updatedMatches = new ArrayList<ExtendedHighlightCodeAreaPainter.SearchMatch>();
+            matchesLimit = FIND_MATCHES_LIMIT;
+        }
+
+        long currentMatchPosition = -1;
+        if (currentMatch != null) {
+            if (currentMatch.getPosition() + currentMatch.getLength() <= startPosition) {
+                currentMatchPosition = currentMatch.getPosition();
+            } else if (currentMatch.getPosition() >= removedEnd) {
+                currentMatchPosition = currentMatch.getPosition() + shift;
+            }
+        }
+
+        int windowIndex = painter.findMatchIndex(windowStart);
+        for (int index = 0; index < windowIndex; index++) {
+            updatedMatches.add(matches.get(index));
+        }
+
+        BinaryData data = codeArea.getContentData();
+        DataMatcher matcher = createMatcher(searchParameters, data);
+        for (long position = windowStart; position < windowEnd && updatedMatches.size() < matchesLimit; position++) {
+            int matchLength = matcher.matchAt(position);
+            if (matchLength > 0) {
+                updatedMatches.add(new ExtendedHighlightCodeAreaPainter.SearchMatch(position, matchLength));
+            }
+        }
+
+        for (int index = painter.findMatchIndex(removedEnd); index < matches.size() && updatedMatches.size() < matchesLimit; index++) {
+            ExtendedHighlightCodeAreaPainter.SearchMatch match = matches.get(index);
+            match.setPosition(match.getPosition() + shift);
+            updatedMatches.add(match);
+        }
+
+        painter.setMatches(updatedMatches);
+        int currentMatchIndex = -1;
+        if (currentMatchPosition >= 0) {
+            currentMatchIndex = painter.findMatchIndex(currentMatchPosition);
+            if (currentMatchIndex == updatedMatches.size() || updatedMatches.get(currentMatchIndex).getPosition() != currentMatchPosition) {
+                currentMatchIndex = -1;
+            }
+        }
+        if (currentMatchIndex == -1 && !updatedMatches.isEmpty()) {
+            currentMatchIndex = 0;
+        }
+        painter.setCurrentMatchIndex(currentMatchIndex);
+        matchesUpdated = true;
+    }
+
     public void codeAreaDataChanged() {
-        if (binarySearchPanel != null && binarySearchPanel.isVisible()) {
+        if (binarySearchPanel == null || !binarySearchPanel.isVisible()) {
+            return;
+        }
+
+        if (matchesUpdated && !matchesInvalid) {
+            matchesUpdated = false;
+            ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+            binarySearchPanel.setStatus(painter.getMatches().size(), Math.max(painter.getCurrentMatchIndex(), 0));
+            codeArea.repaint();
+        } else {
+            matchesUpdated = false;
+            matchesInvalid = false;
             binarySearchPanel.dataChanged();
         }
     }
@@ -405,4 +1090,348 @@ public final class SearchAction implements ActionListener {
 
         return popupMenu;
     }
+
+    /**
+     * Matcher of search condition at given position of data.
+     */
+    private interface DataMatcher {
+
+        /**
+         * Returns length of match starting at given position.
+         *
+         * @param position position
+         * @return match length or -1 if there is no match
+         */
+        int matchAt(long position);
+    }
+
+    /**
+     * Sorted ranges of positions where match can start, traversed forward.
+     */
+    private static class CandidateRanges {
+
+        private final List<NGramIndex.Range> ranges;
+        private int rangeIndex = 0;
+
+        public CandidateRanges(List<NGramIndex.Range> ranges) {
+            this.ranges = ranges;
+        }
+
+        public CandidateRanges(long fromPosition) {
+            this(Collections.singletonList(new NGramIndex.Range(fromPosition, Long.MAX_VALUE)));
+        }
+
+        /**
+         * Returns first candidate position at or after given position.
+         *
+         * @param position position
+         * @return candidate position or Long.MAX_VALUE if there is none
+         */
+        public long nextPosition(long position) {
+            while (rangeIndex < ranges.size()) {
+                NGramIndex.Range range = ranges.get(rangeIndex);
+                if (position < range.getEnd()) {
+                    return Math.max(position, range.getStart());
+                }
+                rangeIndex++;
+            }
+
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Returns end of range of last returned position.
+         *
+         * @return end position, exclusive
+         */
+        public long getRangeEnd() {
+            return ranges.get(rangeIndex).getEnd();
+        }
+    }
+
+    /**
+     * Matcher of regular expression.
+     *
+     * Next match is searched ahead, so sequential matching costs single pass.
+     */
+    private static class RegexMatcher implements DataMatcher {
+
+        private final RegexDataSearch search;
+        private long matchPosition = -1;
+        private boolean finished = false;
+
+        public RegexMatcher(RegexDataSearch search) {
+            this.search = search;
+        }
+
+        @Override
+        public int matchAt(long position) {
+            if (!finished && matchPosition < position) {
+                try {
+                    matchPosition = search.findNext(position);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    matchPosition = -1;
+                }
+                finished = matchPosition < 0;
+            }
+
+            return !finished && matchPosition == position ? (int) search.getMatchLength() : -1;
+        }
+    }
+
+    /**
+     * Matcher of pattern with limited number of mismatching bytes.
+     *
+     * Next match is searched ahead, so sequential matching costs single pass.
+     */
+    private static class ApproximateMatcher implements DataMatcher {
+
+        private final ApproximateDataSearch search;
+        private long matchPosition = -1;
+        private boolean finished = false;
+
+        public ApproximateMatcher(ApproximateDataSearch search) {
+            this.search = search;
+        }
+
+        @Override
+        public int matchAt(long position) {
+            if (!finished && matchPosition < position) {
+                try {
+                    matchPosition = search.findNext(position);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    matchPosition = -1;
+                }
+                finished = matchPosition < 0;
+            }
+
+            return !finished && matchPosition == position ? search.getMatchLength() : -1;
+        }
+    }
+
+    /**
+     * Collector of matches found by search.
+     *
+     * Matches found in ascending order are stored in compact list and whole
+     * data are scanned, so that current match is the first one after start
+     * position. Other matches are stored in limited list. In count-only mode
+     * matches are only counted. Running count of matches is reported to
+     * search panel together with search progress.
+     */
+    private class MatchCollector {
+
+        private final List<ExtendedHighlightCodeAreaPainter.SearchMatch> matches;
+        @Nullable
+        private final CompactMatchList compactMatches;
+        private final long startPosition;
+        private final boolean countOnly;
+        private final boolean multipleMatches;
+        private final int matchesLimit;
+        private long matchesCount = 0;
+        private long lastProgressTime;
+
+        public MatchCollector(SearchParameters searchParameters, @Nullable CompactMatchList compactMatches, long startPosition) {
+            this.compactMatches = compactMatches;
+            this.startPosition = startPosition;
+            countOnly = searchParameters.isCountOnly();
+            multipleMatches = searchParameters.isMultipleMatches();
+            if (compactMatches != null) {
+                matches = compactMatches;
+                matchesLimit = COMPACT_MATCHES_LIMIT;
+            } else {
+                matches = new ArrayList<ExtendedHighlightCodeAreaPainter.SearchMatch>();
+                matchesLimit = FIND_MATCHES_LIMIT;
+            }
+            lastProgressTime = System.currentTimeMillis();
+        }
+
+        /**
+         * Returns position where scanning of data should start.
+         */
+        public long getScanStart() {
+            return multipleMatches && (compactMatches != null || countOnly) ? 0 : startPosition;
+        }
+
+        public boolean isCountOnly() {
+            return countOnly;
+        }
+
+        /**
+         * Adds match and returns false if search should stop.
+         */
+        public boolean addMatch(long position, long length) {
+            if (!countOnly) {
+                if (compactMatches != null) {
+                    compactMatches.addMatch(position, length);
+                } else {
+                    matches.add(new ExtendedHighlightCodeAreaPainter.SearchMatch(position, length));
+                }
+            }
+            return matchAdded();
+        }
+
+        /**
+         * Adds match and returns false if search should stop.
+         */
+        public boolean addMatch(ExtendedHighlightCodeAreaPainter.SearchMatch match) {
+            if (!countOnly) {
+                matches.add(match);
+            }
+            return matchAdded();
+        }
+
+        private boolean matchAdded() {
+            matchesCount++;
+            return multipleMatches && (countOnly || matches.size() < matchesLimit);
+        }
+
+        /**
+         * Reports progress and returns false if search was interrupted.
+         */
+        public boolean progress(final long position, final long dataSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            long time = System.currentTimeMillis();
+            if (time - lastProgressTime >= PROGRESS_INTERVAL) {
+                lastProgressTime = time;
+                final long count = matchesCount;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        binarySearchPanel.setProgress(position, dataSize, count);
+                    }
+                });
+            }
+            return true;
+        }
+
+        /**
+         * Passes found matches to painter and search panel.
+         */
+        public void finish() {
+            ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+            if (countOnly) {
+                painter.clearMatches();
+                final long count = matchesCount;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        binarySearchPanel.setCountStatus(count);
+                    }
+                });
+                codeArea.repaint();
+                return;
+            }
+
+            painter.setMatches(matches);
+            int currentMatchIndex = 0;
+            if (!matches.isEmpty()) {
+                if (compactMatches != null) {
+                    currentMatchIndex = painter.findMatchIndex(startPosition);
+                    if (currentMatchIndex == matches.size()) {
+                        currentMatchIndex = 0;
+                    }
+                }
+                painter.setCurrentMatchIndex(currentMatchIndex);
+                ExtendedHighlightCodeAreaPainter.SearchMatch currentMatch = painter.getCurrentMatch();
+                codeArea.revealPosition(new DefaultCodeAreaCaretPosition(currentMatch.getPosition(), 0, codeArea.getActiveSection()));
+            }
+            final int count = matches.size();
+            final int index = currentMatchIndex;
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    binarySearchPanel.setStatus(count, index);
+                }
+            });
+            codeArea.repaint();
+        }
+    }
+
+    /**
+     * Matcher of sequence of bytes reading data in blocks.
+     *
+     * Bytes are compared exactly or under bit masks if provided.
+     */
+    private static class BytesMatcher implements DataMatcher {
+
+        private final BinaryData data;
+        private final long dataSize;
+        private final byte[] pattern;
+        private final byte[] masks;
+        private final byte[] buffer;
+        private long bufferStart = 0;
+        private int bufferLength = 0;
+
+        public BytesMatcher(BinaryData data, byte[] pattern, @Nullable byte[] masks) {
+            this.data = data;
+            this.pattern = pattern;
+            this.masks = masks;
+            dataSize = data.getDataSize();
+            buffer = new byte[Math.max(SEARCH_BUFFER_SIZE, pattern.length * 2)];
+        }
+
+        @Override
+        public int matchAt(long position) {
+            if (pattern.length == 0 || position > dataSize - pattern.length) {
+                return -1;
+            }
+
+            if (position < bufferStart || position + pattern.length > bufferStart + bufferLength) {
+                bufferStart = position;
+                bufferLength = (int) Math.min(buffer.length, dataSize - position);
+                data.copyToArray(bufferStart, buffer, 0, bufferLength);
+            }
+
+            int offset = (int) (position - bufferStart);
+            if (masks == null) {
+                for (int i = 0; i < pattern.length; i++) {
+                    if (buffer[offset + i] != pattern[i]) {
+                        return -1;
+                    }
+                }
+            } else {
+                for (int i = 0; i < pattern.length; i++) {
+                    if ((buffer[offset + i] & masks[i]) != pattern[i]) {
+                        return -1;
+                    }
+                }
+            }
+
+            return pattern.length;
+        }
+    }
+
+    /**
+     * Matcher of text with ignored case comparing single characters.
+     */
+    private static class TextMatcher implements DataMatcher {
+
+        private final BinaryData data;
+        private final long dataSize;
+        private final String findText;
+        private final Charset charset;
+        private final byte[] charData;
+
+        public TextMatcher(BinaryData data, String findText, Charset charset) {
+            this.data = data;
+            this.findText = findText;
+            this.charset = charset;
+            dataSize = data.getDataSize();
+            charData = new byte[(int) charset.newEncoder().maxBytesPerChar()];
+        }
+
+        @Override
+        public int matchAt(long position) {
+            if (findText.isEmpty() || position > dataSize - findText.length()) {
+                return -1;
+            }
+
+            return matchText(data, position, findText, false, charset, charData);
+        }
+    }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.Color;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.bined.DefaultCodeAreaCaretPosition;
+import org.exbin.bined.highlight.swing.extended.ExtendedHighlightCodeAreaPainter;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.MultiPatternMatcher;
+import org.exbin.framework.bined.SignaturePatterns;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Multi-pattern signature scan action.
+ *
+ * Patterns are loaded from file or taken from search history and matched in
+ * single pass over data, each pattern highlighted by its own color.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SignatureScanAction implements ActionListener {
+
+    private static final int SCAN_MATCHES_LIMIT = 1000;
+    private static final int SCAN_BLOCK_SIZE = 1048576;
+
+    private final ExtCodeArea codeArea;
+    private final SearchAction searchAction;
+    private File lastPatternsFile = null;
+    private Thread scanThread = null;
+
+    public SignatureScanAction(ExtCodeArea codeArea, SearchAction searchAction) {
+        this.codeArea = codeArea;
+        this.searchAction = searchAction;
+        codeArea.addDataModifiedListener(new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                clearScanMatches();
+            }
+        });
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        final Object[] options = new Object[]{"Load from File...", "Search History", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(codeArea, "Select source of signature patterns", "Scan Signatures", JOptionPane.YES_NO_CANCEL_OPTION,
+                JOptionPane.QUESTION_MESSAGE, null, options, JOptionPane.YES_OPTION);
+        SignaturePatterns patterns;
+        if (choice == JOptionPane.YES_OPTION) {
+            JFileChooser fileChooser = new JFileChooser(lastPatternsFile);
+            if (fileChooser.showOpenDialog(codeArea) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+
+            lastPatternsFile = fileChooser.getSelectedFile();
+            try {
+                Reader reader = new InputStreamReader(new FileInputStream(lastPatternsFile), "UTF-8");
+                try {
+                    patterns = SignaturePatterns.load(reader, codeArea.getCharset());
+                } finally {
+                    reader.close();
+                }
+            } catch (IOException ex) {
+                Logger.getLogger(SignatureScanAction.class.getName()).log(Level.SEVERE, null, ex);
+                JOptionPane.showMessageDialog(codeArea, ex.getMessage(), "Unable to Load Patterns", JOptionPane.ERROR_MESSAGE);
+                return;
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(codeArea, ex.getMessage(), "Unable to Load Patterns", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+        } else if (choice == JOptionPane.NO_OPTION) {
+            patterns = SignaturePatterns.fromSearchHistory(searchAction.getSearchHistory(), codeArea.getCharset());
+        } else {
+            return;
+        }
+
+        if (patterns.isEmpty()) {
+            JOptionPane.showMessageDialog(codeArea, "There are no signature patterns to scan for", "Scan Signatures", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        searchAction.hideSearchPanel();
+        startScan(patterns);
+    }
+
+    private void startScan(final SignaturePatterns patterns) {
+        if (scanThread != null) {
+            scanThread.interrupt();
+        }
+
+        final BinaryData data = codeArea.getContentData();
+        if (data == null) {
+            return;
+        }
+
+        final MultiPatternMatcher matcher = new MultiPatternMatcher(patterns.getPatterns());
+        scanThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final Thread currentThread = Thread.currentThread();
+                final List<ExtendedHighlightCodeAreaPainter.SearchMatch> foundMatches = new ArrayList<ExtendedHighlightCodeAreaPainter.SearchMatch>();
+                final int[] matchesCounts = new int[patterns.getPatternsCount()];
+                int threadsCount = Runtime.getRuntime().availableProcessors();
+                ExecutorService executor = threadsCount > 1 ? Executors.newFixedThreadPool(threadsCount) : null;
+                try {
+                    matcher.scan(data, SCAN_BLOCK_SIZE, executor, threadsCount, new MultiPatternMatcher.MatchListener() {
+                        @Override
+                        public boolean patternMatched(int patternIndex, long position) {
+                            foundMatches.add(new ExtendedHighlightCodeAreaPainter.SearchMatch(position, matcher.getPatternLength(patternIndex), patternIndex));
+                            matchesCounts[patternIndex]++;
+                            return foundMatches.size() < SCAN_MATCHES_LIMIT;
+                        }
+                    });
+                } catch (InterruptedException ex) {
+                    return;
+                } finally {
+                    if (executor != null) {
+                        executor.shutdownNow();
+                    }
+                }
+
+                // Matches are reported by end position, painter expects ordering by start
+                Collections.sort(foundMatches, new Comparator<ExtendedHighlightCodeAreaPainter.SearchMatch>() {
+                    @Override
+                    public int compare(ExtendedHighlightCodeAreaPainter.SearchMatch match1, ExtendedHighlightCodeAreaPainter.SearchMatch match2) {
+                        return match1.getPosition() < match2.getPosition() ? -1 : (match1.getPosition() == match2.getPosition() ? 0 : 1);
+                    }
+                });
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (scanThread == currentThread) {
+                            scanThread = null;
+                            showMatches(patterns, foundMatches, matchesCounts);
+                        }
+                    }
+                });
+            }
+        });
+        scanThread.start();
+    }
+
+    private void showMatches(SignaturePatterns patterns, List<ExtendedHighlightCodeAreaPainter.SearchMatch> foundMatches, int[] matchesCounts) {
+        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+        painter.setMatches(foundMatches);
+        if (!foundMatches.isEmpty()) {
+            painter.setCurrentMatchIndex(0);
+            ExtendedHighlightCodeAreaPainter.SearchMatch firstMatch = painter.getCurrentMatch();
+            codeArea.revealPosition(new DefaultCodeAreaCaretPosition(firstMatch.getPosition(), 0, codeArea.getActiveSection()));
+        }
+        codeArea.repaint();
+
+        StringBuilder message = new StringBuilder();
+        message.append("<html>Found ").append(foundMatches.size()).append(" matches");
+        if (foundMatches.size() == SCAN_MATCHES_LIMIT) {
+            message.append(" (limit reached)");
+        }
+        message.append("<br><br>");
+        for (int i = 0; i < patterns.getPatternsCount(); i++) {
+            Color color = painter.getPatternMatchBackgroundColor(i);
+            message.append("<span style=\"background-color: ").append(toHtmlColor(color)).append("\">&nbsp;")
+                    .append(escapeHtml(patterns.getName(i))).append("&nbsp;</span>: ").append(matchesCounts[i]).append("<br>");
+        }
+        message.append("</html>");
+        JOptionPane.showMessageDialog(codeArea, message.toString(), "Scan Signatures", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Drops highlighted matches of signature scan when data are modified.
+     */
+    private void clearScanMatches() {
+        if (scanThread != null) {
+            scanThread.interrupt();
+            scanThread = null;
+        }
+
+        ExtendedHighlightCodeAreaPainter painter = (ExtendedHighlightCodeAreaPainter) codeArea.getPainter();
+        List<ExtendedHighlightCodeAreaPainter.SearchMatch> matches = painter.getMatches();
+        if (!matches.isEmpty() && matches.get(0).getPatternIndex() >= 0) {
+            painter.clearMatches();
+        }
+    }
+
+    @Nonnull
+    private static String toHtmlColor(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    @Nonnull
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
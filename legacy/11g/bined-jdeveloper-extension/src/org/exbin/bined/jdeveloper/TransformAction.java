@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.jdeveloper;
+
+import java.awt.BorderLayout;
+import java.awt.Cursor;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.ByteArrayOutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.swing.CodeAreaUndoHandler;
+import org.exbin.bined.operation.swing.command.TransformDataCommand;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.BasicDataTransform;
+
+/**
+ * Action applying bitwise or arithmetic transformation to selection.
+ *
+ * Transformation is executed as single undoable command which for invertible
+ * transformations records only the transformation and range.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TransformAction implements ActionListener {
+
+    private static final String DIALOG_TITLE = "Transform Selection";
+
+    private final ExtCodeArea codeArea;
+    private final CodeAreaUndoHandler undoHandler;
+    private BasicDataTransform.Type lastType = BasicDataTransform.Type.XOR;
+    private String lastParameter = "ff";
+
+    public TransformAction(ExtCodeArea codeArea, CodeAreaUndoHandler undoHandler) {
+        this.codeArea = codeArea;
+        this.undoHandler = undoHandler;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        SelectionRange selection = codeArea.getSelection();
+        if (selection.isEmpty() || !codeArea.isEditable()) {
+            return;
+        }
+
+        final JComboBox<String> typeComboBox = new JComboBox<String>();
+        for (BasicDataTransform.Type type : BasicDataTransform.Type.values()) {
+            typeComboBox.addItem(type.getDisplayName());
+        }
+        typeComboBox.setSelectedIndex(lastType.ordinal());
+        final JLabel parameterLabel = new JLabel();
+        final JTextField parameterTextField = new JTextField(lastParameter, 20);
+        JPanel parameterPanel = new JPanel(new BorderLayout(5, 0));
+        parameterPanel.add(parameterLabel, BorderLayout.WEST);
+        parameterPanel.add(parameterTextField, BorderLayout.CENTER);
+        JPanel transformPanel = new JPanel(new GridLayout(0, 1, 0, 5));
+        transformPanel.add(new JLabel("Transform selection (" + selection.getLength() + " bytes):"));
+        transformPanel.add(typeComboBox);
+        transformPanel.add(parameterPanel);
+        typeComboBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                updateParameter(BasicDataTransform.Type.values()[typeComboBox.getSelectedIndex()], parameterLabel, parameterTextField);
+            }
+        });
+        updateParameter(lastType, parameterLabel, parameterTextField);
+
+        BasicDataTransform transform = null;
+        while (transform == null) {
+            if (JOptionPane.showConfirmDialog(codeArea, transformPanel, DIALOG_TITLE, JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+                return;
+            }
+
+            BasicDataTransform.Type type = BasicDataTransform.Type.values()[typeComboBox.getSelectedIndex()];
+            transform = createTransform(type, parameterTextField.getText());
+            if (transform == null) {
+                JOptionPane.showMessageDialog(codeArea, "Invalid parameter of transformation", DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
+            } else {
+                lastType = type;
+                lastParameter = parameterTextField.getText();
+            }
+        }
+
+        Cursor cursor = codeArea.getCursor();
+        codeArea.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        try {
+            undoHandler.execute(new TransformDataCommand(codeArea, selection.getFirst(), selection.getLength(), transform));
+        } catch (BinaryDataOperationException ex) {
+            Logger.getLogger(TransformAction.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            codeArea.setCursor(cursor);
+        }
+        codeArea.repaint();
+    }
+
+    private static void updateParameter(BasicDataTransform.Type type, JLabel parameterLabel, JTextField parameterTextField) {
+        switch (type) {
+            case XOR:
+                parameterLabel.setText("Key (hex):");
+                parameterTextField.setEnabled(true);
+                break;
+            case ADD:
+            case SUBTRACT:
+                parameterLabel.setText("Value:");
+                parameterTextField.setEnabled(true);
+                break;
+            case ROTATE_LEFT:
+            case ROTATE_RIGHT:
+                parameterLabel.setText("Bits:");
+                parameterTextField.setEnabled(true);
+                break;
+            default:
+                parameterLabel.setText("Parameter:");
+                parameterTextField.setEnabled(false);
+        }
+    }
+
+    @Nullable
+    private static BasicDataTransform createTransform(BasicDataTransform.Type type, String parameter) {
+        try {
+            switch (type) {
+                case XOR: {
+                    byte[] key = parseHex(parameter);
+                    return key == null || key.length == 0 ? null : BasicDataTransform.xor(key);
+                }
+                case ADD:
+                    return BasicDataTransform.add(parseValue(parameter, 255));
+                case SUBTRACT:
+                    return BasicDataTransform.subtract(parseValue(parameter, 255));
+                case INVERT:
+                    return BasicDataTransform.invert();
+                case SWAP_16:
+                    return BasicDataTransform.swap(2);
+                case SWAP_32:
+                    return BasicDataTransform.swap(4);
+                case SWAP_64:
+                    return BasicDataTransform.swap(8);
+                case ROTATE_LEFT:
+                    return BasicDataTransform.rotateLeft(parseValue(parameter, 7));
+                case ROTATE_RIGHT:
+                    return BasicDataTransform.rotateRight(parseValue(parameter, 7));
+                default:
+                    throw new IllegalStateException("Unexpected transformation type " + type.name());
+            }
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses decimal or 0x prefixed hexadecimal value.
+     */
+    private static int parseValue(String text, int maximum) {
+        String value = text.trim();
+        int result = value.startsWith("0x") || value.startsWith("0X") ? Integer.parseInt(value.substring(2), 16) : Integer.parseInt(value);
+        if (result < 0 || result > maximum) {
+            throw new NumberFormatException("Value out of range: " + result);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static byte[] parseHex(String text) {
+        String digits = text.replaceAll("\\s", "");
+        if (digits.startsWith("0x") || digits.startsWith("0X")) {
+            digits = digits.substring(2);
+        }
+        if (digits.length() % 2 != 0) {
+            return null;
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream(digits.length() / 2);
+        for (int index = 0; index < digits.length(); index += 2) {
+            int high = Character.digit(digits.charAt(index), 16);
+            int low = Character.digit(digits.charAt(index + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            result.write((high << 4) | low);
+        }
+        return result.toByteArray();
+    }
+}
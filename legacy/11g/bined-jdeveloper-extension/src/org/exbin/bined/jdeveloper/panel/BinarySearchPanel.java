@@ -135,7 +135,7 @@ public class BinarySearchPanel extends javax.swing.JPanel {
                     return panel;
                 }
 
-                if (value.getSearchMode() == SearchCondition.SearchMode.TEXT) {
+                if (value.getSearchMode() != SearchCondition.SearchMode.BINARY) {
                     return listCellRenderer.getListCellRendererComponent(list, value.getSearchText(), index, isSelected, cellHasFocus);
                 } else {
                     codeArea.setContentData(value.getBinaryData());
@@ -220,7 +220,7 @@ public class BinarySearchPanel extends javax.swing.JPanel {
                     return panel;
                 }
 
-                if (value.getSearchMode() == SearchCondition.SearchMode.TEXT) {
+                if (value.getSearchMode() != SearchCondition.SearchMode.BINARY) {
                     return listCellRenderer.getListCellRendererComponent(list, value.getSearchText(), index, isSelected, cellHasFocus);
                 } else {
                     codeArea.setContentData(value.getBinaryData());
@@ -636,13 +636,13 @@ public class BinarySearchPanel extends javax.swing.JPanel {
                 if (actionType == DefaultControlHandler.ControlActionType.OK) {
                     SearchParameters dialogSearchParameters = findBinaryPanel.getSearchParameters();
                     ((SearchHistoryModel) findComboBox.getModel()).addSearchCondition(dialogSearchParameters.getCondition());
-                    dialogSearchParameters.setFromParameters(dialogSearchParameters);
+                    searchParameters.setFromParameters(dialogSearchParameters);
                     findComboBoxEditorComponent.setItem(dialogSearchParameters.getCondition());
                     updateFindStatus();
 
                     ReplaceParameters dialogReplaceParameters = findBinaryPanel.getReplaceParameters();
                     switchReplaceMode(dialogReplaceParameters.isPerformReplace() ? SearchOperation.REPLACE : SearchOperation.FIND);
-                    binarySearchPanelApi.performFind(dialogSearchParameters);
+                    performSearch();
                 }
                 findBinaryPanel.detachMenu();
                 dialog.close();
@@ -677,10 +677,22 @@ public class BinarySearchPanel extends javax.swing.JPanel {
 
     private void findTypeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_findTypeButtonActionPerformed
         SearchCondition condition = searchParameters.getCondition();
-        if (condition.getSearchMode() == SearchCondition.SearchMode.TEXT) {
-            condition.setSearchMode(SearchCondition.SearchMode.BINARY);
-        } else {
-            condition.setSearchMode(SearchCondition.SearchMode.TEXT);
+        switch (condition.getSearchMode()) {
+            case TEXT: {
+                condition.setSearchMode(SearchCondition.SearchMode.BINARY);
+                break;
+            }
+            case BINARY: {
+                condition.setSearchMode(SearchCondition.SearchMode.MASKED);
+                break;
+            }
+            case MASKED: {
+                condition.setSearchMode(SearchCondition.SearchMode.REGEX);
+                break;
+            }
+            default: {
+                condition.setSearchMode(SearchCondition.SearchMode.TEXT);
+            }
         }
 
         findComboBoxEditor.setItem(condition);
@@ -691,12 +703,26 @@ public class BinarySearchPanel extends javax.swing.JPanel {
 
     private void updateFindStatus() {
         SearchCondition condition = searchParameters.getCondition();
-        if (condition.getSearchMode() == SearchCondition.SearchMode.TEXT) {
-            findTypeButton.setText("T");
-            matchCaseToggleButton.setEnabled(true);
-        } else {
-            findTypeButton.setText("B");
-            matchCaseToggleButton.setEnabled(false);
+        switch (condition.getSearchMode()) {
+            case TEXT: {
+                findTypeButton.setText("T");
+                matchCaseToggleButton.setEnabled(true);
+                break;
+            }
+            case MASKED: {
+                findTypeButton.setText("M");
+                matchCaseToggleButton.setEnabled(false);
+                break;
+            }
+            case REGEX: {
+                findTypeButton.setText("R");
+                matchCaseToggleButton.setEnabled(true);
+                break;
+            }
+            default: {
+                findTypeButton.setText("B");
+                matchCaseToggleButton.setEnabled(false);
+            }
         }
     }
 
@@ -766,7 +792,9 @@ public class BinarySearchPanel extends javax.swing.JPanel {
         SearchCondition searchCondition = (SearchCondition) findComboBox.getEditor().getItem();
 
         switch (searchCondition.getSearchMode()) {
-            case TEXT: {
+            case TEXT:
+            case MASKED:
+            case REGEX: {
                 String searchText = searchCondition.getSearchText();
                 if (searchText == null || searchText.isEmpty()) {
                     condition.setSearchText(searchText);
@@ -867,8 +895,8 @@ public class BinarySearchPanel extends javax.swing.JPanel {
     }
 
     public void performReplaceAll() {
-        // TODO
-        throw new UnsupportedOperationException("Not supported yet.");
+        replaceParameters.setCondition(replaceComboBoxEditorComponent.getItem());
+        binarySearchPanelApi.performReplaceAll(searchParameters, replaceParameters);
     }
 
     public void updatePosition(long position, long dataSize) {
@@ -909,6 +937,34 @@ public class BinarySearchPanel extends javax.swing.JPanel {
         updateMatchStatus();
     }
 
+    /**
+     * Reports progress of running search with count of matches found so far.
+     *
+     * @param position current search position
+     * @param dataSize size of searched data
+     * @param matchesCount count of matches found so far
+     */
+    public void setProgress(long position, long dataSize, long matchesCount) {
+        int percent = dataSize > 0 ? (int) (position * 100 / dataSize) : 100;
+        infoLabel.setText("Searching " + percent + "%, " + matchesCount + (matchesCount == 1 ? " match" : " matches") + " found");
+    }
+
+    /**
+     * Sets status of search which only counted matches.
+     *
+     * @param matchesCount total count of matches
+     */
+    public void setCountStatus(long matchesCount) {
+        this.matchesCount = 0;
+        this.matchPosition = -1;
+        if (matchesCount == 0) {
+            infoLabel.setText("No matches found");
+        } else {
+            infoLabel.setText(matchesCount + (matchesCount == 1 ? " match" : " matches") + " counted");
+        }
+        updateMatchStatus();
+    }
+
     public void clearStatus() {
         infoLabel.setText("");
         matchesCount = 0;
@@ -928,6 +984,10 @@ public class BinarySearchPanel extends javax.swing.JPanel {
         }
     }
 
+    public List<SearchCondition> getSearchHistory() {
+        return searchHistory;
+    }
+
     public ClosePanelListener getClosePanelListener() {
         return closePanelListener;
     }
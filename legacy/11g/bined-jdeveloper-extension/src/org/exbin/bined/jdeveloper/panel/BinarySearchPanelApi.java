@@ -36,5 +36,7 @@ public interface BinarySearchPanelApi {
 
     void performReplace(SearchParameters searchParameters, ReplaceParameters replaceParameters);
 
+    void performReplaceAll(SearchParameters searchParameters, ReplaceParameters replaceParameters);
+
     void clearMatches();
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Transformation of data which can be applied to each block of data
+ * independently.
+ *
+ * Result for each byte depends only on bytes of the same aligned unit and on
+ * offset from the start of transformed range, so range can be processed in
+ * blocks in any order or in parallel.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface DataTransform {
+
+    /**
+     * Transforms block of data in place.
+     *
+     * Trailing bytes not forming complete unit of alignment size are left
+     * unchanged.
+     *
+     * @param data data buffer
+     * @param offset offset of block in buffer
+     * @param length length of block
+     * @param rangeOffset offset of block from the start of transformed range,
+     * multiple of alignment
+     */
+    void transform(byte[] data, int offset, int length, long rangeOffset);
+
+    /**
+     * Returns size of unit of data which is transformed together.
+     *
+     * @return alignment in bytes
+     */
+    int getAlignment();
+
+    /**
+     * Returns transformation reverting this transformation.
+     *
+     * @return inverse transformation or null if transformation is not
+     * invertible
+     */
+    @Nullable
+    DataTransform getInverse();
+
+    /**
+     * Returns caption of the transformation.
+     *
+     * @return caption
+     */
+    @Nonnull
+    String getCaption();
+}
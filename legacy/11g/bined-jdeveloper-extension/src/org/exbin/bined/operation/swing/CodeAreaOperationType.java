@@ -41,10 +41,18 @@ public enum CodeAreaOperationType {
      * Move data operation.
      */
     MOVE_DATA("Move data"),
+    /**
+     * Replace data operation.
+     */
+    REPLACE_DATA("Replace data"),
     /**
      * Edit data operation.
      */
-    EDIT_DATA("Edit data");
+    EDIT_DATA("Edit data"),
+    /**
+     * Transform data operation.
+     */
+    TRANSFORM_DATA("Transform data");
 
     @Nullable
     private final String caption;
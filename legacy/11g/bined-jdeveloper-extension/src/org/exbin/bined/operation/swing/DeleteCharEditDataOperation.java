@@ -68,6 +68,7 @@ public class DeleteCharEditDataOperation extends CharEditDataOperation {
                         dataCopy.dispose();
                     }
                     data.remove(position, 1);
+                    codeArea.notifyDataModified(position, 1, 0);
                 }
                 break;
             }
@@ -81,6 +82,7 @@ public class DeleteCharEditDataOperation extends CharEditDataOperation {
                         dataCopy.dispose();
                     }
                     data.remove(position, 1);
+                    codeArea.notifyDataModified(position, 1, 0);
                 }
                 break;
             }
@@ -83,6 +83,7 @@ public class DeleteCodeEditDataOperation extends CodeEditDataOperation {
                         dataCopy.dispose();
                     }
                     data.remove(position, 1);
+                    codeArea.notifyDataModified(position, 1, 0);
                 }
                 break;
             }
@@ -96,6 +97,7 @@ public class DeleteCodeEditDataOperation extends CodeEditDataOperation {
                         dataCopy.dispose();
                     }
                     data.remove(position, 1);
+                    codeArea.notifyDataModified(position, 1, 0);
                 }
                 break;
             }
@@ -70,6 +70,7 @@ public class InsertCharEditDataOperation extends CharEditDataOperation {
         Charset charset = ((CharsetCapable) codeArea).getCharset();
         byte[] bytes = CodeAreaUtils.characterToBytes(value, charset);
         data.insert(editedDataPosition, bytes);
+        codeArea.notifyDataModified(editedDataPosition, 0, bytes.length);
         length += bytes.length;
         ((CaretCapable) codeArea).getCaret().setCaretPosition(startPosition + length);
     }
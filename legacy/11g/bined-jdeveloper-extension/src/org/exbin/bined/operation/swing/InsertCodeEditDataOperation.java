@@ -83,6 +83,8 @@ public class InsertCodeEditDataOperation extends CodeEditDataOperation {
         long editedDataPosition = startPosition + length;
 
         byte byteValue = 0;
+        long removedLength = 0;
+        long insertedLength = 1;
         if (codeOffset > 0) {
             byteValue = data.getByte(editedDataPosition - 1);
             byte byteRest = 0;
@@ -115,8 +117,10 @@ public class InsertCodeEditDataOperation extends CodeEditDataOperation {
                 data.setByte(editedDataPosition, byteRest);
                 byteValue -= byteRest;
                 trailing = true;
+                insertedLength++;
             }
             editedDataPosition--;
+            removedLength++;
         } else {
             data.insert(editedDataPosition, 1);
             length++;
@@ -189,6 +193,7 @@ public class InsertCodeEditDataOperation extends CodeEditDataOperation {
                 throw new IllegalStateException("Unexpected code type " + codeType.name());
         }
         data.setByte(editedDataPosition, byteValue);
+        codeArea.notifyDataModified(editedDataPosition, removedLength, insertedLength);
 
         codeOffset++;
         if (codeOffset == codeType.getMaxDigitsForByte()) {
@@ -62,6 +62,7 @@ public class InsertDataOperation extends CodeAreaOperation {
     private CodeAreaOperation execute(boolean withUndo) {
         CodeAreaOperation undoOperation = null;
         ((EditableBinaryData) codeArea.getContentData()).insert(position, data);
+        codeArea.notifyDataModified(position, 0, data.getDataSize());
         if (withUndo) {
             undoOperation = new RemoveDataOperation(codeArea, position, codeOffset, data.getDataSize());
         }
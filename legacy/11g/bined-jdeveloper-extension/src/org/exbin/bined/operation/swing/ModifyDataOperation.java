@@ -63,6 +63,7 @@ public class ModifyDataOperation extends CodeAreaOperation {
             undoOperation = new ModifyDataOperation(codeArea, position, undoData);
         }
         ((EditableBinaryData) codeArea.getContentData()).replace(position, data);
+        codeArea.notifyDataModified(position, data.getDataSize(), data.getDataSize());
         return undoOperation;
     }
 
@@ -70,8 +70,9 @@ public class OverwriteCharEditDataOperation extends CharEditDataOperation {
 
         Charset charset = ((CharsetCapable) codeArea).getCharset();
         byte[] bytes = CodeAreaUtils.characterToBytes(value, charset);
+        long overwritten = 0;
         if (editedDataPosition < data.getDataSize()) {
-            long overwritten = data.getDataSize() - editedDataPosition;
+            overwritten = data.getDataSize() - editedDataPosition;
             if (overwritten > bytes.length) {
                 overwritten = bytes.length;
             }
@@ -98,6 +99,7 @@ public class OverwriteCharEditDataOperation extends CharEditDataOperation {
             }
         }
 
+        codeArea.notifyDataModified(editedDataPosition, overwritten, bytes.length);
         length += bytes.length;
         ((CaretCapable) codeArea).getCaret().setCaretPosition(startPosition + length);
     }
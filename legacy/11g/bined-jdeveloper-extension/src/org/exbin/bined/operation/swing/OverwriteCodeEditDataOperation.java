@@ -84,6 +84,7 @@ public class OverwriteCodeEditDataOperation extends CodeEditDataOperation {
         long editedDataPosition = startPosition + length;
 
         byte byteValue = 0;
+        long overwritten = 1;
         if (codeOffset > 0) {
             if (editedDataPosition <= data.getDataSize()) {
                 byteValue = data.getByte(editedDataPosition - 1);
@@ -102,6 +103,7 @@ public class OverwriteCodeEditDataOperation extends CodeEditDataOperation {
                 throw new IllegalStateException("Cannot overwrite outside of the document");
             } else {
                 data.insertUninitialized(editedDataPosition, 1);
+                overwritten = 0;
             }
 
             length++;
@@ -110,6 +112,7 @@ public class OverwriteCodeEditDataOperation extends CodeEditDataOperation {
         byteValue = CodeAreaUtils.setCodeValue(byteValue, value, codeOffset, codeType);
 
         data.setByte(editedDataPosition, byteValue);
+        codeArea.notifyDataModified(editedDataPosition, overwritten, 1);
         codeOffset++;
         if (codeOffset == codeType.getMaxDigitsForByte()) {
             codeOffset = 0;
@@ -65,6 +65,7 @@ public class RemoveDataOperation extends CodeAreaOperation {
             undoOperation = new InsertDataOperation(codeArea, position, codeOffset, undoData);
         }
         ((EditableBinaryData) codeArea.getContentData()).remove(position, length);
+        codeArea.notifyDataModified(position, length, 0);
         ((CaretCapable) codeArea).getCaret().setCaretPosition(position, codeOffset);
         return undoOperation;
     }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.EditableBinaryData;
+
+/**
+ * Operation for replacing whole content of the code area with given data.
+ *
+ * Replacing data is inserted as is, so for delta documents only segments are
+ * transfered and no content is copied.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ReplaceDataOperation extends CodeAreaOperation {
+
+    private final BinaryData data;
+
+    public ReplaceDataOperation(CodeAreaCore codeArea, BinaryData data) {
+        super(codeArea);
+        this.data = data;
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaOperationType getType() {
+        return CodeAreaOperationType.REPLACE_DATA;
+    }
+
+    @Override
+    public void execute() throws BinaryDataOperationException {
+        execute(false);
+    }
+
+    @Override
+    public CodeAreaOperation executeWithUndo() throws BinaryDataOperationException {
+        return execute(true);
+    }
+
+    private CodeAreaOperation execute(boolean withUndo) {
+        EditableBinaryData contentData = (EditableBinaryData) codeArea.getContentData();
+        CodeAreaOperation undoOperation = null;
+        if (withUndo) {
+            undoOperation = new ReplaceDataOperation(codeArea, contentData.copy());
+        }
+        long removedLength = contentData.getDataSize();
+        contentData.remove(0, removedLength);
+        contentData.insert(0, data);
+        codeArea.notifyDataModified(0, removedLength, data.getDataSize());
+        return undoOperation;
+    }
+
+    @Override
+    public void dispose() throws BinaryDataOperationException {
+        super.dispose();
+        data.dispose();
+    }
+}
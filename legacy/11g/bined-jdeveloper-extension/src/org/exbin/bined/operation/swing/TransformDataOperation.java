@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.DataTransform;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.utils.binary_data.EditableBinaryData;
+
+/**
+ * Operation for transforming range of data.
+ *
+ * Data are processed in large blocks which are transformed in parallel and
+ * written back in order. Undo of invertible transformation is inverse
+ * transformation of the same range, so no copy of original data is kept.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TransformDataOperation extends CodeAreaOperation {
+
+    public static final int BLOCK_SIZE = 1048576;
+
+    private final long position;
+    private final long length;
+    private final DataTransform transform;
+
+    public TransformDataOperation(CodeAreaCore codeArea, long position, long length, DataTransform transform) {
+        super(codeArea);
+        this.position = position;
+        this.length = length;
+        this.transform = transform;
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaOperationType getType() {
+        return CodeAreaOperationType.TRANSFORM_DATA;
+    }
+
+    @Nonnull
+    @Override
+    public String getCaption() {
+        return transform.getCaption();
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Nonnull
+    public DataTransform getTransform() {
+        return transform;
+    }
+
+    @Override
+    public void execute() throws BinaryDataOperationException {
+        execute(false);
+    }
+
+    @Override
+    public CodeAreaOperation executeWithUndo() throws BinaryDataOperationException {
+        return execute(true);
+    }
+
+    private CodeAreaOperation execute(boolean withUndo) throws BinaryDataOperationException {
+        EditableBinaryData contentData = (EditableBinaryData) codeArea.getContentData();
+        CodeAreaOperation undoOperation = null;
+        if (withUndo) {
+            DataTransform inverse = transform.getInverse();
+            if (inverse != null) {
+                undoOperation = new TransformDataOperation(codeArea, position, length, inverse);
+            } else {
+                undoOperation = new ModifyDataOperation(codeArea, position, contentData.copy(position, length));
+            }
+        }
+        transformData(contentData);
+        codeArea.notifyDataModified(position, length, length);
+        return undoOperation;
+    }
+
+    private void transformData(EditableBinaryData contentData) throws BinaryDataOperationException {
+        long transformedLength = length - length % transform.getAlignment();
+        long blocksCount = (transformedLength + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int threadsCount = (int) Math.min(Runtime.getRuntime().availableProcessors(), blocksCount);
+        if (threadsCount <= 1) {
+            byte[] buffer = new byte[(int) Math.min(BLOCK_SIZE, transformedLength)];
+            for (long offset = 0; offset < transformedLength; offset += BLOCK_SIZE) {
+                int blockLength = (int) Math.min(BLOCK_SIZE, transformedLength - offset);
+                contentData.copyToArray(position + offset, buffer, 0, blockLength);
+                transform.transform(buffer, 0, blockLength, offset);
+                contentData.replace(position + offset, buffer, 0, blockLength);
+            }
+            return;
+        }
+
+        // Each batch reads one block per thread, transforms them concurrently and writes them in order
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+        try {
+            byte[][] buffers = new byte[threadsCount][BLOCK_SIZE];
+            List<Future<?>> futures = new ArrayList<Future<?>>(threadsCount);
+            long batchSize = (long) threadsCount * BLOCK_SIZE;
+            for (long batchOffset = 0; batchOffset < transformedLength; batchOffset += batchSize) {
+                futures.clear();
+                for (int index = 0; index < threadsCount; index++) {
+                    final long offset = batchOffset + (long) index * BLOCK_SIZE;
+                    if (offset >= transformedLength) {
+                        break;
+                    }
+
+                    final byte[] buffer = buffers[index];
+                    final int blockLength = (int) Math.min(BLOCK_SIZE, transformedLength - offset);
+                    contentData.copyToArray(position + offset, buffer, 0, blockLength);
+                    futures.add(executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            transform.transform(buffer, 0, blockLength, offset);
+                        }
+                    }));
+                }
+
+                for (int index = 0; index < futures.size(); index++) {
+                    futures.get(index).get();
+                    long offset = batchOffset + (long) index * BLOCK_SIZE;
+                    contentData.replace(position + offset, buffers[index], 0, (int) Math.min(BLOCK_SIZE, transformedLength - offset));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BinaryDataOperationException(ex);
+        } catch (ExecutionException ex) {
+            throw new BinaryDataOperationException(ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
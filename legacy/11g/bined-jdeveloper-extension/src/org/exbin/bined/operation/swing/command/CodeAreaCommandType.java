@@ -43,6 +43,10 @@ public enum CodeAreaCommandType {
      * Move data command.
      */
     DATA_MOVED("Data moved"),
+    /**
+     * Replace data command.
+     */
+    DATA_REPLACED("Data replaced"),
     /**
      * Compound command.
      */
@@ -50,7 +54,11 @@ public enum CodeAreaCommandType {
     /**
      * Edit data command.
      */
-    DATA_EDITED("Data edited");
+    DATA_EDITED("Data edited"),
+    /**
+     * Transform data command.
+     */
+    DATA_TRANSFORMED("Data transformed");
 
     private final String caption;
 
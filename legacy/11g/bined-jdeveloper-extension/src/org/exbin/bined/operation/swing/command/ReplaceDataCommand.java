@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing.command;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaCaret;
+import org.exbin.bined.capability.CaretCapable;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.swing.ReplaceDataOperation;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Command for replacing whole content of the code area.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ReplaceDataCommand extends OpCodeAreaCommand {
+
+    public ReplaceDataCommand(CodeAreaCore codeArea, BinaryData data) {
+        super(codeArea);
+        super.setOperation(new ReplaceDataOperation(codeArea, data));
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommandType getType() {
+        return CodeAreaCommandType.DATA_REPLACED;
+    }
+
+    @Override
+    public void redo() throws BinaryDataOperationException {
+        super.redo();
+        limitCaretPosition();
+    }
+
+    @Override
+    public void undo() throws BinaryDataOperationException {
+        super.undo();
+        limitCaretPosition();
+    }
+
+    private void limitCaretPosition() {
+        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
+        long dataSize = codeArea.getDataSize();
+        if (caret.getCaretPosition().getDataPosition() > dataSize) {
+            caret.setCaretPosition(dataSize);
+        }
+    }
+}
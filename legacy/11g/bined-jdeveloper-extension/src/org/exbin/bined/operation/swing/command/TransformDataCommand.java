@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing.command;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.operation.DataTransform;
+import org.exbin.bined.operation.swing.TransformDataOperation;
+import org.exbin.bined.swing.CodeAreaCore;
+
+/**
+ * Command for transforming range of data.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TransformDataCommand extends OpCodeAreaCommand {
+
+    private final String caption;
+
+    public TransformDataCommand(CodeAreaCore codeArea, long position, long length, DataTransform transform) {
+        super(codeArea);
+        caption = transform.getCaption();
+        super.setOperation(new TransformDataOperation(codeArea, position, length, transform));
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCommandType getType() {
+        return CodeAreaCommandType.DATA_TRANSFORMED;
+    }
+
+    @Nonnull
+    @Override
+    public String getCaption() {
+        return caption;
+    }
+}
@@ -30,6 +30,7 @@ import javax.swing.JComponent;
 import org.exbin.bined.CodeAreaControl;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.DataModifiedListener;
 import org.exbin.bined.capability.SelectionCapable;
 import org.exbin.utils.binary_data.BinaryData;
 
@@ -49,6 +50,7 @@ public abstract class CodeAreaCore extends JComponent implements CodeAreaControl
     private CodeAreaCommandHandler commandHandler;
 
     private final List<DataChangedListener> dataChangedListeners = new ArrayList<DataChangedListener>();
+    private final List<DataModifiedListener> dataModifiedListeners = new ArrayList<DataModifiedListener>();
 
     /**
      * Creates new instance with provided command handler factory method.
@@ -201,6 +203,30 @@ public abstract class CodeAreaCore extends JComponent implements CodeAreaControl
         dataChangedListeners.remove(dataChangedListener);
     }
 
+    /**
+     * Notifies component, that given range of internal data was modified.
+     *
+     * Should be followed by notifyDataChanged call once all modifications
+     * are done.
+     *
+     * @param startPosition start position of modified range
+     * @param removedLength length of range before modification
+     * @param insertedLength length of range after modification
+     */
+    public void notifyDataModified(long startPosition, long removedLength, long insertedLength) {
+        for (DataModifiedListener listener : dataModifiedListeners) {
+            listener.dataModified(startPosition, removedLength, insertedLength);
+        }
+    }
+
+    public void addDataModifiedListener(DataModifiedListener dataModifiedListener) {
+        dataModifiedListeners.add(dataModifiedListener);
+    }
+
+    public void removeDataModifiedListener(DataModifiedListener dataModifiedListener) {
+        dataModifiedListeners.remove(dataModifiedListener);
+    }
+
     public abstract void resetPainter();
 
     public abstract void updateLayout();
@@ -28,7 +28,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.ScrollPaneConstants;
-import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.ByteCodeTables;
 import org.exbin.bined.CodeCharactersCase;
 import org.exbin.bined.CodeType;
 import org.exbin.bined.ScrollBarVisibility;
@@ -167,6 +167,13 @@ public class CodeAreaSwingUtils {
     @ParametersAreNonnullByDefault
     public static class CodeDataClipboardData implements ClipboardData {
 
+        private static final int COPY_BLOCK_SIZE = 65536;
+        /**
+         * Maximum length of character array supported by common virtual
+         * machines.
+         */
+        private static final long MAX_TEXT_LENGTH = Integer.MAX_VALUE - 8;
+
         private final BinaryData data;
         private final DataFlavor binaryDataFlavor;
         private final CodeType codeType;
@@ -196,16 +203,29 @@ public class CodeAreaSwingUtils {
             if (flavor.equals(binaryDataFlavor)) {
                 return data;
             } else {
-                int charsPerByte = codeType.getMaxDigitsForByte() + 1;
-                int textLength = (int) (data.getDataSize() * charsPerByte);
+                int digits = codeType.getMaxDigitsForByte();
+                int charsPerByte = digits + 1;
+                long dataSize = data.getDataSize();
+                long textLength = dataSize * charsPerByte;
                 if (textLength > 0) {
                     textLength--;
                 }
+                if (textLength > MAX_TEXT_LENGTH) {
+                    throw new IOException("Data of size " + dataSize + " is too large to be represented as text");
+                }
 
-                char[] targetData = new char[textLength];
+                char[] targetData = new char[(int) textLength];
                 Arrays.fill(targetData, ' ');
-                for (int i = 0; i < data.getDataSize(); i++) {
-                    CodeAreaUtils.byteToCharsCode(data.getByte(i), codeType, targetData, i * charsPerByte, charactersCase);
+                char[] table = ByteCodeTables.getTable(codeType, charactersCase);
+                byte[] buffer = new byte[(int) Math.min(COPY_BLOCK_SIZE, dataSize)];
+                int targetPosition = 0;
+                for (long position = 0; position < dataSize; position += buffer.length) {
+                    int blockLength = (int) Math.min(buffer.length, dataSize - position);
+                    data.copyToArray(position, buffer, 0, blockLength);
+                    for (int i = 0; i < blockLength; i++) {
+                        System.arraycopy(table, (buffer[i] & 0xff) * digits, targetData, targetPosition, digits);
+                        targetPosition += charsPerByte;
+                    }
                 }
                 return new String(targetData);
 //                return new ByteArrayInputStream(new String(dataTarget).getBytes(textPlainUnicodeFlavor.getParameter(MIME_CHARSET)));
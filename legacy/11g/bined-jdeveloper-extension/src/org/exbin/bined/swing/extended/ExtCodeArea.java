@@ -376,6 +376,42 @@ public class ExtCodeArea extends CodeAreaCore implements ExtendedCodeArea, CodeA
         centerOnPosition(new DefaultCodeAreaCaretPosition(dataPosition, dataOffset, section));
     }
 
+    /**
+     * Scrolls vertically so that row of given data position is in the center
+     * of the view.
+     *
+     * @param dataPosition data position
+     */
+    public void centerOnRow(long dataPosition) {
+        if (!isInitialized() || !(painter instanceof ExtendedCodeAreaPainter)) {
+            return;
+        }
+
+        CodeAreaScrollPosition centerOnScrollPosition = ((ExtendedCodeAreaPainter) painter).computeCenterOnRowScrollPosition(dataPosition);
+        setScrollPosition(centerOnScrollPosition);
+        resetPainter();
+        updateScrollBars();
+        notifyScrolled();
+    }
+
+    /**
+     * Scrolls vertically so that row of given data position is at the top of
+     * the view.
+     *
+     * @param dataPosition data position
+     */
+    public void scrollToRow(long dataPosition) {
+        if (!isInitialized() || !(painter instanceof ExtendedCodeAreaPainter)) {
+            return;
+        }
+
+        CodeAreaScrollPosition rowScrollPosition = ((ExtendedCodeAreaPainter) painter).computeRowScrollPosition(dataPosition);
+        setScrollPosition(rowScrollPosition);
+        resetPainter();
+        updateScrollBars();
+        notifyScrolled();
+    }
+
     @Nullable
     @Override
     public CodeAreaCaretPosition mousePositionToClosestCaretPosition(int positionX, int positionY, PositionOverflowMode overflowMode) {
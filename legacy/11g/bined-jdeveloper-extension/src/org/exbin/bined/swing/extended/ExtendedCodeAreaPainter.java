@@ -28,15 +28,20 @@ import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Stroke;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.AdjustmentEvent;
 import java.awt.event.AdjustmentListener;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -45,9 +50,13 @@ import javax.swing.JPanel;
 import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
 import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
+import org.exbin.bined.AsyncBinaryData;
 import org.exbin.bined.BasicCodeAreaSection;
 import org.exbin.bined.BasicCodeAreaZone;
+import org.exbin.bined.ByteCodeTables;
 import org.exbin.bined.CodeAreaCaret;
 import org.exbin.bined.DefaultCodeAreaCaretPosition;
 import org.exbin.bined.CodeAreaSection;
@@ -57,7 +66,10 @@ import org.exbin.bined.CodeCharactersCase;
 import org.exbin.bined.CodeType;
 import org.exbin.bined.EditationOperation;
 import org.exbin.bined.PositionCodeType;
+import org.exbin.bined.PositionCodeCounter;
+import org.exbin.bined.PositionAnchors;
 import org.exbin.bined.PositionOverflowMode;
+import org.exbin.bined.PositionRanges;
 import org.exbin.bined.SelectionRange;
 import org.exbin.bined.basic.CodeAreaScrollPosition;
 import org.exbin.bined.basic.MovementDirection;
@@ -178,6 +190,19 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     @Nullable
     private CursorDataCache cursorDataCache = null;
 
+    @Nullable
+    private Future<?> pendingDataRequest = null;
+    private long pendingDataRequestStart;
+    private long pendingDataRequestEnd;
+    private long lastPaintedDataPosition = 0;
+
+    /**
+     * Minimal delay between repaints while scrollbar thumb is dragged.
+     */
+    private static final int SCROLLBAR_DRAG_REPAINT_DELAY = 40;
+    @Nonnull
+    private final Timer scrollbarDragRepaintTimer;
+
     @Nullable
     private Charset charMappingCharset = null;
     private final char[] charMapping = new char[256];
@@ -186,6 +211,26 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
 
     protected Map<Character, Character> unprintableCharactersMapping = null;
 
+    private static final Color MODIFIED_TINT_COLOR = new Color(255, 160, 48);
+    private static final int MODIFIED_TINT_ALPHA = 96;
+
+    @Nullable
+    private PositionRanges modifiedRanges = null;
+    @Nullable
+    private Color modifiedBackgroundColor = null;
+    @Nullable
+    private Color modifiedTintBase = null;
+    @Nullable
+    private Color modifiedTintColor = null;
+    private long modifiedIntervalStart = 0;
+    private long modifiedIntervalEnd = 0;
+    private boolean modifiedIntervalInside = false;
+
+    @Nullable
+    private PositionAnchors<?> anchors = null;
+    private Color anchorColor = new Color(32, 128, 255);
+    private final List<PositionAnchors.Anchor<?>> rowAnchors = new ArrayList<PositionAnchors.Anchor<?>>();
+
     // Debuging counter
 //    private long paintCounter = 0;
     public ExtendedCodeAreaPainter(CodeAreaCore codeArea) {
@@ -212,6 +257,13 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         scrollPanel.setOpaque(false);
         scrollPanel.setInheritsPopupMenu(true);
         scrollPanel.setViewportBorder(null);
+        scrollbarDragRepaintTimer = new Timer(SCROLLBAR_DRAG_REPAINT_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                codeArea.repaint();
+            }
+        });
+        scrollbarDragRepaintTimer.setRepeats(false);
         JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
         verticalScrollBar.setIgnoreRepaint(true);
         verticalScrollBar.addAdjustmentListener(new VerticalAdjustmentListener());
@@ -355,12 +407,65 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         rowDataCache.headerCodeData = new char[structure.getCodeType().getMaxDigitsForByte()];
         rowDataCache.headerChars = new char[maxRowDataChars + codeLength];
         rowDataCache.headerCharsShifted = shifted ? new char[maxRowDataChars + codeLength] : null;
-        rowDataCache.rowCodeData = new char[structure.getCodeType().getMaxDigitsForByte()];
         rowDataCache.rowData = new byte[structure.getBytesPerRow() + metrics.getMaxBytesPerChar() - 1];
-        rowDataCache.rowPositionCode = new char[rowPositionLength];
         rowDataCache.rowCharacters = new char[maxRowDataChars];
         rowDataCache.rowCharactersShifted = shifted ? new char[maxRowDataChars] : null;
         rowDataCache.unprintables = new byte[(structure.getBytesPerRow() + 7) >> 3];
+        buildRowCells(maxRowDataChars);
+    }
+
+    /**
+     * Precomputes mapping of visible row cells to target characters so that
+     * row data can be formatted without walking the layout for each row.
+     *
+     * @param maxRowDataChars maximum number of characters per row
+     */
+    private void buildRowCells(int maxRowDataChars) {
+        if (positionIterator == null) {
+            rowDataCache.codeCellBytes = null;
+            rowDataCache.codeCellsCount = 0;
+            rowDataCache.previewCellsCount = 0;
+            return;
+        }
+
+        int maxCells = Math.max(maxRowDataChars * 2, 0);
+        rowDataCache.codeCellBytes = new int[maxCells];
+        rowDataCache.codeCellDigits = new int[maxCells];
+        rowDataCache.codeCellTargets = new int[maxCells];
+        rowDataCache.codeCellsCount = 0;
+        rowDataCache.previewCellBytes = new int[maxCells];
+        rowDataCache.previewCellTargets = new int[maxCells];
+        rowDataCache.previewCellsCount = 0;
+        if (maxRowDataChars <= 0) {
+            return;
+        }
+
+        int skipToChar = visibility.getSkipToChar();
+        positionIterator.reset();
+        positionIterator.skip(visibility.getSkipTo());
+        int halfCharPos = positionIterator.getHalfCharPosition();
+        do {
+            if (positionIterator.getPosition() == visibility.getSkipRestFrom()) {
+                break;
+            }
+
+            int charPos = halfCharPos / 2 - skipToChar;
+            if (charPos >= maxRowDataChars) {
+                break;
+            }
+            int target = (charPos << 1) | (halfCharPos & 1);
+            if (positionIterator.getSection() == BasicCodeAreaSection.CODE_MATRIX) {
+                int cell = rowDataCache.codeCellsCount++;
+                rowDataCache.codeCellBytes[cell] = positionIterator.getBytePosition();
+                rowDataCache.codeCellDigits[cell] = positionIterator.getCodeOffset();
+                rowDataCache.codeCellTargets[cell] = target;
+            } else {
+                int cell = rowDataCache.previewCellsCount++;
+                rowDataCache.previewCellBytes[cell] = positionIterator.getBytePosition();
+                rowDataCache.previewCellTargets[cell] = target;
+            }
+            halfCharPos += 2 + positionIterator.nextSpaceType().getHalfCharSize();
+        } while (!positionIterator.isEndReached());
     }
 
     public void fontChanged(Graphics g) {
@@ -438,9 +543,6 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         if (rowDataCache == null) {
             return;
         }
-        if (scrollingState == ScrollingState.SCROLLING_BY_SCROLLBAR) {
-            return;
-        }
 
         if (antialiasingMode != AntialiasingMode.OFF && g instanceof Graphics2D) {
             Object antialiasingHint = antialiasingMode.getAntialiasingHint((Graphics2D) g);
@@ -725,14 +827,21 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
 
         long dataPosition = bytesPerRow * scrollPosition.getRowPosition();
         int positionY = rowPosRectangle.y + rowHeight - subFontSpace - scrollPosition.getRowOffset();
+        PositionCodeCounter rowPositionCounter = rowDataCache.rowPositionCounter;
+        boolean counterPositioned = false;
         g.setColor(colorsProfile.getColor(CodeAreaBasicColors.TEXT_COLOR));
         for (int row = 0; row <= rowsPerRect; row++) {
             if (dataPosition > dataSize) {
                 break;
             }
 
-            CodeAreaUtils.longToBaseCode(rowDataCache.rowPositionCode, 0, dataPosition < 0 ? 0 : dataPosition, structure.getPositionCodeType().getBase(), rowPositionLength, true, CodeCharactersCase.UPPER);
-            drawCenteredChars(g, rowDataCache.rowPositionCode, 0, rowPositionLength, characterWidth, rowPosRectangle.x + dimensions.getLayoutProfile().computeRowPositionOffsetPositionX(), positionY);
+            if (counterPositioned) {
+                rowPositionCounter.add(bytesPerRow);
+            } else {
+                rowPositionCounter.reset(dataPosition, structure.getPositionCodeType().getBase(), rowPositionLength, CodeCharactersCase.UPPER);
+                counterPositioned = dataPosition >= 0;
+            }
+            drawCenteredChars(g, rowPositionCounter.getCodeChars(), 0, rowPositionLength, characterWidth, rowPosRectangle.x + dimensions.getLayoutProfile().computeRowPositionOffsetPositionX(), positionY);
 
             positionY += rowHeight;
             dataPosition += bytesPerRow;
@@ -921,19 +1030,141 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         int rowPositionX = dataViewX - scrolling.getHorizontalScrollX(characterWidth);
         int rowPositionY = dataViewY - scrollPosition.getRowOffset();
 
+        BinaryData contentData = codeArea.getContentData();
+        AsyncBinaryData asyncData = contentData instanceof AsyncBinaryData ? (AsyncBinaryData) contentData : null;
+        int rowDataLength = bytesPerRow + metrics.getMaxBytesPerChar() - 1;
+        long firstRowPosition = dataPosition;
+        long missingStart = -1;
+        long missingEnd = -1;
+
         g.setColor(colorsProfile.getColor(CodeAreaBasicColors.TEXT_COLOR));
         for (int row = 0; row <= rowsPerRect; row++) {
             if (dataPosition > dataSize) {
                 break;
             }
 
-            prepareRowData(dataPosition);
-            paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
-            paintRowText(g, dataPosition, rowPositionX, rowPositionY);
+            if (asyncData != null && dataPosition < dataSize && !asyncData.isDataAvailable(Math.max(dataPosition, 0), rowDataLength)) {
+                // Paint placeholder row and request data in background
+                if (missingStart < 0) {
+                    missingStart = Math.max(dataPosition, 0);
+                }
+                missingEnd = dataPosition + rowDataLength;
+                prepareUnavailableRowData();
+                paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
+            } else {
+                prepareRowData(dataPosition);
+                paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
+                paintRowText(g, dataPosition, rowPositionX, rowPositionY);
+            }
+            if (anchors != null && !anchors.isEmpty()) {
+                paintRowAnchors(g, dataPosition, rowPositionX, rowPositionY);
+            }
 
             rowPositionY += rowHeight;
             dataPosition += bytesPerRow;
         }
+
+        if (asyncData != null) {
+            requestRowsData(asyncData, firstRowPosition, dataPosition, missingStart, missingEnd);
+        }
+    }
+
+    /**
+     * Requests loading of missing rows data including following page in
+     * scrolling direction or prefetches following page if all rows are
+     * available.
+     */
+    private void requestRowsData(AsyncBinaryData asyncData, long startPosition, long endPosition, long missingStart, long missingEnd) {
+        long dataSize = structure.getDataSize();
+        long pageLength = (long) dimensions.getRowsPerPage() * structure.getBytesPerRow();
+        boolean scrollingUp = startPosition < lastPaintedDataPosition;
+        lastPaintedDataPosition = startPosition;
+
+        long requestStart;
+        long requestEnd;
+        if (scrollingState == ScrollingState.SCROLLING_BY_SCROLLBAR) {
+            // Preview while dragging: load visible rows only, drop requests for positions already passed
+            if (missingStart < 0) {
+                return;
+            }
+            requestStart = missingStart;
+            requestEnd = missingEnd;
+            if (pendingDataRequest != null && (pendingDataRequestEnd <= requestStart || pendingDataRequestStart >= requestEnd)) {
+                pendingDataRequest.cancel(false);
+            }
+        } else if (missingStart >= 0) {
+            requestStart = scrollingUp ? missingStart - pageLength : missingStart;
+            requestEnd = scrollingUp ? missingEnd : missingEnd + pageLength;
+        } else {
+            requestStart = scrollingUp ? startPosition - pageLength : endPosition;
+            requestEnd = scrollingUp ? startPosition : endPosition + pageLength;
+        }
+        requestStart = Math.max(requestStart, 0);
+        requestEnd = Math.min(requestEnd, dataSize);
+        if (requestStart >= requestEnd) {
+            return;
+        }
+
+        if (pendingDataRequest != null && !pendingDataRequest.isDone()
+                && pendingDataRequestStart <= requestStart && pendingDataRequestEnd >= requestEnd) {
+            return;
+        }
+        if (missingStart < 0 && asyncData.isDataAvailable(requestStart, requestEnd - requestStart)) {
+            return;
+        }
+
+        final long loadedStart = requestStart;
+        final long loadedEnd = requestEnd;
+        Runnable loadedCallback = missingStart < 0 ? null : new Runnable() {
+            @Override
+            public void run() {
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        repaintDataRange(loadedStart, loadedEnd);
+                    }
+                });
+            }
+        };
+        pendingDataRequestStart = requestStart;
+        pendingDataRequestEnd = requestEnd;
+        pendingDataRequest = asyncData.requestData(requestStart, requestEnd - requestStart, loadedCallback);
+    }
+
+    /**
+     * Repaints rows of main area which are displaying given data range.
+     */
+    private void repaintDataRange(long startPosition, long endPosition) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int rowHeight = metrics.getRowHeight();
+        if (bytesPerRow == 0 || rowHeight == 0) {
+            return;
+        }
+
+        Rectangle dataViewRect = dimensions.getDataViewRectangle();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        long firstRow = scrollPosition.getRowPosition();
+        long startRow = Math.max(startPosition / bytesPerRow - firstRow, 0);
+        long endRow = Math.min((endPosition - 1) / bytesPerRow - firstRow, dimensions.getRowsPerRect());
+        if (startRow > endRow) {
+            return;
+        }
+
+        int positionY = dataViewRect.y - scrollPosition.getRowOffset() + (int) startRow * rowHeight;
+        codeArea.repaint(dataViewRect.x, positionY, dataViewRect.width, (int) (endRow - startRow + 1) * rowHeight);
+    }
+
+    /**
+     * Prepares empty row for data which are not available yet.
+     */
+    private void prepareUnavailableRowData() {
+        Arrays.fill(rowDataCache.rowCharacters, SPACE_CHAR);
+        if (layoutProfile.isHalfShiftedUsed()) {
+            Arrays.fill(rowDataCache.rowCharactersShifted, SPACE_CHAR);
+        }
+        if (showUnprintables) {
+            Arrays.fill(rowDataCache.unprintables, (byte) 0);
+        }
     }
 
     private void prepareRowData(long dataPosition) {
@@ -941,7 +1172,6 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         int bytesPerRow = structure.getBytesPerRow();
         long dataSize = structure.getDataSize();
         CodeType codeType = structure.getCodeType();
-        int skipToChar = visibility.getSkipToChar();
 
         int rowStart = 0;
         if (dataPosition < dataSize) {
@@ -972,95 +1202,96 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             }
         }
 
-        positionIterator.reset();
-        positionIterator.skip(visibility.getSkipTo());
+        if (rowDataCache.codeCellBytes == null) {
+            buildRowCells(visibility.getMaxRowDataChars());
+        }
+
+        int rowBytes = dataPosition < dataSize ? (int) Math.min(dataSize - dataPosition, bytesPerRow) : 0;
+        char[] codeTable = ByteCodeTables.getTable(codeType, codeCharactersCase);
+        int codeDigits = codeType.getMaxDigitsForByte();
         char targetChar;
         Character replacement;
-        int halfCharPos = positionIterator.getHalfCharPosition();
-        boolean first = true;
         int byteOffset;
-        do {
-            BasicCodeAreaSection section = positionIterator.getSection();
-            if (positionIterator.getPosition() == visibility.getSkipRestFrom()) {
-                break;
+        int lastByteOffset = -1;
+        for (int cell = 0; cell < rowDataCache.codeCellsCount; cell++) {
+            byteOffset = rowDataCache.codeCellBytes[cell];
+            if (byteOffset >= rowBytes) {
+                continue;
             }
 
-            byteOffset = positionIterator.getBytePosition();
-            int charPos = halfCharPos / 2 - skipToChar;
-            int codeOffset = positionIterator.getCodeOffset();
-            byte dataByte = rowDataCache.rowData[byteOffset];
-            if (section == BasicCodeAreaSection.CODE_MATRIX) {
-                if (dataPosition + byteOffset < dataSize) {
-                    if (showUnprintables) {
-                        int charDataLength = maxBytesPerChar;
-                        if (byteOffset + charDataLength > rowDataCache.rowData.length) {
-                            charDataLength = rowDataCache.rowData.length - byteOffset;
-                        }
-                        String displayString = new String(rowDataCache.rowData, byteOffset, charDataLength, charset);
-                        if (!displayString.isEmpty()) {
-                            targetChar = displayString.charAt(0);
-                            replacement = unprintableCharactersMapping.get(targetChar);
-                            if (replacement != null) {
-                                rowDataCache.unprintables[byteOffset >> 3] |= 1 << (byteOffset & 7);
-                            }
-                        }
-                    }
-
-                    if (first || codeOffset == 0) {
-                        CodeAreaUtils.byteToCharsCode(dataByte, codeType, rowDataCache.rowCodeData, 0, codeCharactersCase);
-                        first = false;
-                    }
-                    if ((halfCharPos & 1) == 0) {
-                        rowDataCache.rowCharacters[charPos] = rowDataCache.rowCodeData[codeOffset];
-                    } else {
-                        rowDataCache.rowCharactersShifted[charPos] = rowDataCache.rowCodeData[codeOffset];
+            int target = rowDataCache.codeCellTargets[cell];
+            if (showUnprintables && byteOffset != lastByteOffset) {
+                lastByteOffset = byteOffset;
+                int charDataLength = maxBytesPerChar;
+                if (byteOffset + charDataLength > rowDataCache.rowData.length) {
+                    charDataLength = rowDataCache.rowData.length - byteOffset;
+                }
+                String displayString = new String(rowDataCache.rowData, byteOffset, charDataLength, charset);
+                if (!displayString.isEmpty()) {
+                    targetChar = displayString.charAt(0);
+                    replacement = unprintableCharactersMapping.get(targetChar);
+                    if (replacement != null) {
+                        rowDataCache.unprintables[byteOffset >> 3] |= 1 << (byteOffset & 7);
                     }
                 }
+            }
+
+            char codeChar = codeTable[(rowDataCache.rowData[byteOffset] & 0xff) * codeDigits + rowDataCache.codeCellDigits[cell]];
+            if ((target & 1) == 0) {
+                rowDataCache.rowCharacters[target >> 1] = codeChar;
             } else {
-                if (dataPosition + byteOffset >= dataSize) {
-                    break;
-                }
+                rowDataCache.rowCharactersShifted[target >> 1] = codeChar;
+            }
+        }
 
-                if (maxBytesPerChar > 1) {
-                    if (dataPosition + maxBytesPerChar > dataSize) {
-                        maxBytesPerChar = (int) (dataSize - dataPosition);
-                    }
+        if (rowDataCache.previewCellsCount == 0 || rowBytes == 0) {
+            return;
+        }
 
-                    int charDataLength = maxBytesPerChar;
-                    if (byteOffset + charDataLength > rowDataCache.rowData.length) {
-                        charDataLength = rowDataCache.rowData.length - byteOffset;
-                    }
-                    String displayString = new String(rowDataCache.rowData, byteOffset, charDataLength, charset);
-                    if (!displayString.isEmpty()) {
-                        targetChar = displayString.charAt(0);
-                    } else {
-                        targetChar = SPACE_CHAR;
-                    }
-                } else {
-                    if (charMappingCharset == null || charMappingCharset != charset) {
-                        buildCharMapping(charset);
-                    }
+        int previewBytesPerChar = maxBytesPerChar;
+        if (previewBytesPerChar == 1 && (charMappingCharset == null || charMappingCharset != charset)) {
+            buildCharMapping(charset);
+        }
+        for (int cell = 0; cell < rowDataCache.previewCellsCount; cell++) {
+            byteOffset = rowDataCache.previewCellBytes[cell];
+            if (byteOffset >= rowBytes) {
+                break;
+            }
 
-                    targetChar = charMapping[dataByte & 0xFF];
+            if (maxBytesPerChar > 1) {
+                if (dataPosition + previewBytesPerChar > dataSize) {
+                    previewBytesPerChar = (int) (dataSize - dataPosition);
                 }
 
-                if (showUnprintables) {
-                    replacement = unprintableCharactersMapping.get(targetChar);
-                    if (replacement != null) {
-                        rowDataCache.unprintables[byteOffset >> 3] |= 1 << (byteOffset & 7);
-                        targetChar = replacement;
-                    }
-
+                int charDataLength = previewBytesPerChar;
+                if (byteOffset + charDataLength > rowDataCache.rowData.length) {
+                    charDataLength = rowDataCache.rowData.length - byteOffset;
                 }
-
-                if ((halfCharPos & 1) == 0) {
-                    rowDataCache.rowCharacters[charPos] = targetChar;
+                String displayString = new String(rowDataCache.rowData, byteOffset, charDataLength, charset);
+                if (!displayString.isEmpty()) {
+                    targetChar = displayString.charAt(0);
                 } else {
-                    rowDataCache.rowCharactersShifted[charPos] = targetChar;
+                    targetChar = SPACE_CHAR;
                 }
+            } else {
+                targetChar = charMapping[rowDataCache.rowData[byteOffset] & 0xFF];
             }
-            halfCharPos += 2 + positionIterator.nextSpaceType().getHalfCharSize();
-        } while (!positionIterator.isEndReached());
+
+            if (showUnprintables) {
+                replacement = unprintableCharactersMapping.get(targetChar);
+                if (replacement != null) {
+                    rowDataCache.unprintables[byteOffset >> 3] |= 1 << (byteOffset & 7);
+                    targetChar = replacement;
+                }
+            }
+
+            int target = rowDataCache.previewCellTargets[cell];
+            if ((target & 1) == 0) {
+                rowDataCache.rowCharacters[target >> 1] = targetChar;
+            } else {
+                rowDataCache.rowCharactersShifted[target >> 1] = targetChar;
+            }
+        }
     }
 
     /**
@@ -1160,6 +1391,10 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             return section == caret.getSection() ? colorsProfile.getColor(CodeAreaBasicColors.SELECTION_BACKGROUND) : colorsProfile.getColor(CodeAreaBasicColors.SELECTION_MIRROR_BACKGROUND);
         }
 
+        if (modifiedRanges != null && !(section == BasicCodeAreaSection.CODE_MATRIX && halfCharOnRow == codeLastCharPos) && isModifiedPosition(rowDataPosition + byteOnRow)) {
+            return getModifiedBackgroundColor();
+        }
+
         if (showUnprintables && unprintable) {
             return colorsProfile.getColor(CodeAreaUnprintablesColorType.UNPRINTABLES_BACKGROUND, null);
         }
@@ -1167,6 +1402,56 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         return null;
     }
 
+    /**
+     * Returns true if given position is in modified range.
+     *
+     * Interval of positions with the same state around last looked up
+     * position is cached, so ranges are searched only when painting crosses
+     * boundary of range.
+     */
+    private boolean isModifiedPosition(long dataPosition) {
+        if (dataPosition < modifiedIntervalStart || dataPosition >= modifiedIntervalEnd) {
+            int index = modifiedRanges.findRange(dataPosition);
+            long rangeEnd = index >= 0 ? modifiedRanges.getRangeStart(index) + modifiedRanges.getRangeLength(index) : 0;
+            if (dataPosition < rangeEnd) {
+                modifiedIntervalStart = modifiedRanges.getRangeStart(index);
+                modifiedIntervalEnd = rangeEnd;
+                modifiedIntervalInside = true;
+            } else {
+                modifiedIntervalStart = rangeEnd;
+                modifiedIntervalEnd = index + 1 < modifiedRanges.getRangesCount() ? modifiedRanges.getRangeStart(index + 1) : Long.MAX_VALUE;
+                modifiedIntervalInside = false;
+            }
+        }
+
+        return modifiedIntervalInside;
+    }
+
+    @Nonnull
+    private Color getModifiedBackgroundColor() {
+        if (modifiedBackgroundColor != null) {
+            return modifiedBackgroundColor;
+        }
+
+        Color textBackground = colorsProfile.getColor(CodeAreaBasicColors.TEXT_BACKGROUND);
+        if (modifiedTintColor == null || textBackground != modifiedTintBase) {
+            modifiedTintBase = textBackground;
+            if (textBackground == null) {
+                modifiedTintColor = MODIFIED_TINT_COLOR;
+            } else {
+                modifiedTintColor = new Color(
+                        blendTint(MODIFIED_TINT_COLOR.getRed(), textBackground.getRed()),
+                        blendTint(MODIFIED_TINT_COLOR.getGreen(), textBackground.getGreen()),
+                        blendTint(MODIFIED_TINT_COLOR.getBlue(), textBackground.getBlue()));
+            }
+        }
+        return modifiedTintColor;
+    }
+
+    private static int blendTint(int tint, int background) {
+        return (tint * MODIFIED_TINT_ALPHA + background * (255 - MODIFIED_TINT_ALPHA)) / 255;
+    }
+
     @Nullable
     @Override
     public PositionScrollVisibility computePositionScrollVisibility(CodeAreaCaretPosition caretPosition) {
@@ -1224,6 +1509,142 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         return scrolling.computeCenterOnScrollPosition(rowPosition, halfCharPosition, bytesPerRow, rowsPerRect, halfCharsPerRect, dataViewWidth, dataViewHeight, rowOffset, characterWidth, rowHeight);
     }
 
+    /**
+     * Computes scroll position with row of given data position in the center
+     * of the view, keeping horizontal position.
+     *
+     * @param dataPosition data position
+     * @return scroll position
+     */
+    @Nonnull
+    public CodeAreaScrollPosition computeCenterOnRowScrollPosition(long dataPosition) {
+        return scrolling.computeCenterOnRowScrollPosition(dataPosition / structure.getBytesPerRow(), dimensions.getRowsPerRect());
+    }
+
+    /**
+     * Computes scroll position with row of given data position at the top of
+     * the view, keeping horizontal position.
+     *
+     * @param dataPosition data position
+     * @return scroll position
+     */
+    @Nonnull
+    public CodeAreaScrollPosition computeRowScrollPosition(long dataPosition) {
+        return scrolling.computeRowScrollPosition(dataPosition / structure.getBytesPerRow());
+    }
+
+    /**
+     * Returns count of bytes per row of current layout.
+     *
+     * @return bytes per row
+     */
+    public int getBytesPerRow() {
+        return structure.getBytesPerRow();
+    }
+
+    /**
+     * Returns count of fully visible rows per page.
+     *
+     * @return rows per page
+     */
+    public int getRowsPerPage() {
+        return dimensions.getRowsPerPage();
+    }
+
+    /**
+     * Sets ranges of modified data painted with modified background.
+     *
+     * @param modifiedRanges modified ranges or null for none
+     */
+    public void setModifiedRanges(@Nullable PositionRanges modifiedRanges) {
+        this.modifiedRanges = modifiedRanges;
+        modifiedIntervalStart = 0;
+        modifiedIntervalEnd = 0;
+    }
+
+    @Nullable
+    public PositionRanges getModifiedRanges() {
+        return modifiedRanges;
+    }
+
+    /**
+     * Sets anchors painted as marked bytes or null to paint no anchors.
+     *
+     * @param anchors anchors
+     */
+    public void setAnchors(@Nullable PositionAnchors<?> anchors) {
+        this.anchors = anchors;
+    }
+
+    @Nullable
+    public PositionAnchors<?> getAnchors() {
+        return anchors;
+    }
+
+    public void setAnchorColor(Color anchorColor) {
+        this.anchorColor = anchorColor;
+    }
+
+    /**
+     * Paints marks of anchors of given row.
+     *
+     * Anchors of the row are obtained by single range query.
+     *
+     * @param g graphics
+     * @param rowDataPosition row data position
+     * @param rowPositionX row position X
+     * @param rowPositionY row position Y
+     */
+    public void paintRowAnchors(Graphics g, long rowDataPosition, int rowPositionX, int rowPositionY) {
+        rowAnchors.clear();
+        anchors.collectAnchors(rowDataPosition, rowDataPosition + structure.getBytesPerRow(), rowAnchors);
+        if (rowAnchors.isEmpty()) {
+            return;
+        }
+
+        int characterWidth = metrics.getCharacterWidth();
+        int halfSpaceWidth = characterWidth / 2;
+        int rowHeight = metrics.getRowHeight();
+        int markSize = Math.max(3, rowHeight / 3);
+        int codeWidth = characterWidth * structure.getCodeType().getMaxDigitsForByte();
+        CodeAreaViewMode viewMode = structure.getViewMode();
+        g.setColor(anchorColor);
+        long lastPosition = -1;
+        for (PositionAnchors.Anchor<?> anchor : rowAnchors) {
+            long position = anchor.getPosition();
+            if (position == lastPosition) {
+                continue;
+            }
+            lastPosition = position;
+
+            int byteOnRow = (int) (position - rowDataPosition);
+            if (viewMode != CodeAreaViewMode.TEXT_PREVIEW) {
+                int positionX = rowPositionX + layoutProfile.computePositionX(structure.computeFirstCodeHalfCharPos(byteOnRow, BasicCodeAreaSection.CODE_MATRIX), characterWidth, halfSpaceWidth);
+                paintAnchorMark(g, positionX, rowPositionY, codeWidth, rowHeight, markSize);
+            }
+            if (viewMode != CodeAreaViewMode.CODE_MATRIX) {
+                int positionX = rowPositionX + layoutProfile.computePositionX(structure.computeFirstCodeHalfCharPos(byteOnRow, BasicCodeAreaSection.TEXT_PREVIEW), characterWidth, halfSpaceWidth);
+                paintAnchorMark(g, positionX, rowPositionY, characterWidth, rowHeight, markSize);
+            }
+        }
+        rowAnchors.clear();
+    }
+
+    private static void paintAnchorMark(Graphics g, int positionX, int positionY, int width, int height, int markSize) {
+        g.drawRect(positionX, positionY, width - 1, height - 1);
+        g.fillPolygon(new int[]{positionX, positionX + markSize, positionX}, new int[]{positionY, positionY, positionY + markSize}, 3);
+    }
+
+    /**
+     * Sets background color of modified data.
+     *
+     * @param modifiedBackgroundColor color or null to derive tint from text
+     * background
+     */
+    public void setModifiedBackgroundColor(@Nullable Color modifiedBackgroundColor) {
+        this.modifiedBackgroundColor = modifiedBackgroundColor;
+    }
+
     private int computeHalfCharPosition(long dataPosition, int bytesPerRow, CodeAreaCaretPosition caretPosition) {
         int byteOffset = (int) (dataPosition % bytesPerRow);
         return structure.computeFirstCodeHalfCharPos(byteOffset, getSection(caretPosition)) + caretPosition.getCodeOffset() * 2;
@@ -2039,6 +2460,17 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             scrolling.updateVerticalScrollBarValue(scrollBarValue, metrics.getRowHeight(), maxValue, rowsPerDocumentToLastPage);
             ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
             notifyScrolled();
+            if (e.getValueIsAdjusting()) {
+                // Throttle repaints while thumb is dragged
+                scrollingState = ScrollingState.SCROLLING_BY_SCROLLBAR;
+                if (!scrollbarDragRepaintTimer.isRunning()) {
+                    scrollbarDragRepaintTimer.start();
+                }
+                return;
+            }
+
+            scrollingState = ScrollingState.NO_SCROLLING;
+            scrollbarDragRepaintTimer.stop();
             codeArea.repaint();
 //            dataViewScrolled(codeArea.getGraphics());
         }
@@ -2074,12 +2506,24 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         char[] headerCodeData;
         char[] headerChars;
         char[] headerCharsShifted;
-        char[] rowCodeData;
         byte[] rowData;
-        char[] rowPositionCode;
+        final PositionCodeCounter rowPositionCounter = new PositionCodeCounter();
         char[] rowCharacters;
         char[] rowCharactersShifted;
         byte[] unprintables;
+
+        /**
+         * Visible code cells: byte on row, digit of the code and target
+         * character position shifted left by one with lowest bit set for
+         * half-shifted characters.
+         */
+        int[] codeCellBytes;
+        int[] codeCellDigits;
+        int[] codeCellTargets;
+        int codeCellsCount;
+        int[] previewCellBytes;
+        int[] previewCellTargets;
+        int previewCellsCount;
     }
 
     private static class CursorDataCache {
@@ -611,6 +611,44 @@ public class ExtendedCodeAreaScrolling {
         return targetScrollPosition;
     }
 
+    /**
+     * Computes scroll position with given row in the center of the view,
+     * keeping current horizontal position.
+     *
+     * @param rowPosition row position
+     * @param rowsPerRect rows per view rectangle
+     * @return scroll position
+     */
+    @Nonnull
+    public CodeAreaScrollPosition computeCenterOnRowScrollPosition(long rowPosition, int rowsPerRect) {
+        return computeRowScrollPosition(Math.max(0, rowPosition - rowsPerRect / 2));
+    }
+
+    /**
+     * Computes scroll position with given row at the top of the view, keeping
+     * current horizontal position.
+     *
+     * @param rowPosition row position
+     * @return scroll position
+     */
+    @Nonnull
+    public CodeAreaScrollPosition computeRowScrollPosition(long rowPosition) {
+        CodeAreaScrollPosition targetScrollPosition = new CodeAreaScrollPosition();
+        targetScrollPosition.setScrollPosition(scrollPosition);
+
+        long targetRowPosition = Math.max(0, rowPosition);
+        int targetRowOffset = 0;
+        CodeAreaScrollPosition rowScrollPosition = new CodeAreaScrollPosition(targetRowPosition, 0, 0, 0);
+        if (rowScrollPosition.isRowPositionGreaterThan(maximumScrollPosition)) {
+            targetRowPosition = maximumScrollPosition.getRowPosition();
+            targetRowOffset = maximumScrollPosition.getRowOffset();
+        }
+
+        targetScrollPosition.setRowPosition(targetRowPosition);
+        targetScrollPosition.setRowOffset(targetRowOffset);
+        return targetScrollPosition;
+    }
+
     @Nonnull
     public void updateMaximumScrollPosition(long rowsPerDocument, int rowsPerPage, int halfCharsPerRow, int halfCharsPerPage, int halfCharOffset, int rowOffset, int characterWidth) {
         maximumScrollPosition.reset();
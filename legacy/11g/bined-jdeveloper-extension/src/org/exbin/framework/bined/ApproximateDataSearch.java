@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Search of matches of masked pattern with limited number of mismatching
+ * bytes over binary data.
+ *
+ * Data are read in blocks and processed by {@link ApproximatePatternMatcher}.
+ * State of matcher is kept when search continues after the previous match, so
+ * sequential search of non-overlapping matches costs single pass.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ApproximateDataSearch {
+
+    public static final int BLOCK_SIZE = 65536;
+
+    private final BinaryData data;
+    private final ApproximatePatternMatcher matcher;
+    private final long dataSize;
+    private ProgressListener progressListener = null;
+
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private long blockStart = 0;
+    private int blockLength = 0;
+    // Next position to process and start of the first alignment tracked by matcher
+    private long scanPosition = -1;
+    private long alignmentsStart = -1;
+    private int mismatches = 0;
+
+    public ApproximateDataSearch(BinaryData data, MaskedPattern pattern, int maxMismatches) {
+        this.data = data;
+        matcher = new ApproximatePatternMatcher(pattern, maxMismatches);
+        dataSize = data.getDataSize();
+    }
+
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Finds next match starting at or after given position.
+     *
+     * @param fromPosition start position
+     * @return position of found match or -1 if there is no further match
+     * @throws InterruptedException if current thread was interrupted
+     */
+    public long findNext(long fromPosition) throws InterruptedException {
+        int patternLength = matcher.getPatternLength();
+        // Matcher state can be reused only if no alignment starting at or after given position was skipped
+        if (scanPosition < 0 || fromPosition < alignmentsStart || fromPosition <= scanPosition - patternLength || fromPosition > scanPosition) {
+            matcher.reset();
+            scanPosition = fromPosition;
+            alignmentsStart = fromPosition;
+        }
+
+        while (scanPosition < dataSize) {
+            if (scanPosition < blockStart || scanPosition >= blockStart + blockLength) {
+                loadBlock(scanPosition);
+            }
+
+            int offset = (int) (scanPosition - blockStart);
+            int matchEnd = matcher.process(block, offset, blockLength - offset);
+            if (matchEnd < 0) {
+                scanPosition = blockStart + blockLength;
+                continue;
+            }
+
+            scanPosition = blockStart + matchEnd + 1;
+            long matchPosition = scanPosition - patternLength;
+            if (matchPosition >= fromPosition) {
+                mismatches = matcher.getMismatches();
+                return matchPosition;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns length of match.
+     *
+     * @return length of pattern
+     */
+    public int getMatchLength() {
+        return matcher.getPatternLength();
+    }
+
+    /**
+     * Returns number of mismatching bytes of match found by last call of
+     * findNext.
+     *
+     * @return mismatches count
+     */
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    private void loadBlock(long position) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (progressListener != null) {
+            progressListener.progress(position, dataSize);
+        }
+
+        blockStart = position;
+        blockLength = (int) Math.min(BLOCK_SIZE, dataSize - position);
+        data.copyToArray(blockStart, block, 0, blockLength);
+    }
+
+    /**
+     * Listener for search progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports that search reached given position.
+         *
+         * @param position current position
+         * @param dataSize size of data
+         */
+        void progress(long position, long dataSize);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Bit-parallel matcher of pattern with limited number of mismatching bytes
+ * using Shift-Add algorithm.
+ *
+ * Each pattern position has counter of mismatches in field of few bits packed
+ * in 64-bit words together with separate word of overflow flags, so single
+ * processed byte costs table lookup, shift and add per state word. Counter
+ * reaching half of the field range sets sticky overflow flag, which marks
+ * alignment as exceeding the limit. Data are processed in blocks and state is
+ * kept between calls.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ApproximatePatternMatcher {
+
+    private final int patternLength;
+    private final int maxMismatches;
+    private final int fieldBits;
+    private final int fieldsPerWord;
+    private final int wordsCount;
+    private final long[] table;
+    private final long[] wordMasks;
+    private final long[] highBits;
+    private final long[] state;
+    private final long[] overflow;
+    private final int lastWord;
+    private final int lastFieldShift;
+    private final long fieldMask;
+    private final long counterMask;
+    private final long fieldHighBit;
+    private final int counterBias;
+    private int mismatches = 0;
+
+    public ApproximatePatternMatcher(MaskedPattern pattern, int maxMismatches) {
+        patternLength = pattern.getLength();
+        if (patternLength == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        if (maxMismatches < 0) {
+            throw new IllegalArgumentException("Negative mismatches count");
+        }
+        this.maxMismatches = Math.min(maxMismatches, patternLength);
+
+        int bits = 1;
+        while ((1 << (bits - 1)) < this.maxMismatches + 1) {
+            bits++;
+        }
+        fieldBits = bits;
+        fieldsPerWord = 64 / fieldBits;
+        wordsCount = (patternLength + fieldsPerWord - 1) / fieldsPerWord;
+        fieldMask = fieldBits == 64 ? -1L : (1L << fieldBits) - 1;
+        fieldHighBit = 1L << (fieldBits - 1);
+        counterMask = fieldHighBit - 1;
+        counterBias = (int) fieldHighBit - (this.maxMismatches + 1);
+
+        wordMasks = new long[wordsCount];
+        highBits = new long[wordsCount];
+        for (int word = 0; word < wordsCount; word++) {
+            int fields = Math.min(fieldsPerWord, patternLength - word * fieldsPerWord);
+            wordMasks[word] = fields * fieldBits == 64 ? -1L : (1L << (fields * fieldBits)) - 1;
+            for (int field = 0; field < fields; field++) {
+                highBits[word] |= fieldHighBit << (field * fieldBits);
+            }
+        }
+        lastWord = (patternLength - 1) / fieldsPerWord;
+        lastFieldShift = ((patternLength - 1) % fieldsPerWord) * fieldBits;
+
+        table = new long[256 * wordsCount];
+        for (int value = 0; value < 256; value++) {
+            for (int index = 0; index < patternLength; index++) {
+                if (!pattern.matches(index, (byte) value)) {
+                    table[value * wordsCount + index / fieldsPerWord] |= 1L << ((index % fieldsPerWord) * fieldBits);
+                }
+            }
+            table[value * wordsCount] += counterBias;
+        }
+
+        state = new long[wordsCount];
+        overflow = new long[wordsCount];
+        reset();
+    }
+
+    public int getPatternLength() {
+        return patternLength;
+    }
+
+    public int getMaxMismatches() {
+        return maxMismatches;
+    }
+
+    /**
+     * Returns number of mismatches of last found match.
+     *
+     * @return mismatches count
+     */
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * Resets state of partial matches.
+     *
+     * Alignments starting before following data are marked as overflown.
+     */
+    public void reset() {
+        for (int word = 0; word < wordsCount; word++) {
+            state[word] = 0;
+            overflow[word] = wordMasks[word];
+        }
+    }
+
+    /**
+     * Processes block of data until first match is found.
+     *
+     * Processing can be continued from the next index after returned one.
+     *
+     * @param block data block
+     * @param offset offset in block
+     * @param length length of data to process
+     * @return index of the last byte of the match in block or -1 if no match
+     * was completed in processed data
+     */
+    public int process(byte[] block, int offset, int length) {
+        int end = offset + length;
+        long lastHighBit = fieldHighBit << lastFieldShift;
+        if (wordsCount == 1) {
+            long[] currentTable = table;
+            int shift = fieldBits;
+            long currentState = state[0];
+            long currentOverflow = overflow[0];
+            long wordMask = wordMasks[0];
+            long high = highBits[0];
+            for (int i = offset; i < end; i++) {
+                currentState = ((currentState << shift) + currentTable[block[i] & 0xff]) & wordMask;
+                currentOverflow = ((currentOverflow << shift) | (currentState & high)) & wordMask;
+                currentState &= ~high;
+                if ((currentOverflow & lastHighBit) == 0) {
+                    state[0] = currentState;
+                    overflow[0] = currentOverflow;
+                    mismatches = (int) ((currentState >>> lastFieldShift) & counterMask) - counterBias;
+                    return i;
+                }
+            }
+            state[0] = currentState;
+            overflow[0] = currentOverflow;
+            return -1;
+        }
+
+        long[] currentTable = table;
+        long[] currentState = state;
+        long[] currentOverflow = overflow;
+        int shift = fieldBits;
+        int carryShift = (fieldsPerWord - 1) * fieldBits;
+        for (int i = offset; i < end; i++) {
+            int tableOffset = (block[i] & 0xff) * wordsCount;
+            long carryState = 0;
+            long carryOverflow = 0;
+            for (int word = 0; word < wordsCount; word++) {
+                long previousState = currentState[word];
+                long previousOverflow = currentOverflow[word];
+                long wordMask = wordMasks[word];
+                long high = highBits[word];
+                long nextState = (((previousState << shift) | carryState) + currentTable[tableOffset + word]) & wordMask;
+                currentOverflow[word] = ((previousOverflow << shift) | carryOverflow | (nextState & high)) & wordMask;
+                currentState[word] = nextState & ~high;
+                carryState = (previousState >>> carryShift) & fieldMask;
+                carryOverflow = (previousOverflow >>> carryShift) & fieldMask;
+            }
+            if ((currentOverflow[lastWord] & lastHighBit) == 0) {
+                mismatches = (int) ((currentState[lastWord] >>> lastFieldShift) & counterMask) - counterBias;
+                return i;
+            }
+        }
+        return -1;
+    }
+}
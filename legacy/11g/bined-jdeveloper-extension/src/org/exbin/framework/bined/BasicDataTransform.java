@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.operation.DataTransform;
+
+/**
+ * Basic invertible bitwise and arithmetic transformations of data.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BasicDataTransform implements DataTransform {
+
+    private final Type type;
+    @Nullable
+    private final byte[] key;
+    private final int value;
+
+    private BasicDataTransform(Type type, @Nullable byte[] key, int value) {
+        this.type = type;
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Creates XOR with key repeated from the start of transformed range.
+     *
+     * @param key non-empty key
+     * @return transformation
+     */
+    @Nonnull
+    public static BasicDataTransform xor(byte[] key) {
+        if (key.length == 0) {
+            throw new IllegalArgumentException("Key cannot be empty");
+        }
+        return new BasicDataTransform(Type.XOR, Arrays.copyOf(key, key.length), 0);
+    }
+
+    /**
+     * Creates addition of value to each byte modulo 256.
+     *
+     * @param value added value
+     * @return transformation
+     */
+    @Nonnull
+    public static BasicDataTransform add(int value) {
+        return new BasicDataTransform(Type.ADD, null, value & 0xff);
+    }
+
+    /**
+     * Creates subtraction of value from each byte modulo 256.
+     *
+     * @param value subtracted value
+     * @return transformation
+     */
+    @Nonnull
+    public static BasicDataTransform subtract(int value) {
+        return new BasicDataTransform(Type.SUBTRACT, null, value & 0xff);
+    }
+
+    @Nonnull
+    public static BasicDataTransform invert() {
+        return new BasicDataTransform(Type.INVERT, null, 0);
+    }
+
+    /**
+     * Creates reversal of byte order of words.
+     *
+     * @param wordSize size of word, 2, 4 or 8 bytes
+     * @return transformation
+     */
+    @Nonnull
+    public static BasicDataTransform swap(int wordSize) {
+        switch (wordSize) {
+            case 2:
+                return new BasicDataTransform(Type.SWAP_16, null, 2);
+            case 4:
+                return new BasicDataTransform(Type.SWAP_32, null, 4);
+            case 8:
+                return new BasicDataTransform(Type.SWAP_64, null, 8);
+            default:
+                throw new IllegalArgumentException("Unsupported word size " + wordSize);
+        }
+    }
+
+    /**
+     * Creates rotation of bits of each byte towards most significant bit.
+     *
+     * @param bits count of bits
+     * @return transformation
+     */
+    @Nonnull
+    public static BasicDataTransform rotateLeft(int bits) {
+        return new BasicDataTransform(Type.ROTATE_LEFT, null, bits & 7);
+    }
+
+    /**
+     * Creates rotation of bits of each byte towards least significant bit.
+     *
+     * @param bits count of bits
+     * @return transformation
+     */
+    @Nonnull
+    public static BasicDataTransform rotateRight(int bits) {
+        return new BasicDataTransform(Type.ROTATE_RIGHT, null, bits & 7);
+    }
+
+    @Nonnull
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public void transform(byte[] data, int offset, int length, long rangeOffset) {
+        int end = offset + length;
+        switch (type) {
+            case XOR: {
+                int keyIndex = (int) (rangeOffset % key.length);
+                for (int index = offset; index < end; index++) {
+                    data[index] ^= key[keyIndex];
+                    keyIndex++;
+                    if (keyIndex == key.length) {
+                        keyIndex = 0;
+                    }
+                }
+                break;
+            }
+            case ADD: {
+                for (int index = offset; index < end; index++) {
+                    data[index] += value;
+                }
+                break;
+            }
+            case SUBTRACT: {
+                for (int index = offset; index < end; index++) {
+                    data[index] -= value;
+                }
+                break;
+            }
+            case INVERT: {
+                for (int index = offset; index < end; index++) {
+                    data[index] = (byte) ~data[index];
+                }
+                break;
+            }
+            case SWAP_16:
+            case SWAP_32:
+            case SWAP_64: {
+                int wordsEnd = end - length % value;
+                for (int wordStart = offset; wordStart < wordsEnd; wordStart += value) {
+                    for (int low = wordStart, high = wordStart + value - 1; low < high; low++, high--) {
+                        byte swapped = data[low];
+                        data[low] = data[high];
+                        data[high] = swapped;
+                    }
+                }
+                break;
+            }
+            case ROTATE_LEFT:
+            case ROTATE_RIGHT: {
+                int leftBits = type == Type.ROTATE_LEFT ? value : (8 - value) & 7;
+                if (leftBits == 0) {
+                    break;
+                }
+                for (int index = offset; index < end; index++) {
+                    int byteValue = data[index] & 0xff;
+                    data[index] = (byte) ((byteValue << leftBits) | (byteValue >> (8 - leftBits)));
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected transformation type " + type.name());
+        }
+    }
+
+    @Override
+    public int getAlignment() {
+        switch (type) {
+            case SWAP_16:
+            case SWAP_32:
+            case SWAP_64:
+                return value;
+            default:
+                return 1;
+        }
+    }
+
+    @Nullable
+    @Override
+    public DataTransform getInverse() {
+        switch (type) {
+            case ADD:
+                return new BasicDataTransform(Type.SUBTRACT, null, value);
+            case SUBTRACT:
+                return new BasicDataTransform(Type.ADD, null, value);
+            case ROTATE_LEFT:
+                return new BasicDataTransform(Type.ROTATE_RIGHT, null, value);
+            case ROTATE_RIGHT:
+                return new BasicDataTransform(Type.ROTATE_LEFT, null, value);
+            default:
+                // Remaining transformations are involutions
+                return this;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String getCaption() {
+        switch (type) {
+            case XOR:
+                return type.getDisplayName() + " " + toHex(key);
+            case ADD:
+            case SUBTRACT:
+                return type.getDisplayName() + " 0x" + toHex(new byte[]{(byte) value});
+            case ROTATE_LEFT:
+            case ROTATE_RIGHT:
+                return type.getDisplayName() + " by " + value;
+            default:
+                return type.getDisplayName();
+        }
+    }
+
+    @Nonnull
+    private static String toHex(byte[] value) {
+        StringBuilder builder = new StringBuilder(value.length * 2);
+        for (byte b : value) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Type of transformation.
+     */
+    public enum Type {
+        XOR("XOR"),
+        ADD("Add"),
+        SUBTRACT("Subtract"),
+        INVERT("Invert bits"),
+        SWAP_16("Swap bytes of 16-bit words"),
+        SWAP_32("Swap bytes of 32-bit words"),
+        SWAP_64("Swap bytes of 64-bit words"),
+        ROTATE_LEFT("Rotate bits left"),
+        ROTATE_RIGHT("Rotate bits right");
+
+        private final String displayName;
+
+        private Type(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Nonnull
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
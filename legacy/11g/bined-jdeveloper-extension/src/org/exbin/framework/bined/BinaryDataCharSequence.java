@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.CancellationException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Read-only character sequence view of range of binary data.
+ *
+ * Each byte is mapped to single character using table, so character indexes
+ * equal byte offsets. Data are read through small page buffer without copying
+ * whole range. Access fails with {@link CancellationException} once current
+ * thread is interrupted, so that long running regular expression matching can
+ * be cancelled.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryDataCharSequence implements CharSequence {
+
+    private static final int PAGE_SIZE = 65536;
+    private static final int INTERRUPT_CHECK_INTERVAL = 1048576;
+
+    private final BinaryData data;
+    private final long startPosition;
+    private final int length;
+    private final char[] charTable;
+    private byte[] page = null;
+    private long pageStart = 0;
+    private int pageLength = 0;
+    private int interruptCheckCountdown = INTERRUPT_CHECK_INTERVAL;
+
+    public BinaryDataCharSequence(BinaryData data, long startPosition, int length, char[] charTable) {
+        this.data = data;
+        this.startPosition = startPosition;
+        this.length = length;
+        this.charTable = charTable;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index out of range: " + index);
+        }
+
+        if (--interruptCheckCountdown < 0) {
+            checkInterrupted();
+        }
+
+        long position = startPosition + index;
+        if (page == null || position < pageStart || position >= pageStart + pageLength) {
+            loadPage(position);
+        }
+
+        return charTable[page[(int) (position - pageStart)] & 0xff];
+    }
+
+    @Nonnull
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " - " + end);
+        }
+
+        return new BinaryDataCharSequence(data, startPosition + start, end - start, charTable);
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(charAt(i));
+        }
+
+        return builder.toString();
+    }
+
+    private void loadPage(long position) {
+        checkInterrupted();
+        if (page == null) {
+            page = new byte[Math.min(PAGE_SIZE, length)];
+        }
+
+        long endPosition = startPosition + length;
+        pageStart = position;
+        pageLength = (int) Math.min(page.length, endPosition - position);
+        data.copyToArray(pageStart, page, 0, pageLength);
+    }
+
+    private void checkInterrupted() {
+        interruptCheckCountdown = INTERRUPT_CHECK_INTERVAL;
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Creates table mapping byte values to characters.
+     *
+     * Single byte charsets are decoded using given charset, ISO-8859-1 mapping
+     * is used otherwise.
+     *
+     * @param charset charset
+     * @return table of 256 characters
+     */
+    @Nonnull
+    public static char[] createCharTable(Charset charset) {
+        boolean singleByte = charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1;
+        char[] table = new char[256];
+        for (int value = 0; value < 256; value++) {
+            if (singleByte) {
+                String decoded = new String(new byte[]{(byte) value}, charset);
+                table[value] = decoded.length() == 1 ? decoded.charAt(0) : '\uFFFD';
+            } else {
+                table[value] = (char) value;
+            }
+        }
+
+        return table;
+    }
+}
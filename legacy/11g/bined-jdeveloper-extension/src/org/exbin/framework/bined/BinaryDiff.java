@@ -0,0 +1,672 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.delta.DataSegment;
+import org.exbin.bined.delta.DeltaDocument;
+import org.exbin.bined.delta.FileDataSource;
+import org.exbin.bined.delta.FileSegment;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Comparison of two binary data finding changed, inserted and deleted ranges.
+ *
+ * For delta documents over the same file, file segments referring to the
+ * same part of the file are matched without reading data. Remaining ranges
+ * are aligned by blocks of right data found in left data using rolling hash,
+ * matches are then extended by direct comparison. Hashing and scanning runs
+ * in parallel, data are read by single thread.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryDiff {
+
+    public static final int MIN_BLOCK_SIZE = 32;
+    public static final int MAX_BLOCKS_COUNT = 1 << 20;
+    public static final int CHUNK_SIZE = 1 << 20;
+    private static final int COMPARE_BUFFER_SIZE = 65536;
+    /**
+     * Changed runs separated by less equal bytes are reported as single
+     * difference.
+     */
+    private static final int MERGE_DISTANCE = 8;
+    private static final int HASH_MULTIPLIER = 0x01000193;
+
+    private final int threadsCount;
+    private final byte[] leftBuffer = new byte[COMPARE_BUFFER_SIZE];
+    private final byte[] rightBuffer = new byte[COMPARE_BUFFER_SIZE];
+    private ExecutorService executor;
+    private ProgressListener progressListener;
+    private long processed;
+    private long total;
+
+    public BinaryDiff() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BinaryDiff(int threadsCount) {
+        this.threadsCount = Math.max(1, threadsCount);
+    }
+
+    /**
+     * Computes differences between left and right data.
+     *
+     * @param left left data
+     * @param right right data
+     * @param progressListener progress listener or null
+     * @return differences ordered by position
+     * @throws InterruptedException if current thread was interrupted
+     */
+    @Nonnull
+    public List<Difference> compute(BinaryData left, BinaryData right, @Nullable ProgressListener progressListener) throws InterruptedException {
+        this.progressListener = progressListener;
+        processed = 0;
+        total = left.getDataSize() + right.getDataSize();
+        List<Difference> differences = new ArrayList<Difference>();
+        executor = Executors.newFixedThreadPool(threadsCount);
+        try {
+            long leftPosition = 0;
+            long rightPosition = 0;
+            for (Match anchor : findSegmentAnchors(left, right)) {
+                diffRange(left, leftPosition, anchor.leftPosition - leftPosition, right, rightPosition, anchor.rightPosition - rightPosition, differences);
+                leftPosition = anchor.leftPosition + anchor.length;
+                rightPosition = anchor.rightPosition + anchor.length;
+                addProgress(anchor.length * 2);
+            }
+            diffRange(left, leftPosition, left.getDataSize() - leftPosition, right, rightPosition, right.getDataSize() - rightPosition, differences);
+        } finally {
+            executor.shutdownNow();
+            executor = null;
+        }
+
+        return differences;
+    }
+
+    /**
+     * Maps position in left data to corresponding position in right data.
+     *
+     * @param differences differences ordered by position
+     * @param leftPosition position in left data
+     * @return position in right data
+     */
+    public static long mapLeftToRight(List<Difference> differences, long leftPosition) {
+        return mapPosition(differences, leftPosition, true);
+    }
+
+    /**
+     * Maps position in right data to corresponding position in left data.
+     *
+     * @param differences differences ordered by position
+     * @param rightPosition position in right data
+     * @return position in left data
+     */
+    public static long mapRightToLeft(List<Difference> differences, long rightPosition) {
+        return mapPosition(differences, rightPosition, false);
+    }
+
+    private static long mapPosition(List<Difference> differences, long position, boolean fromLeft) {
+        int low = 0;
+        int high = differences.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Difference difference = differences.get(middle);
+            if ((fromLeft ? difference.leftPosition : difference.rightPosition) <= position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == 0) {
+            return position;
+        }
+
+        Difference difference = differences.get(low - 1);
+        long sourcePosition = fromLeft ? difference.leftPosition : difference.rightPosition;
+        long sourceLength = fromLeft ? difference.leftLength : difference.rightLength;
+        long targetPosition = fromLeft ? difference.rightPosition : difference.leftPosition;
+        long targetLength = fromLeft ? difference.rightLength : difference.leftLength;
+        if (position < sourcePosition + sourceLength) {
+            return targetPosition + Math.min(position - sourcePosition, Math.max(0, targetLength - 1));
+        }
+        return position - (sourcePosition + sourceLength) + targetPosition + targetLength;
+    }
+
+    /**
+     * Finds ranges of delta documents referring to the same part of the same
+     * file, which are equal without reading.
+     */
+    @Nonnull
+    private List<Match> findSegmentAnchors(BinaryData left, BinaryData right) {
+        List<Match> anchors = new ArrayList<Match>();
+        if (!(left instanceof DeltaDocument) || !(right instanceof DeltaDocument)) {
+            return anchors;
+        }
+        FileDataSource leftSource = ((DeltaDocument) left).getFileSource();
+        FileDataSource rightSource = ((DeltaDocument) right).getFileSource();
+        if (leftSource == null || rightSource == null || !isSameFile(leftSource, rightSource)) {
+            return anchors;
+        }
+
+        TreeMap<Long, long[]> rightSpans = new TreeMap<Long, long[]>();
+        long documentPosition = 0;
+        DataSegment segment = ((DeltaDocument) right).getSegments().first();
+        while (segment != null) {
+            if (segment instanceof FileSegment && isSameFile(((FileSegment) segment).getSource(), rightSource) && !rightSpans.containsKey(segment.getStartPosition())) {
+                rightSpans.put(segment.getStartPosition(), new long[]{segment.getLength(), documentPosition});
+            }
+            documentPosition += segment.getLength();
+            segment = segment.getNext();
+        }
+
+        documentPosition = 0;
+        segment = ((DeltaDocument) left).getSegments().first();
+        while (segment != null) {
+            if (segment instanceof FileSegment && isSameFile(((FileSegment) segment).getSource(), leftSource)) {
+                long fileStart = segment.getStartPosition();
+                long fileEnd = fileStart + segment.getLength();
+                Map.Entry<Long, long[]> floorEntry = rightSpans.floorEntry(fileStart);
+                if (floorEntry != null) {
+                    addAnchor(anchors, documentPosition, fileStart, fileEnd, floorEntry.getKey(), floorEntry.getValue());
+                }
+                for (Map.Entry<Long, long[]> entry : rightSpans.subMap(fileStart, false, fileEnd, false).entrySet()) {
+                    addAnchor(anchors, documentPosition, fileStart, fileEnd, entry.getKey(), entry.getValue());
+                }
+            }
+            documentPosition += segment.getLength();
+            segment = segment.getNext();
+        }
+
+        Collections.sort(anchors, new Comparator<Match>() {
+            @Override
+            public int compare(Match match1, Match match2) {
+                return match1.leftPosition < match2.leftPosition ? -1 : (match1.leftPosition > match2.leftPosition ? 1 : 0);
+            }
+        });
+        return selectMonotonicMatches(anchors);
+    }
+
+    private static void addAnchor(List<Match> anchors, long leftDocumentPosition, long leftFileStart, long leftFileEnd, long rightFileStart, long[] rightSpan) {
+        long overlapStart = Math.max(leftFileStart, rightFileStart);
+        long overlapEnd = Math.min(leftFileEnd, rightFileStart + rightSpan[0]);
+        if (overlapEnd > overlapStart) {
+            anchors.add(new Match(leftDocumentPosition + overlapStart - leftFileStart, rightSpan[1] + overlapStart - rightFileStart, overlapEnd - overlapStart));
+        }
+    }
+
+    private static boolean isSameFile(FileDataSource source1, FileDataSource source2) {
+        if (source1 == source2) {
+            return true;
+        }
+        File file1 = source1.getFile();
+        File file2 = source2.getFile();
+        return file1 != null && file1.getAbsoluteFile().equals(file2 == null ? null : file2.getAbsoluteFile());
+    }
+
+    /**
+     * Keeps matches which don't go backward in any of data.
+     */
+    @Nonnull
+    private static List<Match> selectMonotonicMatches(List<Match> matches) {
+        List<Match> result = new ArrayList<Match>();
+        long leftEnd = 0;
+        long rightEnd = 0;
+        for (Match match : matches) {
+            if (match.leftPosition >= leftEnd && match.rightPosition >= rightEnd) {
+                result.add(match);
+                leftEnd = match.leftPosition + match.length;
+                rightEnd = match.rightPosition + match.length;
+            }
+        }
+        return result;
+    }
+
+    private void diffRange(BinaryData left, long leftPosition, long leftLength, BinaryData right, long rightPosition, long rightLength, List<Difference> differences) throws InterruptedException {
+        long prefixLength = compareForward(left, leftPosition, right, rightPosition, Math.min(leftLength, rightLength));
+        leftPosition += prefixLength;
+        rightPosition += prefixLength;
+        leftLength -= prefixLength;
+        rightLength -= prefixLength;
+        addProgress(prefixLength * 2);
+        long suffixLength = compareBackward(left, leftPosition + leftLength, right, rightPosition + rightLength, Math.min(leftLength, rightLength));
+        leftLength -= suffixLength;
+        rightLength -= suffixLength;
+        addProgress(suffixLength * 2);
+        if (leftLength == 0 && rightLength == 0) {
+            return;
+        }
+
+        List<Match> matches = leftLength < MIN_BLOCK_SIZE * 2 || rightLength < MIN_BLOCK_SIZE * 2
+                ? new ArrayList<Match>()
+                : findBlockMatches(left, leftPosition, leftLength, right, rightPosition, rightLength);
+        for (Match match : matches) {
+            addGapDifference(left, leftPosition, match.leftPosition - leftPosition, right, rightPosition, match.rightPosition - rightPosition, differences);
+            leftLength -= match.leftPosition + match.length - leftPosition;
+            rightLength -= match.rightPosition + match.length - rightPosition;
+            leftPosition = match.leftPosition + match.length;
+            rightPosition = match.rightPosition + match.length;
+        }
+        addGapDifference(left, leftPosition, leftLength, right, rightPosition, rightLength, differences);
+    }
+
+    private void addGapDifference(BinaryData left, long leftPosition, long leftLength, BinaryData right, long rightPosition, long rightLength, List<Difference> differences) throws InterruptedException {
+        if (leftLength == 0 && rightLength == 0) {
+            return;
+        }
+
+        if (leftLength == 0) {
+            differences.add(new Difference(DifferenceType.INSERTED, leftPosition, 0, rightPosition, rightLength));
+        } else if (rightLength == 0) {
+            differences.add(new Difference(DifferenceType.DELETED, leftPosition, leftLength, rightPosition, 0));
+        } else if (leftLength == rightLength) {
+            addChangedRuns(left, leftPosition, right, rightPosition, leftLength, differences);
+        } else {
+            differences.add(new Difference(DifferenceType.CHANGED, leftPosition, leftLength, rightPosition, rightLength));
+        }
+    }
+
+    /**
+     * Reports runs of different bytes in ranges of the same length.
+     */
+    private void addChangedRuns(BinaryData left, long leftPosition, BinaryData right, long rightPosition, long length, List<Difference> differences) throws InterruptedException {
+        long runStart = -1;
+        long runEnd = -1;
+        long offset = 0;
+        while (offset < length) {
+            int blockLength = (int) Math.min(COMPARE_BUFFER_SIZE, length - offset);
+            left.copyToArray(leftPosition + offset, leftBuffer, 0, blockLength);
+            right.copyToArray(rightPosition + offset, rightBuffer, 0, blockLength);
+            for (int i = 0; i < blockLength; i++) {
+                if (leftBuffer[i] != rightBuffer[i]) {
+                    long position = offset + i;
+                    if (runStart >= 0 && position - runEnd >= MERGE_DISTANCE) {
+                        differences.add(new Difference(DifferenceType.CHANGED, leftPosition + runStart, runEnd - runStart, rightPosition + runStart, runEnd - runStart));
+                        runStart = -1;
+                    }
+                    if (runStart < 0) {
+                        runStart = position;
+                    }
+                    runEnd = position + 1;
+                }
+            }
+            offset += blockLength;
+            addProgress(blockLength * 2L);
+        }
+        if (runStart >= 0) {
+            differences.add(new Difference(DifferenceType.CHANGED, leftPosition + runStart, runEnd - runStart, rightPosition + runStart, runEnd - runStart));
+        }
+    }
+
+    /**
+     * Finds matching ranges using blocks of right data located in left data.
+     */
+    @Nonnull
+    private List<Match> findBlockMatches(BinaryData left, long leftPosition, long leftLength, BinaryData right, long rightPosition, long rightLength) throws InterruptedException {
+        final int blockSize = (int) Math.max(MIN_BLOCK_SIZE, (rightLength + MAX_BLOCKS_COUNT - 1) / MAX_BLOCKS_COUNT);
+        final int blocksCount = (int) (rightLength / blockSize);
+        final int[] blockHashes = new int[blocksCount];
+        int chunkBlocks = Math.max(1, CHUNK_SIZE / blockSize);
+        List<Future<?>> hashFutures = new ArrayList<Future<?>>();
+        for (int firstBlock = 0; firstBlock < blocksCount; firstBlock += chunkBlocks) {
+            final int chunkFirstBlock = firstBlock;
+            final int chunkBlocksCount = Math.min(chunkBlocks, blocksCount - firstBlock);
+            final byte[] buffer = new byte[chunkBlocksCount * blockSize];
+            right.copyToArray(rightPosition + (long) firstBlock * blockSize, buffer, 0, buffer.length);
+            hashFutures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int block = 0; block < chunkBlocksCount; block++) {
+                        blockHashes[chunkFirstBlock + block] = hash(buffer, block * blockSize, blockSize);
+                    }
+                }
+            }));
+            waitForPending(hashFutures, threadsCount * 2);
+            addProgress(buffer.length);
+        }
+        waitForPending(hashFutures, 0);
+
+        int tableSize = Integer.highestOneBit(Math.max(1, blocksCount) * 2);
+        final int tableMask = tableSize - 1;
+        final int[] heads = new int[tableSize];
+        Arrays.fill(heads, -1);
+        final int[] next = new int[blocksCount];
+        for (int block = blocksCount - 1; block >= 0; block--) {
+            int slot = mix(blockHashes[block]) & tableMask;
+            next[block] = heads[slot];
+            heads[slot] = block;
+        }
+
+        int power = 1;
+        for (int i = 1; i < blockSize; i++) {
+            power *= HASH_MULTIPLIER;
+        }
+        final int leadingPower = power;
+        long windowsCount = leftLength - blockSize + 1;
+        List<Future<long[]>> scanFutures = new ArrayList<Future<long[]>>();
+        List<Match> matches = new ArrayList<Match>();
+        long leftCursor = leftPosition;
+        long rightCursor = rightPosition;
+        for (long chunkStart = 0; chunkStart < windowsCount; chunkStart += CHUNK_SIZE) {
+            final int chunkWindows = (int) Math.min(CHUNK_SIZE, windowsCount - chunkStart);
+            final byte[] buffer = new byte[chunkWindows + blockSize - 1];
+            left.copyToArray(leftPosition + chunkStart, buffer, 0, buffer.length);
+            final long chunkPosition = leftPosition + chunkStart;
+            scanFutures.add(executor.submit(new Callable<long[]>() {
+                @Override
+                public long[] call() {
+                    return scanChunk(buffer, chunkWindows, chunkPosition, blockSize, leadingPower, blockHashes, heads, next, tableMask);
+                }
+            }));
+            addProgress(chunkWindows);
+
+            // Candidates are verified in order of chunks by this thread
+            while (scanFutures.size() > threadsCount * 2 || (!scanFutures.isEmpty() && scanFutures.get(0).isDone())) {
+                long[] cursors = verifyCandidates(getResult(scanFutures.remove(0)), left, leftPosition + leftLength, leftCursor, right, rightPosition, rightPosition + rightLength, rightCursor, blockSize, blockHashes, heads, next, tableMask, matches);
+                leftCursor = cursors[0];
+                rightCursor = cursors[1];
+            }
+        }
+        while (!scanFutures.isEmpty()) {
+            long[] cursors = verifyCandidates(getResult(scanFutures.remove(0)), left, leftPosition + leftLength, leftCursor, right, rightPosition, rightPosition + rightLength, rightCursor, blockSize, blockHashes, heads, next, tableMask, matches);
+            leftCursor = cursors[0];
+            rightCursor = cursors[1];
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns positions of left windows with hash equal to hash of any block.
+     */
+    @Nonnull
+    private static long[] scanChunk(byte[] buffer, int windowsCount, long chunkPosition, int blockSize, int leadingPower, int[] blockHashes, int[] heads, int[] next, int tableMask) {
+        long[] candidates = new long[16];
+        int candidatesCount = 0;
+        int offset = 0;
+        int windowHash = hash(buffer, 0, blockSize);
+        while (offset < windowsCount) {
+            if (containsHash(windowHash, blockHashes, heads, next, tableMask)) {
+                if (candidatesCount == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, candidatesCount * 2);
+                }
+                candidates[candidatesCount++] = chunkPosition + offset;
+                // Match covers at least whole block
+                offset += blockSize;
+                if (offset < windowsCount) {
+                    windowHash = hash(buffer, offset, blockSize);
+                }
+                continue;
+            }
+
+            offset++;
+            if (offset < windowsCount) {
+                windowHash = (windowHash - buffer[offset - 1] * leadingPower) * HASH_MULTIPLIER + buffer[offset + blockSize - 1];
+            }
+        }
+
+        return Arrays.copyOf(candidates, candidatesCount);
+    }
+
+    /**
+     * Verifies candidate windows and extends found matches.
+     *
+     * @return updated left and right cursors
+     */
+    @Nonnull
+    private long[] verifyCandidates(long[] candidates, BinaryData left, long leftEnd, long leftCursor, BinaryData right, long rightStart, long rightEnd, long rightCursor, int blockSize, int[] blockHashes, int[] heads, int[] next, int tableMask, List<Match> matches) throws InterruptedException {
+        for (long candidate : candidates) {
+            if (candidate < leftCursor) {
+                continue;
+            }
+
+            left.copyToArray(candidate, leftBuffer, 0, blockSize);
+            int windowHash = hash(leftBuffer, 0, blockSize);
+            int block = heads[mix(windowHash) & tableMask];
+            long matchRightPosition = -1;
+            while (block >= 0) {
+                long blockPosition = rightStart + (long) block * blockSize;
+                if (blockHashes[block] == windowHash && blockPosition >= rightCursor) {
+                    right.copyToArray(blockPosition, rightBuffer, 0, blockSize);
+                    if (equalRange(leftBuffer, rightBuffer, blockSize)) {
+                        matchRightPosition = blockPosition;
+                        break;
+                    }
+                }
+                block = next[block];
+            }
+            if (matchRightPosition < 0) {
+                continue;
+            }
+
+            long backward = compareBackward(left, candidate, right, matchRightPosition, Math.min(candidate - leftCursor, matchRightPosition - rightCursor));
+            long forward = compareForward(left, candidate + blockSize, right, matchRightPosition + blockSize, Math.min(leftEnd - candidate - blockSize, rightEnd - matchRightPosition - blockSize));
+            Match match = new Match(candidate - backward, matchRightPosition - backward, backward + blockSize + forward);
+            matches.add(match);
+            leftCursor = match.leftPosition + match.length;
+            rightCursor = match.rightPosition + match.length;
+        }
+
+        return new long[]{leftCursor, rightCursor};
+    }
+
+    private static boolean containsHash(int windowHash, int[] blockHashes, int[] heads, int[] next, int tableMask) {
+        int block = heads[mix(windowHash) & tableMask];
+        while (block >= 0) {
+            if (blockHashes[block] == windowHash) {
+                return true;
+            }
+            block = next[block];
+        }
+        return false;
+    }
+
+    private static int hash(byte[] buffer, int offset, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            result = result * HASH_MULTIPLIER + buffer[offset + i];
+        }
+        return result;
+    }
+
+    private static int mix(int hash) {
+        int result = hash * 0x9e3779b9;
+        return result ^ (result >>> 16);
+    }
+
+    private static boolean equalRange(byte[] buffer1, byte[] buffer2, int length) {
+        for (int i = 0; i < length; i++) {
+            if (buffer1[i] != buffer2[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns count of equal bytes starting at given positions.
+     */
+    private long compareForward(BinaryData left, long leftPosition, BinaryData right, long rightPosition, long maxLength) throws InterruptedException {
+        long offset = 0;
+        while (offset < maxLength) {
+            int blockLength = (int) Math.min(COMPARE_BUFFER_SIZE, maxLength - offset);
+            left.copyToArray(leftPosition + offset, leftBuffer, 0, blockLength);
+            right.copyToArray(rightPosition + offset, rightBuffer, 0, blockLength);
+            for (int i = 0; i < blockLength; i++) {
+                if (leftBuffer[i] != rightBuffer[i]) {
+                    return offset + i;
+                }
+            }
+            offset += blockLength;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return maxLength;
+    }
+
+    /**
+     * Returns count of equal bytes ending before given positions.
+     */
+    private long compareBackward(BinaryData left, long leftEndPosition, BinaryData right, long rightEndPosition, long maxLength) throws InterruptedException {
+        long offset = 0;
+        while (offset < maxLength) {
+            int blockLength = (int) Math.min(COMPARE_BUFFER_SIZE, maxLength - offset);
+            left.copyToArray(leftEndPosition - offset - blockLength, leftBuffer, 0, blockLength);
+            right.copyToArray(rightEndPosition - offset - blockLength, rightBuffer, 0, blockLength);
+            for (int i = blockLength - 1; i >= 0; i--) {
+                if (leftBuffer[i] != rightBuffer[i]) {
+                    return offset + blockLength - 1 - i;
+                }
+            }
+            offset += blockLength;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return maxLength;
+    }
+
+    private static void waitForPending(List<Future<?>> futures, int maxPending) throws InterruptedException {
+        while (futures.size() > maxPending) {
+            getResult(futures.remove(0));
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Comparison failed", ex.getCause());
+        }
+    }
+
+    private void addProgress(long length) throws InterruptedException {
+        processed += length;
+        if (progressListener != null) {
+            progressListener.progress(Math.min(processed, total), total);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Type of difference.
+     */
+    public enum DifferenceType {
+        /**
+         * Range was replaced by range of the same or different length.
+         */
+        CHANGED,
+        /**
+         * Range is present only in right data.
+         */
+        INSERTED,
+        /**
+         * Range is present only in left data.
+         */
+        DELETED
+    }
+
+    /**
+     * Difference between ranges of left and right data.
+     */
+    public static class Difference {
+
+        private final DifferenceType type;
+        private final long leftPosition;
+        private final long leftLength;
+        private final long rightPosition;
+        private final long rightLength;
+
+        public Difference(DifferenceType type, long leftPosition, long leftLength, long rightPosition, long rightLength) {
+            this.type = type;
+            this.leftPosition = leftPosition;
+            this.leftLength = leftLength;
+            this.rightPosition = rightPosition;
+            this.rightLength = rightLength;
+        }
+
+        @Nonnull
+        public DifferenceType getType() {
+            return type;
+        }
+
+        public long getLeftPosition() {
+            return leftPosition;
+        }
+
+        public long getLeftLength() {
+            return leftLength;
+        }
+
+        public long getRightPosition() {
+            return rightPosition;
+        }
+
+        public long getRightLength() {
+            return rightLength;
+        }
+    }
+
+    /**
+     * Equal ranges of left and right data.
+     */
+    private static class Match {
+
+        private final long leftPosition;
+        private final long rightPosition;
+        private final long length;
+
+        public Match(long leftPosition, long rightPosition, long length) {
+            this.leftPosition = leftPosition;
+            this.rightPosition = rightPosition;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Listener for comparison progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports progress of comparison.
+         *
+         * @param processed count of processed bytes
+         * @param total total count of bytes
+         */
+        void progress(long processed, long total);
+    }
+}
@@ -70,6 +70,35 @@ public interface BinaryStatusApi {
      */
     void setMemoryMode(MemoryMode memoryMode);
 
+    /**
+     * Reports progress of long running operation.
+     *
+     * @param operationName name of the operation
+     * @param progress progress in percents
+     */
+    void setOperationProgress(String operationName, int progress);
+
+    /**
+     * Clears progress of long running operation when it has finished.
+     */
+    void clearOperationProgress();
+
+    /**
+     * Sets checksum of the document or null to hide it.
+     *
+     * @param checksum checksum text
+     */
+    void setDocumentChecksum(@Nullable String checksum);
+
+    /**
+     * Sets count of modified bytes of the document.
+     *
+     * @param modifiedDataSize count of modified or inserted bytes or negative
+     * value to hide it
+     * @param removedDataSize count of removed bytes
+     */
+    void setModifiedDataSize(long modifiedDataSize, long removedDataSize);
+
     @ParametersAreNonnullByDefault
     public static interface StatusControlHandler {
 
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Formats of pixels for mapping of bytes to bitmap.
+ *
+ * Pixels are decoded to RGB integers as used by
+ * {@link java.awt.image.BufferedImage#TYPE_INT_RGB}.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public enum BitmapPixelFormat {
+
+    /**
+     * 1 bit per pixel, most significant bit first, set bit is white.
+     */
+    MONO_1("1-bit Monochrome", 1),
+    /**
+     * 8 bits per pixel gray level.
+     */
+    GRAY_8("8-bit Grayscale", 8),
+    /**
+     * 16 bits per pixel, little endian 5-6-5 RGB.
+     */
+    RGB_565("RGB565", 16),
+    /**
+     * 24 bits per pixel in order red, green, blue.
+     */
+    RGB_888("RGB888", 24),
+    /**
+     * 32 bits per pixel in order red, green, blue, alpha.
+     */
+    RGBA_8888("RGBA8888", 32);
+
+    private final String displayName;
+    private final int bitsPerPixel;
+
+    private BitmapPixelFormat(String displayName, int bitsPerPixel) {
+        this.displayName = displayName;
+        this.bitsPerPixel = bitsPerPixel;
+    }
+
+    @Nonnull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getBitsPerPixel() {
+        return bitsPerPixel;
+    }
+
+    /**
+     * Returns count of bytes needed for row of given width, rows are padded to
+     * whole bytes.
+     *
+     * @param width width in pixels
+     * @return bytes per row
+     */
+    public int getBytesPerRow(int width) {
+        return (int) (((long) width * bitsPerPixel + 7) / 8);
+    }
+
+    /**
+     * Returns offset of byte containing given pixel in row.
+     *
+     * @param column pixel column
+     * @return byte offset
+     */
+    public int getByteOffset(int column) {
+        return (int) ((long) column * bitsPerPixel / 8);
+    }
+
+    /**
+     * Decodes pixels of single row.
+     *
+     * Pixels not fully covered by available data are set to background.
+     *
+     * @param data source data
+     * @param rowOffset offset of row in source data
+     * @param rowLength count of available bytes of row
+     * @param firstColumn first decoded pixel column
+     * @param pixels target RGB pixels
+     * @param pixelsOffset offset in target pixels
+     * @param count count of decoded pixels
+     * @param background background RGB value
+     */
+    public void decodeRow(byte[] data, int rowOffset, int rowLength, int firstColumn, int[] pixels, int pixelsOffset, int count, int background) {
+        int bytesPerPixel = bitsPerPixel / 8;
+        for (int i = 0; i < count; i++) {
+            int column = firstColumn + i;
+            int offset = getByteOffset(column);
+            if (offset + Math.max(1, bytesPerPixel) > rowLength) {
+                pixels[pixelsOffset + i] = background;
+                continue;
+            }
+
+            int position = rowOffset + offset;
+            int rgb;
+            switch (this) {
+                case MONO_1: {
+                    rgb = (data[position] & (0x80 >> (column & 7))) != 0 ? 0xffffff : 0;
+                    break;
+                }
+                case GRAY_8: {
+                    int gray = data[position] & 0xff;
+                    rgb = (gray << 16) | (gray << 8) | gray;
+                    break;
+                }
+                case RGB_565: {
+                    int value = (data[position] & 0xff) | ((data[position + 1] & 0xff) << 8);
+                    int red = (value >> 11) & 0x1f;
+                    int green = (value >> 5) & 0x3f;
+                    int blue = value & 0x1f;
+                    rgb = (((red << 3) | (red >> 2)) << 16) | (((green << 2) | (green >> 4)) << 8) | ((blue << 3) | (blue >> 2));
+                    break;
+                }
+                case RGB_888: {
+                    rgb = ((data[position] & 0xff) << 16) | ((data[position + 1] & 0xff) << 8) | (data[position + 2] & 0xff);
+                    break;
+                }
+                case RGBA_8888: {
+                    int alpha = data[position + 3] & 0xff;
+                    int red = blend(data[position] & 0xff, (background >> 16) & 0xff, alpha);
+                    int green = blend(data[position + 1] & 0xff, (background >> 8) & 0xff, alpha);
+                    int blue = blend(data[position + 2] & 0xff, background & 0xff, alpha);
+                    rgb = (red << 16) | (green << 8) | blue;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected pixel format " + this);
+            }
+            pixels[pixelsOffset + i] = rgb;
+        }
+    }
+
+    private static int blend(int value, int background, int alpha) {
+        return (value * alpha + background * (255 - alpha)) / 255;
+    }
+}
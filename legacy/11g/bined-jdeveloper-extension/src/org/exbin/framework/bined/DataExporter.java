@@ -0,0 +1,467 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.io.IOException;
+import java.io.Writer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.ByteCodeTables;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.CodeCharactersCase;
+import org.exbin.bined.CodeType;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Export of range of data to textual representation.
+ *
+ * Data are read in blocks of whole rows or records and encoded using
+ * precomputed digit tables into output buffer of limited size, so memory use
+ * doesn't depend on length of exported data.
+ *
+ * Record formats use data positions as addresses.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DataExporter {
+
+    private static final int BLOCK_SIZE = 65536;
+    private static final int OUTPUT_FLUSH_SIZE = 65536;
+    private static final int RECORD_SIZE = 16;
+    private static final int BASE64_LINE_BYTES = 57;
+    private static final String ARRAY_INDENT = "    ";
+    private static final char[] BASE64_CODES = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final long RECORD_ADDRESS_LIMIT = 0x100000000L;
+
+    private final Format format;
+    private CodeType codeType = CodeType.HEXADECIMAL;
+    private CodeCharactersCase charactersCase = CodeCharactersCase.UPPER;
+    private int bytesPerRow = 16;
+    @Nullable
+    private ProgressListener progressListener = null;
+
+    private Writer writer;
+    private char[] output;
+    private int outputLength;
+    private long extendedAddress;
+    private int addressSize;
+    private long recordsCount;
+
+    public DataExporter(Format format) {
+        this.format = format;
+    }
+
+    @Nonnull
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets code type of hex dump.
+     *
+     * @param codeType code type
+     */
+    public void setCodeType(CodeType codeType) {
+        this.codeType = codeType;
+    }
+
+    /**
+     * Sets case of hexadecimal digits of hex dump and array literals.
+     *
+     * @param charactersCase characters case
+     */
+    public void setCharactersCase(CodeCharactersCase charactersCase) {
+        this.charactersCase = charactersCase;
+    }
+
+    /**
+     * Sets count of bytes per line of hex dump and array literals.
+     *
+     * @param bytesPerRow bytes per row
+     */
+    public void setBytesPerRow(int bytesPerRow) {
+        if (bytesPerRow < 1) {
+            throw new IllegalArgumentException("Invalid bytes per row: " + bytesPerRow);
+        }
+        this.bytesPerRow = bytesPerRow;
+    }
+
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Writes textual representation of given range of data.
+     *
+     * @param data source data
+     * @param startPosition start position
+     * @param length length of the range
+     * @param writer target writer
+     * @throws IOException on output error or if range cannot be represented
+     * in record format
+     * @throws InterruptedException if current thread was interrupted
+     */
+    public void export(BinaryData data, long startPosition, long length, Writer writer) throws IOException, InterruptedException {
+        long endPosition = startPosition + length;
+        if ((format == Format.INTEL_HEX || format == Format.S_RECORD) && endPosition > RECORD_ADDRESS_LIMIT) {
+            throw new IOException("Data positions exceed 32-bit address range of " + format.getDisplayName() + " format");
+        }
+
+        int unitSize;
+        int lineLength;
+        switch (format) {
+            case HEX_DUMP: {
+                unitSize = bytesPerRow;
+                lineLength = 20 + bytesPerRow * (codeType.getMaxDigitsForByte() + 2);
+                break;
+            }
+            case C_ARRAY:
+            case JAVA_ARRAY: {
+                unitSize = bytesPerRow;
+                lineLength = 64 + bytesPerRow * 14;
+                break;
+            }
+            case BASE64: {
+                unitSize = BASE64_LINE_BYTES;
+                lineLength = BASE64_LINE_BYTES * 4 / 3 + 2;
+                break;
+            }
+            case INTEL_HEX:
+            case S_RECORD: {
+                unitSize = BLOCK_SIZE;
+                lineLength = RECORD_SIZE * 2 + 32;
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected format " + format.name());
+        }
+
+        this.writer = writer;
+        output = new char[OUTPUT_FLUSH_SIZE + lineLength];
+        outputLength = 0;
+        extendedAddress = 0;
+        addressSize = endPosition <= 0x10000 ? 2 : (endPosition <= 0x1000000 ? 3 : 4);
+        recordsCount = 0;
+        int blockSize = Math.max(unitSize, BLOCK_SIZE / unitSize * unitSize);
+        byte[] buffer = new byte[(int) Math.max(1, Math.min(blockSize, length))];
+        try {
+            writeHeader(length);
+            long offset = 0;
+            while (offset < length) {
+                int blockLength;
+                if (format == Format.INTEL_HEX || format == Format.S_RECORD) {
+                    // Blocks of record formats are aligned to addresses, so records never cross 64 KiB boundary
+                    blockLength = (int) Math.min(BLOCK_SIZE - ((startPosition + offset) % BLOCK_SIZE), length - offset);
+                } else {
+                    blockLength = (int) Math.min(blockSize, length - offset);
+                }
+                data.copyToArray(startPosition + offset, buffer, 0, blockLength);
+                encodeBlock(buffer, blockLength, startPosition + offset, offset, length);
+                offset += blockLength;
+
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (progressListener != null) {
+                    progressListener.progress(offset, length);
+                }
+            }
+            writeFooter();
+            flushOutput();
+        } finally {
+            this.writer = null;
+            output = null;
+        }
+    }
+
+    private void writeHeader(long length) throws IOException {
+        switch (format) {
+            case C_ARRAY: {
+                append("unsigned char data[" + length + "] = {\n");
+                break;
+            }
+            case JAVA_ARRAY: {
+                append("byte[] data = new byte[] {\n");
+                break;
+            }
+            case S_RECORD: {
+                appendSRecord('0', 0, 2, null, 0, 0);
+                break;
+            }
+            default:
+            // no header
+        }
+    }
+
+    private void writeFooter() throws IOException {
+        switch (format) {
+            case C_ARRAY:
+            case JAVA_ARRAY: {
+                append("};\n");
+                break;
+            }
+            case INTEL_HEX: {
+                append(":00000001FF\n");
+                break;
+            }
+            case S_RECORD: {
+                if (recordsCount <= 0xffff) {
+                    appendSRecord('5', recordsCount, 2, null, 0, 0);
+                } else {
+                    appendSRecord('6', recordsCount, 3, null, 0, 0);
+                }
+                // Termination record matching size of addresses
+                char terminationType = addressSize == 2 ? '9' : (addressSize == 3 ? '8' : '7');
+                appendSRecord(terminationType, 0, addressSize, null, 0, 0);
+                break;
+            }
+            default:
+            // no footer
+        }
+    }
+
+    private void encodeBlock(byte[] buffer, int blockLength, long position, long offset, long length) throws IOException {
+        switch (format) {
+            case HEX_DUMP: {
+                encodeHexDump(buffer, blockLength, position);
+                break;
+            }
+            case C_ARRAY:
+            case JAVA_ARRAY: {
+                encodeArray(buffer, blockLength, offset, length);
+                break;
+            }
+            case BASE64: {
+                encodeBase64(buffer, blockLength);
+                break;
+            }
+            case INTEL_HEX:
+            case S_RECORD: {
+                int index = 0;
+                while (index < blockLength) {
+                    long address = position + index;
+                    int recordLength = (int) Math.min(RECORD_SIZE - (address % RECORD_SIZE), blockLength - index);
+                    if (format == Format.INTEL_HEX) {
+                        appendIntelHexRecord(address, buffer, index, recordLength);
+                    } else {
+                        appendSRecord(addressSize == 2 ? '1' : (addressSize == 3 ? '2' : '3'), address, addressSize, buffer, index, recordLength);
+                        recordsCount++;
+                    }
+                    index += recordLength;
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected format " + format.name());
+        }
+    }
+
+    private void encodeHexDump(byte[] buffer, int blockLength, long position) throws IOException {
+        char[] table = ByteCodeTables.getTable(codeType, charactersCase);
+        char[] hexCodes = charactersCase == CodeCharactersCase.UPPER ? CodeAreaUtils.UPPER_HEX_CODES : CodeAreaUtils.LOWER_HEX_CODES;
+        int digits = codeType.getMaxDigitsForByte();
+        for (int rowStart = 0; rowStart < blockLength; rowStart += bytesPerRow) {
+            int rowLength = Math.min(bytesPerRow, blockLength - rowStart);
+            long rowPosition = position + rowStart;
+            int positionDigits = Math.max(8, (64 - Long.numberOfLeadingZeros(rowPosition) + 3) / 4);
+            for (int digit = positionDigits - 1; digit >= 0; digit--) {
+                output[outputLength++] = hexCodes[(int) ((rowPosition >>> (digit * 4)) & 0xf)];
+            }
+            output[outputLength++] = ' ';
+            for (int index = 0; index < bytesPerRow; index++) {
+                output[outputLength++] = ' ';
+                if (index < rowLength) {
+                    System.arraycopy(table, (buffer[rowStart + index] & 0xff) * digits, output, outputLength, digits);
+                    outputLength += digits;
+                } else {
+                    for (int digit = 0; digit < digits; digit++) {
+                        output[outputLength++] = ' ';
+                    }
+                }
+            }
+            output[outputLength++] = ' ';
+            output[outputLength++] = ' ';
+            for (int index = 0; index < rowLength; index++) {
+                int value = buffer[rowStart + index] & 0xff;
+                output[outputLength++] = value >= 0x20 && value < 0x7f ? (char) value : '.';
+            }
+            output[outputLength++] = '\n';
+            flushIfFull();
+        }
+    }
+
+    private void encodeArray(byte[] buffer, int blockLength, long offset, long length) throws IOException {
+        char[] hexCodes = charactersCase == CodeCharactersCase.UPPER ? CodeAreaUtils.UPPER_HEX_CODES : CodeAreaUtils.LOWER_HEX_CODES;
+        boolean javaArray = format == Format.JAVA_ARRAY;
+        for (int index = 0; index < blockLength; index++) {
+            long elementIndex = offset + index;
+            if (elementIndex % bytesPerRow == 0) {
+                append(ARRAY_INDENT);
+            }
+            int value = buffer[index] & 0xff;
+            if (javaArray && value >= 0x80) {
+                append("(byte) ");
+            }
+            output[outputLength++] = '0';
+            output[outputLength++] = 'x';
+            output[outputLength++] = hexCodes[value >> 4];
+            output[outputLength++] = hexCodes[value & 0xf];
+            if (elementIndex == length - 1) {
+                output[outputLength++] = '\n';
+            } else if ((elementIndex + 1) % bytesPerRow == 0) {
+                output[outputLength++] = ',';
+                output[outputLength++] = '\n';
+                flushIfFull();
+            } else {
+                output[outputLength++] = ',';
+                output[outputLength++] = ' ';
+            }
+        }
+    }
+
+    private void encodeBase64(byte[] buffer, int blockLength) throws IOException {
+        for (int lineStart = 0; lineStart < blockLength; lineStart += BASE64_LINE_BYTES) {
+            int lineEnd = Math.min(lineStart + BASE64_LINE_BYTES, blockLength);
+            int index = lineStart;
+            while (index + 3 <= lineEnd) {
+                int bits = ((buffer[index] & 0xff) << 16) | ((buffer[index + 1] & 0xff) << 8) | (buffer[index + 2] & 0xff);
+                output[outputLength++] = BASE64_CODES[bits >>> 18];
+                output[outputLength++] = BASE64_CODES[(bits >>> 12) & 0x3f];
+                output[outputLength++] = BASE64_CODES[(bits >>> 6) & 0x3f];
+                output[outputLength++] = BASE64_CODES[bits & 0x3f];
+                index += 3;
+            }
+            // Only the last line of data can end with incomplete group
+            int remaining = lineEnd - index;
+            if (remaining > 0) {
+                int bits = (buffer[index] & 0xff) << 16;
+                if (remaining == 2) {
+                    bits |= (buffer[index + 1] & 0xff) << 8;
+                }
+                output[outputLength++] = BASE64_CODES[bits >>> 18];
+                output[outputLength++] = BASE64_CODES[(bits >>> 12) & 0x3f];
+                output[outputLength++] = remaining == 2 ? BASE64_CODES[(bits >>> 6) & 0x3f] : '=';
+                output[outputLength++] = '=';
+            }
+            output[outputLength++] = '\n';
+            flushIfFull();
+        }
+    }
+
+    private void appendIntelHexRecord(long address, byte[] buffer, int offset, int length) throws IOException {
+        long upperAddress = address >>> 16;
+        if (upperAddress != extendedAddress) {
+            extendedAddress = upperAddress;
+            output[outputLength++] = ':';
+            int checksum = appendHexByte(2) + appendHexByte(0) + appendHexByte(0) + appendHexByte(4);
+            checksum += appendHexByte((int) (upperAddress >> 8)) + appendHexByte((int) upperAddress);
+            appendHexByte(-checksum);
+            output[outputLength++] = '\n';
+        }
+
+        output[outputLength++] = ':';
+        int checksum = appendHexByte(length) + appendHexByte((int) (address >> 8)) + appendHexByte((int) address) + appendHexByte(0);
+        for (int index = offset; index < offset + length; index++) {
+            checksum += appendHexByte(buffer[index]);
+        }
+        appendHexByte(-checksum);
+        output[outputLength++] = '\n';
+        flushIfFull();
+    }
+
+    private void appendSRecord(char type, long address, int addressBytes, @Nullable byte[] buffer, int offset, int length) throws IOException {
+        output[outputLength++] = 'S';
+        output[outputLength++] = type;
+        int checksum = appendHexByte(addressBytes + length + 1);
+        for (int index = addressBytes - 1; index >= 0; index--) {
+            checksum += appendHexByte((int) (address >> (index * 8)));
+        }
+        for (int index = offset; index < offset + length; index++) {
+            checksum += appendHexByte(buffer[index]);
+        }
+        appendHexByte(~checksum);
+        output[outputLength++] = '\n';
+        flushIfFull();
+    }
+
+    /**
+     * Appends two uppercase hexadecimal digits of the lowest byte of value.
+     *
+     * @return byte value for computation of checksum
+     */
+    private int appendHexByte(int value) {
+        int byteValue = value & 0xff;
+        output[outputLength++] = CodeAreaUtils.UPPER_HEX_CODES[byteValue >> 4];
+        output[outputLength++] = CodeAreaUtils.UPPER_HEX_CODES[byteValue & 0xf];
+        return byteValue;
+    }
+
+    private void append(String text) throws IOException {
+        text.getChars(0, text.length(), output, outputLength);
+        outputLength += text.length();
+        flushIfFull();
+    }
+
+    private void flushIfFull() throws IOException {
+        if (outputLength >= OUTPUT_FLUSH_SIZE) {
+            flushOutput();
+        }
+    }
+
+    private void flushOutput() throws IOException {
+        writer.write(output, 0, outputLength);
+        outputLength = 0;
+    }
+
+    /**
+     * Export format.
+     */
+    public enum Format {
+        HEX_DUMP("Hex dump", "txt"),
+        C_ARRAY("C array", "c"),
+        JAVA_ARRAY("Java array", "java"),
+        BASE64("Base64", "b64"),
+        INTEL_HEX("Intel HEX", "hex"),
+        S_RECORD("Motorola S-record", "srec");
+
+        private final String displayName;
+        private final String fileExtension;
+
+        private Format(String displayName, String fileExtension) {
+            this.displayName = displayName;
+            this.fileExtension = fileExtension;
+        }
+
+        @Nonnull
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        @Nonnull
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    public static interface ProgressListener {
+
+        void progress(long processedLength, long totalLength);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.ChecksumUtils;
+import org.exbin.bined.Crc32c;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Computation of multiple checksums and digests of data in single pass.
+ *
+ * Data are read sequentially in large chunks into limited pool of buffers.
+ * Checksums of each chunk are computed in parallel and then combined, while
+ * each cryptographic digest consumes chunks in order on its own thread, so
+ * all algorithms run concurrently with reading of the following chunks.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DataHasher {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4194304;
+
+    private final Set<Algorithm> algorithms;
+    private final int chunkSize;
+    private final int threadsCount;
+    @Nullable
+    private ProgressListener progressListener = null;
+
+    public DataHasher(Set<Algorithm> algorithms) {
+        this(algorithms, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public DataHasher(Set<Algorithm> algorithms, int chunkSize, int threadsCount) {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("No algorithm selected");
+        }
+        this.algorithms = EnumSet.copyOf(algorithms);
+        this.chunkSize = chunkSize;
+        this.threadsCount = Math.max(1, threadsCount);
+    }
+
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Computes values of all selected algorithms for given range of data.
+     *
+     * @param data source data
+     * @param startPosition start position
+     * @param length length of the range
+     * @return map of algorithms to computed values, checksums in big-endian
+     * order
+     * @throws InterruptedException if current thread was interrupted
+     */
+    @Nonnull
+    public Map<Algorithm, byte[]> hash(BinaryData data, long startPosition, long length) throws InterruptedException {
+        List<Algorithm> checksums = new ArrayList<Algorithm>();
+        List<Algorithm> digestAlgorithms = new ArrayList<Algorithm>();
+        for (Algorithm algorithm : algorithms) {
+            if (algorithm.isChecksum()) {
+                checksums.add(algorithm);
+            } else {
+                digestAlgorithms.add(algorithm);
+            }
+        }
+
+        final List<MessageDigest> digests = new ArrayList<MessageDigest>();
+        List<ExecutorService> digestExecutors = new ArrayList<ExecutorService>();
+        for (Algorithm algorithm : digestAlgorithms) {
+            try {
+                digests.add(MessageDigest.getInstance(algorithm.getDigestName()));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("Digest algorithm not available: " + algorithm.getDigestName(), ex);
+            }
+            digestExecutors.add(Executors.newSingleThreadExecutor());
+        }
+        ExecutorService checksumExecutor = checksums.isEmpty() ? null : Executors.newFixedThreadPool(threadsCount);
+
+        int buffersCount = threadsCount + 2;
+        final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<byte[]>(buffersCount);
+        for (int i = 0; i < buffersCount; i++) {
+            freeBuffers.add(new byte[(int) Math.min(chunkSize, Math.max(length, 1))]);
+        }
+
+        int chunksCount = (int) ((length + chunkSize - 1) / chunkSize);
+        final long[][] chunkChecksums = new long[checksums.size()][chunksCount];
+        final Algorithm[] checksumAlgorithms = checksums.toArray(new Algorithm[checksums.size()]);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        try {
+            long position = startPosition;
+            long endPosition = startPosition + length;
+            for (int chunk = 0; chunk < chunksCount; chunk++) {
+                final byte[] buffer = freeBuffers.take();
+                final int chunkLength = (int) Math.min(chunkSize, endPosition - position);
+                data.copyToArray(position, buffer, 0, chunkLength);
+                position += chunkLength;
+
+                final int chunkIndex = chunk;
+                int tasksCount = digests.size() + (checksumExecutor == null ? 0 : 1);
+                final AtomicInteger pendingTasks = new AtomicInteger(tasksCount);
+                if (checksumExecutor != null) {
+                    futures.add(checksumExecutor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (int i = 0; i < checksumAlgorithms.length; i++) {
+                                chunkChecksums[i][chunkIndex] = computeChecksum(checksumAlgorithms[i], buffer, chunkLength);
+                            }
+                            if (pendingTasks.decrementAndGet() == 0) {
+                                freeBuffers.add(buffer);
+                            }
+                        }
+                    }));
+                }
+                for (int i = 0; i < digests.size(); i++) {
+                    final MessageDigest digest = digests.get(i);
+                    futures.add(digestExecutors.get(i).submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            digest.update(buffer, 0, chunkLength);
+                            if (pendingTasks.decrementAndGet() == 0) {
+                                freeBuffers.add(buffer);
+                            }
+                        }
+                    }));
+                }
+
+                if (progressListener != null) {
+                    progressListener.progress(position - startPosition, length);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Hashing failed", ex.getCause());
+        } finally {
+            if (checksumExecutor != null) {
+                checksumExecutor.shutdownNow();
+            }
+            for (ExecutorService executor : digestExecutors) {
+                executor.shutdownNow();
+            }
+        }
+
+        Map<Algorithm, byte[]> result = new EnumMap<Algorithm, byte[]>(Algorithm.class);
+        for (int i = 0; i < checksumAlgorithms.length; i++) {
+            Algorithm algorithm = checksumAlgorithms[i];
+            long value = algorithm == Algorithm.ADLER32 ? 1 : 0;
+            long remaining = length;
+            for (int chunk = 0; chunk < chunksCount; chunk++) {
+                long chunkLength = Math.min(chunkSize, remaining);
+                value = combineChecksum(algorithm, value, chunkChecksums[i][chunk], chunkLength);
+                remaining -= chunkLength;
+            }
+            result.put(algorithm, new byte[]{(byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value});
+        }
+        for (int i = 0; i < digests.size(); i++) {
+            result.put(digestAlgorithms.get(i), digests.get(i).digest());
+        }
+        return result;
+    }
+
+    private static long computeChecksum(Algorithm algorithm, byte[] buffer, int length) {
+        switch (algorithm) {
+            case CRC32: {
+                CRC32 crc = new CRC32();
+                crc.update(buffer, 0, length);
+                return crc.getValue();
+            }
+            case CRC32C: {
+                Crc32c crc = new Crc32c();
+                crc.update(buffer, 0, length);
+                return crc.getValue();
+            }
+            case ADLER32: {
+                Adler32 adler = new Adler32();
+                adler.update(buffer, 0, length);
+                return adler.getValue();
+            }
+            default:
+                throw new IllegalStateException("Unexpected checksum algorithm " + algorithm.name());
+        }
+    }
+
+    private static long combineChecksum(Algorithm algorithm, long value1, long value2, long length2) {
+        switch (algorithm) {
+            case CRC32:
+                return ChecksumUtils.combineCrc32(value1, value2, length2);
+            case CRC32C:
+                return ChecksumUtils.combineCrc32c(value1, value2, length2);
+            case ADLER32:
+                return ChecksumUtils.combineAdler32(value1, value2, length2);
+            default:
+                throw new IllegalStateException("Unexpected checksum algorithm " + algorithm.name());
+        }
+    }
+
+    /**
+     * Supported hashing algorithms.
+     */
+    public static enum Algorithm {
+        CRC32("CRC-32", null),
+        CRC32C("CRC-32C", null),
+        ADLER32("Adler-32", null),
+        MD5("MD5", "MD5"),
+        SHA_1("SHA-1", "SHA-1"),
+        SHA_256("SHA-256", "SHA-256");
+
+        private final String displayName;
+        private final String digestName;
+
+        private Algorithm(String displayName, @Nullable String digestName) {
+            this.displayName = displayName;
+            this.digestName = digestName;
+        }
+
+        @Nonnull
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        @Nullable
+        public String getDigestName() {
+            return digestName;
+        }
+
+        /**
+         * Returns true for checksums which can be computed in parallel and
+         * combined.
+         *
+         * @return true for checksum
+         */
+        public boolean isChecksum() {
+            return digestName == null;
+        }
+    }
+
+    /**
+     * Listener for progress of hashing.
+     */
+    public static interface ProgressListener {
+
+        void progress(long processedLength, long totalLength);
+    }
+}
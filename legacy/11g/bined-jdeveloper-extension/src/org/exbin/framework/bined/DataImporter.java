@@ -0,0 +1,795 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeType;
+
+/**
+ * Import of data from textual representation.
+ *
+ * Text is read in chunks and decoded by state machine using character lookup
+ * tables. Decoded bytes are passed to listener in blocks of limited size, so
+ * memory use doesn't depend on length of imported data.
+ *
+ * Code text accepts codes separated by whitespace, commas or semicolons with
+ * optional 0x prefix of hexadecimal codes. Hex dump lines start with offset
+ * and end with optional text column separated by at least two spaces or
+ * started by '|'. Array in source code is decoded from numeric literals
+ * between braces, other text including casts is skipped.
+ *
+ * Data of record formats are placed in order of addresses starting with the
+ * lowest address, gaps between records are filled with zeros.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DataImporter {
+
+    public static final int BLOCK_SIZE = 262144;
+    private static final int INPUT_BUFFER_SIZE = 65536;
+    private static final int MAX_RECORD_LENGTH = 1024;
+    private static final int MAX_LINE_LENGTH = 16384;
+    private static final int INVALID = -1;
+    private static final int SEPARATOR = -2;
+    private static final int PADDING = -3;
+    private static final int LINE_END = -4;
+    private static final int PREFIX = -5;
+    private static final String BASE64_CODES = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+    private final Format format;
+    private CodeType codeType = CodeType.HEXADECIMAL;
+    @Nullable
+    private ProgressListener progressListener = null;
+
+    private DataListener dataListener;
+    private byte[] block;
+    private int blockLength;
+    private long decodedLength;
+    private int line;
+
+    public DataImporter(Format format) {
+        this.format = format;
+    }
+
+    @Nonnull
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets code type of text for code text and hex dump formats.
+     *
+     * @param codeType code type
+     */
+    public void setCodeType(CodeType codeType) {
+        this.codeType = codeType;
+    }
+
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Decodes data from given text.
+     *
+     * @param reader source of text
+     * @param textLength expected length of text for progress reporting or -1
+     * if unknown
+     * @param dataListener listener receiving decoded data
+     * @return count of decoded bytes
+     * @throws IOException on input error or if text is not valid
+     * @throws InterruptedException if current thread was interrupted
+     */
+    public long importData(Reader reader, long textLength, DataListener dataListener) throws IOException, InterruptedException {
+        this.dataListener = dataListener;
+        block = new byte[BLOCK_SIZE];
+        blockLength = 0;
+        decodedLength = 0;
+        line = 1;
+        try {
+            switch (format) {
+                case HEX_TEXT: {
+                    decodeCodeText(reader, textLength);
+                    break;
+                }
+                case HEX_DUMP: {
+                    decodeHexDump(reader, textLength);
+                    break;
+                }
+                case SOURCE_ARRAY: {
+                    decodeSourceArray(reader, textLength);
+                    break;
+                }
+                case BASE64: {
+                    decodeBase64(reader, textLength);
+                    break;
+                }
+                case INTEL_HEX:
+                case S_RECORD: {
+                    decodeRecords(reader, textLength);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected format " + format.name());
+            }
+            flushBlock();
+            return decodedLength;
+        } finally {
+            this.dataListener = null;
+            block = null;
+        }
+    }
+
+    private void decodeCodeText(Reader reader, long textLength) throws IOException, InterruptedException {
+        int base = codeType.getBase();
+        int maxDigits = codeType.getMaxDigitsForByte();
+        int[] table = createTable();
+        for (int digit = 0; digit < base; digit++) {
+            char digitChar = Character.forDigit(digit, base);
+            table[digitChar] = digit;
+            table[Character.toUpperCase(digitChar)] = digit;
+        }
+        table[','] = SEPARATOR;
+        table[';'] = SEPARATOR;
+        if (base == 16) {
+            table['x'] = PREFIX;
+            table['X'] = PREFIX;
+        }
+
+        char[] input = new char[INPUT_BUFFER_SIZE];
+        long processed = 0;
+        int value = 0;
+        int digits = 0;
+        int length;
+        while ((length = reader.read(input)) != -1) {
+            for (int index = 0; index < length; index++) {
+                char character = input[index];
+                int code = character < 128 ? table[character] : INVALID;
+                if (code >= 0) {
+                    value = value * base + code;
+                    digits++;
+                    if (digits == maxDigits) {
+                        appendValue(value);
+                        value = 0;
+                        digits = 0;
+                    }
+                } else if (code == PREFIX) {
+                    // Prefix is valid only after single zero digit
+                    if (digits != 1 || value != 0) {
+                        throw invalidCharacter(character);
+                    }
+                    digits = 0;
+                } else if (code == INVALID) {
+                    throw invalidCharacter(character);
+                } else {
+                    if (code == LINE_END) {
+                        line++;
+                    }
+                    if (digits > 0) {
+                        appendValue(value);
+                        value = 0;
+                        digits = 0;
+                    }
+                }
+            }
+            processed += length;
+            reportProgress(processed, textLength);
+        }
+        if (digits > 0) {
+            appendValue(value);
+        }
+    }
+
+    private void decodeHexDump(Reader reader, long textLength) throws IOException, InterruptedException {
+        int base = codeType.getBase();
+        int[] table = createTable();
+        int[] offsetTable = createTable();
+        for (int digit = 0; digit < 16; digit++) {
+            char digitChar = Character.forDigit(digit, 16);
+            offsetTable[digitChar] = digit;
+            offsetTable[Character.toUpperCase(digitChar)] = digit;
+            if (digit < base) {
+                table[digitChar] = digit;
+                table[Character.toUpperCase(digitChar)] = digit;
+            }
+        }
+
+        char[] input = new char[INPUT_BUFFER_SIZE];
+        char[] lineChars = new char[MAX_LINE_LENGTH];
+        int[] lineValues = new int[MAX_LINE_LENGTH];
+        int lineLength = 0;
+        long processed = 0;
+        int length;
+        while ((length = reader.read(input)) != -1) {
+            for (int index = 0; index < length; index++) {
+                char character = input[index];
+                if (character == '\n') {
+                    processHexDumpLine(lineChars, lineLength, table, offsetTable, lineValues);
+                    lineLength = 0;
+                    line++;
+                } else if (character != '\r') {
+                    if (lineLength == MAX_LINE_LENGTH) {
+                        throw new IOException("Line too long on line " + line);
+                    }
+                    lineChars[lineLength++] = character;
+                }
+            }
+            processed += length;
+            reportProgress(processed, textLength);
+        }
+        processHexDumpLine(lineChars, lineLength, table, offsetTable, lineValues);
+    }
+
+    private void processHexDumpLine(char[] lineChars, int lineLength, int[] table, int[] offsetTable, int[] lineValues) throws IOException, InterruptedException {
+        int index = skipBlank(lineChars, 0, lineLength);
+        if (index == lineLength) {
+            return;
+        }
+
+        // Offset column
+        int offsetStart = index;
+        while (index < lineLength && lineChars[index] < 128 && offsetTable[lineChars[index]] >= 0) {
+            index++;
+        }
+        if (index == offsetStart) {
+            throw invalidCharacter(lineChars[index]);
+        }
+        if (index < lineLength && lineChars[index] == ':') {
+            index++;
+        }
+        if (index < lineLength && !isBlank(lineChars[index])) {
+            throw invalidCharacter(lineChars[index]);
+        }
+
+        // Text column enclosed in '|' allows gaps between codes as in hexdump -C,
+        // but '|' can also be part of plain text column, so enclosed text must
+        // match count of codes
+        int textStart = findTextColumnStart(lineChars, index, lineLength);
+        if (textStart >= 0) {
+            int textEnd = lineLength - 1;
+            while (isBlank(lineChars[textEnd])) {
+                textEnd--;
+            }
+            int codesCount = parseHexDumpCodes(lineChars, index, textStart, table, lineValues, true);
+            if (codesCount == textEnd - textStart - 1) {
+                appendValues(lineValues, codesCount);
+                return;
+            }
+        }
+
+        int codesCount = parseHexDumpCodes(lineChars, index, lineLength, table, lineValues, false);
+        appendValues(lineValues, codesCount);
+    }
+
+    /**
+     * Returns position of '|' preceded by gap of blank characters when line
+     * ends with another '|' or -1 if not found.
+     */
+    private static int findTextColumnStart(char[] lineChars, int start, int lineLength) {
+        int lineEnd = lineLength;
+        while (lineEnd > start && isBlank(lineChars[lineEnd - 1])) {
+            lineEnd--;
+        }
+        if (lineEnd == start || lineChars[lineEnd - 1] != '|') {
+            return -1;
+        }
+
+        for (int index = start + 2; index < lineEnd - 1; index++) {
+            if (lineChars[index] == '|' && isBlank(lineChars[index - 1]) && isBlank(lineChars[index - 2])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses codes from given range of line.
+     *
+     * @return count of parsed codes or -1 if gaps are allowed and range
+     * contains invalid code
+     */
+    private int parseHexDumpCodes(char[] lineChars, int start, int end, int[] table, int[] lineValues, boolean allowGaps) throws IOException {
+        int base = codeType.getBase();
+        int maxDigits = codeType.getMaxDigitsForByte();
+        int codesCount = 0;
+        int index = start;
+        while (index < end) {
+            int tokenStart = skipBlank(lineChars, index, end);
+            if (tokenStart == end || (!allowGaps && codesCount > 0 && tokenStart - index >= 2)) {
+                // Gap of multiple spaces separates text column
+                break;
+            }
+
+            index = tokenStart;
+            while (index < end && !isBlank(lineChars[index])) {
+                index++;
+            }
+            if ((index - tokenStart) % maxDigits != 0) {
+                if (allowGaps) {
+                    return -1;
+                }
+                throw new IOException("Invalid code length on line " + line);
+            }
+            // Token can contain group of multiple codes
+            for (int codeStart = tokenStart; codeStart < index; codeStart += maxDigits) {
+                int value = 0;
+                for (int digitIndex = codeStart; digitIndex < codeStart + maxDigits; digitIndex++) {
+                    char character = lineChars[digitIndex];
+                    int code = character < 128 ? table[character] : INVALID;
+                    if (code < 0) {
+                        if (allowGaps) {
+                            return -1;
+                        }
+                        throw invalidCharacter(character);
+                    }
+                    value = value * base + code;
+                }
+                lineValues[codesCount++] = value;
+            }
+        }
+        return codesCount;
+    }
+
+    private void appendValues(int[] values, int count) throws IOException, InterruptedException {
+        for (int index = 0; index < count; index++) {
+            appendValue(values[index]);
+        }
+    }
+
+    private void decodeSourceArray(Reader reader, long textLength) throws IOException, InterruptedException {
+        char[] input = new char[INPUT_BUFFER_SIZE];
+        long processed = 0;
+        boolean arrayStarted = false;
+        boolean arrayFinished = false;
+        int parenthesesDepth = 0;
+        boolean negative = false;
+        // Base of currently decoded literal or 0 outside of literal
+        int base = 0;
+        int value = 0;
+        int digits = 0;
+        int length;
+        while ((length = reader.read(input)) != -1) {
+            for (int index = 0; index < length && !arrayFinished; index++) {
+                char character = input[index];
+                if (character == '\n') {
+                    line++;
+                }
+                if (!arrayStarted) {
+                    arrayStarted = character == '{';
+                    continue;
+                }
+
+                if (parenthesesDepth > 0) {
+                    // Casts are skipped
+                    if (character == '(') {
+                        parenthesesDepth++;
+                    } else if (character == ')') {
+                        parenthesesDepth--;
+                    }
+                    continue;
+                }
+
+                if (base != 0) {
+                    int digit = Character.digit(character, base);
+                    if (digit >= 0) {
+                        value = value * base + digit;
+                        if (value > 255) {
+                            throw new IOException("Value out of byte range on line " + line);
+                        }
+                        digits++;
+                        continue;
+                    }
+                    if ((character == 'x' || character == 'X') && base == 8 && digits == 1) {
+                        base = 16;
+                        digits = 0;
+                        continue;
+                    }
+                    if (digits == 0 || !(character == ',' || character == '}' || isWhitespace(character))) {
+                        throw invalidCharacter(character);
+                    }
+                    if (negative && value > 128) {
+                        throw new IOException("Value out of byte range on line " + line);
+                    }
+                    appendByte((byte) (negative ? -value : value));
+                    negative = false;
+                    base = 0;
+                    value = 0;
+                    digits = 0;
+                }
+
+                if (character >= '0' && character <= '9') {
+                    // Leading zero starts octal or hexadecimal literal
+                    base = character == '0' ? 8 : 10;
+                    value = character - '0';
+                    digits = 1;
+                } else if (character == '-' && !negative) {
+                    negative = true;
+                } else if (character == '(' && !negative) {
+                    parenthesesDepth = 1;
+                } else if (character == '}' && !negative) {
+                    arrayFinished = true;
+                } else if (character != ',' && !isWhitespace(character)) {
+                    throw invalidCharacter(character);
+                }
+            }
+            processed += length;
+            reportProgress(processed, textLength);
+        }
+        if (!arrayFinished) {
+            throw new IOException(arrayStarted ? "Unterminated array" : "Array not found");
+        }
+    }
+
+    private void decodeBase64(Reader reader, long textLength) throws IOException, InterruptedException {
+        int[] table = createTable();
+        for (int index = 0; index < BASE64_CODES.length(); index++) {
+            table[BASE64_CODES.charAt(index)] = index;
+        }
+        table['='] = PADDING;
+
+        char[] input = new char[INPUT_BUFFER_SIZE];
+        long processed = 0;
+        int bits = 0;
+        int bitsCount = 0;
+        boolean padded = false;
+        int length;
+        while ((length = reader.read(input)) != -1) {
+            for (int index = 0; index < length; index++) {
+                char character = input[index];
+                int code = character < 128 ? table[character] : INVALID;
+                if (code >= 0) {
+                    if (padded) {
+                        throw new IOException("Unexpected data after padding on line " + line);
+                    }
+                    bits = (bits << 6) | code;
+                    bitsCount += 6;
+                    if (bitsCount >= 8) {
+                        bitsCount -= 8;
+                        appendByte((byte) (bits >> bitsCount));
+                        bits &= (1 << bitsCount) - 1;
+                    }
+                } else if (code == PADDING) {
+                    padded = true;
+                } else if (code == LINE_END) {
+                    line++;
+                } else if (code == INVALID) {
+                    throw invalidCharacter(character);
+                }
+            }
+            processed += length;
+            reportProgress(processed, textLength);
+        }
+    }
+
+    private void decodeRecords(Reader reader, long textLength) throws IOException, InterruptedException {
+        int[] table = createTable();
+        for (int digit = 0; digit < 16; digit++) {
+            char digitChar = Character.forDigit(digit, 16);
+            table[digitChar] = digit;
+            table[Character.toUpperCase(digitChar)] = digit;
+        }
+
+        char[] input = new char[INPUT_BUFFER_SIZE];
+        char[] record = new char[MAX_RECORD_LENGTH];
+        int recordLength = 0;
+        byte[] recordData = new byte[MAX_RECORD_LENGTH / 2];
+        RecordsState state = new RecordsState();
+        long processed = 0;
+        int length;
+        while ((length = reader.read(input)) != -1) {
+            for (int index = 0; index < length; index++) {
+                char character = input[index];
+                if (character == '\n' || character == '\r') {
+                    if (recordLength > 0) {
+                        if (format == Format.INTEL_HEX) {
+                            processIntelHexRecord(record, recordLength, table, recordData, state);
+                        } else {
+                            processSRecord(record, recordLength, table, recordData, state);
+                        }
+                        recordLength = 0;
+                    }
+                    if (character == '\n') {
+                        line++;
+                    }
+                } else if (character != ' ' && character != '\t') {
+                    if (recordLength == MAX_RECORD_LENGTH) {
+                        throw new IOException("Record too long on line " + line);
+                    }
+                    record[recordLength++] = character;
+                }
+            }
+            processed += length;
+            reportProgress(processed, textLength);
+        }
+        if (recordLength > 0) {
+            if (format == Format.INTEL_HEX) {
+                processIntelHexRecord(record, recordLength, table, recordData, state);
+            } else {
+                processSRecord(record, recordLength, table, recordData, state);
+            }
+        }
+    }
+
+    private void processIntelHexRecord(char[] record, int recordLength, int[] table, byte[] recordData, RecordsState state) throws IOException, InterruptedException {
+        if (state.finished) {
+            return;
+        }
+        if (record[0] != ':') {
+            throw new IOException("Invalid Intel HEX record on line " + line);
+        }
+
+        int bytesCount = decodeRecordBytes(record, 1, recordLength, table, recordData);
+        if (bytesCount < 5 || (recordData[0] & 0xff) != bytesCount - 5) {
+            throw new IOException("Invalid length of Intel HEX record on line " + line);
+        }
+        int checksum = 0;
+        for (int index = 0; index < bytesCount; index++) {
+            checksum += recordData[index];
+        }
+        if ((checksum & 0xff) != 0) {
+            throw new IOException("Invalid checksum of Intel HEX record on line " + line);
+        }
+
+        int dataLength = bytesCount - 5;
+        int address = ((recordData[1] & 0xff) << 8) | (recordData[2] & 0xff);
+        int type = recordData[3] & 0xff;
+        if ((type == 2 || type == 4) && dataLength != 2) {
+            throw new IOException("Invalid length of Intel HEX record on line " + line);
+        }
+        switch (type) {
+            case 0: {
+                appendRecordData(state, state.baseAddress + address, recordData, 4, dataLength);
+                break;
+            }
+            case 1: {
+                state.finished = true;
+                break;
+            }
+            case 2: {
+                state.baseAddress = (long) (((recordData[4] & 0xff) << 8) | (recordData[5] & 0xff)) << 4;
+                break;
+            }
+            case 4: {
+                state.baseAddress = (long) (((recordData[4] & 0xff) << 8) | (recordData[5] & 0xff)) << 16;
+                break;
+            }
+            default:
+            // Start address records don't affect data
+        }
+    }
+
+    private void processSRecord(char[] record, int recordLength, int[] table, byte[] recordData, RecordsState state) throws IOException, InterruptedException {
+        if (state.finished) {
+            return;
+        }
+        if (recordLength < 2 || (record[0] != 'S' && record[0] != 's')) {
+            throw new IOException("Invalid S-record on line " + line);
+        }
+
+        int type = Character.digit(record[1], 10);
+        int bytesCount = decodeRecordBytes(record, 2, recordLength, table, recordData);
+        if (bytesCount < 1 || (recordData[0] & 0xff) != bytesCount - 1) {
+            throw new IOException("Invalid length of S-record on line " + line);
+        }
+        int checksum = 0;
+        for (int index = 0; index < bytesCount; index++) {
+            checksum += recordData[index];
+        }
+        if ((checksum & 0xff) != 0xff) {
+            throw new IOException("Invalid checksum of S-record on line " + line);
+        }
+
+        switch (type) {
+            case 1:
+            case 2:
+            case 3: {
+                int addressBytes = type + 1;
+                if (bytesCount < addressBytes + 2) {
+                    throw new IOException("Invalid length of S-record on line " + line);
+                }
+                long address = 0;
+                for (int index = 1; index <= addressBytes; index++) {
+                    address = (address << 8) | (recordData[index] & 0xff);
+                }
+                appendRecordData(state, address, recordData, addressBytes + 1, bytesCount - addressBytes - 2);
+                break;
+            }
+            case 7:
+            case 8:
+            case 9: {
+                state.finished = true;
+                break;
+            }
+            case 0:
+            case 5:
+            case 6: {
+                // Header and count records don't affect data
+                break;
+            }
+            default:
+                throw new IOException("Unsupported S-record type on line " + line);
+        }
+    }
+
+    private int decodeRecordBytes(char[] record, int offset, int recordLength, int[] table, byte[] recordData) throws IOException {
+        if ((recordLength - offset) % 2 != 0) {
+            throw new IOException("Odd count of digits in record on line " + line);
+        }
+
+        int bytesCount = 0;
+        for (int index = offset; index < recordLength; index += 2) {
+            char high = record[index];
+            char low = record[index + 1];
+            int highValue = high < 128 ? table[high] : INVALID;
+            int lowValue = low < 128 ? table[low] : INVALID;
+            if (highValue < 0) {
+                throw invalidCharacter(high);
+            }
+            if (lowValue < 0) {
+                throw invalidCharacter(low);
+            }
+            recordData[bytesCount++] = (byte) ((highValue << 4) | lowValue);
+        }
+        return bytesCount;
+    }
+
+    private void appendRecordData(RecordsState state, long address, byte[] recordData, int offset, int length) throws IOException, InterruptedException {
+        if (state.nextAddress < 0) {
+            state.nextAddress = address;
+        } else if (address < state.nextAddress) {
+            throw new IOException("Records are not ordered by address on line " + line);
+        }
+
+        while (state.nextAddress < address) {
+            // Fill gap between records
+            int gapLength = (int) Math.min(block.length - blockLength, address - state.nextAddress);
+            Arrays.fill(block, blockLength, blockLength + gapLength, (byte) 0);
+            blockLength += gapLength;
+            decodedLength += gapLength;
+            state.nextAddress += gapLength;
+            if (blockLength == block.length) {
+                flushBlock();
+            }
+        }
+        for (int index = offset; index < offset + length; index++) {
+            appendByte(recordData[index]);
+        }
+        state.nextAddress += length;
+    }
+
+    private void appendValue(int value) throws IOException, InterruptedException {
+        if (value > 255) {
+            throw new IOException("Value out of byte range on line " + line);
+        }
+        appendByte((byte) value);
+    }
+
+    private void appendByte(byte value) throws InterruptedException {
+        block[blockLength++] = value;
+        decodedLength++;
+        if (blockLength == block.length) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws InterruptedException {
+        if (blockLength > 0) {
+            dataListener.dataDecoded(block, blockLength);
+            blockLength = 0;
+        }
+    }
+
+    private void reportProgress(long processed, long textLength) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (progressListener != null && textLength > 0) {
+            progressListener.progress(Math.min(processed, textLength), textLength);
+        }
+    }
+
+    private static int skipBlank(char[] chars, int index, int end) {
+        while (index < end && isBlank(chars[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isBlank(char character) {
+        return character == ' ' || character == '\t';
+    }
+
+    private static boolean isWhitespace(char character) {
+        return isBlank(character) || character == '\r' || character == '\n';
+    }
+
+    @Nonnull
+    private IOException invalidCharacter(char character) {
+        return new IOException("Invalid character '" + character + "' on line " + line);
+    }
+
+    /**
+     * Creates character table with whitespace as separators and other
+     * characters invalid.
+     */
+    @Nonnull
+    private static int[] createTable() {
+        int[] table = new int[128];
+        Arrays.fill(table, INVALID);
+        table[' '] = SEPARATOR;
+        table['\t'] = SEPARATOR;
+        table['\r'] = SEPARATOR;
+        table['\n'] = LINE_END;
+        return table;
+    }
+
+    private static class RecordsState {
+
+        long baseAddress = 0;
+        long nextAddress = -1;
+        boolean finished = false;
+    }
+
+    /**
+     * Import format.
+     */
+    public enum Format {
+        HEX_TEXT("Code text"),
+        HEX_DUMP("Hex dump"),
+        SOURCE_ARRAY("C/Java array"),
+        BASE64("Base64"),
+        INTEL_HEX("Intel HEX"),
+        S_RECORD("Motorola S-record");
+
+        private final String displayName;
+
+        private Format(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Nonnull
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    public static interface DataListener {
+
+        /**
+         * Receives block of decoded data.
+         *
+         * Buffer is reused for following blocks after method returns.
+         *
+         * @param data buffer with decoded data
+         * @param length count of decoded bytes
+         * @throws InterruptedException if import should be stopped
+         */
+        void dataDecoded(byte[] data, int length) throws InterruptedException;
+    }
+
+    public static interface ProgressListener {
+
+        void progress(long processedLength, long totalLength);
+    }
+}
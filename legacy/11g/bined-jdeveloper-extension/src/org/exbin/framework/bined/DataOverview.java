@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Overview of data divided into fixed count of cells, each described by
+ * entropy and shares of byte classes.
+ *
+ * Cells are computed from evenly distributed samples in passes of increasing
+ * resolution: each pass doubles count of samples of every incomplete cell,
+ * reading only samples which were not read before, until whole cell is
+ * covered or samples limit is reached. Modification invalidates only cells
+ * covering modified area, or all cells if length of data was changed as
+ * cells are mapped proportionally and all of them then cover different
+ * positions.
+ *
+ * Computation runs by {@link #compute(BinaryData, UpdateListener)} in
+ * background thread, other methods are synchronized and can be called from
+ * any thread.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DataOverview {
+
+    public static final int CELLS_COUNT = 2048;
+    public static final int SAMPLE_SIZE = 512;
+    public static final int MAX_LEVEL = 6;
+
+    private final int[][] counts = new int[CELLS_COUNT][];
+    private final int[] levels = new int[CELLS_COUNT];
+    private final int[] generations = new int[CELLS_COUNT];
+    private final float[] entropies = new float[CELLS_COUNT];
+    private final float[][] classShares = new float[CELLS_COUNT][];
+    private long dataSize;
+
+    public DataOverview(long dataSize) {
+        this.dataSize = dataSize;
+        for (int cell = 0; cell < CELLS_COUNT; cell++) {
+            levels[cell] = -1;
+        }
+    }
+
+    public synchronized long getDataSize() {
+        return dataSize;
+    }
+
+    /**
+     * Invalidates cells affected by modification of data.
+     *
+     * @param startPosition start position of modification
+     * @param removedLength length of removed data
+     * @param insertedLength length of inserted data
+     */
+    public synchronized void dataModified(long startPosition, long removedLength, long insertedLength) {
+        long newDataSize = dataSize - removedLength + insertedLength;
+        if (newDataSize != dataSize) {
+            dataSize = newDataSize;
+            invalidateCells(0, CELLS_COUNT - 1);
+        } else if (removedLength > 0) {
+            invalidateCells(getCell(startPosition), getCell(startPosition + removedLength - 1));
+        }
+    }
+
+    /**
+     * Invalidates all cells for data of given size.
+     *
+     * @param dataSize new data size
+     */
+    public synchronized void reset(long dataSize) {
+        this.dataSize = dataSize;
+        invalidateCells(0, CELLS_COUNT - 1);
+    }
+
+    /**
+     * Returns true if all cells were computed to the highest level.
+     *
+     * @return true if complete
+     */
+    public synchronized boolean isComplete() {
+        for (int cell = 0; cell < CELLS_COUNT; cell++) {
+            if (levels[cell] < getMaxLevel(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns entropy of given cell.
+     *
+     * @param cell cell index
+     * @return entropy in bits per byte or -1 if not computed yet
+     */
+    public synchronized float getEntropy(int cell) {
+        return levels[cell] < 0 ? -1 : entropies[cell];
+    }
+
+    /**
+     * Returns shares of byte classes of given cell.
+     *
+     * @param cell cell index
+     * @return shares of zero, printable ASCII, control and high bytes or null
+     * if not computed yet
+     */
+    @Nullable
+    public synchronized float[] getClassShares(int cell) {
+        return levels[cell] < 0 ? null : classShares[cell];
+    }
+
+    /**
+     * Returns index of cell containing given position.
+     *
+     * @param position data position
+     * @return cell index
+     */
+    public synchronized int getCell(long position) {
+        if (dataSize == 0) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(CELLS_COUNT - 1, position * CELLS_COUNT / dataSize));
+    }
+
+    /**
+     * Returns start position of given cell.
+     *
+     * @param cell cell index
+     * @return data position
+     */
+    public synchronized long getCellPosition(int cell) {
+        return cellStart(cell);
+    }
+
+    /**
+     * Computes cells in passes of increasing resolution until all are
+     * complete.
+     *
+     * @param data source data
+     * @param updateListener listener notified after each pass or null
+     * @throws InterruptedException if current thread was interrupted
+     */
+    public void compute(BinaryData data, @Nullable UpdateListener updateListener) throws InterruptedException {
+        byte[] sample = new byte[SAMPLE_SIZE];
+        int[] sampleCounts = new int[256];
+        boolean pending = true;
+        while (pending) {
+            pending = false;
+            for (int cell = 0; cell < CELLS_COUNT; cell++) {
+                long start;
+                long length;
+                int generation;
+                int targetLevel;
+                synchronized (this) {
+                    if (levels[cell] >= getMaxLevel(cell)) {
+                        continue;
+                    }
+                    start = cellStart(cell);
+                    length = cellStart(cell + 1) - start;
+                    generation = generations[cell];
+                    targetLevel = levels[cell] + 1;
+                }
+
+                for (int i = 0; i < 256; i++) {
+                    sampleCounts[i] = 0;
+                }
+                // Samples of previous levels are at even indices
+                int samplesCount = 1 << targetLevel;
+                int firstSample = targetLevel == 0 ? 0 : 1;
+                int sampleStep = targetLevel == 0 ? 1 : 2;
+                for (int sampleIndex = firstSample; sampleIndex < samplesCount; sampleIndex += sampleStep) {
+                    long samplePosition = start + length * sampleIndex / samplesCount;
+                    int sampleLength = (int) Math.min(SAMPLE_SIZE, start + length - samplePosition);
+                    if (sampleLength <= 0) {
+                        continue;
+                    }
+                    try {
+                        data.copyToArray(samplePosition, sample, 0, sampleLength);
+                    } catch (RuntimeException ex) {
+                        // Data modified during reading, positions can then exceed data
+                        if (isCellModified(cell, generation)) {
+                            break;
+                        }
+                        throw ex;
+                    }
+                    for (int i = 0; i < sampleLength; i++) {
+                        sampleCounts[sample[i] & 0xff]++;
+                    }
+                }
+
+                synchronized (this) {
+                    if (generations[cell] == generation) {
+                        applySamples(cell, sampleCounts, targetLevel);
+                    }
+                }
+                pending = true;
+
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+
+            if (pending && updateListener != null) {
+                updateListener.overviewUpdated();
+            }
+        }
+    }
+
+    private synchronized boolean isCellModified(int cell, int generation) {
+        return generations[cell] != generation;
+    }
+
+    private void applySamples(int cell, int[] sampleCounts, int level) {
+        int[] cellCounts = counts[cell];
+        if (cellCounts == null || level == 0) {
+            cellCounts = new int[256];
+            counts[cell] = cellCounts;
+        }
+        long total = 0;
+        for (int i = 0; i < 256; i++) {
+            cellCounts[i] += sampleCounts[i];
+            total += cellCounts[i];
+        }
+        levels[cell] = level;
+
+        double entropy = 0;
+        long printable = cellCounts['\t'] + cellCounts['\n'] + cellCounts['\r'];
+        long high = 0;
+        for (int value = 0; value < 256; value++) {
+            if (cellCounts[value] > 0) {
+                double probability = (double) cellCounts[value] / total;
+                entropy -= probability * Math.log(probability);
+            }
+            if (value >= 0x20 && value < 0x7f) {
+                printable += cellCounts[value];
+            } else if (value >= 0x80) {
+                high += cellCounts[value];
+            }
+        }
+        entropies[cell] = total == 0 ? 0 : (float) (entropy / Math.log(2));
+        float[] shares = new float[4];
+        if (total > 0) {
+            shares[0] = (float) cellCounts[0] / total;
+            shares[1] = (float) printable / total;
+            shares[3] = (float) high / total;
+            shares[2] = Math.max(0, 1 - shares[0] - shares[1] - shares[3]);
+        }
+        classShares[cell] = shares;
+    }
+
+    private void invalidateCells(int firstCell, int lastCell) {
+        for (int cell = firstCell; cell <= lastCell; cell++) {
+            levels[cell] = -1;
+            counts[cell] = null;
+            classShares[cell] = null;
+            generations[cell]++;
+        }
+    }
+
+    /**
+     * Returns level at which samples cover whole cell.
+     */
+    private int getMaxLevel(int cell) {
+        long length = cellStart(cell + 1) - cellStart(cell);
+        int level = 0;
+        while (level < MAX_LEVEL && ((long) SAMPLE_SIZE << level) < length) {
+            level++;
+        }
+        return level;
+    }
+
+    private long cellStart(int cell) {
+        return dataSize * cell / CELLS_COUNT;
+    }
+
+    /**
+     * Listener for updates of computed cells.
+     */
+    public static interface UpdateListener {
+
+        void overviewUpdated();
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Byte histogram and block entropy statistics of range of data.
+ *
+ * Range is divided into chunks of limited size with byte counts and entropy
+ * of fixed size blocks stored per chunk. Modification of data replaces only
+ * chunks covering modified area by pending chunks, so that only these are
+ * computed again. Pending chunks are computed by {@link ComputeTask}, which
+ * reads data in bulk on calling thread and counts chunks in parallel.
+ *
+ * Instance is expected to be accessed from single thread, compute task can
+ * run in background. Task stops when data are modified and only chunks read
+ * before the modification are applied.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DataStatistics {
+
+    public static final int BLOCK_SIZE = 4096;
+    public static final int CHUNK_SIZE = 1048576;
+
+    private static final double ENTROPY_QUANTUM = 8.0 / 255;
+    private static final double[] LOG2_TABLE = createLog2Table();
+
+    private final List<Chunk> chunks = new ArrayList<Chunk>();
+    private final long[] histogram = new long[256];
+    private long startPosition;
+    private long dataSize;
+    private int pendingChunks = 0;
+    private final AtomicInteger modificationCount = new AtomicInteger();
+
+    public DataStatistics() {
+    }
+
+    /**
+     * Resets statistics to given range with all chunks pending.
+     *
+     * @param startPosition start position of the range
+     * @param length length of the range
+     */
+    public void reset(long startPosition, long length) {
+        this.startPosition = startPosition;
+        for (Chunk chunk : chunks) {
+            chunk.removed = true;
+        }
+        chunks.clear();
+        pendingChunks = 0;
+        for (int i = 0; i < 256; i++) {
+            histogram[i] = 0;
+        }
+        dataSize = 0;
+        insertPendingChunks(0, length);
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Updates chunks after data of the range were modified.
+     *
+     * Chunks overlapping removed area are replaced by pending chunks, other
+     * chunks are kept.
+     *
+     * @param position position relative to start of the range
+     * @param removedLength length of removed data
+     * @param insertedLength length of inserted data
+     */
+    public void dataModified(long position, long removedLength, long insertedLength) {
+        int firstIndex = 0;
+        long firstStart = 0;
+        while (firstIndex < chunks.size() && firstStart + chunks.get(firstIndex).length <= position
+                && !(firstIndex == chunks.size() - 1 && removedLength == 0)) {
+            firstStart += chunks.get(firstIndex).length;
+            firstIndex++;
+        }
+
+        int lastIndex = firstIndex;
+        long affectedEnd = firstStart;
+        while (lastIndex < chunks.size() && (affectedEnd < position + removedLength || lastIndex == firstIndex)) {
+            Chunk chunk = chunks.get(lastIndex);
+            removeChunkCounts(chunk);
+            chunk.removed = true;
+            affectedEnd += chunk.length;
+            lastIndex++;
+        }
+        chunks.subList(firstIndex, lastIndex).clear();
+        dataSize -= affectedEnd - firstStart;
+
+        long newLength = affectedEnd - firstStart - removedLength + insertedLength;
+        insertPendingChunks(firstIndex, newLength);
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Returns true if there are chunks which need to be computed.
+     *
+     * @return true if pending
+     */
+    public boolean isPending() {
+        return pendingChunks > 0;
+    }
+
+    /**
+     * Creates task for computation of all pending chunks.
+     *
+     * @return compute task
+     */
+    @Nonnull
+    public ComputeTask createComputeTask() {
+        List<Chunk> taskChunks = new ArrayList<Chunk>();
+        List<Long> taskPositions = new ArrayList<Long>();
+        long position = startPosition;
+        for (Chunk chunk : chunks) {
+            if (chunk.counts == null) {
+                taskChunks.add(chunk);
+                taskPositions.add(position);
+            }
+            position += chunk.length;
+        }
+
+        return new ComputeTask(taskChunks, taskPositions, modificationCount);
+    }
+
+    /**
+     * Applies computed chunks of finished task which are still present.
+     *
+     * @param task finished compute task
+     */
+    public void applyResult(ComputeTask task) {
+        for (int i = 0; i < task.chunks.size(); i++) {
+            Chunk chunk = task.chunks.get(i);
+            if (task.counts[i] == null || chunk.removed || chunk.counts != null) {
+                continue;
+            }
+
+            chunk.counts = task.counts[i];
+            chunk.blockEntropies = task.blockEntropies[i];
+            for (int value = 0; value < 256; value++) {
+                histogram[value] += chunk.counts[value];
+            }
+            pendingChunks--;
+        }
+    }
+
+    public long getStartPosition() {
+        return startPosition;
+    }
+
+    /**
+     * Returns size of the range.
+     *
+     * @return size in bytes
+     */
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    /**
+     * Returns count of occurrences of given byte value in computed chunks.
+     *
+     * @param value byte value
+     * @return count
+     */
+    public long getCount(int value) {
+        return histogram[value & 0xff];
+    }
+
+    /**
+     * Returns total count of bytes in computed chunks.
+     *
+     * @return count of bytes
+     */
+    public long getComputedSize() {
+        long total = 0;
+        for (int value = 0; value < 256; value++) {
+            total += histogram[value];
+        }
+        return total;
+    }
+
+    /**
+     * Returns Shannon entropy of computed data in bits per byte.
+     *
+     * @return entropy in range 0 to 8
+     */
+    public double getEntropy() {
+        long total = getComputedSize();
+        if (total == 0) {
+            return 0;
+        }
+
+        double entropy = 0;
+        for (int value = 0; value < 256; value++) {
+            long count = histogram[value];
+            if (count > 0) {
+                double probability = (double) count / total;
+                entropy -= probability * Math.log(probability);
+            }
+        }
+        return entropy / Math.log(2);
+    }
+
+    /**
+     * Returns ratio of zero bytes in computed data.
+     *
+     * @return ratio in range 0 to 1
+     */
+    public double getZeroRatio() {
+        long total = getComputedSize();
+        return total == 0 ? 0 : (double) histogram[0] / total;
+    }
+
+    /**
+     * Returns ratio of printable ASCII characters including tab and line
+     * breaks in computed data.
+     *
+     * @return ratio in range 0 to 1
+     */
+    public double getPrintableRatio() {
+        long total = getComputedSize();
+        if (total == 0) {
+            return 0;
+        }
+
+        long printable = histogram['\t'] + histogram['\n'] + histogram['\r'];
+        for (int value = 0x20; value < 0x7f; value++) {
+            printable += histogram[value];
+        }
+        return (double) printable / total;
+    }
+
+    /**
+     * Fills series of block entropies reduced to given count of columns.
+     *
+     * Each column contains maximum and average entropy of blocks it covers,
+     * pending chunks are reported as -1.
+     *
+     * @param maximums target array for maximum entropy of column
+     * @param averages target array for average entropy of column
+     */
+    public void fillBlockEntropySeries(float[] maximums, float[] averages) {
+        int columns = maximums.length;
+        float[] sums = new float[columns];
+        int[] counts = new int[columns];
+        for (int column = 0; column < columns; column++) {
+            maximums[column] = -1;
+        }
+        if (dataSize == 0 || columns == 0) {
+            for (int column = 0; column < columns; column++) {
+                averages[column] = -1;
+            }
+            return;
+        }
+
+        long position = 0;
+        for (Chunk chunk : chunks) {
+            int blocksCount = (chunk.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            for (int block = 0; block < blocksCount; block++) {
+                int column = (int) ((position + (long) block * BLOCK_SIZE) * columns / dataSize);
+                if (chunk.blockEntropies == null) {
+                    counts[column]++;
+                    continue;
+                }
+
+                float entropy = (float) ((chunk.blockEntropies[block] & 0xff) * ENTROPY_QUANTUM);
+                if (entropy > maximums[column]) {
+                    maximums[column] = entropy;
+                }
+                sums[column] += entropy;
+                counts[column]++;
+            }
+            position += chunk.length;
+        }
+
+        for (int column = 0; column < columns; column++) {
+            averages[column] = maximums[column] < 0 ? -1 : sums[column] / counts[column];
+        }
+    }
+
+    private void insertPendingChunks(int index, long length) {
+        int chunkIndex = index;
+        long remaining = length;
+        while (remaining > 0) {
+            int chunkLength = (int) Math.min(CHUNK_SIZE, remaining);
+            chunks.add(chunkIndex, new Chunk(chunkLength));
+            chunkIndex++;
+            pendingChunks++;
+            remaining -= chunkLength;
+        }
+        dataSize += length;
+    }
+
+    private void removeChunkCounts(Chunk chunk) {
+        if (chunk.counts == null) {
+            pendingChunks--;
+            return;
+        }
+
+        for (int value = 0; value < 256; value++) {
+            histogram[value] -= chunk.counts[value];
+        }
+    }
+
+    /**
+     * Counts byte values of chunk and entropies of its blocks.
+     */
+    private static void countChunk(byte[] data, int length, int[] counts, byte[] blockEntropies) {
+        int[] blockCounts = new int[256];
+        int block = 0;
+        for (int blockStart = 0; blockStart < length; blockStart += BLOCK_SIZE) {
+            int blockEnd = Math.min(length, blockStart + BLOCK_SIZE);
+            for (int i = 0; i < 256; i++) {
+                blockCounts[i] = 0;
+            }
+            for (int i = blockStart; i < blockEnd; i++) {
+                blockCounts[data[i] & 0xff]++;
+            }
+
+            int blockLength = blockEnd - blockStart;
+            double entropy = 0;
+            for (int value = 0; value < 256; value++) {
+                int count = blockCounts[value];
+                if (count > 0) {
+                    counts[value] += count;
+                    entropy -= count * (LOG2_TABLE[count] - LOG2_TABLE[blockLength]);
+                }
+            }
+            entropy /= blockLength;
+            blockEntropies[block] = (byte) Math.round(entropy / ENTROPY_QUANTUM);
+            block++;
+        }
+    }
+
+    @Nonnull
+    private static double[] createLog2Table() {
+        double[] table = new double[BLOCK_SIZE + 1];
+        for (int i = 1; i <= BLOCK_SIZE; i++) {
+            table[i] = Math.log(i) / Math.log(2);
+        }
+        return table;
+    }
+
+    /**
+     * Chunk of the range with computed statistics or pending.
+     */
+    private static class Chunk {
+
+        private final int length;
+        private boolean removed = false;
+        @Nullable
+        private int[] counts;
+        @Nullable
+        private byte[] blockEntropies;
+
+        public Chunk(int length) {
+            this.length = length;
+        }
+    }
+
+    /**
+     * Computation of pending chunks.
+     */
+    public static class ComputeTask {
+
+        private final List<Chunk> chunks;
+        private final List<Long> positions;
+        private final AtomicInteger modificationCount;
+        private final int initialModificationCount;
+        private final int[][] counts;
+        private final byte[][] blockEntropies;
+
+        private ComputeTask(List<Chunk> chunks, List<Long> positions, AtomicInteger modificationCount) {
+            this.chunks = chunks;
+            this.positions = positions;
+            this.modificationCount = modificationCount;
+            initialModificationCount = modificationCount.get();
+            counts = new int[chunks.size()][];
+            blockEntropies = new byte[chunks.size()][];
+        }
+
+        /**
+         * Computes chunks of the task until data are modified.
+         *
+         * @param data source data
+         * @param threadsCount count of counting threads
+         * @param progressListener progress listener or null
+         * @throws InterruptedException if current thread was interrupted
+         */
+        public void compute(BinaryData data, int threadsCount, @Nullable ProgressListener progressListener) throws InterruptedException {
+            int buffersCount = threadsCount + 2;
+            final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<byte[]>(buffersCount);
+            for (int i = 0; i < buffersCount; i++) {
+                freeBuffers.add(new byte[CHUNK_SIZE]);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            try {
+                for (int i = 0; i < chunks.size(); i++) {
+                    final byte[] buffer = freeBuffers.take();
+                    final int chunkLength = chunks.get(i).length;
+                    if (modificationCount.get() != initialModificationCount) {
+                        break;
+                    }
+                    try {
+                        data.copyToArray(positions.get(i), buffer, 0, chunkLength);
+                    } catch (RuntimeException ex) {
+                        // Data modified during reading, positions can then exceed data
+                        if (modificationCount.get() != initialModificationCount) {
+                            break;
+                        }
+                        throw ex;
+                    }
+                    if (modificationCount.get() != initialModificationCount) {
+                        break;
+                    }
+
+                    final int chunkIndex = i;
+                    futures.add(executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            int[] chunkCounts = new int[256];
+                            byte[] chunkEntropies = new byte[(chunkLength + BLOCK_SIZE - 1) / BLOCK_SIZE];
+                            countChunk(buffer, chunkLength, chunkCounts, chunkEntropies);
+                            counts[chunkIndex] = chunkCounts;
+                            blockEntropies[chunkIndex] = chunkEntropies;
+                            freeBuffers.add(buffer);
+                        }
+                    }));
+
+                    if (progressListener != null) {
+                        progressListener.progress(i + 1, chunks.size());
+                    }
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Statistics computation failed", ex.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Listener for progress of computation.
+     */
+    public static interface ProgressListener {
+
+        void progress(int processedChunks, int totalChunks);
+    }
+}
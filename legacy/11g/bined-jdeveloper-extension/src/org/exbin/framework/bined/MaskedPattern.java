@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Binary pattern with bit mask for each byte.
+ *
+ * Pattern is written as sequence of hexadecimal byte values where any nibble
+ * can be replaced by ? wildcard and any byte can be followed by /MM explicit
+ * bit mask, for example "4D 5A ?? ?? 50 45", "A? 0F" or "4D/F0". Whitespaces
+ * are ignored.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MaskedPattern {
+
+    private final byte[] values;
+    private final byte[] masks;
+
+    public MaskedPattern(byte[] values, byte[] masks) {
+        if (values.length != masks.length) {
+            throw new IllegalArgumentException("Values and masks lengths differ");
+        }
+        this.values = new byte[values.length];
+        this.masks = masks;
+        for (int i = 0; i < values.length; i++) {
+            this.values[i] = (byte) (values[i] & masks[i]);
+        }
+    }
+
+    /**
+     * Creates pattern matching given bytes exactly.
+     *
+     * @param values pattern bytes
+     * @return masked pattern
+     */
+    @Nonnull
+    public static MaskedPattern exact(byte[] values) {
+        byte[] masks = new byte[values.length];
+        Arrays.fill(masks, (byte) 0xff);
+        return new MaskedPattern(values, masks);
+    }
+
+    /**
+     * Parses pattern from text.
+     *
+     * @param patternText pattern text
+     * @return masked pattern
+     * @throws IllegalArgumentException if pattern text is not valid
+     */
+    @Nonnull
+    public static MaskedPattern parse(String patternText) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < patternText.length(); i++) {
+            char character = patternText.charAt(i);
+            if (!Character.isWhitespace(character)) {
+                builder.append(character);
+            }
+        }
+
+        String text = builder.toString();
+        byte[] values = new byte[text.length() / 2];
+        byte[] masks = new byte[values.length];
+        int length = 0;
+        int index = 0;
+        while (index < text.length()) {
+            if (index + 2 > text.length()) {
+                throw new IllegalArgumentException("Incomplete byte value at " + index);
+            }
+            int value = 0;
+            int mask = 0;
+            for (int i = 0; i < 2; i++) {
+                char character = text.charAt(index + i);
+                value <<= 4;
+                mask <<= 4;
+                if (character != '?') {
+                    value |= parseNibble(character, index + i);
+                    mask |= 0xf;
+                }
+            }
+            index += 2;
+
+            if (index < text.length() && text.charAt(index) == '/') {
+                if (index + 3 > text.length()) {
+                    throw new IllegalArgumentException("Incomplete bit mask at " + index);
+                }
+                mask &= (parseNibble(text.charAt(index + 1), index + 1) << 4) | parseNibble(text.charAt(index + 2), index + 2);
+                index += 3;
+            }
+
+            values[length] = (byte) value;
+            masks[length] = (byte) mask;
+            length++;
+        }
+
+        if (length < values.length) {
+            byte[] trimmedValues = new byte[length];
+            byte[] trimmedMasks = new byte[length];
+            System.arraycopy(values, 0, trimmedValues, 0, length);
+            System.arraycopy(masks, 0, trimmedMasks, 0, length);
+            return new MaskedPattern(trimmedValues, trimmedMasks);
+        }
+
+        return new MaskedPattern(values, masks);
+    }
+
+    private static int parseNibble(char character, int index) {
+        int value = Character.digit(character, 16);
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid character '" + character + "' at " + index);
+        }
+        return value;
+    }
+
+    public int getLength() {
+        return values.length;
+    }
+
+    /**
+     * Returns byte values with bits not covered by mask cleared.
+     *
+     * @return values
+     */
+    @Nonnull
+    public byte[] getValues() {
+        return values;
+    }
+
+    @Nonnull
+    public byte[] getMasks() {
+        return masks;
+    }
+
+    /**
+     * Returns true if given byte matches pattern at given index.
+     *
+     * @param index pattern index
+     * @param value byte value
+     * @return true if matches
+     */
+    public boolean matches(int index, byte value) {
+        return (value & masks[index]) == values[index];
+    }
+}
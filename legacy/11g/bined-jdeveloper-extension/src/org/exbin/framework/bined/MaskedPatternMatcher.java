@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Bit-parallel matcher of masked pattern using Shift-And algorithm.
+ *
+ * For each byte value there is precomputed bit set of pattern positions
+ * accepting it and state of all partial matches is kept in 64-bit words, so
+ * each processed byte costs single table lookup, shift and and operation for
+ * patterns up to 64 bytes. Data are processed in blocks and state is kept
+ * between calls, so matches spanning blocks are found too.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MaskedPatternMatcher {
+
+    private final int patternLength;
+    private final int wordsCount;
+    private final long[] table;
+    private final long[] state;
+    private final long matchBit;
+
+    public MaskedPatternMatcher(MaskedPattern pattern) {
+        patternLength = pattern.getLength();
+        if (patternLength == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        wordsCount = (patternLength + 63) / 64;
+        table = new long[256 * wordsCount];
+        state = new long[wordsCount];
+        matchBit = 1L << ((patternLength - 1) % 64);
+        for (int value = 0; value < 256; value++) {
+            for (int index = 0; index < patternLength; index++) {
+                if (pattern.matches(index, (byte) value)) {
+                    table[value * wordsCount + index / 64] |= 1L << (index % 64);
+                }
+            }
+        }
+    }
+
+    public int getPatternLength() {
+        return patternLength;
+    }
+
+    /**
+     * Resets state of partial matches.
+     */
+    public void reset() {
+        for (int i = 0; i < wordsCount; i++) {
+            state[i] = 0;
+        }
+    }
+
+    /**
+     * Processes block of data until first match is found.
+     *
+     * Processing can be continued from the next index after returned one.
+     *
+     * @param block data block
+     * @param offset offset in block
+     * @param length length of data to process
+     * @return index of the last byte of the match in block or -1 if no match
+     * was completed in processed data
+     */
+    public int process(byte[] block, int offset, int length) {
+        int end = offset + length;
+        if (wordsCount == 1) {
+            long current = state[0];
+            for (int i = offset; i < end; i++) {
+                current = ((current << 1) | 1) & table[block[i] & 0xff];
+                if ((current & matchBit) != 0) {
+                    state[0] = current;
+                    return i;
+                }
+            }
+            state[0] = current;
+            return -1;
+        }
+
+        int lastWord = wordsCount - 1;
+        for (int i = offset; i < end; i++) {
+            int tableOffset = (block[i] & 0xff) * wordsCount;
+            long carry = 1;
+            for (int word = 0; word < wordsCount; word++) {
+                long current = state[word];
+                long nextCarry = current >>> 63;
+                state[word] = ((current << 1) | carry) & table[tableOffset + word];
+                carry = nextCarry;
+            }
+            if ((state[lastWord] & matchBit) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
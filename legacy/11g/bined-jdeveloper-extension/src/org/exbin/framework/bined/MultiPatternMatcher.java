@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Matcher of multiple byte patterns using Aho-Corasick automaton.
+ *
+ * Automaton is compiled into dense transition table with 256 entries per
+ * state, so each processed byte costs single table lookup regardless of the
+ * number of patterns. Matches are reported in order of their end position.
+ * Matcher is immutable and can be shared between threads.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MultiPatternMatcher {
+
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+    private final int[] transitions;
+    /**
+     * Index of the first pattern ending in given state or -1.
+     */
+    private final int[] statePattern;
+    /**
+     * Index of next pattern ending in the same state as given pattern or -1.
+     */
+    private final int[] nextStatePattern;
+    /**
+     * First state with pattern on suffix chain starting with given state or
+     * -1.
+     */
+    private final int[] firstOutput;
+    /**
+     * Next state with pattern on suffix chain after given state or -1.
+     */
+    private final int[] nextOutput;
+
+    public MultiPatternMatcher(List<byte[]> patterns) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("No patterns");
+        }
+
+        patternLengths = new int[patterns.size()];
+        int maxStates = 1;
+        int maxLength = 0;
+        for (int i = 0; i < patterns.size(); i++) {
+            int length = patterns.get(i).length;
+            if (length == 0) {
+                throw new IllegalArgumentException("Empty pattern");
+            }
+            patternLengths[i] = length;
+            maxLength = Math.max(maxLength, length);
+            maxStates += length;
+        }
+        maxPatternLength = maxLength;
+
+        // Build trie, missing transitions are marked by zero as root is never target
+        int[] trie = new int[maxStates * 256];
+        int[] patternOfState = new int[maxStates];
+        Arrays.fill(patternOfState, -1);
+        nextStatePattern = new int[patterns.size()];
+        Arrays.fill(nextStatePattern, -1);
+        int statesCount = 1;
+        for (int i = 0; i < patterns.size(); i++) {
+            int state = 0;
+            for (byte value : patterns.get(i)) {
+                int index = (state << 8) | (value & 0xff);
+                if (trie[index] == 0) {
+                    trie[index] = statesCount++;
+                }
+                state = trie[index];
+            }
+            // Equal patterns share state and are chained in order of their indices
+            if (patternOfState[state] < 0) {
+                patternOfState[state] = i;
+            } else {
+                int lastPattern = patternOfState[state];
+                while (nextStatePattern[lastPattern] >= 0) {
+                    lastPattern = nextStatePattern[lastPattern];
+                }
+                nextStatePattern[lastPattern] = i;
+            }
+        }
+
+        // Compute failure links in breadth-first order and fill missing transitions
+        int[] failure = new int[statesCount];
+        int[] queue = new int[statesCount];
+        int[] outputs = new int[statesCount];
+        int[] outputLinks = new int[statesCount];
+        outputs[0] = -1;
+        outputLinks[0] = -1;
+        int queueStart = 0;
+        int queueEnd = 0;
+        for (int value = 0; value < 256; value++) {
+            int child = trie[value];
+            if (child != 0) {
+                queue[queueEnd++] = child;
+            }
+        }
+        while (queueStart < queueEnd) {
+            int state = queue[queueStart++];
+            int failureState = failure[state];
+            outputLinks[state] = outputs[failureState];
+            outputs[state] = patternOfState[state] >= 0 ? state : outputLinks[state];
+            for (int value = 0; value < 256; value++) {
+                int index = (state << 8) | value;
+                int child = trie[index];
+                if (child != 0) {
+                    failure[child] = trie[(failureState << 8) | value];
+                    queue[queueEnd++] = child;
+                } else {
+                    trie[index] = trie[(failureState << 8) | value];
+                }
+            }
+        }
+
+        transitions = Arrays.copyOf(trie, statesCount * 256);
+        statePattern = Arrays.copyOf(patternOfState, statesCount);
+        firstOutput = outputs;
+        nextOutput = outputLinks;
+    }
+
+    public int getPatternsCount() {
+        return patternLengths.length;
+    }
+
+    public int getPatternLength(int patternIndex) {
+        return patternLengths[patternIndex];
+    }
+
+    public int getMaxPatternLength() {
+        return maxPatternLength;
+    }
+
+    public int getStatesCount() {
+        return statePattern.length;
+    }
+
+    /**
+     * Processes block of data continuing from given automaton state.
+     *
+     * @param state automaton state, 0 for start of data
+     * @param block data block
+     * @param offset offset of first byte to process
+     * @param length number of bytes to process
+     * @param dataPosition data position of first processed byte
+     * @param listener matches listener
+     * @return automaton state after processing of the block or -1 if
+     * processing was stopped by listener
+     */
+    public int process(int state, byte[] block, int offset, int length, long dataPosition, MatchListener listener) {
+        int[] table = transitions;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            state = table[(state << 8) | (block[i] & 0xff)];
+            int outputState = firstOutput[state];
+            while (outputState >= 0) {
+                for (int patternIndex = statePattern[outputState]; patternIndex >= 0; patternIndex = nextStatePattern[patternIndex]) {
+                    if (!listener.patternMatched(patternIndex, dataPosition + (i - offset) - patternLengths[patternIndex] + 1)) {
+                        return -1;
+                    }
+                }
+                outputState = nextOutput[outputState];
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * Scans whole data for all patterns.
+     *
+     * Data are read in blocks by calling thread. If executor is provided,
+     * blocks are processed in parallel, each block prefixed by overlap of
+     * maximum pattern length from preceding data, so matches crossing block
+     * boundaries are found too. Matches are reported from calling thread in
+     * order of their end position.
+     *
+     * @param data scanned data
+     * @param blockSize size of block
+     * @param executor executor for parallel processing or null
+     * @param parallelism number of blocks processed at once
+     * @param listener matches listener
+     * @throws InterruptedException if scanning thread was interrupted
+     */
+    public void scan(BinaryData data, int blockSize, @Nullable ExecutorService executor, int parallelism, MatchListener listener) throws InterruptedException {
+        long dataSize = data.getDataSize();
+        if (executor == null || parallelism < 2) {
+            byte[] buffer = new byte[blockSize];
+            int state = 0;
+            long position = 0;
+            while (position < dataSize) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                int length = (int) Math.min(blockSize, dataSize - position);
+                data.copyToArray(position, buffer, 0, length);
+                state = process(state, buffer, 0, length, position, listener);
+                if (state < 0) {
+                    return;
+                }
+                position += length;
+            }
+            return;
+        }
+
+        int overlap = maxPatternLength - 1;
+        long position = 0;
+        List<Future<BlockMatches>> futures = new ArrayList<Future<BlockMatches>>();
+        while (position < dataSize) {
+            futures.clear();
+            for (int i = 0; i < parallelism && position < dataSize; i++) {
+                final long blockStart = position;
+                final long readStart = Math.max(0, blockStart - overlap);
+                final int length = (int) Math.min(blockSize, dataSize - position);
+                final byte[] buffer = new byte[(int) (blockStart - readStart) + length];
+                data.copyToArray(readStart, buffer, 0, buffer.length);
+                futures.add(executor.submit(new Callable<BlockMatches>() {
+                    @Override
+                    public BlockMatches call() throws Exception {
+                        BlockMatches blockMatches = new BlockMatches(blockStart);
+                        process(0, buffer, 0, buffer.length, readStart, blockMatches);
+                        return blockMatches;
+                    }
+                }));
+                position += length;
+            }
+
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    BlockMatches blockMatches = futures.get(i).get();
+                    for (int j = 0; j < blockMatches.count; j++) {
+                        if (!listener.patternMatched(blockMatches.patterns[j], blockMatches.positions[j])) {
+                            for (int k = i + 1; k < futures.size(); k++) {
+                                futures.get(k).cancel(true);
+                            }
+                            return;
+                        }
+                    }
+                }
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException(ex.getCause());
+            } catch (InterruptedException ex) {
+                for (Future<BlockMatches> future : futures) {
+                    future.cancel(true);
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Listener for found matches.
+     */
+    public interface MatchListener {
+
+        /**
+         * Reports found match.
+         *
+         * @param patternIndex index of matched pattern
+         * @param position data position of start of the match
+         * @return true to continue matching, false to stop
+         */
+        boolean patternMatched(int patternIndex, long position);
+    }
+
+    /**
+     * Matches found in single block ending at or after start of block
+     * excluding overlap.
+     */
+    private class BlockMatches implements MatchListener {
+
+        private final long blockStart;
+        private int count = 0;
+        private int[] patterns = new int[16];
+        private long[] positions = new long[16];
+
+        public BlockMatches(long blockStart) {
+            this.blockStart = blockStart;
+        }
+
+        @Override
+        public boolean patternMatched(int patternIndex, long position) {
+            if (position + patternLengths[patternIndex] <= blockStart) {
+                return true;
+            }
+
+            if (count == patterns.length) {
+                patterns = Arrays.copyOf(patterns, count * 2);
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            patterns[count] = patternIndex;
+            positions[count] = position;
+            count++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.util.concurrent.CancellationException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Regular expression search over binary data.
+ *
+ * Data are matched as characters of {@link BinaryDataCharSequence} in windows
+ * of limited size, so memory stays bounded for data of any size. Window is
+ * extended by overlap on both sides: preceding data are visible to look-behind
+ * and matches starting in window can continue into following data, so single
+ * match is limited to overlap length past the end of window.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class RegexDataSearch {
+
+    public static final int WINDOW_SIZE = 4194304;
+    public static final int WINDOW_OVERLAP = 65536;
+
+    private final BinaryData data;
+    private final Pattern pattern;
+    private final char[] charTable;
+    private final long dataSize;
+    private ProgressListener progressListener = null;
+
+    private BinaryDataCharSequence currentSequence = null;
+    private Matcher matcher = null;
+    private long windowStart = -1;
+    private long windowEnd = -1;
+    private long sequenceStart = 0;
+    private long matchLength = 0;
+
+    public RegexDataSearch(BinaryData data, Pattern pattern, char[] charTable) {
+        this.data = data;
+        this.pattern = pattern;
+        this.charTable = charTable;
+        dataSize = data.getDataSize();
+    }
+
+    public void setProgressListener(@Nullable ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Finds next non-empty match starting at or after given position.
+     *
+     * @param fromPosition start position
+     * @return position of found match or -1 if there is no further match
+     * @throws InterruptedException if current thread was interrupted
+     */
+    public long findNext(long fromPosition) throws InterruptedException {
+        long position = fromPosition;
+        try {
+            while (position < dataSize) {
+                if (matcher == null || position < windowStart || position >= windowEnd) {
+                    openWindow(position);
+                }
+
+                matcher.region((int) (position - sequenceStart), currentSequence.length());
+                while (matcher.find()) {
+                    long matchStart = sequenceStart + matcher.start();
+                    if (matchStart >= windowEnd && windowEnd < dataSize) {
+                        break;
+                    }
+
+                    if (matcher.end() > matcher.start()) {
+                        matchLength = matcher.end() - matcher.start();
+                        return matchStart;
+                    }
+                }
+
+                position = windowEnd;
+            }
+        } catch (CancellationException ex) {
+            throw new InterruptedException();
+        }
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns length of match found by last call of findNext.
+     *
+     * @return length of match
+     */
+    public long getMatchLength() {
+        return matchLength;
+    }
+
+    private void openWindow(long position) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (progressListener != null) {
+            progressListener.progress(position, dataSize);
+        }
+
+        windowStart = position;
+        windowEnd = Math.min(dataSize, position + WINDOW_SIZE);
+        sequenceStart = Math.max(0, position - WINDOW_OVERLAP);
+        long sequenceEnd = Math.min(dataSize, windowEnd + WINDOW_OVERLAP);
+        currentSequence = new BinaryDataCharSequence(data, sequenceStart, (int) (sequenceEnd - sequenceStart), charTable);
+        matcher = pattern.matcher(currentSequence);
+        matcher.useTransparentBounds(true);
+        matcher.useAnchoringBounds(false);
+    }
+
+    /**
+     * Listener for search progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports that search reached given position.
+         *
+         * @param position current position
+         * @param dataSize size of data
+         */
+        void progress(long position, long dataSize);
+    }
+}
@@ -83,9 +83,14 @@ public class SearchCondition {
 
     public boolean isEmpty() {
         switch (searchMode) {
-            case TEXT: {
+            case TEXT:
+            case REGEX: {
                 return searchText == null || searchText.isEmpty();
             }
+            case MASKED: {
+                // Whitespace separates tokens of masked pattern
+                return searchText == null || searchText.trim().isEmpty();
+            }
             case BINARY: {
                 return binaryData == null || binaryData.isEmpty();
             }
@@ -115,7 +120,7 @@ public class SearchCondition {
         if (this.searchMode != other.searchMode) {
             return false;
         }
-        if (searchMode == SearchMode.TEXT) {
+        if (searchMode != SearchMode.BINARY) {
             return Objects.equals(this.searchText, other.searchText);
         } else {
             return Objects.equals(this.binaryData, other.binaryData);
@@ -130,6 +135,16 @@ public class SearchCondition {
     }
 
     public static enum SearchMode {
-        TEXT, BINARY
+        TEXT, BINARY,
+        /**
+         * Hexadecimal pattern with nibble wildcards and bit masks entered as
+         * text, see {@link MaskedPattern}.
+         */
+        MASKED,
+        /**
+         * Regular expression matched over bytes mapped to characters, see
+         * {@link RegexDataSearch}.
+         */
+        REGEX
     }
 }
@@ -30,6 +30,8 @@ public class SearchParameters {
     private boolean matchCase = true;
     private boolean multipleMatches = true;
     private SearchDirection searchDirection = SearchDirection.FORWARD;
+    private int maxMismatches = 0;
+    private boolean countOnly = false;
 
     public SearchParameters() {
     }
@@ -82,6 +84,35 @@ public class SearchParameters {
         this.searchDirection = searchDirection;
     }
 
+    /**
+     * Returns maximum number of differing bytes allowed in match.
+     *
+     * Zero means exact match.
+     *
+     * @return maximum mismatches count
+     */
+    public int getMaxMismatches() {
+        return maxMismatches;
+    }
+
+    public void setMaxMismatches(int maxMismatches) {
+        this.maxMismatches = maxMismatches;
+    }
+
+    /**
+     * Returns true if matches should be only counted without storing their
+     * positions.
+     *
+     * @return true for count-only search
+     */
+    public boolean isCountOnly() {
+        return countOnly;
+    }
+
+    public void setCountOnly(boolean countOnly) {
+        this.countOnly = countOnly;
+    }
+
     public void setFromParameters(SearchParameters searchParameters) {
         condition = searchParameters.getCondition();
         startPosition = searchParameters.getStartPosition();
@@ -89,6 +120,8 @@ public class SearchParameters {
         matchCase = searchParameters.isMatchCase();
         multipleMatches = searchParameters.isMultipleMatches();
         searchDirection = searchParameters.getSearchDirection();
+        maxMismatches = searchParameters.getMaxMismatches();
+        countOnly = searchParameters.isCountOnly();
     }
 
     public static enum SearchMode {
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * List of named byte patterns for multi-pattern signature scan.
+ *
+ * Patterns can be loaded from text with one pattern per line in form
+ * <code>[name =] value</code>, where value is either sequence of hexadecimal
+ * byte codes or text enclosed in double quotes. Empty lines and lines starting
+ * with # are ignored.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SignaturePatterns {
+
+    private final List<String> names = new ArrayList<String>();
+    private final List<byte[]> patterns = new ArrayList<byte[]>();
+
+    public SignaturePatterns() {
+    }
+
+    public void addPattern(String name, byte[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+
+        names.add(name);
+        patterns.add(pattern);
+    }
+
+    public int getPatternsCount() {
+        return patterns.size();
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    @Nonnull
+    public String getName(int index) {
+        return names.get(index);
+    }
+
+    @Nonnull
+    public byte[] getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    @Nonnull
+    public List<byte[]> getPatterns() {
+        return Collections.unmodifiableList(patterns);
+    }
+
+    /**
+     * Loads patterns from text.
+     *
+     * @param reader source reader
+     * @param charset charset for text patterns
+     * @return patterns
+     * @throws IOException if reading failed
+     * @throws IllegalArgumentException if some line is not valid pattern
+     */
+    @Nonnull
+    public static SignaturePatterns load(Reader reader, Charset charset) throws IOException {
+        SignaturePatterns result = new SignaturePatterns();
+        BufferedReader lineReader = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lineReader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String name;
+            String value;
+            int separator = line.indexOf('=');
+            int quote = line.indexOf('"');
+            if (separator > 0 && (quote < 0 || separator < quote)) {
+                name = line.substring(0, separator).trim();
+                value = line.substring(separator + 1).trim();
+            } else {
+                name = line;
+                value = line;
+            }
+
+            byte[] pattern;
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                pattern = value.substring(1, value.length() - 1).getBytes(charset);
+            } else {
+                pattern = parseHexBytes(value);
+            }
+            if (pattern == null || pattern.length == 0) {
+                throw new IllegalArgumentException("Invalid pattern on line " + lineNumber);
+            }
+
+            result.addPattern(name, pattern);
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates patterns from search history conditions.
+     *
+     * Masked conditions are skipped.
+     *
+     * @param searchHistory search history
+     * @param charset charset for text conditions
+     * @return patterns
+     */
+    @Nonnull
+    public static SignaturePatterns fromSearchHistory(List<SearchCondition> searchHistory, Charset charset) {
+        SignaturePatterns result = new SignaturePatterns();
+        for (SearchCondition condition : searchHistory) {
+            if (condition.isEmpty()) {
+                continue;
+            }
+
+            switch (condition.getSearchMode()) {
+                case TEXT: {
+                    result.addPattern("\"" + condition.getSearchText() + "\"", condition.getSearchText().getBytes(charset));
+                    break;
+                }
+                case BINARY: {
+                    BinaryData binaryData = condition.getBinaryData();
+                    byte[] pattern = new byte[(int) binaryData.getDataSize()];
+                    binaryData.copyToArray(0, pattern, 0, pattern.length);
+                    result.addPattern(toHexString(pattern), pattern);
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+
+        return result;
+    }
+
+    private static byte[] parseHexBytes(String value) {
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (!Character.isWhitespace(character)) {
+                digits.append(character);
+            }
+        }
+        if (digits.length() % 2 != 0) {
+            return null;
+        }
+
+        byte[] result = new byte[digits.length() / 2];
+        for (int i = 0; i < result.length; i++) {
+            int high = Character.digit(digits.charAt(i * 2), 16);
+            int low = Character.digit(digits.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            result[i] = (byte) ((high << 4) | low);
+        }
+
+        return result;
+    }
+
+    @Nonnull
+    private static String toHexString(byte[] data) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < data.length; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(CodeAreaUtils.byteToHexChars(data[i]));
+        }
+
+        return builder.toString();
+    }
+}
@@ -112,7 +112,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
 
     public SearchCondition getItem() {
         switch (item.getSearchMode()) {
-            case TEXT: {
+            case TEXT:
+            case MASKED:
+            case REGEX: {
                 item.setSearchText(textField.getText());
                 break;
             }
@@ -131,7 +133,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
         }
         this.item.setSearchMode(item.getSearchMode());
         switch (item.getSearchMode()) {
-            case TEXT: {
+            case TEXT:
+            case MASKED:
+            case REGEX: {
                 this.item.setSearchText(item.getSearchText());
                 this.item.setBinaryData(null);
                 runningUpdate = true;
@@ -162,7 +166,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
 
     public void selectAll() {
         switch (item.getSearchMode()) {
-            case TEXT: {
+            case TEXT:
+            case MASKED:
+            case REGEX: {
                 textField.selectAll();
                 break;
             }
@@ -196,7 +202,9 @@ public class BinarySearchComboBoxPanel extends JPanel {
     public void requestFocus() {
         super.requestFocus();
         switch (item.getSearchMode()) {
-            case TEXT: {
+            case TEXT:
+            case MASKED:
+            case REGEX: {
                 textField.requestFocus();
                 break;
             }
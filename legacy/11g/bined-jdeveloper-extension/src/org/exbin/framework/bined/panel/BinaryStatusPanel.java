@@ -23,6 +23,7 @@ import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.MouseEvent;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.JToolTip;
 import org.exbin.bined.CodeAreaCaretPosition;
@@ -191,6 +192,9 @@ public class BinaryStatusPanel extends javax.swing.JPanel implements BinaryStatu
         ;
         editationModeLabel = new javax.swing.JLabel();
         encodingLabel = new javax.swing.JLabel();
+        operationProgressBar = new javax.swing.JProgressBar();
+        checksumLabel = new javax.swing.JLabel();
+        modifiedDataLabel = new javax.swing.JLabel();
 
         positionPopupMenu.setName("positionPopupMenu"); // NOI18N
 
@@ -399,12 +403,34 @@ public class BinaryStatusPanel extends javax.swing.JPanel implements BinaryStatu
             }
         });
 
+        operationProgressBar.setName("operationProgressBar"); // NOI18N
+        operationProgressBar.setStringPainted(true);
+        operationProgressBar.setVisible(false);
+
+        checksumLabel.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
+        checksumLabel.setToolTipText(resourceBundle.getString("checksumLabel.toolTipText")); // NOI18N
+        checksumLabel.setBorder(javax.swing.BorderFactory.createEtchedBorder());
+        checksumLabel.setName("checksumLabel"); // NOI18N
+        checksumLabel.setVisible(false);
+
+        modifiedDataLabel.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
+        modifiedDataLabel.setToolTipText(resourceBundle.getString("modifiedDataLabel.toolTipText")); // NOI18N
+        modifiedDataLabel.setBorder(javax.swing.BorderFactory.createEtchedBorder());
+        modifiedDataLabel.setName("modifiedDataLabel"); // NOI18N
+        modifiedDataLabel.setVisible(false);
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
                 .addContainerGap(195, Short.MAX_VALUE)
+                .addComponent(operationProgressBar, javax.swing.GroupLayout.PREFERRED_SIZE, 168, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addGap(0, 0, 0)
+                .addComponent(checksumLabel, javax.swing.GroupLayout.PREFERRED_SIZE, 128, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addGap(0, 0, 0)
+                .addComponent(modifiedDataLabel, javax.swing.GroupLayout.PREFERRED_SIZE, 128, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addGap(0, 0, 0)
                 .addComponent(encodingLabel, javax.swing.GroupLayout.PREFERRED_SIZE, 148, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(0, 0, 0)
                 .addComponent(documentSizeLabel, javax.swing.GroupLayout.PREFERRED_SIZE, 168, javax.swing.GroupLayout.PREFERRED_SIZE)
@@ -422,6 +448,9 @@ public class BinaryStatusPanel extends javax.swing.JPanel implements BinaryStatu
             .addComponent(memoryModeLabel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
             .addComponent(cursorPositionLabel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
             .addComponent(encodingLabel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addComponent(operationProgressBar, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addComponent(checksumLabel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addComponent(modifiedDataLabel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
         );
     }// </editor-fold>//GEN-END:initComponents
 
@@ -552,6 +581,7 @@ public class BinaryStatusPanel extends javax.swing.JPanel implements BinaryStatu
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JLabel checksumLabel;
     private javax.swing.JMenu cursorPositionCodeTypeMenu;
     private javax.swing.JLabel cursorPositionLabel;
     private javax.swing.ButtonGroup cursorPositionModeButtonGroup;
@@ -574,8 +604,10 @@ public class BinaryStatusPanel extends javax.swing.JPanel implements BinaryStatu
     private javax.swing.ButtonGroup memoryModeButtonGroup;
     private javax.swing.JLabel memoryModeLabel;
     private javax.swing.JPopupMenu memoryModePopupMenu;
+    private javax.swing.JLabel modifiedDataLabel;
     private javax.swing.JRadioButtonMenuItem octalCursorPositionModeRadioButtonMenuItem;
     private javax.swing.JRadioButtonMenuItem octalDocumentSizeModeRadioButtonMenuItem;
+    private javax.swing.JProgressBar operationProgressBar;
     private javax.swing.JMenuItem positionCopyMenuItem;
     private javax.swing.JMenuItem positionGoToMenuItem;
     private javax.swing.JPopupMenu positionPopupMenu;
@@ -659,6 +691,38 @@ public class BinaryStatusPanel extends javax.swing.JPanel implements BinaryStatu
         }
     }
 
+    @Override
+    public void setOperationProgress(String operationName, int progress) {
+        operationProgressBar.setValue(progress);
+        operationProgressBar.setString(operationName + " " + progress + "%");
+        operationProgressBar.setVisible(true);
+    }
+
+    @Override
+    public void clearOperationProgress() {
+        operationProgressBar.setVisible(false);
+    }
+
+    @Override
+    public void setDocumentChecksum(@Nullable String checksum) {
+        checksumLabel.setText(checksum);
+        checksumLabel.setVisible(checksum != null);
+    }
+
+    @Override
+    public void setModifiedDataSize(long modifiedDataSize, long removedDataSize) {
+        if (modifiedDataSize < 0) {
+            modifiedDataLabel.setVisible(false);
+            return;
+        }
+
+        modifiedDataLabel.setText(resourceBundle.getString("modifiedDataLabel.text") + ": " + numberToPosition(modifiedDataSize, documentSizeFormat.getCodeType()));
+        modifiedDataLabel.setToolTipText("<html>" + resourceBundle.getString("modifiedDataLabel.toolTipText") + ": " + modifiedDataSize
+                + "<br>" + resourceBundle.getString("modifiedDataLabel.removedText") + ": " + removedDataSize
+                + "</html>");
+        modifiedDataLabel.setVisible(true);
+    }
+
     private void updateCaretPosition() {
         if (caretPosition == null) {
             cursorPositionLabel.setText("-");
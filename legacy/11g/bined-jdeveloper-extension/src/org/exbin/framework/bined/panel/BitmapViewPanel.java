@@ -0,0 +1,389 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.panel;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.AdjustmentListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollBar;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.UIManager;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import org.exbin.bined.CaretMovedListener;
+import org.exbin.bined.CodeAreaCaretPosition;
+import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.SelectionChangedListener;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.BitmapPixelFormat;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Panel showing data as bitmap.
+ *
+ * Only visible part of bitmap is decoded from single bulk read of visible
+ * rows directly into raster of image which is then scaled by zoom level.
+ * Caret and selection are shared with code area.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BitmapViewPanel extends JPanel {
+
+    private static final int MAX_BITMAP_WIDTH = 65536;
+    private static final Integer[] ZOOM_LEVELS = new Integer[]{1, 2, 4, 8, 16};
+    private static final int SELECTION_COLOR = 0x3070e0;
+
+    private final JComboBox<BitmapPixelFormat> pixelFormatComboBox = new JComboBox<BitmapPixelFormat>(BitmapPixelFormat.values());
+    private final JSpinner widthSpinner = new JSpinner(new SpinnerNumberModel(256, 1, MAX_BITMAP_WIDTH, 1));
+    private final JComboBox<Integer> zoomComboBox = new JComboBox<Integer>(ZOOM_LEVELS);
+    private final JButton codeViewButton = new JButton("Code View");
+    private final BitmapComponent bitmapComponent = new BitmapComponent();
+    private final JScrollBar verticalScrollBar = new JScrollBar(JScrollBar.VERTICAL);
+    private final JScrollBar horizontalScrollBar = new JScrollBar(JScrollBar.HORIZONTAL);
+
+    private ExtCodeArea codeArea;
+    private BitmapPixelFormat pixelFormat = BitmapPixelFormat.GRAY_8;
+    private int bitmapWidth = 256;
+    private int zoom = 1;
+    private long topRow = 0;
+    private int leftColumn = 0;
+    private boolean updatingScrollBars = false;
+
+    private DataChangedListener dataChangedListener;
+    private CaretMovedListener caretMovedListener;
+    private SelectionChangedListener selectionChangedListener;
+
+    public BitmapViewPanel() {
+        super(new BorderLayout());
+
+        pixelFormatComboBox.setSelectedItem(pixelFormat);
+        pixelFormatComboBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, ((BitmapPixelFormat) value).getDisplayName(), index, isSelected, cellHasFocus);
+            }
+        });
+        pixelFormatComboBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                pixelFormat = (BitmapPixelFormat) pixelFormatComboBox.getSelectedItem();
+                bitmapLayoutChanged();
+            }
+        });
+        widthSpinner.addChangeListener(new ChangeListener() {
+            @Override
+            public void stateChanged(ChangeEvent e) {
+                bitmapWidth = (Integer) widthSpinner.getValue();
+                bitmapLayoutChanged();
+            }
+        });
+        zoomComboBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                zoom = (Integer) zoomComboBox.getSelectedItem();
+                bitmapLayoutChanged();
+            }
+        });
+
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 2));
+        controlPanel.add(new JLabel("Format:"));
+        controlPanel.add(pixelFormatComboBox);
+        controlPanel.add(new JLabel("Width:"));
+        controlPanel.add(widthSpinner);
+        controlPanel.add(new JLabel("Zoom:"));
+        controlPanel.add(zoomComboBox);
+        controlPanel.add(codeViewButton);
+        add(controlPanel, BorderLayout.NORTH);
+        add(bitmapComponent, BorderLayout.CENTER);
+        add(verticalScrollBar, BorderLayout.EAST);
+        add(horizontalScrollBar, BorderLayout.SOUTH);
+
+        AdjustmentListener adjustmentListener = new AdjustmentListener() {
+            @Override
+            public void adjustmentValueChanged(AdjustmentEvent e) {
+                if (!updatingScrollBars) {
+                    topRow = verticalScrollBar.getValue();
+                    leftColumn = horizontalScrollBar.getValue();
+                    bitmapComponent.repaint();
+                }
+            }
+        };
+        verticalScrollBar.addAdjustmentListener(adjustmentListener);
+        horizontalScrollBar.addAdjustmentListener(adjustmentListener);
+        bitmapComponent.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateScrollBars();
+            }
+        });
+    }
+
+    public void setCodeArea(ExtCodeArea codeArea) {
+        this.codeArea = codeArea;
+    }
+
+    /**
+     * Sets listener for button switching back to code view.
+     *
+     * @param codeViewListener action listener
+     */
+    public void setCodeViewListener(ActionListener codeViewListener) {
+        codeViewButton.addActionListener(codeViewListener);
+    }
+
+    public void enableUpdate() {
+        dataChangedListener = new DataChangedListener() {
+            @Override
+            public void dataChanged() {
+                updateScrollBars();
+                bitmapComponent.repaint();
+            }
+        };
+        codeArea.addDataChangedListener(dataChangedListener);
+        caretMovedListener = new CaretMovedListener() {
+            @Override
+            public void caretMoved(CodeAreaCaretPosition caretPosition) {
+                revealPosition(caretPosition.getDataPosition());
+                bitmapComponent.repaint();
+            }
+        };
+        codeArea.addCaretMovedListener(caretMovedListener);
+        selectionChangedListener = new SelectionChangedListener() {
+            @Override
+            public void selectionChanged(SelectionRange selection) {
+                bitmapComponent.repaint();
+            }
+        };
+        codeArea.addSelectionChangedListener(selectionChangedListener);
+        updateScrollBars();
+        revealPosition(codeArea.getDataPosition());
+    }
+
+    public void disableUpdate() {
+        codeArea.removeDataChangedListener(dataChangedListener);
+        codeArea.removeCaretMovedListener(caretMovedListener);
+        codeArea.removeSelectionChangedListener(selectionChangedListener);
+    }
+
+    private int getBytesPerRow() {
+        return pixelFormat.getBytesPerRow(bitmapWidth);
+    }
+
+    private long getRowsCount() {
+        int bytesPerRow = getBytesPerRow();
+        return (codeArea.getDataSize() + bytesPerRow - 1) / bytesPerRow;
+    }
+
+    private void bitmapLayoutChanged() {
+        if (codeArea == null) {
+            return;
+        }
+
+        long caretPosition = codeArea.getDataPosition();
+        updateScrollBars();
+        revealPosition(caretPosition);
+        bitmapComponent.repaint();
+    }
+
+    private void updateScrollBars() {
+        if (codeArea == null) {
+            return;
+        }
+
+        int visibleRows = Math.max(1, bitmapComponent.getHeight() / zoom);
+        int visibleColumns = Math.max(1, bitmapComponent.getWidth() / zoom);
+        int rowsCount = (int) Math.min(Integer.MAX_VALUE - visibleRows, getRowsCount());
+        topRow = Math.max(0, Math.min(topRow, rowsCount - visibleRows));
+        leftColumn = Math.max(0, Math.min(leftColumn, bitmapWidth - visibleColumns));
+        updatingScrollBars = true;
+        verticalScrollBar.setValues((int) topRow, visibleRows, 0, Math.max(rowsCount, visibleRows));
+        verticalScrollBar.setBlockIncrement(Math.max(1, visibleRows - 1));
+        horizontalScrollBar.setValues(leftColumn, visibleColumns, 0, Math.max(bitmapWidth, visibleColumns));
+        horizontalScrollBar.setVisible(bitmapWidth > visibleColumns);
+        updatingScrollBars = false;
+    }
+
+    private void revealPosition(long position) {
+        int bytesPerRow = getBytesPerRow();
+        long row = position / bytesPerRow;
+        int visibleRows = Math.max(1, bitmapComponent.getHeight() / zoom);
+        if (row < topRow) {
+            topRow = row;
+        } else if (row >= topRow + visibleRows) {
+            topRow = row - visibleRows + 1;
+        }
+        updateScrollBars();
+    }
+
+    /**
+     * Returns data position of pixel at given component coordinates.
+     */
+    private long getPosition(int x, int y) {
+        int bytesPerRow = getBytesPerRow();
+        long row = topRow + Math.max(0, y) / zoom;
+        int column = Math.max(0, Math.min(bitmapWidth - 1, leftColumn + Math.max(0, x) / zoom));
+        return Math.min(codeArea.getDataSize(), row * bytesPerRow + pixelFormat.getByteOffset(column));
+    }
+
+    /**
+     * Component painting visible part of bitmap.
+     */
+    private class BitmapComponent extends JComponent {
+
+        private BufferedImage image = null;
+        private byte[] buffer = new byte[0];
+        private long selectionAnchor = -1;
+
+        public BitmapComponent() {
+            setFocusable(true);
+            MouseAdapter mouseAdapter = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    requestFocusInWindow();
+                    long position = getPosition(e.getX(), e.getY());
+                    if (e.isShiftDown()) {
+                        selectionAnchor = codeArea.getSelection().isEmpty() ? codeArea.getDataPosition() : codeArea.getSelection().getStart();
+                        codeArea.setSelection(selectionAnchor, position);
+                    } else {
+                        selectionAnchor = position;
+                        codeArea.clearSelection();
+                    }
+                    codeArea.setCaretPosition(position);
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (selectionAnchor < 0) {
+                        return;
+                    }
+
+                    long position = getPosition(e.getX(), e.getY());
+                    codeArea.setSelection(selectionAnchor, position);
+                    codeArea.setCaretPosition(position);
+                }
+
+                @Override
+                public void mouseReleased(MouseEvent e) {
+                    selectionAnchor = -1;
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    verticalScrollBar.setValue(verticalScrollBar.getValue() + e.getUnitsToScroll() * Math.max(1, 8 / zoom));
+                }
+            };
+            addMouseListener(mouseAdapter);
+            addMouseMotionListener(mouseAdapter);
+            addMouseWheelListener(mouseAdapter);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Color background = UIManager.getColor("Panel.background");
+            g.setColor(background);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            BinaryData data = codeArea == null ? null : codeArea.getContentData();
+            if (data == null) {
+                return;
+            }
+
+            int bytesPerRow = getBytesPerRow();
+            long dataSize = data.getDataSize();
+            int visibleColumns = Math.min(bitmapWidth - leftColumn, (getWidth() + zoom - 1) / zoom);
+            int visibleRows = (int) Math.min(getRowsCount() - topRow, (getHeight() + zoom - 1) / zoom);
+            if (visibleColumns <= 0 || visibleRows <= 0) {
+                return;
+            }
+
+            long startPosition = topRow * bytesPerRow;
+            int length = (int) Math.min(dataSize - startPosition, (long) visibleRows * bytesPerRow);
+            if (buffer.length < length) {
+                buffer = new byte[length];
+            }
+            data.copyToArray(startPosition, buffer, 0, length);
+
+            if (image == null || image.getWidth() != visibleColumns || image.getHeight() != visibleRows) {
+                image = new BufferedImage(visibleColumns, visibleRows, BufferedImage.TYPE_INT_RGB);
+            }
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            int backgroundRgb = background.getRGB() & 0xffffff;
+            for (int row = 0; row < visibleRows; row++) {
+                int rowOffset = row * bytesPerRow;
+                pixelFormat.decodeRow(buffer, rowOffset, Math.min(bytesPerRow, length - rowOffset), leftColumn, pixels, row * visibleColumns, visibleColumns, backgroundRgb);
+            }
+
+            SelectionRange selection = codeArea.getSelection();
+            if (!selection.isEmpty()) {
+                highlightSelection(pixels, visibleColumns, visibleRows, startPosition, selection.getFirst(), selection.getLast());
+            }
+            g.drawImage(image, 0, 0, visibleColumns * zoom, visibleRows * zoom, null);
+
+            long caretPosition = codeArea.getDataPosition();
+            long caretRow = caretPosition / bytesPerRow - topRow;
+            if (caretRow >= 0 && caretRow < visibleRows) {
+                int caretByte = (int) (caretPosition % bytesPerRow);
+                int caretColumn = (int) ((long) caretByte * 8 / pixelFormat.getBitsPerPixel()) - leftColumn;
+                int pixelsPerByte = Math.max(1, 8 / pixelFormat.getBitsPerPixel());
+                g.setColor(UIManager.getColor("textText"));
+                g.drawRect(caretColumn * zoom - 1, (int) caretRow * zoom - 1, pixelsPerByte * zoom + 1, zoom + 1);
+            }
+        }
+
+        private void highlightSelection(int[] pixels, int visibleColumns, int visibleRows, long startPosition, long selectionFirst, long selectionLast) {
+            int bytesPerRow = getBytesPerRow();
+            for (int row = 0; row < visibleRows; row++) {
+                long rowPosition = startPosition + (long) row * bytesPerRow;
+                if (rowPosition > selectionLast || rowPosition + bytesPerRow <= selectionFirst) {
+                    continue;
+                }
+
+                for (int column = 0; column < visibleColumns; column++) {
+                    long position = rowPosition + pixelFormat.getByteOffset(leftColumn + column);
+                    if (position >= selectionFirst && position <= selectionLast) {
+                        int index = row * visibleColumns + column;
+                        pixels[index] = ((pixels[index] >> 1) & 0x7f7f7f) + ((SELECTION_COLOR >> 1) & 0x7f7f7f);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -260,6 +260,9 @@ public class FindBinaryPanel extends javax.swing.JPanel {
         searchFromCursorCheckBox = new javax.swing.JCheckBox();
         matchCaseCheckBox = new javax.swing.JCheckBox();
         multipleMatchesCheckBox = new javax.swing.JCheckBox();
+        countOnlyCheckBox = new javax.swing.JCheckBox();
+        maxMismatchesLabel = new javax.swing.JLabel();
+        maxMismatchesSpinner = new javax.swing.JSpinner();
         replacePanel = new javax.swing.JPanel();
         performReplaceCheckBox = new javax.swing.JCheckBox();
         replaceLabel = new javax.swing.JLabel();
@@ -303,6 +306,12 @@ public class FindBinaryPanel extends javax.swing.JPanel {
         multipleMatchesCheckBox.setSelected(true);
         multipleMatchesCheckBox.setText(resourceBundle.getString("multipleMatchesCheckBox.text")); // NOI18N
 
+        countOnlyCheckBox.setText(resourceBundle.getString("countOnlyCheckBox.text")); // NOI18N
+
+        maxMismatchesLabel.setText(resourceBundle.getString("maxMismatchesLabel.text")); // NOI18N
+
+        maxMismatchesSpinner.setModel(new javax.swing.SpinnerNumberModel(0, 0, null, 1));
+
         javax.swing.GroupLayout findPanelLayout = new javax.swing.GroupLayout(findPanel);
         findPanel.setLayout(findPanelLayout);
         findPanelLayout.setHorizontalGroup(
@@ -319,6 +328,12 @@ public class FindBinaryPanel extends javax.swing.JPanel {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(findMultilineButton))
                     .addComponent(multipleMatchesCheckBox, javax.swing.GroupLayout.DEFAULT_SIZE, 378, Short.MAX_VALUE)
+                    .addComponent(countOnlyCheckBox, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addGroup(findPanelLayout.createSequentialGroup()
+                        .addComponent(maxMismatchesLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(maxMismatchesSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 80, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addGap(0, 0, Short.MAX_VALUE))
                     .addGroup(findPanelLayout.createSequentialGroup()
                         .addComponent(findLabel)
                         .addGap(0, 0, Short.MAX_VALUE)))
@@ -340,6 +355,12 @@ public class FindBinaryPanel extends javax.swing.JPanel {
                 .addComponent(matchCaseCheckBox)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(multipleMatchesCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(countOnlyCheckBox)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(findPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(maxMismatchesLabel)
+                    .addComponent(maxMismatchesSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
 
@@ -501,11 +522,14 @@ public class FindBinaryPanel extends javax.swing.JPanel {
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JCheckBox countOnlyCheckBox;
     private javax.swing.JComboBox<SearchCondition> findComboBox;
     private javax.swing.JLabel findLabel;
     private javax.swing.JButton findMultilineButton;
     private javax.swing.JPanel findPanel;
     private javax.swing.JCheckBox matchCaseCheckBox;
+    private javax.swing.JLabel maxMismatchesLabel;
+    private javax.swing.JSpinner maxMismatchesSpinner;
     private javax.swing.JCheckBox multipleMatchesCheckBox;
     private javax.swing.JCheckBox performReplaceCheckBox;
     private javax.swing.JCheckBox replaceAllMatchesCheckBox;
@@ -536,6 +560,8 @@ public class FindBinaryPanel extends javax.swing.JPanel {
         result.setSearchFromCursor(searchFromCursorCheckBox.isSelected());
         result.setMatchCase(matchCaseCheckBox.isSelected());
         result.setMultipleMatches(multipleMatchesCheckBox.isSelected());
+        result.setMaxMismatches((Integer) maxMismatchesSpinner.getValue());
+        result.setCountOnly(countOnlyCheckBox.isSelected());
         return result;
     }
 
@@ -543,6 +569,8 @@ public class FindBinaryPanel extends javax.swing.JPanel {
         searchFromCursorCheckBox.setSelected(parameters.isSearchFromCursor());
         matchCaseCheckBox.setSelected(parameters.isMatchCase());
         multipleMatchesCheckBox.setSelected(parameters.isMultipleMatches());
+        maxMismatchesSpinner.setValue(parameters.getMaxMismatches());
+        countOnlyCheckBox.setSelected(parameters.isCountOnly());
         findComboBoxEditorComponent.setItem(parameters.getCondition());
         findComboBox.setEditor(findComboBoxEditor);
         findComboBox.repaint();
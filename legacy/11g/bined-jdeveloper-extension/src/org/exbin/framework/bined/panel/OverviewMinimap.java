@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.panel;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.ButtonGroup;
+import javax.swing.JComponent;
+import javax.swing.JPopupMenu;
+import javax.swing.JRadioButtonMenuItem;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.bined.ScrollingListener;
+import org.exbin.bined.basic.CodeAreaScrollPosition;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
+import org.exbin.framework.bined.DataOverview;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Minimap of whole document showing entropy or byte classes of its parts
+ * together with currently visible area.
+ *
+ * Painting uses only cells of {@link DataOverview} computed in background
+ * thread, data are never read in event dispatch thread. Overview is cached
+ * for each document and modification invalidates only affected cells.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class OverviewMinimap extends JComponent {
+
+    private static final int MINIMAP_WIDTH = 16;
+    private static final int UPDATE_DELAY = 200;
+    private static final Color UNKNOWN_COLOR = new Color(0xc0c0c0);
+    private static final Color ZERO_COLOR = new Color(0x202020);
+    private static final Color PRINTABLE_COLOR = new Color(0x3070e0);
+    private static final Color CONTROL_COLOR = new Color(0x40b040);
+    private static final Color HIGH_COLOR = new Color(0xe04030);
+
+    private ExtCodeArea codeArea;
+    private final Map<BinaryData, DataOverview> overviews = new WeakHashMap<BinaryData, DataOverview>();
+    private BinaryData overviewData = null;
+    private DataOverview overview = null;
+    private ColorMode colorMode = ColorMode.ENTROPY;
+    private final Timer updateTimer;
+    private Thread computeThread = null;
+    private final AtomicBoolean repaintPending = new AtomicBoolean();
+
+    private DataChangedListener dataChangedListener;
+    private DataModifiedListener dataModifiedListener;
+    private ScrollingListener scrollingListener;
+
+    public OverviewMinimap() {
+        setPreferredSize(new Dimension(MINIMAP_WIDTH, 0));
+        setToolTipText("");
+        updateTimer = new Timer(UPDATE_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                startComputation();
+            }
+        });
+        updateTimer.setRepeats(false);
+
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (SwingUtilities.isLeftMouseButton(e)) {
+                    jumpTo(e.getY());
+                }
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (SwingUtilities.isLeftMouseButton(e)) {
+                    jumpTo(e.getY());
+                }
+            }
+        };
+        addMouseListener(mouseAdapter);
+        addMouseMotionListener(mouseAdapter);
+
+        JPopupMenu popupMenu = new JPopupMenu();
+        ButtonGroup colorModeGroup = new ButtonGroup();
+        for (final ColorMode mode : ColorMode.values()) {
+            JRadioButtonMenuItem modeMenuItem = new JRadioButtonMenuItem(mode.getDisplayName());
+            modeMenuItem.setSelected(mode == colorMode);
+            modeMenuItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    setColorMode(mode);
+                }
+            });
+            colorModeGroup.add(modeMenuItem);
+            popupMenu.add(modeMenuItem);
+        }
+        setComponentPopupMenu(popupMenu);
+    }
+
+    public void setCodeArea(ExtCodeArea codeArea) {
+        this.codeArea = codeArea;
+    }
+
+    public ColorMode getColorMode() {
+        return colorMode;
+    }
+
+    public void setColorMode(ColorMode colorMode) {
+        this.colorMode = colorMode;
+        repaint();
+    }
+
+    public void enableUpdate() {
+        dataChangedListener = new DataChangedListener() {
+            @Override
+            public void dataChanged() {
+                updateOverviewData();
+            }
+        };
+        codeArea.addDataChangedListener(dataChangedListener);
+        dataModifiedListener = new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                if (overview != null) {
+                    overview.dataModified(startPosition, removedLength, insertedLength);
+                    updateTimer.restart();
+                    repaint();
+                }
+            }
+        };
+        codeArea.addDataModifiedListener(dataModifiedListener);
+        scrollingListener = new ScrollingListener() {
+            @Override
+            public void scrolled() {
+                repaint();
+            }
+        };
+        codeArea.addScrollingListener(scrollingListener);
+        updateOverviewData();
+    }
+
+    public void disableUpdate() {
+        codeArea.removeDataChangedListener(dataChangedListener);
+        codeArea.removeDataModifiedListener(dataModifiedListener);
+        codeArea.removeScrollingListener(scrollingListener);
+        updateTimer.stop();
+        stopComputation();
+        // Modifications are not tracked while disabled
+        overviews.clear();
+        overviewData = null;
+        overview = null;
+    }
+
+    private void updateOverviewData() {
+        BinaryData data = codeArea.getContentData();
+        if (data != overviewData) {
+            stopComputation();
+            overviewData = data;
+            if (data == null) {
+                overview = null;
+            } else {
+                overview = overviews.get(data);
+                if (overview == null) {
+                    overview = new DataOverview(data.getDataSize());
+                    overviews.put(data, overview);
+                }
+            }
+        }
+
+        if (overview != null && overview.getDataSize() != data.getDataSize()) {
+            overview.reset(data.getDataSize());
+        }
+        updateTimer.restart();
+        repaint();
+    }
+
+    private void stopComputation() {
+        if (computeThread != null) {
+            computeThread.interrupt();
+            computeThread = null;
+        }
+    }
+
+    private void startComputation() {
+        if (computeThread != null || overview == null || overview.isComplete()) {
+            return;
+        }
+
+        final BinaryData data = overviewData;
+        final DataOverview computedOverview = overview;
+        computeThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean failed = false;
+                try {
+                    computedOverview.compute(data, new DataOverview.UpdateListener() {
+                        @Override
+                        public void overviewUpdated() {
+                            scheduleRepaint();
+                        }
+                    });
+                } catch (InterruptedException ex) {
+                    return;
+                } catch (RuntimeException ex) {
+                    Logger.getLogger(OverviewMinimap.class.getName()).log(Level.SEVERE, null, ex);
+                    failed = true;
+                }
+
+                final boolean computed = !failed;
+                final Thread currentThread = Thread.currentThread();
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (computeThread != currentThread) {
+                            return;
+                        }
+
+                        computeThread = null;
+                        repaint();
+                        // Data modified after last pass, failed computation is started again by following modification
+                        if (computed && !computedOverview.isComplete()) {
+                            updateTimer.restart();
+                        }
+                    }
+                });
+            }
+        });
+        computeThread.setPriority(Thread.MIN_PRIORITY);
+        computeThread.start();
+    }
+
+    private void scheduleRepaint() {
+        if (repaintPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    repaintPending.set(false);
+                    repaint();
+                }
+            });
+        }
+    }
+
+    private void jumpTo(int y) {
+        long dataSize = codeArea.getDataSize();
+        int height = getHeight();
+        if (dataSize == 0 || height <= 0) {
+            return;
+        }
+
+        long position = (long) ((double) Math.max(0, Math.min(height - 1, y)) * dataSize / height);
+        codeArea.centerOnRow(position);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        g.setColor(UIManager.getColor("Panel.background"));
+        g.fillRect(0, 0, width, height);
+        if (overview == null || height <= 0) {
+            return;
+        }
+
+        for (int y = 0; y < height; y++) {
+            int firstCell = (int) ((long) y * DataOverview.CELLS_COUNT / height);
+            int lastCell = Math.max(firstCell, (int) ((long) (y + 1) * DataOverview.CELLS_COUNT / height) - 1);
+            Color color = colorMode == ColorMode.ENTROPY ? computeEntropyColor(firstCell, lastCell) : computeByteClassColor(firstCell, lastCell);
+            g.setColor(color);
+            g.drawLine(1, y, width - 2, y);
+        }
+
+        paintViewport(g, width, height);
+    }
+
+    private void paintViewport(Graphics g, int width, int height) {
+        long dataSize = overview.getDataSize();
+        if (dataSize == 0 || !(codeArea.getPainter() instanceof ExtendedCodeAreaPainter)) {
+            return;
+        }
+
+        ExtendedCodeAreaPainter painter = (ExtendedCodeAreaPainter) codeArea.getPainter();
+        CodeAreaScrollPosition scrollPosition = codeArea.getScrollPosition();
+        long bytesPerRow = painter.getBytesPerRow();
+        long viewStart = scrollPosition.getRowPosition() * bytesPerRow;
+        long viewLength = Math.max(1, painter.getRowsPerPage()) * bytesPerRow;
+        int viewY = (int) ((double) viewStart * height / dataSize);
+        int viewHeight = Math.max(3, (int) Math.ceil((double) viewLength * height / dataSize));
+        viewHeight = Math.min(viewHeight, height - viewY);
+        g.setColor(UIManager.getColor("textText"));
+        g.drawRect(0, viewY, width - 1, viewHeight - 1);
+    }
+
+    private Color computeEntropyColor(int firstCell, int lastCell) {
+        float maximum = -1;
+        for (int cell = firstCell; cell <= lastCell; cell++) {
+            maximum = Math.max(maximum, overview.getEntropy(cell));
+        }
+        if (maximum < 0) {
+            return UNKNOWN_COLOR;
+        }
+
+        // Blue for low entropy through green and yellow to red for random data
+        return Color.getHSBColor((1 - Math.min(8, maximum) / 8) * 0.66f, 0.8f, 0.9f);
+    }
+
+    private Color computeByteClassColor(int firstCell, int lastCell) {
+        float[] shares = new float[4];
+        int computedCells = 0;
+        for (int cell = firstCell; cell <= lastCell; cell++) {
+            float[] cellShares = overview.getClassShares(cell);
+            if (cellShares != null) {
+                computedCells++;
+                for (int i = 0; i < shares.length; i++) {
+                    shares[i] += cellShares[i];
+                }
+            }
+        }
+        if (computedCells == 0) {
+            return UNKNOWN_COLOR;
+        }
+
+        Color[] classColors = new Color[]{ZERO_COLOR, PRINTABLE_COLOR, CONTROL_COLOR, HIGH_COLOR};
+        float red = 0;
+        float green = 0;
+        float blue = 0;
+        for (int i = 0; i < shares.length; i++) {
+            float share = shares[i] / computedCells;
+            red += classColors[i].getRed() * share;
+            green += classColors[i].getGreen() * share;
+            blue += classColors[i].getBlue() * share;
+        }
+        return new Color(Math.min(255, (int) red), Math.min(255, (int) green), Math.min(255, (int) blue));
+    }
+
+    @Nullable
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int height = getHeight();
+        if (overview == null || height <= 0) {
+            return null;
+        }
+
+        int cell = Math.max(0, Math.min(DataOverview.CELLS_COUNT - 1, (int) ((long) event.getY() * DataOverview.CELLS_COUNT / height)));
+        long position = overview.getCellPosition(cell);
+        float entropy = overview.getEntropy(cell);
+        if (entropy < 0) {
+            return String.format("0x%X", position);
+        }
+
+        float[] shares = overview.getClassShares(cell);
+        return String.format(Locale.US, "<html>0x%X<br>Entropy: %.2f bits/byte<br>Zero: %.0f %%, ASCII: %.0f %%, Control: %.0f %%, High: %.0f %%</html>",
+                position, entropy, shares[0] * 100, shares[1] * 100, shares[2] * 100, shares[3] * 100);
+    }
+
+    /**
+     * Coloring of minimap.
+     */
+    public enum ColorMode {
+        ENTROPY("Entropy"),
+        BYTE_CLASS("Byte Classes");
+
+        private final String displayName;
+
+        private ColorMode(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.panel;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseEvent;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.BorderFactory;
+import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.bined.SelectionChangedListener;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.DataStatistics;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Panel showing byte histogram and entropy of the document or selection.
+ *
+ * Statistics are computed in background thread and after modification of
+ * data only chunks covering modified area are computed again.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class StatisticsPanel extends JPanel {
+
+    private static final int UPDATE_DELAY = 300;
+
+    private final JCheckBox selectionOnlyCheckBox = new JCheckBox("Selection only");
+    private final JLabel sizeLabel = new JLabel();
+    private final JLabel entropyLabel = new JLabel();
+    private final JLabel zeroRatioLabel = new JLabel();
+    private final JLabel printableRatioLabel = new JLabel();
+    private final HistogramComponent histogramComponent = new HistogramComponent();
+    private final BlockEntropyComponent blockEntropyComponent = new BlockEntropyComponent();
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+
+    private ExtCodeArea codeArea;
+    private final DataStatistics statistics = new DataStatistics();
+    private BinaryData statisticsData = null;
+    private final Timer updateTimer;
+    private Thread computeThread = null;
+
+    private DataChangedListener dataChangedListener;
+    private DataModifiedListener dataModifiedListener;
+    private SelectionChangedListener selectionChangedListener;
+
+    public StatisticsPanel() {
+        super(new GridBagLayout());
+        updateTimer = new Timer(UPDATE_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                startComputation();
+            }
+        });
+        updateTimer.setRepeats(false);
+
+        selectionOnlyCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                resetStatistics();
+            }
+        });
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
+        GridBagConstraints constraints = new GridBagConstraints();
+        constraints.gridx = 0;
+        constraints.gridwidth = 2;
+        constraints.anchor = GridBagConstraints.WEST;
+        constraints.fill = GridBagConstraints.HORIZONTAL;
+        constraints.insets = new Insets(2, 4, 2, 4);
+        add(selectionOnlyCheckBox, constraints);
+        addValueRow("Size:", sizeLabel);
+        addValueRow("Entropy:", entropyLabel);
+        addValueRow("Zero bytes:", zeroRatioLabel);
+        addValueRow("Printable:", printableRatioLabel);
+
+        constraints.gridy = GridBagConstraints.RELATIVE;
+        add(new JLabel("Byte histogram"), constraints);
+        constraints.fill = GridBagConstraints.BOTH;
+        constraints.weightx = 1;
+        constraints.weighty = 1;
+        add(histogramComponent, constraints);
+        constraints.fill = GridBagConstraints.HORIZONTAL;
+        constraints.weighty = 0;
+        add(new JLabel("Block entropy (" + DataStatistics.BLOCK_SIZE + " bytes)"), constraints);
+        constraints.fill = GridBagConstraints.BOTH;
+        constraints.weighty = 0.5;
+        add(blockEntropyComponent, constraints);
+        constraints.fill = GridBagConstraints.HORIZONTAL;
+        constraints.weighty = 0;
+        add(progressBar, constraints);
+    }
+
+    private void addValueRow(String name, JLabel valueLabel) {
+        GridBagConstraints constraints = new GridBagConstraints();
+        constraints.gridx = 0;
+        constraints.gridy = GridBagConstraints.RELATIVE;
+        constraints.anchor = GridBagConstraints.WEST;
+        constraints.insets = new Insets(1, 4, 1, 4);
+        add(new JLabel(name), constraints);
+        constraints.gridx = 1;
+        constraints.weightx = 1;
+        constraints.fill = GridBagConstraints.HORIZONTAL;
+        add(valueLabel, constraints);
+    }
+
+    public void setCodeArea(ExtCodeArea codeArea) {
+        this.codeArea = codeArea;
+    }
+
+    public void enableUpdate() {
+        dataChangedListener = new DataChangedListener() {
+            @Override
+            public void dataChanged() {
+                BinaryData data = codeArea.getContentData();
+                if (data != statisticsData || (!selectionOnlyCheckBox.isSelected() && data != null && data.getDataSize() != statistics.getDataSize())) {
+                    resetStatistics();
+                }
+            }
+        };
+        codeArea.addDataChangedListener(dataChangedListener);
+        dataModifiedListener = new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                if (selectionOnlyCheckBox.isSelected()) {
+                    resetStatistics();
+                } else {
+                    statistics.dataModified(startPosition, removedLength, insertedLength);
+                    scheduleComputation();
+                }
+            }
+        };
+        codeArea.addDataModifiedListener(dataModifiedListener);
+        selectionChangedListener = new SelectionChangedListener() {
+            @Override
+            public void selectionChanged(SelectionRange selection) {
+                if (selectionOnlyCheckBox.isSelected()) {
+                    resetStatistics();
+                }
+            }
+        };
+        codeArea.addSelectionChangedListener(selectionChangedListener);
+        resetStatistics();
+    }
+
+    public void disableUpdate() {
+        codeArea.removeDataChangedListener(dataChangedListener);
+        codeArea.removeDataModifiedListener(dataModifiedListener);
+        codeArea.removeSelectionChangedListener(selectionChangedListener);
+        updateTimer.stop();
+        if (computeThread != null) {
+            computeThread.interrupt();
+            computeThread = null;
+        }
+        progressBar.setVisible(false);
+    }
+
+    private void resetStatistics() {
+        statisticsData = codeArea.getContentData();
+        long startPosition = 0;
+        long length = statisticsData == null ? 0 : statisticsData.getDataSize();
+        SelectionRange selection = codeArea.getSelection();
+        if (selectionOnlyCheckBox.isSelected() && selection != null && !selection.isEmpty()) {
+            startPosition = selection.getFirst();
+            length = selection.getLength();
+        }
+        statistics.reset(startPosition, length);
+        updateValues();
+        scheduleComputation();
+    }
+
+    private void scheduleComputation() {
+        updateTimer.restart();
+    }
+
+    private void startComputation() {
+        if (computeThread != null || !statistics.isPending() || statisticsData == null) {
+            return;
+        }
+
+        final BinaryData data = statisticsData;
+        final DataStatistics.ComputeTask task = statistics.createComputeTask();
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        computeThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean failed = false;
+                try {
+                    task.compute(data, Runtime.getRuntime().availableProcessors(), new DataStatistics.ProgressListener() {
+                        private int lastProgress = -1;
+
+                        @Override
+                        public void progress(int processedChunks, int totalChunks) {
+                            final int progress = processedChunks * 100 / totalChunks;
+                            if (progress != lastProgress) {
+                                lastProgress = progress;
+                                SwingUtilities.invokeLater(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        progressBar.setValue(progress);
+                                    }
+                                });
+                            }
+                        }
+                    });
+                } catch (InterruptedException ex) {
+                    return;
+                } catch (RuntimeException ex) {
+                    Logger.getLogger(StatisticsPanel.class.getName()).log(Level.SEVERE, null, ex);
+                    failed = true;
+                }
+
+                final boolean computed = !failed;
+                final Thread currentThread = Thread.currentThread();
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (computeThread != currentThread) {
+                            return;
+                        }
+
+                        computeThread = null;
+                        progressBar.setVisible(false);
+                        if (!computed) {
+                            // Computation is started again by following modification
+                            return;
+                        }
+                        if (statisticsData == data) {
+                            statistics.applyResult(task);
+                            updateValues();
+                        }
+                        if (statistics.isPending()) {
+                            scheduleComputation();
+                        }
+                    }
+                });
+            }
+        });
+        computeThread.start();
+    }
+
+    private void updateValues() {
+        long dataSize = statistics.getDataSize();
+        sizeLabel.setText(statistics.isPending() ? dataSize + " (" + statistics.getComputedSize() + " computed)" : String.valueOf(dataSize));
+        entropyLabel.setText(String.format(Locale.US, "%.4f bits/byte", statistics.getEntropy()));
+        zeroRatioLabel.setText(String.format(Locale.US, "%.2f %%", statistics.getZeroRatio() * 100));
+        printableRatioLabel.setText(String.format(Locale.US, "%.2f %%", statistics.getPrintableRatio() * 100));
+        histogramComponent.repaint();
+        blockEntropyComponent.invalidateSeries();
+    }
+
+    /**
+     * Bar chart of counts of byte values.
+     */
+    private class HistogramComponent extends JComponent {
+
+        public HistogramComponent() {
+            setPreferredSize(new Dimension(256, 96));
+            setBorder(BorderFactory.createEtchedBorder());
+            setToolTipText("");
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int width = getWidth() - 4;
+            int height = getHeight() - 4;
+            g.setColor(UIManager.getColor("TextField.background"));
+            g.fillRect(2, 2, width, height);
+
+            long maximum = 0;
+            for (int value = 0; value < 256; value++) {
+                maximum = Math.max(maximum, statistics.getCount(value));
+            }
+            if (maximum == 0) {
+                return;
+            }
+
+            g.setColor(UIManager.getColor("textHighlight"));
+            for (int value = 0; value < 256; value++) {
+                long count = statistics.getCount(value);
+                if (count == 0) {
+                    continue;
+                }
+
+                int x1 = 2 + value * width / 256;
+                int x2 = 2 + (value + 1) * width / 256;
+                int barHeight = Math.max(1, (int) (count * height / maximum));
+                g.fillRect(x1, 2 + height - barHeight, Math.max(1, x2 - x1), barHeight);
+            }
+        }
+
+        @Nullable
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            int width = getWidth() - 4;
+            if (width <= 0) {
+                return null;
+            }
+
+            int value = Math.max(0, Math.min(255, (event.getX() - 2) * 256 / width));
+            return String.format("0x%02X: %d", value, statistics.getCount(value));
+        }
+    }
+
+    /**
+     * Chart of maximum and average entropy of blocks.
+     */
+    private class BlockEntropyComponent extends JComponent {
+
+        private float[] maximums = null;
+        private float[] averages = null;
+
+        public BlockEntropyComponent() {
+            setPreferredSize(new Dimension(256, 48));
+            setBorder(BorderFactory.createEtchedBorder());
+        }
+
+        public void invalidateSeries() {
+            maximums = null;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int width = getWidth() - 4;
+            int height = getHeight() - 4;
+            g.setColor(UIManager.getColor("TextField.background"));
+            g.fillRect(2, 2, width, height);
+            if (width <= 0) {
+                return;
+            }
+
+            if (maximums == null || maximums.length != width) {
+                maximums = new float[width];
+                averages = new float[width];
+                statistics.fillBlockEntropySeries(maximums, averages);
+            }
+
+            Color maximumColor = UIManager.getColor("textHighlight");
+            Color averageColor = UIManager.getColor("textText");
+            for (int column = 0; column < width; column++) {
+                if (maximums[column] < 0) {
+                    continue;
+                }
+
+                int maximumHeight = (int) (maximums[column] * height / 8);
+                int averageHeight = (int) (averages[column] * height / 8);
+                g.setColor(maximumColor);
+                g.drawLine(2 + column, 2 + height - maximumHeight, 2 + column, 2 + height - 1);
+                g.setColor(averageColor);
+                g.drawLine(2 + column, 2 + height - averageHeight, 2 + column, 2 + height - averageHeight);
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.panel;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTree;
+import javax.swing.ToolTipManager;
+import javax.swing.event.TreeModelListener;
+import javax.swing.event.TreeSelectionEvent;
+import javax.swing.event.TreeSelectionListener;
+import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import org.exbin.bined.BasicCodeAreaSection;
+import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.DataModifiedListener;
+import org.exbin.bined.swing.extended.ExtCodeArea;
+import org.exbin.framework.bined.template.BinaryTemplate;
+import org.exbin.framework.bined.template.StructureNode;
+import org.exbin.framework.bined.template.TemplateDataReader;
+
+/**
+ * Panel showing structure of data described by binary template.
+ *
+ * Tree is backed by lazily materialized structure nodes and uses fixed row
+ * height, so that only expanded nodes are laid out and only values of visible
+ * rows are read. Selection of node selects its data in code area.
+ *
+ * Modification of data discards only nodes at or after modified position for
+ * sequential templates, other changes rebuild the whole tree.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class StructureViewPanel extends JPanel {
+
+    private final JButton loadTemplateButton = new JButton("Load Template...");
+    private final JLabel templateLabel = new JLabel("No template");
+    private final JTree tree = new JTree(new StructureTreeModel(null)) {
+        @Nullable
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            // Position is determined only on request as it can require layout of preceding data
+            TreePath path = getPathForLocation(event.getX(), event.getY());
+            if (path == null || !(path.getLastPathComponent() instanceof StructureNode)) {
+                return null;
+            }
+            StructureNode node = (StructureNode) path.getLastPathComponent();
+            if (node.getKind() == StructureNode.Kind.ARRAY_RANGE) {
+                return null;
+            }
+            try {
+                return "Position: 0x" + Long.toHexString(node.getPosition()).toUpperCase();
+            } catch (IllegalStateException ex) {
+                return ex.getMessage();
+            }
+        }
+    };
+
+    private ExtCodeArea codeArea;
+    private BinaryTemplate template = null;
+    private File lastTemplateFile = null;
+    private TemplateDataReader dataReader = null;
+    private DataChangedListener dataChangedListener;
+    private DataModifiedListener dataModifiedListener;
+    private long modifiedPosition = -1;
+
+    public StructureViewPanel() {
+        super(new BorderLayout());
+        setPreferredSize(new Dimension(300, 200));
+
+        loadTemplateButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                loadTemplate();
+            }
+        });
+
+        tree.setRootVisible(true);
+        tree.setShowsRootHandles(true);
+        tree.setLargeModel(true);
+        tree.setRowHeight(tree.getFontMetrics(tree.getFont()).getHeight() + 2);
+        tree.setCellRenderer(new DefaultTreeCellRenderer() {
+            @Override
+            public Component getTreeCellRendererComponent(JTree tree, Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus) {
+                super.getTreeCellRendererComponent(tree, value, selected, expanded, leaf, row, hasFocus);
+                if (value instanceof StructureNode) {
+                    StructureNode node = (StructureNode) value;
+                    setText(node.getCaption());
+                }
+                return this;
+            }
+        });
+        ToolTipManager.sharedInstance().registerComponent(tree);
+        tree.addTreeSelectionListener(new TreeSelectionListener() {
+            @Override
+            public void valueChanged(TreeSelectionEvent e) {
+                TreePath path = tree.getSelectionPath();
+                if (path != null && path.getLastPathComponent() instanceof StructureNode) {
+                    selectNode((StructureNode) path.getLastPathComponent());
+                }
+            }
+        });
+
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 2));
+        controlPanel.add(loadTemplateButton);
+        controlPanel.add(templateLabel);
+        add(controlPanel, BorderLayout.NORTH);
+        add(new JScrollPane(tree), BorderLayout.CENTER);
+    }
+
+    public void setCodeArea(ExtCodeArea codeArea) {
+        this.codeArea = codeArea;
+    }
+
+    /**
+     * Sets template used for structure of data.
+     *
+     * @param template binary template or null
+     * @param templateName name of template
+     */
+    public void setTemplate(@Nullable BinaryTemplate template, String templateName) {
+        this.template = template;
+        templateLabel.setText(template == null ? "No template" : templateName);
+        rebuildTree(false);
+    }
+
+    public void enableUpdate() {
+        dataModifiedListener = new DataModifiedListener() {
+            @Override
+            public void dataModified(long startPosition, long removedLength, long insertedLength) {
+                modifiedPosition = modifiedPosition < 0 ? startPosition : Math.min(modifiedPosition, startPosition);
+            }
+        };
+        dataChangedListener = new DataChangedListener() {
+            @Override
+            public void dataChanged() {
+                if (modifiedPosition >= 0) {
+                    invalidateTree(modifiedPosition);
+                } else {
+                    // Change without known range like replacement of document
+                    rebuildTree(true);
+                }
+                modifiedPosition = -1;
+            }
+        };
+        codeArea.addDataModifiedListener(dataModifiedListener);
+        codeArea.addDataChangedListener(dataChangedListener);
+        rebuildTree(false);
+    }
+
+    public void disableUpdate() {
+        codeArea.removeDataModifiedListener(dataModifiedListener);
+        codeArea.removeDataChangedListener(dataChangedListener);
+    }
+
+    private void loadTemplate() {
+        JFileChooser fileChooser = new JFileChooser(lastTemplateFile);
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File file = fileChooser.getSelectedFile();
+        lastTemplateFile = file;
+        Reader reader = null;
+        try {
+            reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+            setTemplate(BinaryTemplate.parse(reader), file.getName());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Unable to Load Template", JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Unable to Load Template", JOptionPane.ERROR_MESSAGE);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException ex) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces tree model with structure of current data.
+     *
+     * @param keepExpanded true to expand nodes which were expanded before
+     */
+    private void rebuildTree(boolean keepExpanded) {
+        List<int[]> expandedPaths = keepExpanded ? getExpandedPaths() : new ArrayList<int[]>();
+        StructureNode root = null;
+        dataReader = null;
+        if (template != null && codeArea != null && codeArea.getContentData() != null) {
+            dataReader = new TemplateDataReader(codeArea.getContentData());
+            root = StructureNode.createRoot(template, dataReader);
+        }
+        showTree(root, expandedPaths);
+    }
+
+    /**
+     * Discards nodes at or after given position of modified data and keeps
+     * the rest of the tree.
+     *
+     * @param startPosition start position of modified data
+     */
+    private void invalidateTree(long startPosition) {
+        StructureNode root = (StructureNode) tree.getModel().getRoot();
+        if (root == null || !template.isSequential() || dataReader.getData() != codeArea.getContentData()) {
+            rebuildTree(true);
+            return;
+        }
+
+        List<int[]> expandedPaths = getExpandedPaths();
+        dataReader.dataModified(startPosition);
+        root.invalidate(startPosition);
+        showTree(root, expandedPaths);
+    }
+
+    @Nonnull
+    private List<int[]> getExpandedPaths() {
+        List<int[]> expandedPaths = new ArrayList<int[]>();
+        TreeModel oldModel = tree.getModel();
+        if (oldModel.getRoot() != null) {
+            Enumeration<TreePath> expanded = tree.getExpandedDescendants(new TreePath(oldModel.getRoot()));
+            while (expanded != null && expanded.hasMoreElements()) {
+                Object[] nodes = expanded.nextElement().getPath();
+                int[] indices = new int[nodes.length - 1];
+                for (int index = 1; index < nodes.length; index++) {
+                    indices[index - 1] = ((StructureNode) nodes[index]).getIndexInParent();
+                }
+                expandedPaths.add(indices);
+            }
+        }
+        return expandedPaths;
+    }
+
+    private void showTree(@Nullable StructureNode root, List<int[]> expandedPaths) {
+        tree.setModel(new StructureTreeModel(root));
+        if (root == null) {
+            return;
+        }
+
+        tree.expandPath(new TreePath(root));
+        for (int[] indices : expandedPaths) {
+            TreePath path = new TreePath(root);
+            StructureNode node = root;
+            for (int index : indices) {
+                if (node.isLeaf() || index >= node.getChildCount()) {
+                    path = null;
+                    break;
+                }
+                node = node.getChild(index);
+                path = path.pathByAddingChild(node);
+            }
+            if (path != null) {
+                tree.expandPath(path);
+            }
+        }
+    }
+
+    private void selectNode(StructureNode node) {
+        if (node.getKind() == StructureNode.Kind.ERROR) {
+            return;
+        }
+
+        long position;
+        long size;
+        try {
+            position = node.getPosition();
+            size = node.getSize();
+        } catch (IllegalStateException ex) {
+            return;
+        }
+        long dataSize = codeArea.getDataSize();
+        if (position > dataSize) {
+            return;
+        }
+
+        codeArea.setCaretPosition(position);
+        codeArea.setSelection(position, Math.min(position + size, dataSize));
+        codeArea.centerOnPosition(position, 0, BasicCodeAreaSection.CODE_MATRIX);
+    }
+
+    /**
+     * Tree model backed directly by structure nodes.
+     */
+    private static class StructureTreeModel implements TreeModel {
+
+        @Nullable
+        private final StructureNode root;
+        private final List<TreeModelListener> listeners = new ArrayList<TreeModelListener>();
+
+        public StructureTreeModel(@Nullable StructureNode root) {
+            this.root = root;
+        }
+
+        @Nullable
+        @Override
+        public Object getRoot() {
+            return root;
+        }
+
+        @Override
+        public Object getChild(Object parent, int index) {
+            return ((StructureNode) parent).getChild(index);
+        }
+
+        @Override
+        public int getChildCount(Object parent) {
+            return ((StructureNode) parent).getChildCount();
+        }
+
+        @Override
+        public boolean isLeaf(Object node) {
+            return ((StructureNode) node).isLeaf();
+        }
+
+        @Override
+        public void valueForPathChanged(TreePath path, Object newValue) {
+        }
+
+        @Override
+        public int getIndexOfChild(Object parent, Object child) {
+            if (parent == null || child == null || ((StructureNode) child).getParent() != parent) {
+                return -1;
+            }
+            return ((StructureNode) child).getIndexInParent();
+        }
+
+        @Override
+        public void addTreeModelListener(TreeModelListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeTreeModelListener(TreeModelListener listener) {
+            listeners.remove(listener);
+        }
+    }
+}
@@ -50,6 +50,7 @@ public class BinaryEditorPreferences {
     private final CodeAreaLayoutPreferences layoutPreferences;
     private final CodeAreaThemePreferences themePreferences;
     private final CodeAreaColorPreferences colorPreferences;
+    private final BookmarksPreferences bookmarksPreferences;
 
     public BinaryEditorPreferences(Preferences preferences) {
         this.preferences = preferences;
@@ -61,6 +62,7 @@ public class BinaryEditorPreferences {
         layoutPreferences = new CodeAreaLayoutPreferences(preferences);
         themePreferences = new CodeAreaThemePreferences(preferences);
         colorPreferences = new CodeAreaColorPreferences(preferences);
+        bookmarksPreferences = new BookmarksPreferences(preferences);
 
         String storedVersion = preferences.get(PREFERENCES_VERSION);
         if (storedVersion == null) {
@@ -108,4 +110,9 @@ public class BinaryEditorPreferences {
     public CodeAreaColorPreferences getColorPreferences() {
         return colorPreferences;
     }
+
+    @Nonnull
+    public BookmarksPreferences getBookmarksPreferences() {
+        return bookmarksPreferences;
+    }
 }
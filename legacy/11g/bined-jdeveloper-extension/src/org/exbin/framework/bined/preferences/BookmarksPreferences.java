@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.bined.preferences;
+
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.PositionAnchors;
+import org.exbin.framework.api.Preferences;
+
+/**
+ * Bookmarks of files preferences.
+ *
+ * Bookmarks of each file are stored under key derived from file path.
+ *
+ * @version 0.2.1 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BookmarksPreferences {
+
+    public static final String PREFERENCES_BOOKMARKS_PREFIX = "bookmarks.";
+
+    private final Preferences preferences;
+
+    public BookmarksPreferences(Preferences preferences) {
+        this.preferences = preferences;
+    }
+
+    /**
+     * Loads stored bookmarks of file.
+     *
+     * @param filePath absolute path of file
+     * @param bookmarks target bookmarks with name as value
+     */
+    public void loadBookmarks(String filePath, PositionAnchors<String> bookmarks) {
+        String value = preferences.get(getKey(filePath), null);
+        if (value == null) {
+            return;
+        }
+
+        String[] lines = value.split("\n");
+        if (!filePath.equals(lines[0])) {
+            return;
+        }
+
+        for (int index = 1; index < lines.length; index++) {
+            String line = lines[index];
+            int separator = line.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+
+            try {
+                bookmarks.add(Long.parseLong(line.substring(0, separator)), line.substring(separator + 1));
+            } catch (NumberFormatException ex) {
+                Logger.getLogger(BookmarksPreferences.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Stores bookmarks of file.
+     *
+     * @param filePath absolute path of file
+     * @param bookmarks bookmarks with name as value
+     */
+    public void saveBookmarks(String filePath, PositionAnchors<String> bookmarks) {
+        String key = getKey(filePath);
+        if (bookmarks.isEmpty()) {
+            if (preferences.exists(key)) {
+                preferences.remove(key);
+            }
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder(filePath);
+        List<PositionAnchors.Anchor<String>> anchors = bookmarks.getAnchors();
+        for (PositionAnchors.Anchor<String> anchor : anchors) {
+            builder.append('\n').append(anchor.getPosition()).append(':').append(anchor.getValue().replace('\n', ' '));
+        }
+        preferences.put(key, builder.toString());
+    }
+
+    private static String getKey(String filePath) {
+        CRC32 crc = new CRC32();
+        try {
+            crc.update(filePath.getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return PREFERENCES_BOOKMARKS_PREFIX + Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.template;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Declarative template describing structure of binary data.
+ *
+ * Template is line based text. Empty lines and lines starting with # are
+ * ignored. Directive "endian little" or "endian big" sets default byte order
+ * of following fields, "root Name" selects structure of the start of the
+ * data, otherwise the last defined structure is used. Structure starts with
+ * line "struct Name {", ends with line "}" and contains one field per line:
+ * <pre>
+ * [if (condition)] type[[count]] name [@ offset]
+ * </pre>
+ * Type is one of u8, s8, u16, s16, u32, s32, u64, s64, f32, f64 and char with
+ * optional le or be suffix or name of another structure. Count makes field an
+ * array, offset places field at absolute position without advancing position
+ * of following fields. Condition, count and offset are expressions which can
+ * reference preceding fields of the structure or enclosing structures, _pos for
+ * current position, _size for size of data and _index for index of enclosing
+ * array element.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryTemplate {
+
+    private static final TemplateExpression.Scope CONSTANT_SCOPE = new TemplateExpression.Scope() {
+        @Override
+        public long getValue(String[] path) {
+            throw new IllegalStateException("Reference in constant expression");
+        }
+    };
+
+    private final Map<String, StructDefinition> structs;
+    private final StructDefinition rootStruct;
+    private final boolean sequential;
+
+    private BinaryTemplate(Map<String, StructDefinition> structs, StructDefinition rootStruct, boolean sequential) {
+        this.structs = structs;
+        this.rootStruct = rootStruct;
+        this.sequential = sequential;
+    }
+
+    @Nonnull
+    public StructDefinition getRootStruct() {
+        return rootStruct;
+    }
+
+    @Nullable
+    public StructDefinition getStruct(String name) {
+        return structs.get(name);
+    }
+
+    /**
+     * Returns true if layout of each field depends only on data preceding its
+     * end, which is when template doesn't use offsets or _size.
+     *
+     * @return true for sequential template
+     */
+    public boolean isSequential() {
+        return sequential;
+    }
+
+    /**
+     * Parses template.
+     *
+     * @param reader template text reader
+     * @return template
+     * @throws IOException on input/output error
+     * @throws IllegalArgumentException if template is not valid
+     */
+    @Nonnull
+    public static BinaryTemplate parse(Reader reader) throws IOException {
+        BufferedReader lineReader = new BufferedReader(reader);
+        Map<String, StructDefinition> structs = new LinkedHashMap<String, StructDefinition>();
+        Map<FieldDefinition, Integer> typeLines = new LinkedHashMap<FieldDefinition, Integer>();
+        StructDefinition currentStruct = null;
+        StructDefinition lastStruct = null;
+        String rootName = null;
+        boolean bigEndian = false;
+        int lineNumber = 0;
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            try {
+                if (currentStruct == null) {
+                    String[] parts = line.split("\\s+");
+                    if ("endian".equals(parts[0]) && parts.length == 2 && ("little".equals(parts[1]) || "big".equals(parts[1]))) {
+                        bigEndian = "big".equals(parts[1]);
+                    } else if ("root".equals(parts[0]) && parts.length == 2) {
+                        rootName = parts[1];
+                    } else if ("struct".equals(parts[0]) && ((parts.length == 3 && "{".equals(parts[2])) || (parts.length == 2 && parts[1].endsWith("{")))) {
+                        String name = parts.length == 3 ? parts[1] : parts[1].substring(0, parts[1].length() - 1);
+                        checkName(name);
+                        if (structs.containsKey(name)) {
+                            throw new IllegalArgumentException("Duplicate structure " + name);
+                        }
+                        currentStruct = new StructDefinition(name);
+                        structs.put(name, currentStruct);
+                    } else {
+                        throw new IllegalArgumentException("Unexpected directive " + parts[0]);
+                    }
+                } else if ("}".equals(line) || "};".equals(line)) {
+                    lastStruct = currentStruct;
+                    currentStruct = null;
+                } else {
+                    FieldDefinition field = parseField(line, bigEndian);
+                    currentStruct.fields.add(field);
+                    if (field.primitiveType == null) {
+                        typeLines.put(field, lineNumber);
+                    }
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(ex.getMessage() + " on line " + lineNumber);
+            }
+        }
+
+        if (currentStruct != null) {
+            throw new IllegalArgumentException("Unterminated structure " + currentStruct.name);
+        }
+        for (Map.Entry<FieldDefinition, Integer> entry : typeLines.entrySet()) {
+            FieldDefinition field = entry.getKey();
+            field.struct = structs.get(field.typeName);
+            if (field.struct == null) {
+                throw new IllegalArgumentException("Unknown type " + field.typeName + " on line " + entry.getValue());
+            }
+        }
+
+        StructDefinition rootStruct = rootName == null ? lastStruct : structs.get(rootName);
+        if (rootStruct == null) {
+            throw new IllegalArgumentException(rootName == null ? "No structure defined" : "Unknown root structure " + rootName);
+        }
+        boolean sequential = true;
+        for (StructDefinition struct : structs.values()) {
+            computeStaticSize(struct, new HashSet<StructDefinition>());
+            for (FieldDefinition field : struct.fields) {
+                if (field.offset != null || (field.condition != null && field.condition.isReferencing("_size")) || (field.count != null && field.count.isReferencing("_size"))) {
+                    sequential = false;
+                }
+            }
+        }
+        return new BinaryTemplate(structs, rootStruct, sequential);
+    }
+
+    @Nonnull
+    private static FieldDefinition parseField(String line, boolean defaultBigEndian) {
+        if (line.endsWith(";")) {
+            line = line.substring(0, line.length() - 1).trim();
+        }
+
+        TemplateExpression condition = null;
+        if (line.startsWith("if ") || line.startsWith("if(")) {
+            int start = line.indexOf('(');
+            int end = findClosing(line, start, '(', ')');
+            condition = TemplateExpression.parse(line.substring(start + 1, end));
+            line = line.substring(end + 1).trim();
+        }
+
+        TemplateExpression offset = null;
+        int offsetIndex = line.indexOf('@');
+        if (offsetIndex >= 0) {
+            offset = TemplateExpression.parse(line.substring(offsetIndex + 1));
+            line = line.substring(0, offsetIndex).trim();
+        }
+
+        int typeEnd = 0;
+        while (typeEnd < line.length() && (Character.isLetterOrDigit(line.charAt(typeEnd)) || line.charAt(typeEnd) == '_')) {
+            typeEnd++;
+        }
+        String typeName = line.substring(0, typeEnd);
+        if (typeName.isEmpty()) {
+            throw new IllegalArgumentException("Missing field type");
+        }
+        line = line.substring(typeEnd).trim();
+
+        TemplateExpression count = null;
+        if (line.startsWith("[")) {
+            int end = findClosing(line, 0, '[', ']');
+            count = TemplateExpression.parse(line.substring(1, end));
+            line = line.substring(end + 1).trim();
+        }
+
+        checkName(line);
+        FieldDefinition field = new FieldDefinition(line, condition, count, offset);
+        boolean bigEndian = defaultBigEndian;
+        String baseTypeName = typeName;
+        if (typeName.length() > 2 && (typeName.endsWith("le") || typeName.endsWith("be"))) {
+            String prefix = typeName.substring(0, typeName.length() - 2);
+            if (PrimitiveType.forName(prefix) != null) {
+                baseTypeName = prefix;
+                bigEndian = typeName.endsWith("be");
+            }
+        }
+        field.primitiveType = PrimitiveType.forName(baseTypeName);
+        field.bigEndian = bigEndian;
+        field.typeName = typeName;
+        return field;
+    }
+
+    private static int findClosing(String text, int start, char opening, char closing) {
+        int depth = 0;
+        for (int index = start; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == opening) {
+                depth++;
+            } else if (character == closing) {
+                depth--;
+                if (depth == 0) {
+                    return index;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Missing closing " + closing);
+    }
+
+    private static void checkName(String name) {
+        if (name.isEmpty() || !(Character.isLetter(name.charAt(0)) || name.charAt(0) == '_')) {
+            throw new IllegalArgumentException("Invalid name \"" + name + "\"");
+        }
+        for (int index = 1; index < name.length(); index++) {
+            if (!(Character.isLetterOrDigit(name.charAt(index)) || name.charAt(index) == '_')) {
+                throw new IllegalArgumentException("Invalid name \"" + name + "\"");
+            }
+        }
+    }
+
+    /**
+     * Computes size of structure if it doesn't depend on data.
+     */
+    private static long computeStaticSize(StructDefinition struct, Set<StructDefinition> visited) {
+        if (struct.staticSizeComputed) {
+            return struct.staticSize;
+        }
+        if (!visited.add(struct)) {
+            // Recursive structure can be terminated only by condition
+            return -1;
+        }
+
+        long size = 0;
+        for (FieldDefinition field : struct.fields) {
+            if (field.offset != null) {
+                continue;
+            }
+            long elementSize = field.primitiveType != null ? field.primitiveType.getSize() : computeStaticSize(field.struct, visited);
+            if (field.condition != null || elementSize < 0 || (field.count != null && !field.count.isConstant())) {
+                size = -1;
+                break;
+            }
+            size += field.count == null ? elementSize : elementSize * Math.max(0, field.count.evaluate(CONSTANT_SCOPE));
+        }
+        visited.remove(struct);
+        struct.staticSize = size;
+        struct.staticSizeComputed = true;
+        return size;
+    }
+
+    /**
+     * Primitive type of field.
+     */
+    public static enum PrimitiveType {
+        U8("u8", 1, false), S8("s8", 1, true),
+        U16("u16", 2, false), S16("s16", 2, true),
+        U32("u32", 4, false), S32("s32", 4, true),
+        U64("u64", 8, false), S64("s64", 8, true),
+        F32("f32", 4, true), F64("f64", 8, true),
+        CHAR("char", 1, false);
+
+        private final String typeName;
+        private final int size;
+        private final boolean signed;
+
+        private PrimitiveType(String typeName, int size, boolean signed) {
+            this.typeName = typeName;
+            this.size = size;
+            this.signed = signed;
+        }
+
+        @Nonnull
+        public String getTypeName() {
+            return typeName;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isSigned() {
+            return signed;
+        }
+
+        public boolean isFloatingPoint() {
+            return this == F32 || this == F64;
+        }
+
+        @Nullable
+        public static PrimitiveType forName(String typeName) {
+            for (PrimitiveType type : values()) {
+                if (type.typeName.equals(typeName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Definition of structure.
+     */
+    public static class StructDefinition {
+
+        private final String name;
+        private final List<FieldDefinition> fields = new ArrayList<FieldDefinition>();
+        private long staticSize = -1;
+        private boolean staticSizeComputed = false;
+
+        private StructDefinition(String name) {
+            this.name = name;
+        }
+
+        @Nonnull
+        public String getName() {
+            return name;
+        }
+
+        @Nonnull
+        public List<FieldDefinition> getFields() {
+            return Collections.unmodifiableList(fields);
+        }
+
+        /**
+         * Returns size of structure if it doesn't depend on data.
+         *
+         * @return size in bytes or -1 if size depends on data
+         */
+        public long getStaticSize() {
+            return staticSize;
+        }
+    }
+
+    /**
+     * Definition of field of structure.
+     */
+    public static class FieldDefinition {
+
+        private final String name;
+        @Nullable
+        private final TemplateExpression condition;
+        @Nullable
+        private final TemplateExpression count;
+        @Nullable
+        private final TemplateExpression offset;
+        private String typeName;
+        @Nullable
+        private PrimitiveType primitiveType;
+        @Nullable
+        private StructDefinition struct;
+        private boolean bigEndian;
+
+        private FieldDefinition(String name, @Nullable TemplateExpression condition, @Nullable TemplateExpression count, @Nullable TemplateExpression offset) {
+            this.name = name;
+            this.condition = condition;
+            this.count = count;
+            this.offset = offset;
+        }
+
+        @Nonnull
+        public String getName() {
+            return name;
+        }
+
+        @Nonnull
+        public String getTypeName() {
+            return typeName;
+        }
+
+        @Nullable
+        public TemplateExpression getCondition() {
+            return condition;
+        }
+
+        @Nullable
+        public TemplateExpression getCount() {
+            return count;
+        }
+
+        @Nullable
+        public TemplateExpression getOffset() {
+            return offset;
+        }
+
+        /**
+         * Returns primitive type of field.
+         *
+         * @return primitive type or null for structure field
+         */
+        @Nullable
+        public PrimitiveType getPrimitiveType() {
+            return primitiveType;
+        }
+
+        /**
+         * Returns structure type of field.
+         *
+         * @return structure or null for primitive field
+         */
+        @Nullable
+        public StructDefinition getStruct() {
+            return struct;
+        }
+
+        public boolean isBigEndian() {
+            return bigEndian;
+        }
+
+        /**
+         * Returns size of single element if it doesn't depend on data.
+         *
+         * @return size in bytes or -1
+         */
+        public long getElementStaticSize() {
+            return primitiveType != null ? primitiveType.getSize() : struct.getStaticSize();
+        }
+    }
+}
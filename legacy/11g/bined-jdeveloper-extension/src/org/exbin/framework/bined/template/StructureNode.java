@@ -0,0 +1,688 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.template;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.bined.template.BinaryTemplate.FieldDefinition;
+import org.exbin.framework.bined.template.BinaryTemplate.PrimitiveType;
+import org.exbin.framework.bined.template.BinaryTemplate.StructDefinition;
+
+/**
+ * Node of structure of binary data described by template.
+ *
+ * Nodes are materialized lazily: fields of structure are laid out only when
+ * structure is expanded or referenced and values are read only when
+ * requested. Arrays don't create their elements, large arrays are split into
+ * nested ranges of at most {@link #GROUP_SIZE} children and elements are
+ * created only for visited ranges. Positions of elements of variable size are
+ * cached in checkpoints, so that access to distant element doesn't walk the
+ * whole array again. Position of field following field of variable size is
+ * determined only when requested, so that field after large array doesn't
+ * walk the array until it's shown or referenced.
+ *
+ * Problems found in data are reported as error nodes instead of exceptions.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class StructureNode {
+
+    /**
+     * Maximum count of children of array or range node.
+     */
+    public static final int GROUP_SIZE = 1000;
+    private static final int CHECKPOINT_INTERVAL = 256;
+    private static final int MAX_DEPTH = 64;
+    private static final int PREVIEW_LENGTH = 32;
+
+    private final Kind kind;
+    private final TemplateDataReader reader;
+    @Nullable
+    private final StructureNode parent;
+    private final String name;
+    @Nullable
+    private final FieldDefinition field;
+    @Nullable
+    private final StructDefinition struct;
+    private final int depth;
+    private long position;
+    @Nullable
+    private StructureNode positionBase = null;
+    private int indexInParent = 0;
+    private int fieldIndex = -1;
+    private String message = null;
+
+    // Structure layout
+    private List<StructureNode> children = null;
+    private long layoutPosition;
+    private StructureNode pendingChild = null;
+    private long arrayIndex = -1;
+
+    // Array or range of array elements
+    private StructureNode array = null;
+    private long count;
+    private long elementStaticSize;
+    private long rangeStart;
+    private long rangeEnd;
+    private long chunkSize;
+    private StructureNode[] childCache = null;
+    private long[] checkpoints = null;
+    private int checkpointsCount = 0;
+
+    private StructureNode(Kind kind, TemplateDataReader reader, @Nullable StructureNode parent, String name, @Nullable FieldDefinition field, @Nullable StructDefinition struct, long position) {
+        this.kind = kind;
+        this.reader = reader;
+        this.parent = parent;
+        this.name = name;
+        this.field = field;
+        this.struct = struct;
+        this.position = position;
+        depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * Creates root node of data.
+     *
+     * @param template binary template
+     * @param reader data reader
+     * @return root node
+     */
+    @Nonnull
+    public static StructureNode createRoot(BinaryTemplate template, TemplateDataReader reader) {
+        StructDefinition rootStruct = template.getRootStruct();
+        return new StructureNode(Kind.STRUCT, reader, null, rootStruct.getName(), null, rootStruct, 0);
+    }
+
+    @Nonnull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @Nullable
+    public StructureNode getParent() {
+        return parent;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns field definition of node.
+     *
+     * @return field definition or null for root and error node
+     */
+    @Nullable
+    public FieldDefinition getField() {
+        return field;
+    }
+
+    public int getIndexInParent() {
+        return indexInParent;
+    }
+
+    public boolean isLeaf() {
+        return kind == Kind.VALUE || kind == Kind.ERROR || (kind == Kind.ARRAY && count == 0);
+    }
+
+    /**
+     * Returns start position of node in data.
+     *
+     * Position of field following field of variable size requires size of
+     * preceding field.
+     *
+     * @return data position
+     * @throws IllegalStateException if position cannot be determined
+     */
+    public long getPosition() {
+        if (position < 0) {
+            if (kind == Kind.ARRAY_RANGE) {
+                position = array.getElementPosition(rangeStart);
+            } else if (positionBase != null) {
+                position = positionBase.getPosition() + positionBase.getSize();
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns size of node in data.
+     *
+     * Size of structure or array of variable size requires layout of all its
+     * fields or elements.
+     *
+     * @return size in bytes
+     * @throws IllegalStateException if size cannot be determined
+     */
+    public long getSize() {
+        switch (kind) {
+            case VALUE:
+                return field.getPrimitiveType().getSize();
+            case STRUCT: {
+                if (struct.getStaticSize() >= 0) {
+                    return struct.getStaticSize();
+                }
+                layout();
+                return getLayoutPosition() - getPosition();
+            }
+            case ARRAY:
+                return getElementPosition(count) - getPosition();
+            case ARRAY_RANGE:
+                return array.getElementPosition(rangeEnd) - getPosition();
+            default:
+                return 0;
+        }
+    }
+
+    public int getChildCount() {
+        switch (kind) {
+            case STRUCT: {
+                layout();
+                return children.size();
+            }
+            case ARRAY:
+            case ARRAY_RANGE:
+                return (int) ((rangeEnd - rangeStart + chunkSize - 1) / chunkSize);
+            default:
+                return 0;
+        }
+    }
+
+    @Nonnull
+    public StructureNode getChild(int index) {
+        if (kind == Kind.STRUCT) {
+            layout();
+            return children.get(index);
+        }
+
+        if (childCache == null) {
+            childCache = new StructureNode[getChildCount()];
+        }
+        StructureNode child = childCache[index];
+        if (child == null) {
+            long start = rangeStart + index * chunkSize;
+            if (chunkSize == 1) {
+                try {
+                    child = array.createElement(this, start, array.getElementPosition(start));
+                } catch (IllegalStateException ex) {
+                    child = createError(this, ex.getMessage());
+                }
+            } else {
+                child = new StructureNode(Kind.ARRAY_RANGE, reader, this, "[" + start + " .. " + (Math.min(rangeEnd, start + chunkSize) - 1) + "]", field, struct, -1);
+                child.array = array;
+                child.initRange(start, Math.min(rangeEnd, start + chunkSize));
+            }
+            child.indexInParent = index;
+            childCache[index] = child;
+        }
+        return child;
+    }
+
+    /**
+     * Returns numeric value of value node.
+     *
+     * Floating point values are truncated to integer.
+     *
+     * @return value
+     * @throws IllegalStateException if value is out of data
+     */
+    public long getNumericValue() {
+        if (kind != Kind.VALUE) {
+            throw new IllegalStateException("Field " + name + " is not value");
+        }
+
+        PrimitiveType type = field.getPrimitiveType();
+        long value = reader.readValue(getPosition(), type.getSize(), field.isBigEndian());
+        switch (type) {
+            case F32:
+                return (long) Float.intBitsToFloat((int) value);
+            case F64:
+                return (long) Double.longBitsToDouble(value);
+            default: {
+                if (type.isSigned() && type.getSize() < 8) {
+                    int shift = 64 - type.getSize() * 8;
+                    value = (value << shift) >> shift;
+                }
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns text representation of node value.
+     *
+     * @return text or empty string if node has no value
+     */
+    @Nonnull
+    public String getValueText() {
+        try {
+            if (kind == Kind.VALUE) {
+                PrimitiveType type = field.getPrimitiveType();
+                long value = reader.readValue(getPosition(), type.getSize(), field.isBigEndian());
+                switch (type) {
+                    case F32:
+                        return Float.toString(Float.intBitsToFloat((int) value));
+                    case F64:
+                        return Double.toString(Double.longBitsToDouble(value));
+                    case CHAR:
+                        return "'" + charText((int) value) + "'";
+                    case U64: {
+                        String text = value >= 0 ? Long.toString(value) : BigInteger.valueOf(value).add(BigInteger.ONE.shiftLeft(64)).toString();
+                        return text + " (0x" + Long.toHexString(value).toUpperCase() + ")";
+                    }
+                    default: {
+                        long numericValue = getNumericValue();
+                        long unsignedValue = type.getSize() == 8 ? numericValue : numericValue & ((1L << (type.getSize() * 8)) - 1);
+                        return numericValue + " (0x" + Long.toHexString(unsignedValue).toUpperCase() + ")";
+                    }
+                }
+            }
+            if (kind == Kind.ARRAY && field.getPrimitiveType() == PrimitiveType.CHAR) {
+                byte[] buffer = new byte[(int) Math.min(count, PREVIEW_LENGTH)];
+                reader.read(getPosition(), buffer, 0, buffer.length);
+                StringBuilder builder = new StringBuilder("\"");
+                for (byte value : buffer) {
+                    if (value == 0) {
+                        break;
+                    }
+                    builder.append(charText(value & 0xff));
+                }
+                return builder.append(count > PREVIEW_LENGTH ? "\"..." : "\"").toString();
+            }
+            if (kind == Kind.ARRAY && (field.getPrimitiveType() == PrimitiveType.U8 || field.getPrimitiveType() == PrimitiveType.S8)) {
+                byte[] buffer = new byte[(int) Math.min(count, PREVIEW_LENGTH / 2)];
+                reader.read(getPosition(), buffer, 0, buffer.length);
+                StringBuilder builder = new StringBuilder();
+                for (byte value : buffer) {
+                    builder.append(Character.toUpperCase(Character.forDigit((value >> 4) & 0xf, 16)));
+                    builder.append(Character.toUpperCase(Character.forDigit(value & 0xf, 16)));
+                    builder.append(' ');
+                }
+                return builder.append(count > buffer.length ? "..." : "").toString().trim();
+            }
+        } catch (IllegalStateException ex) {
+            return "<" + ex.getMessage() + ">";
+        }
+        return "";
+    }
+
+    /**
+     * Returns caption of node for tree view.
+     *
+     * @return caption
+     */
+    @Nonnull
+    public String getCaption() {
+        switch (kind) {
+            case STRUCT:
+                return parent == null ? name : name + " : " + struct.getName();
+            case VALUE:
+                return name + " : " + field.getTypeName() + " = " + getValueText();
+            case ARRAY: {
+                String valueText = getValueText();
+                return name + " : " + field.getTypeName() + "[" + count + "]" + (valueText.isEmpty() ? "" : " = " + valueText);
+            }
+            case ARRAY_RANGE:
+                return name;
+            default:
+                return name + ": " + message;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return getCaption();
+    }
+
+    /**
+     * Discards cached layout of nodes at or after given position of modified
+     * data.
+     *
+     * Nodes before the modification are kept including their children and
+     * checkpoints of array elements. Node itself must start before given
+     * position and template must be sequential.
+     *
+     * @param startPosition start position of modified data
+     */
+    public void invalidate(long startPosition) {
+        if (kind == Kind.STRUCT) {
+            if (children == null) {
+                return;
+            }
+
+            // Data of sequential fields depend only on preceding data, so only the last
+            // child starting before modification can be affected
+            int keptCount = 0;
+            while (keptCount < children.size()) {
+                StructureNode child = children.get(keptCount);
+                if (child.kind == Kind.ERROR || child.position < 0 || child.position >= startPosition) {
+                    break;
+                }
+                keptCount++;
+            }
+            if (keptCount == 0) {
+                children = null;
+                pendingChild = null;
+                return;
+            }
+
+            children.subList(keptCount, children.size()).clear();
+            StructureNode lastChild = children.get(keptCount - 1);
+            lastChild.invalidate(startPosition);
+            layoutPosition = position;
+            pendingChild = null;
+            for (StructureNode child : children) {
+                if (child.field.getOffset() == null) {
+                    pendingChild = child;
+                }
+            }
+            layoutFields(lastChild.fieldIndex + 1);
+            return;
+        }
+
+        if (kind == Kind.ARRAY_RANGE && position >= startPosition) {
+            position = -1;
+        }
+        if (checkpoints != null) {
+            while (checkpointsCount > 1 && checkpoints[checkpointsCount - 1] > startPosition) {
+                checkpointsCount--;
+            }
+        }
+        if (childCache != null) {
+            for (int index = 0; index < childCache.length; index++) {
+                StructureNode child = childCache[index];
+                if (child == null) {
+                    continue;
+                }
+                if (child.kind == Kind.ERROR || (child.kind != Kind.ARRAY_RANGE && child.position >= startPosition)) {
+                    childCache[index] = null;
+                } else {
+                    child.invalidate(startPosition);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lays out fields of structure.
+     *
+     * Children list is available during layout, so that expressions can
+     * reference already laid out fields.
+     */
+    private void layout() {
+        if (children != null) {
+            return;
+        }
+
+        children = new ArrayList<StructureNode>();
+        pendingChild = null;
+        try {
+            layoutPosition = getPosition();
+        } catch (IllegalStateException ex) {
+            addError(ex.getMessage());
+            return;
+        }
+        layoutFields(0);
+    }
+
+    /**
+     * Lays out fields of structure starting from field of given index.
+     */
+    private void layoutFields(int firstField) {
+        TemplateExpression.Scope scope = new TemplateExpression.Scope() {
+            @Override
+            public long getValue(String[] path) {
+                return resolveValue(path, children.size());
+            }
+        };
+        try {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalStateException("Nesting is too deep");
+            }
+
+            List<FieldDefinition> fields = struct.getFields();
+            for (int index = firstField; index < fields.size(); index++) {
+                FieldDefinition fieldDefinition = fields.get(index);
+                TemplateExpression condition = fieldDefinition.getCondition();
+                if (condition != null && condition.evaluate(scope) == 0) {
+                    continue;
+                }
+
+                TemplateExpression offset = fieldDefinition.getOffset();
+                long fieldPosition;
+                if (offset != null) {
+                    fieldPosition = offset.evaluate(scope);
+                    if (fieldPosition < 0) {
+                        throw new IllegalStateException("Negative position of field " + fieldDefinition.getName());
+                    }
+                } else {
+                    // Position after field of variable size is determined only when requested
+                    fieldPosition = pendingChild == null ? layoutPosition : -1;
+                }
+
+                StructureNode child;
+                TemplateExpression countExpression = fieldDefinition.getCount();
+                if (countExpression != null) {
+                    long elementsCount = countExpression.evaluate(scope);
+                    if (elementsCount < 0) {
+                        throw new IllegalStateException("Negative count of field " + fieldDefinition.getName());
+                    }
+                    if (fieldDefinition.getElementStaticSize() < 0 && elementsCount > reader.getDataSize()) {
+                        throw new IllegalStateException("Count of field " + fieldDefinition.getName() + " exceeds data");
+                    }
+                    child = new StructureNode(Kind.ARRAY, reader, this, fieldDefinition.getName(), fieldDefinition, fieldDefinition.getStruct(), fieldPosition);
+                    child.array = child;
+                    child.count = elementsCount;
+                    child.elementStaticSize = fieldDefinition.getElementStaticSize();
+                    child.initRange(0, elementsCount);
+                } else {
+                    child = new StructureNode(fieldDefinition.getPrimitiveType() != null ? Kind.VALUE : Kind.STRUCT, reader, this, fieldDefinition.getName(), fieldDefinition, fieldDefinition.getStruct(), fieldPosition);
+                }
+                child.indexInParent = children.size();
+                child.fieldIndex = index;
+                children.add(child);
+                if (offset == null) {
+                    child.positionBase = pendingChild;
+                    // Size of child is computed only when position of following data is needed
+                    pendingChild = child;
+                }
+            }
+        } catch (IllegalStateException ex) {
+            addError(ex.getMessage());
+        } catch (ArithmeticException ex) {
+            addError(ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns position after the last sequential field laid out so far.
+     */
+    private long getLayoutPosition() {
+        if (pendingChild != null) {
+            StructureNode child = pendingChild;
+            pendingChild = null;
+            layoutPosition = child.getPosition() + child.getSize();
+        }
+        return layoutPosition;
+    }
+
+    private void addError(String errorMessage) {
+        StructureNode error = createError(this, errorMessage);
+        error.indexInParent = children.size();
+        children.add(error);
+    }
+
+    @Nonnull
+    private StructureNode createError(StructureNode errorParent, String errorMessage) {
+        StructureNode error = new StructureNode(Kind.ERROR, reader, errorParent, "error", null, null, Math.max(0, errorParent.position));
+        error.message = errorMessage;
+        return error;
+    }
+
+    /**
+     * Resolves value of field referenced from structure.
+     *
+     * @param path path of field names
+     * @param childrenLimit count of preceding children which can be referenced
+     * @return value
+     */
+    private long resolveValue(String[] path, int childrenLimit) {
+        if (path.length == 1) {
+            if ("_pos".equals(path[0])) {
+                return getLayoutPosition();
+            }
+            if ("_size".equals(path[0])) {
+                return reader.getDataSize();
+            }
+            if ("_index".equals(path[0])) {
+                StructureNode node = this;
+                while (node != null && node.arrayIndex < 0) {
+                    node = node.getEnclosingStruct();
+                }
+                if (node == null) {
+                    throw new IllegalStateException("_index used outside of array");
+                }
+                return node.arrayIndex;
+            }
+        }
+
+        StructureNode node = findChild(path[0], childrenLimit);
+        if (node == null) {
+            StructureNode enclosingStruct = getEnclosingStruct();
+            if (enclosingStruct == null) {
+                throw new IllegalStateException("Unknown field " + path[0]);
+            }
+            // Only fields preceding this structure can be referenced
+            StructureNode enclosingChild = this;
+            while (enclosingChild.parent != enclosingStruct) {
+                enclosingChild = enclosingChild.parent;
+            }
+            return enclosingStruct.resolveValue(path, enclosingChild.indexInParent);
+        }
+
+        for (int index = 1; index < path.length; index++) {
+            if (node.kind != Kind.STRUCT) {
+                throw new IllegalStateException("Field " + node.name + " is not structure");
+            }
+            node.layout();
+            StructureNode child = node.findChild(path[index], node.children.size());
+            if (child == null) {
+                throw new IllegalStateException("Unknown field " + path[index]);
+            }
+            node = child;
+        }
+        return node.getNumericValue();
+    }
+
+    @Nullable
+    private StructureNode findChild(String childName, int childrenLimit) {
+        // The last field of given name is used so that conditional alternatives can share name
+        for (int index = childrenLimit - 1; index >= 0; index--) {
+            StructureNode child = children.get(index);
+            if (child.kind != Kind.ERROR && child.name.equals(childName)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private StructureNode getEnclosingStruct() {
+        StructureNode node = parent;
+        while (node != null && node.kind != Kind.STRUCT) {
+            node = node.parent;
+        }
+        return node;
+    }
+
+    private void initRange(long start, long end) {
+        rangeStart = start;
+        rangeEnd = end;
+        chunkSize = 1;
+        while (end - start > chunkSize * GROUP_SIZE) {
+            chunkSize *= GROUP_SIZE;
+        }
+    }
+
+    /**
+     * Returns position of element of array, for index equal to count of
+     * elements returns end position of array.
+     */
+    private long getElementPosition(long index) {
+        if (elementStaticSize >= 0) {
+            return getPosition() + index * elementStaticSize;
+        }
+
+        if (checkpoints == null) {
+            checkpoints = new long[16];
+            checkpoints[0] = getPosition();
+            checkpointsCount = 1;
+        }
+        int checkpoint = (int) Math.min(index / CHECKPOINT_INTERVAL, checkpointsCount - 1);
+        long elementPosition = checkpoints[checkpoint];
+        for (long elementIndex = (long) checkpoint * CHECKPOINT_INTERVAL; elementIndex < index; elementIndex++) {
+            if (elementPosition > reader.getDataSize()) {
+                throw new IllegalStateException("Array " + name + " exceeds data");
+            }
+            elementPosition += createElement(this, elementIndex, elementPosition).getSize();
+            if ((elementIndex + 1) % CHECKPOINT_INTERVAL == 0 && (elementIndex + 1) / CHECKPOINT_INTERVAL == checkpointsCount) {
+                if (checkpointsCount == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, checkpointsCount * 2);
+                }
+                checkpoints[checkpointsCount++] = elementPosition;
+            }
+        }
+        return elementPosition;
+    }
+
+    @Nonnull
+    private StructureNode createElement(StructureNode elementParent, long index, long elementPosition) {
+        String elementName = "[" + index + "]";
+        if (field.getPrimitiveType() != null) {
+            return new StructureNode(Kind.VALUE, reader, elementParent, elementName, field, null, elementPosition);
+        }
+
+        StructureNode element = new StructureNode(Kind.STRUCT, reader, elementParent, elementName, field, struct, elementPosition);
+        element.arrayIndex = index;
+        return element;
+    }
+
+    @Nonnull
+    private static String charText(int value) {
+        if (value >= 0x20 && value < 0x7f) {
+            return String.valueOf((char) value);
+        }
+        String hex = Integer.toHexString(value).toUpperCase();
+        return "\\x" + (hex.length() == 1 ? "0" + hex : hex);
+    }
+
+    /**
+     * Kind of structure node.
+     */
+    public static enum Kind {
+        STRUCT, VALUE, ARRAY, ARRAY_RANGE, ERROR
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.template;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Reader of values of binary data for template structures.
+ *
+ * Data are read in pages using bulk copy and the most recently used pages are
+ * cached, so that decoding of many small fields doesn't access data byte by
+ * byte.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TemplateDataReader {
+
+    private static final int PAGE_SIZE = 65536;
+    private static final int PAGES_COUNT = 16;
+
+    private final BinaryData data;
+    private long dataSize;
+    private final long[] pagePositions = new long[PAGES_COUNT];
+    private final byte[][] pages = new byte[PAGES_COUNT][];
+    private final long[] pageUsages = new long[PAGES_COUNT];
+    private long usageCounter = 0;
+    private int lastPage = -1;
+
+    public TemplateDataReader(BinaryData data) {
+        this.data = data;
+        dataSize = data.getDataSize();
+    }
+
+    @Nonnull
+    public BinaryData getData() {
+        return data;
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    /**
+     * Discards cached pages at or after given position of modified data.
+     *
+     * @param startPosition start position of modified data
+     */
+    public void dataModified(long startPosition) {
+        dataSize = data.getDataSize();
+        for (int index = 0; index < PAGES_COUNT; index++) {
+            if (pages[index] != null && pagePositions[index] + PAGE_SIZE > startPosition) {
+                pages[index] = null;
+            }
+        }
+        lastPage = -1;
+    }
+
+    /**
+     * Returns true if given range is inside the data.
+     *
+     * @param position start position
+     * @param length length of range
+     * @return true if range is available
+     */
+    public boolean isAvailable(long position, long length) {
+        return position >= 0 && length >= 0 && position <= dataSize - length;
+    }
+
+    public byte readByte(long position) {
+        if (position < 0 || position >= dataSize) {
+            throw new IllegalStateException("Position " + position + " is out of data");
+        }
+
+        byte[] page = getPage(position - position % PAGE_SIZE);
+        return page[(int) (position % PAGE_SIZE)];
+    }
+
+    /**
+     * Reads bytes from data.
+     *
+     * @param position start position
+     * @param target target array
+     * @param offset offset in target array
+     * @param length count of bytes
+     */
+    public void read(long position, byte[] target, int offset, int length) {
+        if (!isAvailable(position, length)) {
+            throw new IllegalStateException("Range " + position + " + " + length + " is out of data");
+        }
+
+        while (length > 0) {
+            long pagePosition = position - position % PAGE_SIZE;
+            int pageOffset = (int) (position - pagePosition);
+            int count = Math.min(length, PAGE_SIZE - pageOffset);
+            System.arraycopy(getPage(pagePosition), pageOffset, target, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Reads unsigned integer value.
+     *
+     * @param position start position
+     * @param size size of value in bytes, at most 8
+     * @param bigEndian true for big endian byte order
+     * @return value
+     */
+    public long readValue(long position, int size, boolean bigEndian) {
+        byte[] buffer = new byte[size];
+        read(position, buffer, 0, size);
+        long value = 0;
+        for (int index = 0; index < size; index++) {
+            int byteValue = buffer[bigEndian ? index : size - 1 - index] & 0xff;
+            value = (value << 8) | byteValue;
+        }
+        return value;
+    }
+
+    private byte[] getPage(long pagePosition) {
+        if (lastPage >= 0 && pagePositions[lastPage] == pagePosition) {
+            return pages[lastPage];
+        }
+
+        int leastUsedPage = 0;
+        for (int index = 0; index < PAGES_COUNT; index++) {
+            if (pages[index] != null && pagePositions[index] == pagePosition) {
+                pageUsages[index] = ++usageCounter;
+                lastPage = index;
+                return pages[index];
+            }
+            if (pages[index] == null || pageUsages[index] < pageUsages[leastUsedPage]) {
+                leastUsedPage = index;
+            }
+        }
+
+        byte[] page = pages[leastUsedPage];
+        if (page == null) {
+            page = new byte[PAGE_SIZE];
+            pages[leastUsedPage] = page;
+        }
+        int length = (int) Math.min(PAGE_SIZE, dataSize - pagePosition);
+        data.copyToArray(pagePosition, page, 0, length);
+        pagePositions[leastUsedPage] = pagePosition;
+        pageUsages[leastUsedPage] = ++usageCounter;
+        lastPage = leastUsedPage;
+        return page;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Integer expression of binary template.
+ *
+ * Supports decimal and hexadecimal literals, references to fields using
+ * dotted paths, parentheses, unary operators - ! ~ and binary operators with
+ * C precedence: * / %, + -, &lt;&lt; &gt;&gt;, comparisons, &amp;, ^, |, &amp;&amp;
+ * and ||. Comparisons and logical operators evaluate to 1 or 0.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public abstract class TemplateExpression {
+
+    private static final String[][] BINARY_OPERATORS = new String[][]{
+        {"||"}, {"&&"}, {"|"}, {"^"}, {"&"}, {"==", "!="}, {"<", "<=", ">", ">="}, {"<<", ">>"}, {"+", "-"}, {"*", "/", "%"}
+    };
+
+    private TemplateExpression() {
+    }
+
+    /**
+     * Evaluates expression.
+     *
+     * @param scope scope for resolving of references
+     * @return value
+     * @throws IllegalStateException if reference cannot be resolved
+     * @throws ArithmeticException on division by zero
+     */
+    public abstract long evaluate(Scope scope);
+
+    /**
+     * Returns true if expression doesn't contain any reference.
+     *
+     * @return true for constant expression
+     */
+    public abstract boolean isConstant();
+
+    /**
+     * Returns true if expression references field of given name.
+     *
+     * @param name field name
+     * @return true if referenced
+     */
+    public abstract boolean isReferencing(String name);
+
+    /**
+     * Parses expression.
+     *
+     * @param text expression text
+     * @return expression
+     * @throws IllegalArgumentException if text is not valid expression
+     */
+    @Nonnull
+    public static TemplateExpression parse(String text) {
+        Parser parser = new Parser(tokenize(text));
+        TemplateExpression expression = parser.parseBinary(0);
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected token " + parser.tokens.get(parser.position) + " in expression " + text);
+        }
+        return expression;
+    }
+
+    @Nonnull
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<String>();
+        int index = 0;
+        while (index < text.length()) {
+            char character = text.charAt(index);
+            if (Character.isWhitespace(character)) {
+                index++;
+                continue;
+            }
+
+            int start = index;
+            if (Character.isLetterOrDigit(character) || character == '_') {
+                index++;
+                while (index < text.length() && (Character.isLetterOrDigit(text.charAt(index)) || text.charAt(index) == '_' || text.charAt(index) == '.')) {
+                    index++;
+                }
+            } else if (index + 1 < text.length() && "|| && == != <= >= << >>".contains(text.substring(index, index + 2))) {
+                index += 2;
+            } else if ("+-*/%&|^<>!~()".indexOf(character) >= 0) {
+                index++;
+            } else {
+                throw new IllegalArgumentException("Invalid character '" + character + "' in expression " + text);
+            }
+            tokens.add(text.substring(start, index));
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty expression");
+        }
+        return tokens;
+    }
+
+    /**
+     * Scope of field values.
+     */
+    public static interface Scope {
+
+        /**
+         * Returns value of referenced field.
+         *
+         * @param path path of field names
+         * @return value
+         * @throws IllegalStateException if reference cannot be resolved
+         */
+        long getValue(String[] path);
+    }
+
+    private static class Parser {
+
+        private final List<String> tokens;
+        private int position = 0;
+
+        public Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        @Nonnull
+        private TemplateExpression parseBinary(int level) {
+            if (level == BINARY_OPERATORS.length) {
+                return parseUnary();
+            }
+
+            TemplateExpression result = parseBinary(level + 1);
+            while (position < tokens.size()) {
+                String operator = null;
+                for (String levelOperator : BINARY_OPERATORS[level]) {
+                    if (levelOperator.equals(tokens.get(position))) {
+                        operator = levelOperator;
+                    }
+                }
+                if (operator == null) {
+                    break;
+                }
+                position++;
+                result = new BinaryExpression(operator, result, parseBinary(level + 1));
+            }
+            return result;
+        }
+
+        @Nonnull
+        private TemplateExpression parseUnary() {
+            if (position == tokens.size()) {
+                throw new IllegalArgumentException("Unexpected end of expression");
+            }
+
+            String token = tokens.get(position++);
+            if ("-".equals(token) || "!".equals(token) || "~".equals(token)) {
+                return new UnaryExpression(token.charAt(0), parseUnary());
+            }
+            if ("(".equals(token)) {
+                TemplateExpression result = parseBinary(0);
+                if (position == tokens.size() || !")".equals(tokens.get(position))) {
+                    throw new IllegalArgumentException("Missing closing parenthesis");
+                }
+                position++;
+                return result;
+            }
+            if (Character.isDigit(token.charAt(0))) {
+                try {
+                    if (token.startsWith("0x") || token.startsWith("0X")) {
+                        return new ConstantExpression(Long.parseLong(token.substring(2), 16));
+                    }
+                    return new ConstantExpression(Long.parseLong(token));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Invalid number " + token);
+                }
+            }
+            if (Character.isLetter(token.charAt(0)) || token.charAt(0) == '_') {
+                return new ReferenceExpression(token.split("\\."));
+            }
+            throw new IllegalArgumentException("Unexpected token " + token);
+        }
+    }
+
+    private static class ConstantExpression extends TemplateExpression {
+
+        private final long value;
+
+        public ConstantExpression(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long evaluate(Scope scope) {
+            return value;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
+
+        @Override
+        public boolean isReferencing(String name) {
+            return false;
+        }
+    }
+
+    private static class ReferenceExpression extends TemplateExpression {
+
+        private final String[] path;
+
+        public ReferenceExpression(String[] path) {
+            this.path = path;
+        }
+
+        @Override
+        public long evaluate(Scope scope) {
+            return scope.getValue(path);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return false;
+        }
+
+        @Override
+        public boolean isReferencing(String name) {
+            return path[0].equals(name);
+        }
+    }
+
+    private static class UnaryExpression extends TemplateExpression {
+
+        private final char operator;
+        private final TemplateExpression operand;
+
+        public UnaryExpression(char operator, TemplateExpression operand) {
+            this.operator = operator;
+            this.operand = operand;
+        }
+
+        @Override
+        public long evaluate(Scope scope) {
+            long value = operand.evaluate(scope);
+            switch (operator) {
+                case '-':
+                    return -value;
+                case '!':
+                    return value == 0 ? 1 : 0;
+                case '~':
+                    return ~value;
+                default:
+                    throw new IllegalStateException("Unexpected operator " + operator);
+            }
+        }
+
+        @Override
+        public boolean isConstant() {
+            return operand.isConstant();
+        }
+
+        @Override
+        public boolean isReferencing(String name) {
+            return operand.isReferencing(name);
+        }
+    }
+
+    private static class BinaryExpression extends TemplateExpression {
+
+        private final String operator;
+        private final TemplateExpression left;
+        private final TemplateExpression right;
+
+        public BinaryExpression(String operator, TemplateExpression left, TemplateExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public long evaluate(Scope scope) {
+            long leftValue = left.evaluate(scope);
+            // Logical operators don't evaluate right operand when not needed
+            if ("&&".equals(operator)) {
+                return leftValue != 0 && right.evaluate(scope) != 0 ? 1 : 0;
+            }
+            if ("||".equals(operator)) {
+                return leftValue != 0 || right.evaluate(scope) != 0 ? 1 : 0;
+            }
+
+            long rightValue = right.evaluate(scope);
+            switch (operator.charAt(0)) {
+                case '+':
+                    return leftValue + rightValue;
+                case '-':
+                    return leftValue - rightValue;
+                case '*':
+                    return leftValue * rightValue;
+                case '/':
+                    return leftValue / rightValue;
+                case '%':
+                    return leftValue % rightValue;
+                case '&':
+                    return leftValue & rightValue;
+                case '|':
+                    return leftValue | rightValue;
+                case '^':
+                    return leftValue ^ rightValue;
+                case '=':
+                    return leftValue == rightValue ? 1 : 0;
+                case '!':
+                    return leftValue != rightValue ? 1 : 0;
+                case '<': {
+                    if ("<<".equals(operator)) {
+                        return leftValue << rightValue;
+                    }
+                    return ("<".equals(operator) ? leftValue < rightValue : leftValue <= rightValue) ? 1 : 0;
+                }
+                case '>': {
+                    if (">>".equals(operator)) {
+                        return leftValue >> rightValue;
+                    }
+                    return (">".equals(operator) ? leftValue > rightValue : leftValue >= rightValue) ? 1 : 0;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected operator " + operator);
+            }
+        }
+
+        @Override
+        public boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+
+        @Override
+        public boolean isReferencing(String name) {
+            return left.isReferencing(name) || right.isReferencing(name);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * This application or library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This application or library is distributed in the hope that it will be
+ * useful, but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along this application.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.exbin.framework.bined;
+
+import java.util.Random;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.ByteArrayData;
+import org.exbin.utils.binary_data.ByteArrayEditableData;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Tests for ApproximateDataSearch.
+ *
+ * @version 0.2.0 2026/10/18
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ApproximateDataSearchTest {
+
+    private static final byte[] PATTERN = new byte[]{0x12, 0x34, 0x56, 0x78};
+    private static final byte[] REPLACEMENT = new byte[]{0x00, 0x00};
+
+    @Test
+    public void testReplacedCountMatchesReportedCount() throws InterruptedException {
+        Random random = new Random(1);
+        for (int maxMismatches = 1; maxMismatches <= 2; maxMismatches++) {
+            // Random data including exact matches, matches with mismatches and overlapping candidates
+            byte[] values = new byte[200000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (byte) (random.nextInt(4) == 0 ? PATTERN[random.nextInt(PATTERN.length)] : random.nextInt(256));
+            }
+            for (int i = 0; i < 1000; i++) {
+                int position = random.nextInt(values.length - PATTERN.length);
+                System.arraycopy(PATTERN, 0, values, position, PATTERN.length);
+                values[position + random.nextInt(PATTERN.length)] = (byte) random.nextInt(256);
+            }
+            BinaryData data = new ByteArrayData(values);
+
+            long reportedCount = countMatches(data, maxMismatches);
+            ByteArrayEditableData result = new ByteArrayEditableData();
+            long replacedCount = replaceAll(data, maxMismatches, result);
+            assertEquals(reportedCount, replacedCount);
+            assertEquals(values.length - replacedCount * (PATTERN.length - REPLACEMENT.length), result.getDataSize());
+        }
+    }
+
+    @Test
+    public void testContinuedSearchEqualsNewSearch() throws InterruptedException {
+        Random random = new Random(2);
+        byte[] values = new byte[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) (random.nextInt(2) == 0 ? PATTERN[random.nextInt(PATTERN.length)] : random.nextInt(256));
+        }
+        BinaryData data = new ByteArrayData(values);
+        MaskedPattern pattern = MaskedPattern.exact(PATTERN);
+
+        ApproximateDataSearch search = new ApproximateDataSearch(data, pattern, 2);
+        long position = 0;
+        while (true) {
+            long matchPosition = search.findNext(position);
+            long expectedPosition = new ApproximateDataSearch(data, pattern, 2).findNext(position);
+            assertEquals(expectedPosition, matchPosition);
+            if (matchPosition < 0) {
+                break;
+            }
+            position = matchPosition + (random.nextBoolean() ? 1 : PATTERN.length);
+        }
+    }
+
+    /**
+     * Counts matches the same way as search reports them.
+     */
+    private static long countMatches(BinaryData data, int maxMismatches) throws InterruptedException {
+        ApproximateDataSearch search = new ApproximateDataSearch(data, MaskedPattern.exact(PATTERN), maxMismatches);
+        long count = 0;
+        long position = 0;
+        while (true) {
+            long matchPosition = search.findNext(position);
+            if (matchPosition < 0) {
+                return count;
+            }
+            count++;
+            position = matchPosition + search.getMatchLength();
+        }
+    }
+
+    /**
+     * Replaces matches the same way as replace all testing match at each
+     * position.
+     */
+    private static long replaceAll(BinaryData data, int maxMismatches, ByteArrayEditableData result) throws InterruptedException {
+        ApproximateDataSearch search = new ApproximateDataSearch(data, MaskedPattern.exact(PATTERN), maxMismatches);
+        long dataSize = data.getDataSize();
+        long matchPosition = search.findNext(0);
+        long position = 0;
+        long unchangedStart = 0;
+        long replacedCount = 0;
+        while (position < dataSize) {
+            if (matchPosition >= 0 && matchPosition < position) {
+                matchPosition = search.findNext(position);
+            }
+            if (matchPosition == position) {
+                result.insert(result.getDataSize(), data, unchangedStart, position - unchangedStart);
+                result.insert(result.getDataSize(), REPLACEMENT);
+                replacedCount++;
+                position += search.getMatchLength();
+                unchangedStart = position;
+            } else {
+                position++;
+            }
+        }
+        result.insert(result.getDataSize(), data, unchangedStart, dataSize - unchangedStart);
+        return replacedCount;
+    }
+}